@@ -0,0 +1,138 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.collections.api;
+
+import org.tools4j.mmap.collections.impl.Long2LongMapImpl;
+import org.tools4j.mmap.region.api.AccessMode;
+import org.tools4j.mmap.region.impl.Closeable;
+
+import java.io.File;
+
+/**
+ * A persistent map from long keys to long values stored off-heap in memory mapped files, using an open-addressing
+ * hash table with linear probing.
+ * <p>
+ * A map is opened for read/write access by a single writer, and by any number of readers in the same or other
+ * processes; readers are lock-free and never block the writer.  Every update is a sequence of ordered writes that
+ * leaves the map consistent if the writing process crashes.  When the load factor is exceeded, the writer rehashes
+ * all entries into a new file generation and then publishes the new generation to readers.
+ * <p>
+ * Opening an existing map does not load any data, and entries live outside the java heap.
+ */
+public interface Long2LongMap extends Closeable {
+    /** Initial capacity of a new map if none is specified */
+    int DEFAULT_INITIAL_CAPACITY = 1024;
+
+    /**
+     * @return the name of the map, equal to the name of the map directory
+     */
+    String name();
+
+    /**
+     * Returns the value for the given key, or the provided missing value if no value is present for the key.
+     *
+     * @param key           the key
+     * @param missingValue  the value to return if the map contains no value for key
+     * @return the value associated with the key, or {@code missingValue} if no such value exists
+     */
+    long get(long key, long missingValue);
+
+    /**
+     * @param key the key
+     * @return true if the map contains a value for key
+     */
+    boolean containsKey(long key);
+
+    /**
+     * Associates the value with the given key, replacing the previous value if any.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return true if the key was added, and false if the value of an existing key was replaced
+     * @throws IllegalStateException if the map was opened in read-only mode
+     */
+    boolean put(long key, long value);
+
+    /**
+     * Removes the value for the given key.
+     *
+     * @param key the key
+     * @return true if the key was removed, and false if the map contained no value for the key
+     * @throws IllegalStateException if the map was opened in read-only mode
+     */
+    boolean remove(long key);
+
+    /**
+     * @return the number of keys in the map
+     */
+    long size();
+
+    /**
+     * @return the number of hash slots of the current generation, a power of two
+     */
+    int capacity();
+
+    /**
+     * @return the current file generation, incremented every time the map is rehashed
+     */
+    long generation();
+
+    /**
+     * @return true if this map was opened in read-only mode
+     */
+    boolean isReadOnly();
+
+    /**
+     * @return true if this map is closed
+     */
+    boolean isClosed();
+
+    /**
+     * Closes this map and unmaps the map files.
+     */
+    @Override
+    void close();
+
+    /**
+     * Opens or creates a map in the given directory with read/write access and default initial capacity.
+     *
+     * @param directory the map directory, created if it does not exist
+     * @return the map
+     */
+    static Long2LongMap open(final File directory) {
+        return open(directory, AccessMode.READ_WRITE, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Opens a map in the given directory with the specified access mode.
+     *
+     * @param directory         the map directory
+     * @param accessMode        the access mode, {@link AccessMode#READ_WRITE_CLEAR} deletes all existing entries
+     * @param initialCapacity   the capacity of a newly created map, rounded up to the next power of two
+     * @return the map
+     */
+    static Long2LongMap open(final File directory, final AccessMode accessMode, final int initialCapacity) {
+        return new Long2LongMapImpl(directory, accessMode, initialCapacity);
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.collections.api;
+
+import org.tools4j.mmap.collections.impl.LongBTreeImpl;
+import org.tools4j.mmap.region.api.AccessMode;
+import org.tools4j.mmap.region.config.MappingConfig;
+import org.tools4j.mmap.region.config.MappingStrategyConfig;
+import org.tools4j.mmap.region.impl.Closeable;
+
+import java.io.File;
+
+/**
+ * A persistent sorted map from long keys to long values stored in fixed size pages of a memory mapped file, organised
+ * as a B+tree.  Lookups and range scans touch {@code O(log n)} pages and perform no allocation.
+ * <p>
+ * A tree is opened for read/write access by a single writer, and for read-only access by any number of readers in the
+ * same or other processes.  Readers never block the writer:  they validate page versions and restart from the root if
+ * a page was modified concurrently.  Pages are modified copy-on-write, hence the tree is consistent even if the writer
+ * terminates in the middle of an update;  a tree that was not closed is recovered when it is next opened for writing.
+ * <p>
+ * Tree instances are not thread safe, and every thread should open its own instance.  Handlers passed to range scans
+ * must not access the tree instance that invoked them.
+ */
+public interface LongBTree extends Closeable {
+    /** Page size of a new tree if none is specified */
+    int DEFAULT_PAGE_SIZE = 4096;
+    /**
+     * Mapping config used for the page file if none is specified:  pages are accessed randomly hence regions are mapped
+     * synchronously without run-ahead, and files are kept open when jumping back and forth between regions
+     */
+    MappingConfig DEFAULT_MAPPING_CONFIG = MappingConfig.configure()
+            .mappingStrategy(MappingStrategyConfig.getDefaultSync())
+            .closeFiles(false)
+            .toImmutableConfig();
+
+    /**
+     * @return the name of the tree, equal to the name of the tree directory
+     */
+    String name();
+
+    /**
+     * @return the page size in bytes, a power of two not larger than the mapping region size
+     */
+    int pageSize();
+
+    /**
+     * Returns the value for the given key, or the provided missing value if no value is present for the key.
+     *
+     * @param key           the key
+     * @param missingValue  the value to return if the tree contains no value for key
+     * @return the value associated with the key, or {@code missingValue} if no such value exists
+     */
+    long get(long key, long missingValue);
+
+    /**
+     * @param key the key
+     * @return true if the tree contains a value for key
+     */
+    boolean containsKey(long key);
+
+    /**
+     * Returns the smallest key greater than or equal to the given key.
+     *
+     * @param key           the key
+     * @param missingKey    the value to return if no such key exists
+     * @return the first key {@code >= key}, or {@code missingKey} if there is no such key
+     */
+    long ceilingKey(long key, long missingKey);
+
+    /**
+     * Invokes the handler for all entries with keys in the range {@code [fromKey, toKey]} in ascending key order, until
+     * the handler returns false.
+     *
+     * @param fromKey   the smallest key to include
+     * @param toKey     the largest key to include
+     * @param handler   the handler invoked for every entry in the range
+     * @return the number of entries passed to the handler
+     */
+    int scan(long fromKey, long toKey, KeyValueHandler handler);
+
+    /**
+     * Associates the value with the given key, replacing the previous value if any.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return true if the key was added, and false if the value of an existing key was replaced
+     * @throws IllegalStateException if the tree was opened in read-only mode
+     */
+    boolean put(long key, long value);
+
+    /**
+     * Removes the value for the given key;  pages are not merged when entries are removed.
+     *
+     * @param key the key
+     * @return true if the key was removed, and false if the tree contained no value for the key
+     * @throws IllegalStateException if the tree was opened in read-only mode
+     */
+    boolean remove(long key);
+
+    /**
+     * @return the number of keys in the tree
+     */
+    long size();
+
+    /**
+     * @return true if this tree was opened in read-only mode
+     */
+    boolean isReadOnly();
+
+    /**
+     * @return true if this tree is closed
+     */
+    boolean isClosed();
+
+    /**
+     * Closes this tree and unmaps the tree files.
+     */
+    @Override
+    void close();
+
+    /**
+     * Opens or creates a tree in the given directory with read/write access and default page size.
+     *
+     * @param directory the tree directory, created if it does not exist
+     * @return the tree
+     */
+    static LongBTree open(final File directory) {
+        return open(directory, AccessMode.READ_WRITE, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Opens a tree in the given directory with the specified access mode and the {@link #DEFAULT_MAPPING_CONFIG}.
+     *
+     * @param directory     the tree directory
+     * @param accessMode    the access mode, {@link AccessMode#READ_WRITE_CLEAR} deletes all existing entries
+     * @param pageSize      the page size of a newly created tree;  existing trees use the page size they were created
+     *                      with
+     * @return the tree
+     */
+    static LongBTree open(final File directory, final AccessMode accessMode, final int pageSize) {
+        return open(directory, accessMode, pageSize, DEFAULT_MAPPING_CONFIG);
+    }
+
+    /**
+     * Opens a tree in the given directory with the specified access mode and mapping configuration.
+     *
+     * @param directory     the tree directory
+     * @param accessMode    the access mode, {@link AccessMode#READ_WRITE_CLEAR} deletes all existing entries
+     * @param pageSize      the page size of a newly created tree;  existing trees use the page size they were created
+     *                      with
+     * @param config        the configuration for the mapping of the page file
+     * @return the tree
+     */
+    static LongBTree open(final File directory,
+                          final AccessMode accessMode,
+                          final int pageSize,
+                          final MappingConfig config) {
+        return new LongBTreeImpl(directory, accessMode, pageSize, config);
+    }
+}
@@ -0,0 +1,442 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.collections.impl;
+
+import org.agrona.BitUtil;
+import org.agrona.concurrent.AtomicBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tools4j.mmap.collections.api.Long2LongMap;
+import org.tools4j.mmap.region.api.AccessMode;
+import org.tools4j.mmap.region.api.FixedMapping;
+import org.tools4j.mmap.region.api.Mappings;
+import org.tools4j.mmap.region.impl.WriterLock;
+
+import java.io.File;
+
+import static java.util.Objects.requireNonNull;
+import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
+
+/**
+ * Implementation of {@link Long2LongMap} with a meta file holding the current generation, and one file per generation
+ * holding the hash table.
+ * <p>
+ * A generation file starts with a cache line with capacity, size and number of occupied slots, followed by the hash
+ * slots.  A slot consists of state, key and value;  slots are never reused for another key once occupied, and removed
+ * keys leave a tombstone that is purged by the next rehash.  New keys are published by writing key and value before
+ * the slot state with release semantics, and readers read the state with acquire semantics before key and value.
+ * <p>
+ * The writer holds a {@link WriterLock} that is released by the OS if the writer process dies.  A dirty flag in
+ * the meta file is set while a writer is open;  if it is still set when the next writer opens the map, size and
+ * occupied slot counts are recovered from the slots of the current generation.
+ */
+public final class Long2LongMapImpl implements Long2LongMap {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Long2LongMapImpl.class);
+    public static final String FILE_ENDING = ".mmc";
+    /** Maximum capacity so that the generation file length is still a valid int mapping size */
+    public static final int MAX_CAPACITY = 1 << 26;
+    public static final int MIN_CAPACITY = 8;
+
+    static final int META_LENGTH = CACHE_LINE_LENGTH;
+    static final int GENERATION_OFFSET = 0;
+    static final int DIRTY_OFFSET = GENERATION_OFFSET + Long.BYTES;
+
+    static final int CAPACITY_OFFSET = 0;
+    static final int SIZE_OFFSET = CAPACITY_OFFSET + Long.BYTES;
+    static final int OCCUPIED_OFFSET = SIZE_OFFSET + Long.BYTES;
+    static final int SLOTS_OFFSET = CACHE_LINE_LENGTH;
+    static final int SLOT_LENGTH = 3 * Long.BYTES;
+    static final int SLOT_STATE_OFFSET = 0;
+    static final int SLOT_KEY_OFFSET = SLOT_STATE_OFFSET + Long.BYTES;
+    static final int SLOT_VALUE_OFFSET = SLOT_KEY_OFFSET + Long.BYTES;
+
+    static final long EMPTY = 0;
+    static final long USED = 1;
+    static final long REMOVED = 2;
+
+    private final File directory;
+    private final String name;
+    private final boolean readOnly;
+    private final FixedMapping meta;
+    private final AtomicBuffer metaBuffer;
+    private final WriterLock writerLock;
+    private FixedMapping table;
+    private AtomicBuffer buffer;
+    private long generation;
+    private int capacity;
+    private int mask;
+    private long maxOccupied;
+
+    public Long2LongMapImpl(final File directory, final AccessMode accessMode, final int initialCapacity) {
+        this.directory = requireNonNull(directory);
+        this.name = directory.getName();
+        this.readOnly = accessMode == AccessMode.READ_ONLY;
+        final int initCapacity = validateCapacity(initialCapacity);
+        if (readOnly) {
+            if (!metaFile().exists()) {
+                throw new IllegalArgumentException("Map does not exist: " + directory);
+            }
+        } else if (!directory.exists() && !directory.mkdir()) {
+            throw new IllegalArgumentException("Parent directory does not exist: " + directory);
+        }
+        this.writerLock = readOnly ? null : WriterLock.acquire(writerLockFile(), "Map " + name);
+        try {
+            if (accessMode == AccessMode.READ_WRITE_CLEAR) {
+                deleteMapFiles();
+            }
+            this.meta = Mappings.fixedSizeMapping(metaFile(), readOnly ? AccessMode.READ_ONLY : AccessMode.READ_WRITE,
+                    0, META_LENGTH);
+            this.metaBuffer = meta.buffer();
+            final long gen = metaBuffer.getLongVolatile(GENERATION_OFFSET);
+            if (readOnly) {
+                mapGeneration(gen);
+            } else {
+                deleteGeneration(gen + 1);
+                if (generationFile(gen).exists()) {
+                    mapGeneration(gen);
+                } else {
+                    createGeneration(gen, initCapacity);
+                    mapGeneration(gen);
+                }
+                if (metaBuffer.getLongVolatile(DIRTY_OFFSET) != 0) {
+                    recoverCounts();
+                }
+                metaBuffer.putLongRelease(DIRTY_OFFSET, 1);
+            }
+        } catch (final RuntimeException e) {
+            closeAfterFailedOpen();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes whatever was opened by the constructor before it failed, and releases the writer lock.
+     */
+    private void closeAfterFailedOpen() {
+        if (table != null) {
+            table.close();
+        }
+        if (meta != null) {
+            meta.close();
+        }
+        if (writerLock != null) {
+            writerLock.close();
+        }
+    }
+
+    private static int validateCapacity(final int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be in [1, " + MAX_CAPACITY + "] but was " + capacity);
+        }
+        return Math.max(MIN_CAPACITY, BitUtil.findNextPositivePowerOfTwo(capacity));
+    }
+
+    private File metaFile() {
+        return new File(directory, name + "_map" + FILE_ENDING);
+    }
+
+    private File generationFile(final long generation) {
+        return new File(directory, name + "_map_" + generation + FILE_ENDING);
+    }
+
+    private File writerLockFile() {
+        return new File(directory, name + "_map_lock" + FILE_ENDING);
+    }
+
+    private void deleteMapFiles() {
+        final String prefix = name + "_map";
+        final String lockFile = writerLockFile().getName();
+        final File[] files = directory.listFiles((dir, file) -> file.startsWith(prefix) &&
+                file.endsWith(FILE_ENDING) && !file.equals(lockFile));
+        if (files != null) {
+            for (final File file : files) {
+                if (!file.delete()) {
+                    throw new IllegalStateException("Could not delete map file: " + file);
+                }
+            }
+        }
+    }
+
+    private void deleteGeneration(final long generation) {
+        final File file = generationFile(generation);
+        if (file.exists() && !file.delete()) {
+            LOGGER.warn("Could not delete map file: {}", file);
+        }
+    }
+
+    private void createGeneration(final long generation, final int capacity) {
+        try (final FixedMapping mapping = Mappings.fixedSizeMapping(generationFile(generation), AccessMode.READ_WRITE,
+                0, fileLength(capacity))) {
+            mapping.buffer().putLongRelease(CAPACITY_OFFSET, capacity);
+        }
+    }
+
+    private static int fileLength(final int capacity) {
+        return SLOTS_OFFSET + capacity * SLOT_LENGTH;
+    }
+
+    private void mapGeneration(final long generation) {
+        final FixedMapping mapping = Mappings.fixedSizeMapping(generationFile(generation),
+                readOnly ? AccessMode.READ_ONLY : AccessMode.READ_WRITE);
+        final AtomicBuffer buf = mapping.buffer();
+        final int cap = (int)buf.getLongVolatile(CAPACITY_OFFSET);
+        if (!BitUtil.isPowerOfTwo(cap) || buf.capacity() < fileLength(cap)) {
+            mapping.close();
+            throw new IllegalStateException("Invalid capacity " + cap + " in map file " + generationFile(generation));
+        }
+        final FixedMapping previous = table;
+        this.table = mapping;
+        this.buffer = buf;
+        this.generation = generation;
+        this.capacity = cap;
+        this.mask = cap - 1;
+        this.maxOccupied = cap - (cap >>> 2);
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    private void recoverCounts() {
+        final AtomicBuffer buf = buffer;
+        long size = 0;
+        long occupied = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            final long state = buf.getLong(slotOffset(slot) + SLOT_STATE_OFFSET);
+            if (state != EMPTY) {
+                occupied++;
+                if (state == USED) {
+                    size++;
+                }
+            }
+        }
+        buf.putLongRelease(SIZE_OFFSET, size);
+        buf.putLongRelease(OCCUPIED_OFFSET, occupied);
+        LOGGER.info("Recovered map {} after unclean shutdown: size={}, occupied={}", name, size, occupied);
+    }
+
+    private AtomicBuffer currentBuffer() {
+        final long gen = metaBuffer.getLongVolatile(GENERATION_OFFSET);
+        if (gen != generation) {
+            mapGeneration(gen);
+        }
+        return buffer;
+    }
+
+    private int slot(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int)(hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int slotOffset(final int slot) {
+        return SLOTS_OFFSET + slot * SLOT_LENGTH;
+    }
+
+    /**
+     * Returns the slot offset for the key, or the negative offset of the empty slot where the key would be inserted.
+     */
+    private int find(final AtomicBuffer buf, final long key) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            final int offset = slotOffset(slot);
+            final long state = buf.getLongVolatile(offset + SLOT_STATE_OFFSET);
+            if (state == EMPTY) {
+                return -offset;
+            }
+            if (buf.getLong(offset + SLOT_KEY_OFFSET) == key) {
+                return offset;
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public long get(final long key, final long missingValue) {
+        checkNotClosed();
+        final AtomicBuffer buf = currentBuffer();
+        final int offset = find(buf, key);
+        if (offset > 0) {
+            final long value = buf.getLongVolatile(offset + SLOT_VALUE_OFFSET);
+            if (buf.getLongVolatile(offset + SLOT_STATE_OFFSET) == USED) {
+                return value;
+            }
+        }
+        return missingValue;
+    }
+
+    @Override
+    public boolean containsKey(final long key) {
+        checkNotClosed();
+        final AtomicBuffer buf = currentBuffer();
+        final int offset = find(buf, key);
+        return offset > 0 && buf.getLongVolatile(offset + SLOT_STATE_OFFSET) == USED;
+    }
+
+    @Override
+    public boolean put(final long key, final long value) {
+        checkWritable();
+        AtomicBuffer buf = buffer;
+        int offset = find(buf, key);
+        if (offset > 0) {
+            if (buf.getLong(offset + SLOT_STATE_OFFSET) == USED) {
+                buf.putLongRelease(offset + SLOT_VALUE_OFFSET, value);
+                return false;
+            }
+            buf.putLong(offset + SLOT_VALUE_OFFSET, value);
+            buf.putLongRelease(offset + SLOT_STATE_OFFSET, USED);
+            buf.putLongRelease(SIZE_OFFSET, buf.getLong(SIZE_OFFSET) + 1);
+            return true;
+        }
+        if (buf.getLong(OCCUPIED_OFFSET) >= maxOccupied) {
+            rehash();
+            buf = buffer;
+            offset = find(buf, key);
+        }
+        offset = -offset;
+        buf.putLong(offset + SLOT_KEY_OFFSET, key);
+        buf.putLong(offset + SLOT_VALUE_OFFSET, value);
+        buf.putLongRelease(offset + SLOT_STATE_OFFSET, USED);
+        buf.putLongRelease(OCCUPIED_OFFSET, buf.getLong(OCCUPIED_OFFSET) + 1);
+        buf.putLongRelease(SIZE_OFFSET, buf.getLong(SIZE_OFFSET) + 1);
+        return true;
+    }
+
+    @Override
+    public boolean remove(final long key) {
+        checkWritable();
+        final AtomicBuffer buf = buffer;
+        final int offset = find(buf, key);
+        if (offset > 0 && buf.getLong(offset + SLOT_STATE_OFFSET) == USED) {
+            buf.putLongRelease(offset + SLOT_STATE_OFFSET, REMOVED);
+            buf.putLongRelease(SIZE_OFFSET, buf.getLong(SIZE_OFFSET) - 1);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Rehashes all entries into the next generation file, doubling the capacity unless enough slots are freed by
+     * purging tombstones.  The new generation is published to readers only after it has been fully populated, and
+     * the previous generation file is retained for readers that are still switching.
+     */
+    private void rehash() {
+        final AtomicBuffer src = buffer;
+        final long size = src.getLong(SIZE_OFFSET);
+        final int newCapacity = size >= (capacity >>> 1) ? capacity << 1 : capacity;
+        if (newCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Map " + name + " exceeds max capacity " + MAX_CAPACITY);
+        }
+        final long oldGeneration = generation;
+        final long newGeneration = oldGeneration + 1;
+        deleteGeneration(newGeneration);
+        createGeneration(newGeneration, newCapacity);
+        final int oldCapacity = capacity;
+        mapGeneration(newGeneration);
+        try (final FixedMapping oldTable = Mappings.fixedSizeMapping(generationFile(oldGeneration),
+                AccessMode.READ_ONLY)) {
+            final AtomicBuffer old = oldTable.buffer();
+            final AtomicBuffer dst = buffer;
+            for (int slot = 0; slot < oldCapacity; slot++) {
+                final int offset = slotOffset(slot);
+                if (old.getLong(offset + SLOT_STATE_OFFSET) == USED) {
+                    final long key = old.getLong(offset + SLOT_KEY_OFFSET);
+                    final int target = -find(dst, key);
+                    dst.putLong(target + SLOT_KEY_OFFSET, key);
+                    dst.putLong(target + SLOT_VALUE_OFFSET, old.getLong(offset + SLOT_VALUE_OFFSET));
+                    dst.putLong(target + SLOT_STATE_OFFSET, USED);
+                }
+            }
+            dst.putLong(SIZE_OFFSET, size);
+            dst.putLongRelease(OCCUPIED_OFFSET, size);
+        }
+        metaBuffer.putLongRelease(GENERATION_OFFSET, newGeneration);
+        deleteGeneration(oldGeneration - 1);
+        LOGGER.info("Rehashed map {} into generation {} with capacity {}", name, newGeneration, newCapacity);
+    }
+
+    @Override
+    public long size() {
+        checkNotClosed();
+        return currentBuffer().getLongVolatile(SIZE_OFFSET);
+    }
+
+    @Override
+    public int capacity() {
+        checkNotClosed();
+        currentBuffer();
+        return capacity;
+    }
+
+    @Override
+    public long generation() {
+        checkNotClosed();
+        return metaBuffer.getLongVolatile(GENERATION_OFFSET);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return meta.isClosed();
+    }
+
+    private void checkNotClosed() {
+        if (isClosed()) {
+            throw new IllegalStateException("Map " + name + " is closed");
+        }
+    }
+
+    private void checkWritable() {
+        checkNotClosed();
+        if (readOnly) {
+            throw new IllegalStateException("Map " + name + " is opened in read-only mode");
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!isClosed()) {
+            if (!readOnly) {
+                metaBuffer.putLongRelease(DIRTY_OFFSET, 0);
+            }
+            table.close();
+            meta.close();
+            if (writerLock != null) {
+                writerLock.close();
+            }
+            LOGGER.info("Map closed: {}", name);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Long2LongMapImpl:name=" + name + "|generation=" + generation + "|capacity=" + capacity +
+                "|readOnly=" + readOnly + "|closed=" + isClosed();
+    }
+}
@@ -0,0 +1,800 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.collections.impl;
+
+import org.agrona.BitUtil;
+import org.agrona.concurrent.AtomicBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tools4j.mmap.collections.api.KeyValueHandler;
+import org.tools4j.mmap.collections.api.LongBTree;
+import org.tools4j.mmap.region.api.AccessMode;
+import org.tools4j.mmap.region.api.ElasticMapping;
+import org.tools4j.mmap.region.api.FixedMapping;
+import org.tools4j.mmap.region.api.Mappings;
+import org.tools4j.mmap.region.config.MappingConfig;
+import org.tools4j.mmap.region.impl.WriterLock;
+
+import java.io.File;
+import java.lang.invoke.VarHandle;
+
+import static java.util.Objects.requireNonNull;
+import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
+
+/**
+ * Implementation of {@link LongBTree} as a B+tree with copy-on-write pages.
+ * <p>
+ * A meta file holds page size, root page, page count, size and the head of the free page list;  pages are stored in a
+ * separate page file where page {@code n} starts at position {@code n * pageSize}.  Page zero is not used so that zero
+ * can denote the absence of a page.  Every page starts with a version, type and entry count, followed by key/value
+ * pairs for leaf pages, and by the first child followed by key/child pairs for inner pages.
+ * <p>
+ * The single writer never modifies the entries of a reachable page in place:  a modified page is built as a new page
+ * and then swapped in by a single write of the child pointer in the parent page, or of the root page in the meta file.
+ * A page split builds both halves and a new or split parent before the swap.  The tree reachable from the root is
+ * hence consistent at all times, even if the writer terminates in the middle of an update.  Replaced pages are added
+ * to the free list and reused for new pages;  value updates of existing keys are performed in place with a single
+ * write.
+ * <p>
+ * The writer makes the version of a page odd while it modifies the page and even again afterwards, including when it
+ * swaps a child pointer, frees a page or reuses a free page.  Readers descend from the root with optimistic lock
+ * coupling:  they read a page and validate its version afterwards, and validate the parent page again after reading
+ * the version of a child page, so that a child page that was replaced and reused concurrently is never mistaken for a
+ * current page.  Readers restart from the root if validation fails.  Range scans move from one leaf to the next by
+ * descending again with the upper bound of the previous leaf that was determined from the separator keys of the
+ * parent pages.
+ */
+public final class LongBTreeImpl implements LongBTree {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LongBTreeImpl.class);
+    public static final String FILE_ENDING = ".mmc";
+    public static final int MIN_PAGE_SIZE = 256;
+    static final int MAX_HEIGHT = 64;
+    /** Maximum time a reader waits for the writer to complete the modification of a page */
+    static final long MAX_PAGE_UPDATE_WAIT_MILLIS = 5000;
+
+    static final int META_LENGTH = CACHE_LINE_LENGTH;
+    static final int PAGE_SIZE_OFFSET = 0;
+    static final int ROOT_OFFSET = PAGE_SIZE_OFFSET + Long.BYTES;
+    static final int PAGE_COUNT_OFFSET = ROOT_OFFSET + Long.BYTES;
+    static final int SIZE_OFFSET = PAGE_COUNT_OFFSET + Long.BYTES;
+    static final int DIRTY_OFFSET = SIZE_OFFSET + Long.BYTES;
+    static final int FREE_LIST_OFFSET = DIRTY_OFFSET + Long.BYTES;
+
+    static final int VERSION_OFFSET = 0;
+    static final int TYPE_OFFSET = VERSION_OFFSET + Long.BYTES;
+    static final int COUNT_OFFSET = TYPE_OFFSET + Integer.BYTES;
+    static final int ENTRIES_OFFSET = COUNT_OFFSET + Integer.BYTES;
+    static final int ENTRY_LENGTH = 2 * Long.BYTES;
+    static final int NEXT_FREE_OFFSET = ENTRIES_OFFSET;
+
+    static final int LEAF = 1;
+    static final int INNER = 2;
+    static final int FREE = 3;
+    static final long NO_PAGE = 0;
+    static final long FIRST_PAGE = 1;
+
+    private final String name;
+    private final boolean readOnly;
+    private final WriterLock writerLock;
+    private final FixedMapping meta;
+    private final AtomicBuffer metaBuffer;
+    private final ElasticMapping pages;
+    private final ElasticMapping parentPages;
+    private final ElasticMapping newPages;
+    private final int pageSize;
+    private final int maxLeafEntries;
+    private final int maxInnerKeys;
+    private final long[] path = new long[MAX_HEIGHT];
+    private final int[] childIndices = new int[MAX_HEIGHT];
+    private final KeyValueHandler ceilingHandler = (key, value) -> {
+        ceilingKey = key;
+        return false;
+    };
+    private long ceilingKey;
+    private AtomicBuffer leaf;
+    private long leafVersion;
+    private boolean leafBounded;
+    private long leafUpperBound;
+
+    public LongBTreeImpl(final File directory,
+                         final AccessMode accessMode,
+                         final int pageSize,
+                         final MappingConfig config) {
+        this.name = directory.getName();
+        this.readOnly = accessMode == AccessMode.READ_ONLY;
+        validatePageSize(pageSize, config);
+        final File metaFile = new File(directory, name + "_tree" + FILE_ENDING);
+        final File pageFile = new File(directory, name + "_tree_pages" + FILE_ENDING);
+        if (readOnly) {
+            if (!metaFile.exists()) {
+                throw new IllegalArgumentException("Tree does not exist: " + directory);
+            }
+        } else if (!directory.exists() && !directory.mkdir()) {
+            throw new IllegalArgumentException("Parent directory does not exist: " + directory);
+        }
+        this.writerLock = readOnly ? null :
+                WriterLock.acquire(new File(directory, name + "_tree_lock" + FILE_ENDING), "Tree " + name);
+        try {
+            if (accessMode == AccessMode.READ_WRITE_CLEAR) {
+                deleteFile(metaFile);
+                deleteFile(pageFile);
+            }
+            final AccessMode mode = readOnly ? AccessMode.READ_ONLY : AccessMode.READ_WRITE;
+            this.meta = Mappings.fixedSizeMapping(metaFile, mode, 0, META_LENGTH);
+            this.metaBuffer = meta.buffer();
+            final long storedPageSize = metaBuffer.getLongVolatile(PAGE_SIZE_OFFSET);
+            if (storedPageSize == 0 && readOnly) {
+                throw new IllegalArgumentException("Tree is not initialised: " + directory);
+            }
+            this.pageSize = storedPageSize == 0 ? pageSize : (int)storedPageSize;
+            if (storedPageSize != 0) {
+                validatePageSize(this.pageSize, config);
+            }
+            this.maxLeafEntries = (this.pageSize - ENTRIES_OFFSET) / ENTRY_LENGTH;
+            this.maxInnerKeys = (this.pageSize - ENTRIES_OFFSET - Long.BYTES) / ENTRY_LENGTH;
+            this.pages = Mappings.elasticMapping(pageFile, mode, config);
+            this.parentPages = Mappings.elasticMapping(pageFile, mode, config);
+            this.newPages = readOnly ? null : Mappings.elasticMapping(pageFile, mode, config);
+            if (!readOnly) {
+                if (storedPageSize == 0) {
+                    initTree();
+                } else if (metaBuffer.getLongVolatile(DIRTY_OFFSET) != 0) {
+                    recover();
+                }
+                metaBuffer.putLongRelease(DIRTY_OFFSET, 1);
+            }
+        } catch (final RuntimeException e) {
+            closeAfterFailedOpen();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes whatever was opened by the constructor before it failed, and releases the writer lock.
+     */
+    private void closeAfterFailedOpen() {
+        if (pages != null) {
+            pages.close();
+        }
+        if (parentPages != null) {
+            parentPages.close();
+        }
+        if (newPages != null) {
+            newPages.close();
+        }
+        if (meta != null) {
+            meta.close();
+        }
+        if (writerLock != null) {
+            writerLock.close();
+        }
+    }
+
+    private static void validatePageSize(final int pageSize, final MappingConfig config) {
+        final int regionSize = config.effectiveMappingStrategy().regionSize();
+        if (!BitUtil.isPowerOfTwo(pageSize) || pageSize < MIN_PAGE_SIZE || pageSize > regionSize) {
+            throw new IllegalArgumentException("Page size must be a power of two in [" + MIN_PAGE_SIZE + ", " +
+                    regionSize + "] but was " + pageSize);
+        }
+    }
+
+    private static void deleteFile(final File file) {
+        if (file.exists() && !file.delete()) {
+            throw new IllegalStateException("Could not delete tree file: " + file);
+        }
+    }
+
+    private void initTree() {
+        metaBuffer.putLong(PAGE_COUNT_OFFSET, FIRST_PAGE);
+        metaBuffer.putLong(SIZE_OFFSET, 0);
+        metaBuffer.putLong(FREE_LIST_OFFSET, NO_PAGE);
+        final long root = allocatePage(LEAF);
+        publishPage(page(newPages, root));
+        metaBuffer.putLongRelease(ROOT_OFFSET, root);
+        metaBuffer.putLongRelease(PAGE_SIZE_OFFSET, pageSize);
+    }
+
+    /**
+     * Recovers after the previous writer terminated without closing the tree.  Pages are modified copy-on-write, hence
+     * a page with an odd version was either not reachable yet, or it was a page whose child pointer was swapped with a
+     * single write:  versions are made even again, and the size is recounted from the leaf pages.  Pages allocated or
+     * replaced by the terminated writer but not yet added to the free list are not reclaimed.
+     */
+    private void recover() {
+        final long pageCount = metaBuffer.getLongVolatile(PAGE_COUNT_OFFSET);
+        for (long pageNo = FIRST_PAGE; pageNo < pageCount; pageNo++) {
+            final AtomicBuffer page = page(pages, pageNo);
+            final long version = page.getLong(VERSION_OFFSET);
+            if ((version & 1) != 0) {
+                LOGGER.warn("Tree {} page {} was being modified by a terminated writer", name, pageNo);
+                page.putLongRelease(VERSION_OFFSET, version + 1);
+            }
+        }
+        final long size = countEntries(metaBuffer.getLongVolatile(ROOT_OFFSET), 0);
+        metaBuffer.putLongRelease(SIZE_OFFSET, size);
+        LOGGER.info("Recovered tree {} after unclean shutdown: size={}", name, size);
+    }
+
+    private long countEntries(final long pageNo, final int depth) {
+        if (depth >= MAX_HEIGHT) {
+            throw new IllegalStateException("Tree " + name + " exceeds max height " + MAX_HEIGHT);
+        }
+        final AtomicBuffer page = page(pages, pageNo);
+        final int count = page.getInt(COUNT_OFFSET);
+        if (page.getInt(TYPE_OFFSET) == LEAF) {
+            return count;
+        }
+        long size = 0;
+        for (int index = 0; index <= count; index++) {
+            size += countEntries(page(pages, pageNo).getLong(childOffset(index)), depth + 1);
+        }
+        return size;
+    }
+
+    private AtomicBuffer page(final ElasticMapping mapping, final long pageNo) {
+        if (!mapping.moveTo(pageNo * pageSize)) {
+            throw new IllegalStateException("Moving to page " + pageNo + " failed for tree " + name);
+        }
+        return mapping.buffer();
+    }
+
+    /**
+     * Allocates a page from the free list, or a new page at the end of the page file if the free list is empty.  The
+     * page version is odd until the page is {@link #publishPage(AtomicBuffer) published}.
+     *
+     * @param type the page type
+     * @return the page number of the allocated page, accessible through {@link #newPages}
+     */
+    private long allocatePage(final int type) {
+        final long free = metaBuffer.getLong(FREE_LIST_OFFSET);
+        final long pageNo;
+        final AtomicBuffer page;
+        if (free != NO_PAGE) {
+            pageNo = free;
+            page = page(newPages, pageNo);
+            metaBuffer.putLongRelease(FREE_LIST_OFFSET, page.getLong(NEXT_FREE_OFFSET));
+        } else {
+            pageNo = metaBuffer.getLong(PAGE_COUNT_OFFSET);
+            metaBuffer.putLongRelease(PAGE_COUNT_OFFSET, pageNo + 1);
+            page = page(newPages, pageNo);
+        }
+        beginUpdate(page);
+        page.putInt(TYPE_OFFSET, type);
+        page.putInt(COUNT_OFFSET, 0);
+        return pageNo;
+    }
+
+    private static void publishPage(final AtomicBuffer page) {
+        endUpdate(page, page.getLong(VERSION_OFFSET) + 1);
+    }
+
+    /**
+     * Adds a page that is no longer reachable to the free list.  Readers that still access the page fail validation
+     * since the page version is changed.
+     */
+    private void freePage(final long pageNo) {
+        final AtomicBuffer page = page(newPages, pageNo);
+        final long version = beginUpdate(page);
+        page.putInt(TYPE_OFFSET, FREE);
+        page.putInt(COUNT_OFFSET, 0);
+        page.putLong(NEXT_FREE_OFFSET, metaBuffer.getLong(FREE_LIST_OFFSET));
+        endUpdate(page, version);
+        metaBuffer.putLongRelease(FREE_LIST_OFFSET, pageNo);
+    }
+
+    private static int keyOffset(final int index) {
+        return ENTRIES_OFFSET + index * ENTRY_LENGTH;
+    }
+
+    private static int valueOffset(final int index) {
+        return ENTRIES_OFFSET + index * ENTRY_LENGTH + Long.BYTES;
+    }
+
+    private static int childOffset(final int index) {
+        return ENTRIES_OFFSET + index * ENTRY_LENGTH;
+    }
+
+    private static int innerKeyOffset(final int index) {
+        return ENTRIES_OFFSET + index * ENTRY_LENGTH + Long.BYTES;
+    }
+
+    private static int count(final AtomicBuffer page, final int maxCount) {
+        //count may be inconsistent while a page is modified concurrently, and is only used after version validation
+        return Math.max(0, Math.min(page.getInt(COUNT_OFFSET), maxCount));
+    }
+
+    private static boolean validate(final AtomicBuffer page, final long version) {
+        VarHandle.acquireFence();
+        return page.getLongVolatile(VERSION_OFFSET) == version;
+    }
+
+    /**
+     * Reads the page version, waiting while the page is being modified by the writer.
+     *
+     * @throws IllegalStateException if the page is modified for longer than {@link #MAX_PAGE_UPDATE_WAIT_MILLIS}, for
+     *                               instance because the writer terminated in the middle of a modification
+     */
+    private long readVersion(final AtomicBuffer page, final long pageNo) {
+        long version = page.getLongVolatile(VERSION_OFFSET);
+        if ((version & 1) == 0) {
+            return version;
+        }
+        final long deadline = System.nanoTime() + MAX_PAGE_UPDATE_WAIT_MILLIS * 1_000_000;
+        do {
+            Thread.onSpinWait();
+            version = page.getLongVolatile(VERSION_OFFSET);
+            if ((version & 1) == 0) {
+                return version;
+            }
+        } while (System.nanoTime() - deadline < 0);
+        throw new IllegalStateException("Page " + pageNo + " of tree " + name + " is still being modified after " +
+                MAX_PAGE_UPDATE_WAIT_MILLIS + "ms, the writer may have terminated without closing the tree");
+    }
+
+    private static int searchLeaf(final AtomicBuffer page, final int count, final long key) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final long midKey = page.getLong(keyOffset(mid));
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Returns the index of the child page for the key, that is, the number of separator keys less than or equal to
+     * the key.
+     */
+    private static int searchInner(final AtomicBuffer page, final int count, final long key) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (page.getLong(innerKeyOffset(mid)) <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Descends optimistically from the root to the leaf page for the key, restarting from the root if a page was
+     * modified concurrently.  The leaf page buffer, its version and upper bound are stored in {@link #leaf},
+     * {@link #leafVersion}, {@link #leafBounded} and {@link #leafUpperBound}.
+     */
+    private void findLeaf(final long key) {
+        while (!tryFindLeaf(key)) {
+            //restart from the root
+        }
+    }
+
+    private boolean tryFindLeaf(final long key) {
+        ElasticMapping mapping = pages;
+        ElasticMapping otherMapping = parentPages;
+        long pageNo = metaBuffer.getLongVolatile(ROOT_OFFSET);
+        AtomicBuffer page = page(mapping, pageNo);
+        long version = readVersion(page, pageNo);
+        if (metaBuffer.getLongVolatile(ROOT_OFFSET) != pageNo) {
+            return false;
+        }
+        boolean bounded = false;
+        long upperBound = 0;
+        while (page.getInt(TYPE_OFFSET) == INNER) {
+            final int count = count(page, maxInnerKeys);
+            final int index = searchInner(page, count, key);
+            final long childNo = page.getLong(childOffset(index));
+            final long childUpperBound = index < count ? page.getLong(innerKeyOffset(index)) : 0;
+            if (!validate(page, version) || childNo < FIRST_PAGE ||
+                    childNo >= metaBuffer.getLongVolatile(PAGE_COUNT_OFFSET)) {
+                return false;
+            }
+            //NOTE: parent stays mapped while accessing the child, and is validated again after reading the child
+            //      version to make sure that the child page was not replaced and reused in the meantime
+            final ElasticMapping childMapping = otherMapping;
+            otherMapping = mapping;
+            mapping = childMapping;
+            final AtomicBuffer child = page(childMapping, childNo);
+            final long childVersion = readVersion(child, childNo);
+            if (!validate(page, version)) {
+                return false;
+            }
+            if (index < count) {
+                bounded = true;
+                upperBound = childUpperBound;
+            }
+            pageNo = childNo;
+            page = child;
+            version = childVersion;
+        }
+        leaf = page;
+        leafVersion = version;
+        leafBounded = bounded;
+        leafUpperBound = upperBound;
+        return true;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public int pageSize() {
+        return pageSize;
+    }
+
+    @Override
+    public long get(final long key, final long missingValue) {
+        checkNotClosed();
+        while (true) {
+            findLeaf(key);
+            final AtomicBuffer page = leaf;
+            final int index = searchLeaf(page, count(page, maxLeafEntries), key);
+            final long value = index >= 0 ? page.getLong(valueOffset(index)) : missingValue;
+            if (validate(page, leafVersion)) {
+                return value;
+            }
+        }
+    }
+
+    @Override
+    public boolean containsKey(final long key) {
+        checkNotClosed();
+        while (true) {
+            findLeaf(key);
+            final AtomicBuffer page = leaf;
+            final boolean found = searchLeaf(page, count(page, maxLeafEntries), key) >= 0;
+            if (validate(page, leafVersion)) {
+                return found;
+            }
+        }
+    }
+
+    @Override
+    public long ceilingKey(final long key, final long missingKey) {
+        ceilingKey = missingKey;
+        scan(key, Long.MAX_VALUE, ceilingHandler);
+        return ceilingKey;
+    }
+
+    @Override
+    public int scan(final long fromKey, final long toKey, final KeyValueHandler handler) {
+        requireNonNull(handler);
+        checkNotClosed();
+        if (fromKey > toKey) {
+            return 0;
+        }
+        int handled = 0;
+        long next = fromKey;
+        retry:
+        while (true) {
+            findLeaf(next);
+            final AtomicBuffer page = leaf;
+            final long version = leafVersion;
+            final boolean bounded = leafBounded;
+            final long upperBound = leafUpperBound;
+            final int count = count(page, maxLeafEntries);
+            final int start = searchLeaf(page, count, next);
+            for (int index = start >= 0 ? start : -(start + 1); index < count; index++) {
+                final long key = page.getLong(keyOffset(index));
+                final long value = page.getLong(valueOffset(index));
+                if (!validate(page, version)) {
+                    continue retry;
+                }
+                if (key > toKey) {
+                    return handled;
+                }
+                handled++;
+                if (!handler.onEntry(key, value) || key == Long.MAX_VALUE) {
+                    return handled;
+                }
+                next = key + 1;
+            }
+            if (!validate(page, version)) {
+                continue;
+            }
+            if (!bounded || upperBound > toKey) {
+                return handled;
+            }
+            next = upperBound;
+        }
+    }
+
+    @Override
+    public boolean put(final long key, final long value) {
+        checkWritable();
+        final int depth = descendForUpdate(key);
+        final long leafNo = path[depth];
+        final AtomicBuffer leaf = page(pages, leafNo);
+        final int count = leaf.getInt(COUNT_OFFSET);
+        final int index = searchLeaf(leaf, count, key);
+        if (index >= 0) {
+            leaf.putLongRelease(valueOffset(index), value);
+            return false;
+        }
+        final int pos = -(index + 1);
+        if (count < maxLeafEntries) {
+            replaceChild(depth, buildLeaf(leaf, pos, key, value, 0, count + 1));
+        } else {
+            final int total = count + 1;
+            final int leftCount = total >>> 1;
+            final long leftNo = buildLeaf(leaf, pos, key, value, 0, leftCount);
+            final long rightNo = buildLeaf(leaf, pos, key, value, leftCount, total);
+            final long separator = page(newPages, rightNo).getLong(keyOffset(0));
+            replaceWithSplit(depth, leftNo, separator, rightNo);
+        }
+        freePage(leafNo);
+        metaBuffer.putLongRelease(SIZE_OFFSET, metaBuffer.getLong(SIZE_OFFSET) + 1);
+        return true;
+    }
+
+    /**
+     * Descends from the root to the leaf for key and records the visited pages in {@link #path}, and the index of the
+     * child page that was followed in {@link #childIndices}.
+     *
+     * @return the depth of the leaf page, that is, the index of the leaf page in path
+     */
+    private int descendForUpdate(final long key) {
+        int depth = 0;
+        long pageNo = metaBuffer.getLong(ROOT_OFFSET);
+        while (true) {
+            final AtomicBuffer page = page(pages, pageNo);
+            path[depth] = pageNo;
+            if (page.getInt(TYPE_OFFSET) == LEAF) {
+                return depth;
+            }
+            final int index = searchInner(page, page.getInt(COUNT_OFFSET), key);
+            childIndices[depth] = index;
+            if (++depth >= MAX_HEIGHT) {
+                throw new IllegalStateException("Tree " + name + " exceeds max height " + MAX_HEIGHT);
+            }
+            pageNo = page.getLong(childOffset(index));
+        }
+    }
+
+    private static long beginUpdate(final AtomicBuffer page) {
+        final long version = page.getLong(VERSION_OFFSET);
+        page.putLongVolatile(VERSION_OFFSET, version + 1);
+        VarHandle.storeStoreFence();
+        return version + 2;
+    }
+
+    private static void endUpdate(final AtomicBuffer page, final long version) {
+        page.putLongRelease(VERSION_OFFSET, version);
+    }
+
+    /**
+     * Builds a new leaf page with the entries {@code [from, to)} of the source leaf page after inserting key and value
+     * at position pos.
+     *
+     * @return the page number of the new leaf page
+     */
+    private long buildLeaf(final AtomicBuffer source, final int pos, final long key, final long value,
+                           final int from, final int to) {
+        final long pageNo = allocatePage(LEAF);
+        final AtomicBuffer page = page(newPages, pageNo);
+        int count = 0;
+        final int endBefore = Math.min(to, pos);
+        if (from < endBefore) {
+            count = endBefore - from;
+            page.putBytes(keyOffset(0), source, keyOffset(from), count * ENTRY_LENGTH);
+        }
+        if (from <= pos && pos < to) {
+            page.putLong(keyOffset(count), key);
+            page.putLong(valueOffset(count), value);
+            count++;
+        }
+        final int startAfter = Math.max(from, pos + 1);
+        if (startAfter < to) {
+            page.putBytes(keyOffset(count), source, keyOffset(startAfter - 1), (to - startAfter) * ENTRY_LENGTH);
+            count += to - startAfter;
+        }
+        page.putInt(COUNT_OFFSET, count);
+        publishPage(page);
+        return pageNo;
+    }
+
+    /**
+     * Swaps the page at the given depth of {@link #path} with a new page by writing the child pointer of the parent
+     * page, or the root page if depth is zero.
+     */
+    private void replaceChild(final int depth, final long pageNo) {
+        if (depth == 0) {
+            metaBuffer.putLongRelease(ROOT_OFFSET, pageNo);
+            return;
+        }
+        final AtomicBuffer parent = page(pages, path[depth - 1]);
+        final long version = beginUpdate(parent);
+        parent.putLong(childOffset(childIndices[depth - 1]), pageNo);
+        endUpdate(parent, version);
+    }
+
+    /**
+     * Replaces the page at the given depth of {@link #path} with the left and right pages resulting from a split,
+     * building a new parent page, or splitting the parent page if it is full.  A new root page is created if the root
+     * page was split.
+     */
+    private void replaceWithSplit(final int depth, final long leftNo, final long separator, final long rightNo) {
+        if (depth == 0) {
+            final long rootNo = allocatePage(INNER);
+            final AtomicBuffer root = page(newPages, rootNo);
+            root.putLong(childOffset(0), leftNo);
+            root.putLong(innerKeyOffset(0), separator);
+            root.putLong(childOffset(1), rightNo);
+            root.putInt(COUNT_OFFSET, 1);
+            publishPage(root);
+            metaBuffer.putLongRelease(ROOT_OFFSET, rootNo);
+            return;
+        }
+        final long parentNo = path[depth - 1];
+        final int childIndex = childIndices[depth - 1];
+        final AtomicBuffer parent = page(pages, parentNo);
+        final int keys = parent.getInt(COUNT_OFFSET) + 1;
+        if (keys <= maxInnerKeys) {
+            replaceChild(depth - 1,
+                    buildInner(parent, childIndex, leftNo, separator, rightNo, 0, 2 * keys + 1));
+        } else {
+            final int mid = keys >>> 1;
+            final long newLeftNo = buildInner(parent, childIndex, leftNo, separator, rightNo, 0, 2 * mid + 1);
+            final long promoted = splitInnerLong(parent, childIndex, leftNo, separator, rightNo, 2 * mid + 1);
+            final long newRightNo = buildInner(parent, childIndex, leftNo, separator, rightNo, 2 * mid + 2,
+                    2 * keys + 1);
+            replaceWithSplit(depth - 1, newLeftNo, promoted, newRightNo);
+        }
+        freePage(parentNo);
+    }
+
+    /**
+     * Builds a new inner page from the range {@code [from, to)} of the alternating child/key sequence of the source
+     * inner page, where the child at childIndex is replaced with the left child, the separator and the right child.
+     *
+     * @return the page number of the new inner page
+     */
+    private long buildInner(final AtomicBuffer source, final int childIndex,
+                            final long leftNo, final long separator, final long rightNo,
+                            final int from, final int to) {
+        final long pageNo = allocatePage(INNER);
+        final AtomicBuffer page = page(newPages, pageNo);
+        for (int i = from; i < to; i++) {
+            page.putLong(ENTRIES_OFFSET + (i - from) * Long.BYTES,
+                    splitInnerLong(source, childIndex, leftNo, separator, rightNo, i));
+        }
+        page.putInt(COUNT_OFFSET, (to - from - 1) / 2);
+        publishPage(page);
+        return pageNo;
+    }
+
+    /**
+     * Returns a long of the alternating child/key sequence of the source inner page, with the child at childIndex
+     * replaced by the left child, the separator and the right child.
+     */
+    private static long splitInnerLong(final AtomicBuffer source, final int childIndex,
+                                       final long leftNo, final long separator, final long rightNo,
+                                       final int i) {
+        final int splitAt = 2 * childIndex;
+        if (i < splitAt) {
+            return source.getLong(ENTRIES_OFFSET + i * Long.BYTES);
+        }
+        if (i == splitAt) {
+            return leftNo;
+        }
+        if (i == splitAt + 1) {
+            return separator;
+        }
+        if (i == splitAt + 2) {
+            return rightNo;
+        }
+        return source.getLong(ENTRIES_OFFSET + (i - 2) * Long.BYTES);
+    }
+
+    @Override
+    public boolean remove(final long key) {
+        checkWritable();
+        final int depth = descendForUpdate(key);
+        final long leafNo = path[depth];
+        final AtomicBuffer leaf = page(pages, leafNo);
+        final int count = leaf.getInt(COUNT_OFFSET);
+        final int index = searchLeaf(leaf, count, key);
+        if (index < 0) {
+            return false;
+        }
+        final long copyNo = allocatePage(LEAF);
+        final AtomicBuffer copy = page(newPages, copyNo);
+        copy.putBytes(keyOffset(0), leaf, keyOffset(0), index * ENTRY_LENGTH);
+        copy.putBytes(keyOffset(index), leaf, keyOffset(index + 1), (count - index - 1) * ENTRY_LENGTH);
+        copy.putInt(COUNT_OFFSET, count - 1);
+        publishPage(copy);
+        replaceChild(depth, copyNo);
+        freePage(leafNo);
+        metaBuffer.putLongRelease(SIZE_OFFSET, metaBuffer.getLong(SIZE_OFFSET) - 1);
+        return true;
+    }
+
+    @Override
+    public long size() {
+        checkNotClosed();
+        return metaBuffer.getLongVolatile(SIZE_OFFSET);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return meta.isClosed();
+    }
+
+    private void checkNotClosed() {
+        if (isClosed()) {
+            throw new IllegalStateException("Tree " + name + " is closed");
+        }
+    }
+
+    private void checkWritable() {
+        checkNotClosed();
+        if (readOnly) {
+            throw new IllegalStateException("Tree " + name + " is opened in read-only mode");
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!isClosed()) {
+            if (!readOnly && pages != null) {
+                metaBuffer.putLongRelease(DIRTY_OFFSET, 0);
+            }
+            if (pages != null) {
+                pages.close();
+            }
+            if (parentPages != null) {
+                parentPages.close();
+            }
+            if (newPages != null) {
+                newPages.close();
+            }
+            meta.close();
+            if (writerLock != null) {
+                writerLock.close();
+            }
+            LOGGER.info("Tree closed: {}", name);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LongBTreeImpl:name=" + name + "|pageSize=" + pageSize + "|readOnly=" + readOnly +
+                "|closed=" + isClosed();
+    }
+}
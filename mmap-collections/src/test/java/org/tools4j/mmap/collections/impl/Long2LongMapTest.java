@@ -0,0 +1,168 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.collections.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.tools4j.mmap.collections.api.Long2LongMap;
+import org.tools4j.mmap.region.api.AccessMode;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class Long2LongMapTest {
+
+    private static final long MISSING = -1;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void putGetRemove() {
+        try (final Long2LongMap map = Long2LongMap.open(new File(tempDir.toFile(), "map"))) {
+            //when
+            final boolean added = map.put(42, 4200);
+            final boolean replaced = map.put(42, 4201);
+            map.put(0, 7);
+
+            //then
+            assertThat(added).isTrue();
+            assertThat(replaced).isFalse();
+            assertThat(map.get(42, MISSING)).isEqualTo(4201);
+            assertThat(map.get(0, MISSING)).isEqualTo(7);
+            assertThat(map.get(43, MISSING)).isEqualTo(MISSING);
+            assertThat(map.size()).isEqualTo(2);
+
+            //when
+            final boolean removed = map.remove(42);
+
+            //then
+            assertThat(removed).isTrue();
+            assertThat(map.remove(42)).isFalse();
+            assertThat(map.containsKey(42)).isFalse();
+            assertThat(map.get(42, MISSING)).isEqualTo(MISSING);
+            assertThat(map.size()).isEqualTo(1);
+            assertThat(map.put(42, 1)).isTrue();
+            assertThat(map.get(42, MISSING)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void rehashIntoNewGenerationVisibleToReader() {
+        final File dir = new File(tempDir.toFile(), "map");
+        final int entries = 10_000;
+        try (final Long2LongMap writer = Long2LongMap.open(dir, AccessMode.READ_WRITE, 16);
+             final Long2LongMap reader = Long2LongMap.open(dir, AccessMode.READ_ONLY, 16)) {
+            //when
+            for (int i = 0; i < entries; i++) {
+                writer.put(i * 31L, i);
+            }
+
+            //then
+            assertThat(writer.generation()).isPositive();
+            assertThat(writer.capacity()).isGreaterThanOrEqualTo(entries);
+            assertThat(reader.size()).isEqualTo(entries);
+            assertThat(reader.capacity()).isEqualTo(writer.capacity());
+            for (int i = 0; i < entries; i++) {
+                assertThat(reader.get(i * 31L, MISSING)).isEqualTo(i);
+            }
+            assertThatThrownBy(() -> reader.put(1, 1)).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void reopenRetainsEntries() {
+        final File dir = new File(tempDir.toFile(), "map");
+        try (final Long2LongMap map = Long2LongMap.open(dir)) {
+            for (int i = 0; i < 5000; i++) {
+                map.put(i, -i);
+            }
+            map.remove(3);
+            //then
+            assertThatThrownBy(() -> Long2LongMap.open(dir)).isInstanceOf(IllegalStateException.class);
+        }
+
+        //when
+        try (final Long2LongMap map = Long2LongMap.open(dir)) {
+            //then
+            assertThat(map.size()).isEqualTo(4999);
+            assertThat(map.get(4999, MISSING)).isEqualTo(-4999);
+            assertThat(map.containsKey(3)).isFalse();
+        }
+
+        //when
+        try (final Long2LongMap map = Long2LongMap.open(dir, AccessMode.READ_WRITE_CLEAR, 16)) {
+            //then
+            assertThat(map.size()).isZero();
+            assertThat(map.generation()).isZero();
+        }
+    }
+
+    @Test
+    void clearFailsWithoutDeletingFilesWhileMapIsOpenForWriting() {
+        final File dir = new File(tempDir.toFile(), "map");
+        try (final Long2LongMap map = Long2LongMap.open(dir)) {
+            map.put(1, 11);
+
+            //when
+            assertThatThrownBy(() -> Long2LongMap.open(dir, AccessMode.READ_WRITE_CLEAR, 16))
+                    .isInstanceOf(IllegalStateException.class);
+
+            //then
+            assertThat(map.get(1, MISSING)).isEqualTo(11);
+            try (final Long2LongMap reader = Long2LongMap.open(dir, AccessMode.READ_ONLY, 16)) {
+                assertThat(reader.get(1, MISSING)).isEqualTo(11);
+            }
+        }
+        assertThat(new File(dir, "map_map_lock" + Long2LongMapImpl.FILE_ENDING)).exists();
+    }
+
+    @Test
+    void failedOpenReleasesWriterLock() throws IOException {
+        //given
+        final File dir = new File(tempDir.toFile(), "map");
+        try (final Long2LongMap map = Long2LongMap.open(dir)) {
+            map.put(1, 11);
+        }
+        final File generationFile = new File(dir, "map_map_0" + Long2LongMapImpl.FILE_ENDING);
+        try (final RandomAccessFile file = new RandomAccessFile(generationFile, "rw")) {
+            file.writeLong(Long.reverseBytes(3));
+        }
+
+        //when
+        assertThatThrownBy(() -> Long2LongMap.open(dir))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Invalid capacity");
+
+        //then
+        try (final Long2LongMap map = Long2LongMap.open(dir, AccessMode.READ_WRITE_CLEAR, 16)) {
+            assertThat(map.size()).isZero();
+        }
+    }
+}
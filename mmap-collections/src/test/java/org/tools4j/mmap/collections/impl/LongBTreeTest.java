@@ -0,0 +1,287 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.collections.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.tools4j.mmap.collections.api.LongBTree;
+import org.tools4j.mmap.region.api.AccessMode;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongBTreeTest {
+
+    private static final long MISSING = -1;
+    private static final int SMALL_PAGE_SIZE = 256;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void putGetRemove() {
+        try (final LongBTree tree = LongBTree.open(new File(tempDir.toFile(), "tree"))) {
+            //when
+            final boolean added = tree.put(42, 4200);
+            final boolean replaced = tree.put(42, 4201);
+            tree.put(Long.MIN_VALUE, 7);
+
+            //then
+            assertThat(added).isTrue();
+            assertThat(replaced).isFalse();
+            assertThat(tree.get(42, MISSING)).isEqualTo(4201);
+            assertThat(tree.get(Long.MIN_VALUE, MISSING)).isEqualTo(7);
+            assertThat(tree.get(43, MISSING)).isEqualTo(MISSING);
+            assertThat(tree.ceilingKey(0, MISSING)).isEqualTo(42);
+            assertThat(tree.ceilingKey(43, MISSING)).isEqualTo(MISSING);
+            assertThat(tree.size()).isEqualTo(2);
+
+            //when
+            final boolean removed = tree.remove(42);
+
+            //then
+            assertThat(removed).isTrue();
+            assertThat(tree.remove(42)).isFalse();
+            assertThat(tree.containsKey(42)).isFalse();
+            assertThat(tree.size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void randomPutsAndRemovesMatchSortedMap() {
+        //given
+        final TreeMap<Long, Long> expected = new TreeMap<>();
+        final Random random = new Random(42);
+        try (final LongBTree tree = LongBTree.open(new File(tempDir.toFile(), "tree"), AccessMode.READ_WRITE,
+                SMALL_PAGE_SIZE)) {
+            //when
+            for (int i = 0; i < 50_000; i++) {
+                final long key = random.nextInt(100_000) - 50_000;
+                final long value = random.nextLong();
+                assertThat(tree.put(key, value)).isEqualTo(expected.put(key, value) == null);
+                if (i % 5 == 0) {
+                    final long removeKey = random.nextInt(100_000) - 50_000;
+                    assertThat(tree.remove(removeKey)).isEqualTo(expected.remove(removeKey) != null);
+                }
+            }
+
+            //then
+            assertThat(tree.size()).isEqualTo(expected.size());
+            for (int i = 0; i < 10_000; i++) {
+                final long key = random.nextInt(120_000) - 60_000;
+                assertThat(tree.get(key, MISSING)).isEqualTo(expected.getOrDefault(key, MISSING));
+                final Long ceiling = expected.ceilingKey(key);
+                assertThat(tree.ceilingKey(key, Long.MIN_VALUE)).isEqualTo(ceiling == null ? Long.MIN_VALUE : ceiling);
+            }
+            final List<Long> scanned = new ArrayList<>();
+            final int count = tree.scan(-1000, 5000, (key, value) -> {
+                assertThat(value).isEqualTo(expected.get(key));
+                return scanned.add(key);
+            });
+            assertThat(scanned).containsExactlyElementsOf(expected.subMap(-1000L, true, 5000L, true).keySet());
+            assertThat(count).isEqualTo(scanned.size());
+            assertThat(tree.scan(Long.MIN_VALUE, Long.MAX_VALUE, (key, value) -> false)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void readerSeesEntriesOfConcurrentWriter() throws Exception {
+        final File dir = new File(tempDir.toFile(), "tree");
+        final int entries = 100_000;
+        try (final LongBTree writer = LongBTree.open(dir, AccessMode.READ_WRITE, SMALL_PAGE_SIZE)) {
+            //given
+            writer.put(0, 0);
+            final List<Throwable> errors = new ArrayList<>();
+            final Thread readerThread = new Thread(() -> {
+                try (final LongBTree reader = LongBTree.open(dir, AccessMode.READ_ONLY, SMALL_PAGE_SIZE)) {
+                    while (reader.size() < entries) {
+                        final long size = reader.size();
+                        for (long i = 0; i < size; i += 97) {
+                            final long value = reader.get(i * 2, MISSING);
+                            if (value != i * 20) {
+                                throw new AssertionError("Unexpected value " + value + " for key " + i * 2);
+                            }
+                        }
+                    }
+                } catch (final Throwable t) {
+                    errors.add(t);
+                }
+            });
+
+            //when
+            readerThread.start();
+            for (long i = 1; i < entries; i++) {
+                writer.put(i * 2, i * 20);
+            }
+            readerThread.join();
+
+            //then
+            assertThat(errors).isEmpty();
+        }
+    }
+
+    @Test
+    void reopenRetainsEntries() {
+        final File dir = new File(tempDir.toFile(), "tree");
+        try (final LongBTree tree = LongBTree.open(dir, AccessMode.READ_WRITE, SMALL_PAGE_SIZE)) {
+            for (int i = 0; i < 5000; i++) {
+                tree.put(i, -i);
+            }
+            tree.remove(3);
+            //then
+            assertThatThrownBy(() -> LongBTree.open(dir)).isInstanceOf(IllegalStateException.class);
+            try (final LongBTree reader = LongBTree.open(dir, AccessMode.READ_ONLY, SMALL_PAGE_SIZE)) {
+                assertThat(reader.get(4999, MISSING)).isEqualTo(-4999);
+                assertThatThrownBy(() -> reader.put(1, 1)).isInstanceOf(IllegalStateException.class);
+            }
+        }
+
+        //when
+        try (final LongBTree tree = LongBTree.open(dir)) {
+            //then
+            assertThat(tree.pageSize()).isEqualTo(SMALL_PAGE_SIZE);
+            assertThat(tree.size()).isEqualTo(4999);
+            assertThat(tree.get(4999, MISSING)).isEqualTo(-4999);
+            assertThat(tree.containsKey(3)).isFalse();
+        }
+
+        //when
+        try (final LongBTree tree = LongBTree.open(dir, AccessMode.READ_WRITE_CLEAR, SMALL_PAGE_SIZE)) {
+            //then
+            assertThat(tree.size()).isZero();
+            assertThat(tree.ceilingKey(Long.MIN_VALUE, MISSING)).isEqualTo(MISSING);
+        }
+    }
+
+    @Test
+    void replacedPagesAreReused() throws IOException {
+        //given
+        final File dir = new File(tempDir.toFile(), "tree");
+        final File metaFile = new File(dir, "tree_tree" + LongBTreeImpl.FILE_ENDING);
+        final long[] pageCounts = new long[2];
+
+        //when
+        for (int round = 0; round < 10; round++) {
+            try (final LongBTree tree = LongBTree.open(dir, AccessMode.READ_WRITE, SMALL_PAGE_SIZE)) {
+                for (int i = 0; i < 2000; i++) {
+                    tree.put(i, i);
+                }
+                for (int i = 0; i < 2000; i++) {
+                    tree.remove(i);
+                }
+                assertThat(tree.size()).isZero();
+            }
+            pageCounts[round == 0 ? 0 : 1] = readLong(metaFile, LongBTreeImpl.PAGE_COUNT_OFFSET);
+        }
+
+        //then
+        assertThat(pageCounts[1]).isLessThanOrEqualTo(2 * pageCounts[0]);
+    }
+
+    @Test
+    void recoverAfterUncleanShutdown() throws IOException {
+        //given
+        final File dir = new File(tempDir.toFile(), "tree");
+        final File metaFile = new File(dir, "tree_tree" + LongBTreeImpl.FILE_ENDING);
+        final File pageFile = new File(dir, "tree_tree_pages_0" + LongBTreeImpl.FILE_ENDING);
+        try (final LongBTree tree = LongBTree.open(dir, AccessMode.READ_WRITE, SMALL_PAGE_SIZE)) {
+            for (int i = 0; i < 5000; i++) {
+                tree.put(i, -i);
+            }
+        }
+        final long rootPosition = readLong(metaFile, LongBTreeImpl.ROOT_OFFSET) * SMALL_PAGE_SIZE;
+        writeLong(pageFile, rootPosition, readLong(pageFile, rootPosition) + 1);
+        writeLong(metaFile, LongBTreeImpl.SIZE_OFFSET, 12345);
+        writeLong(metaFile, LongBTreeImpl.DIRTY_OFFSET, 1);
+
+        //when
+        try (final LongBTree tree = LongBTree.open(dir)) {
+            //then
+            assertThat(tree.size()).isEqualTo(5000);
+            assertThat(tree.get(4999, MISSING)).isEqualTo(-4999);
+            assertThat(tree.put(5000, -5000)).isTrue();
+            try (final LongBTree reader = LongBTree.open(dir, AccessMode.READ_ONLY, SMALL_PAGE_SIZE)) {
+                assertThat(reader.get(0, MISSING)).isZero();
+                assertThat(reader.scan(0, Long.MAX_VALUE, (key, value) -> value == -key)).isEqualTo(5001);
+            }
+        }
+    }
+
+    @Test
+    void readerFailsIfPageIsNeverReleasedByWriter() throws IOException {
+        //given
+        final File dir = new File(tempDir.toFile(), "tree");
+        final File metaFile = new File(dir, "tree_tree" + LongBTreeImpl.FILE_ENDING);
+        final File pageFile = new File(dir, "tree_tree_pages_0" + LongBTreeImpl.FILE_ENDING);
+        try (final LongBTree tree = LongBTree.open(dir, AccessMode.READ_WRITE, SMALL_PAGE_SIZE)) {
+            tree.put(1, 1);
+        }
+        final long rootPosition = readLong(metaFile, LongBTreeImpl.ROOT_OFFSET) * SMALL_PAGE_SIZE;
+        writeLong(pageFile, rootPosition, readLong(pageFile, rootPosition) + 1);
+
+        //when
+        try (final LongBTree reader = LongBTree.open(dir, AccessMode.READ_ONLY, SMALL_PAGE_SIZE)) {
+            //then
+            assertThatThrownBy(() -> reader.get(1, MISSING))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("still being modified");
+        }
+    }
+
+    @Test
+    void invalidPageSize() {
+        final File dir = new File(tempDir.toFile(), "tree");
+        assertThatThrownBy(() -> LongBTree.open(dir, AccessMode.READ_WRITE, 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LongBTree.open(dir, AccessMode.READ_WRITE, 128))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static long readLong(final File file, final long position) throws IOException {
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            final ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.nativeOrder());
+            raf.getChannel().read(buffer, position);
+            return buffer.getLong(0);
+        }
+    }
+
+    private static void writeLong(final File file, final long position, final long value) throws IOException {
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            final ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.nativeOrder());
+            buffer.putLong(0, value);
+            raf.getChannel().write(buffer, position);
+        }
+    }
+}
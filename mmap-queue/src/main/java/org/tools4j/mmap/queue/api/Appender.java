@@ -112,6 +112,44 @@ public interface Appender extends Closeable {
      */
     long append(DirectBuffer buffer, int offset, int length);
 
+    /**
+     * Appends an entry copying the data provided in the given byte array, but only if the entry can be appended at
+     * exactly the expected index, that is, if the queue currently ends at that index.  Nothing is appended if the
+     * index is already taken or lies beyond the end of the queue.
+     * <p>
+     * This is useful for replicated logs where a follower must append an entry at the same index as the leader.
+     *
+     * @param expectedIndex - the index at which the entry must be appended
+     * @param bytes         - byte array containing entry data
+     * @param offset        - offset of the entry data in the byte array
+     * @param length        - length of the entry data
+     * @return true if the entry was appended at the expected index, and false otherwise
+     * @throws IllegalArgumentException if length exceeds the maximum length for an entry allowed by the queue, or if
+     *                                  expected index is negative or exceeds the max index
+     * @throws IllegalStateException if the appender or the underlying queue is closed, or if a transaction is open
+     * @throws UnsupportedOperationException if the queue does not support conditional appends
+     * @see AppendingContext#commitAt(long, int)
+     */
+    boolean appendAt(long expectedIndex, byte[] bytes, int offset, int length);
+
+    /**
+     * Appends an entry copying the data provided in the given buffer, but only if the entry can be appended at exactly
+     * the expected index, that is, if the queue currently ends at that index.  Nothing is appended if the index is
+     * already taken or lies beyond the end of the queue.
+     *
+     * @param expectedIndex - the index at which the entry must be appended
+     * @param buffer        - direct buffer containing entry data
+     * @param offset        - offset of the entry data in the buffer
+     * @param length        - length of the entry data
+     * @return true if the entry was appended at the expected index, and false otherwise
+     * @throws IllegalArgumentException if length exceeds the maximum length for an entry allowed by the queue, or if
+     *                                  expected index is negative or exceeds the max index
+     * @throws IllegalStateException if the appender or the underlying queue is closed, or if a transaction is open
+     * @throws UnsupportedOperationException if the queue does not support conditional appends
+     * @see AppendingContext#commitAt(long, int)
+     */
+    boolean appendAt(long expectedIndex, DirectBuffer buffer, int offset, int length);
+
     /**
      * Provides an appending context for zero-copy encoding of the new entry into the queue
      * {@link AppendingContext#buffer() buffer}. The queue buffer is guaranteed to have capacity for at least the
@@ -136,6 +174,26 @@ public interface Appender extends Closeable {
      */
     AppendingContext appending(int capacity);
 
+    /**
+     * Begins a transaction to append multiple entries that become visible to readers all at once when the transaction
+     * is {@link AppendingTransaction#commit() committed}.  No other entries can be appended through this appender while
+     * the transaction is open.
+     *
+     * @return the transaction to add entries to
+     * @throws IllegalStateException if the appender or the underlying queue is closed, or if a transaction or appending
+     *                               context is still open
+     * @throws UnsupportedOperationException if the appender does not support transactions, which is the case for
+     *                                       {@link Queue#createSharedAppender() shared appenders} and for ring queue
+     *                                       appenders
+     */
+    AppendingTransaction beginTransaction();
+
+    /**
+     * @return the appender ID recorded with every entry appended by this appender, or -1 if the queue does not record
+     *         appender IDs
+     */
+    int appenderId();
+
     /**
      * @return true if this appender is closed
      */
@@ -67,6 +67,56 @@ public interface AppendingContext extends Closeable {
      */
     long commit(int length);
 
+    /**
+     * Commits the entry that was encoded into the {@link #buffer()} with the given message type, which is recorded in
+     * the entry {@link EntryMetadata metadata} if the queue uses a
+     * {@link org.tools4j.mmap.queue.config.HeaderFormat HeaderFormat} with metadata, and ignored otherwise.
+     *
+     * @param length        - length of the entry in bytes
+     * @param messageType   - user defined message type of the entry
+     * @return queue index at which the entry was appended
+     * @throws IllegalArgumentException if length exceeds the maximum length for an entry allowed by the queue
+     * @throws IllegalStateException    if the context, the appender or the underlying queue is closed
+     */
+    long commit(int length, int messageType);
+
+    /**
+     * Commits the entry that was encoded into the {@link #buffer()} only if it can be appended at exactly the expected
+     * index, that is, if the queue currently ends at that index.  The context is closed in either case, and nothing is
+     * appended if this method returns false.
+     *
+     * @param expectedIndex - the index at which the entry must be appended
+     * @param length        - length of the entry in bytes
+     * @return true if the entry was appended at the expected index, and false if the index is already taken or lies
+     *         beyond the end of the queue
+     * @throws IllegalArgumentException if length exceeds the maximum length for an entry allowed by the queue, or if
+     *                                  expected index is negative or exceeds the max index
+     * @throws IllegalStateException    if the context, the appender or the underlying queue is closed, or if the
+     *                                  context belongs to a transaction
+     * @throws UnsupportedOperationException if the queue does not support conditional appends
+     */
+    boolean commitAt(long expectedIndex, int length);
+
+    /**
+     * Commits the entry that was encoded into the {@link #buffer()} with the given message type only if it can be
+     * appended at exactly the expected index, that is, if the queue currently ends at that index.  The message type is
+     * recorded in the entry {@link EntryMetadata metadata} if the queue uses a
+     * {@link org.tools4j.mmap.queue.config.HeaderFormat HeaderFormat} with metadata, and ignored otherwise.  The
+     * context is closed in either case, and nothing is appended if this method returns false.
+     *
+     * @param expectedIndex - the index at which the entry must be appended
+     * @param length        - length of the entry in bytes
+     * @param messageType   - user defined message type of the entry
+     * @return true if the entry was appended at the expected index, and false if the index is already taken or lies
+     *         beyond the end of the queue
+     * @throws IllegalArgumentException if length exceeds the maximum length for an entry allowed by the queue, or if
+     *                                  expected index is negative or exceeds the max index
+     * @throws IllegalStateException    if the context, the appender or the underlying queue is closed, or if the
+     *                                  context belongs to a transaction
+     * @throws UnsupportedOperationException if the queue does not support conditional appends
+     */
+    boolean commitAt(long expectedIndex, int length, int messageType);
+
     /**
      * @return true if the context is closed.
      */
@@ -0,0 +1,132 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.api;
+
+import org.agrona.DirectBuffer;
+import org.tools4j.mmap.region.impl.Closeable;
+
+/**
+ * Transaction returned by {@link Appender#beginTransaction()} to append multiple entries that become visible to
+ * readers all at once when the transaction is committed.  Readers never see a subset of the entries of a transaction:
+ * the entries are appended with flagged headers and become visible together when the appender publishes the index of
+ * the last entry of the transaction as its commit index.
+ * <p>
+ * Entries are encoded into the queue through {@link #appending(int)} exactly as with {@link Appender#appending(int)},
+ * but committing the {@link AppendingContext} only adds the entry to the transaction and returns {@link Index#NULL}.
+ * Queue indices are assigned when the transaction is {@link #commit() committed};  they are increasing but not
+ * necessarily consecutive if other appenders append entries concurrently.
+ * <p>
+ * A transaction is best used through a try-resource block to abort it if it is not committed:
+ * <pre>
+ * try (AppendingTransaction transaction = appender.beginTransaction()) {
+ *     transaction.append(order, 0, orderLength);
+ *     transaction.append(fill, 0, fillLength);
+ *     transaction.commit();
+ * }
+ * </pre>
+ * Note that readers waiting for an entry of a transaction are blocked until the transaction is committed.  If the
+ * appending process dies while committing a transaction, the entries never become visible:  they are aborted when the
+ * appender ID is acquired again, and readers skip aborted entries.  Readers waiting at such an entry are blocked until
+ * then.  Queue indices of aborted entries remain unused, hence {@link IndexReader#hasEntry(long)} returns false for
+ * them even if entries with higher indices exist.
+ */
+public interface AppendingTransaction extends Closeable {
+    /**
+     * Provides an appending context to encode the next entry of this transaction.
+     *
+     * @param capacity the maximum length of the entry data in bytes
+     * @return appending context for writing of entry data
+     * @throws IllegalArgumentException if the specified capacity parameter exceeds the entry size limit
+     * @throws IllegalStateException if the transaction, the appender or the underlying queue is closed, or if the
+     *                               appending context of the previous entry has not been closed
+     */
+    AppendingContext appending(int capacity);
+
+    /**
+     * Adds an entry to this transaction copying the data provided in the given buffer.
+     *
+     * @param buffer - direct buffer containing entry data
+     * @param offset - offset of the entry data in the buffer
+     * @param length - length of the entry data
+     * @throws IllegalArgumentException if length exceeds the maximum length for an entry allowed by the queue
+     * @throws IllegalStateException if the transaction, the appender or the underlying queue is closed
+     */
+    default void append(final DirectBuffer buffer, final int offset, final int length) {
+        try (final AppendingContext context = appending(length)) {
+            context.buffer().putBytes(0, buffer, offset, length);
+            context.commit(length);
+        }
+    }
+
+    /**
+     * Adds an entry to this transaction copying the data provided in the given array.
+     *
+     * @param bytes - entry data
+     * @param offset - offset of the entry data in the array
+     * @param length - length of the entry data
+     * @throws IllegalArgumentException if length exceeds the maximum length for an entry allowed by the queue
+     * @throws IllegalStateException if the transaction, the appender or the underlying queue is closed
+     */
+    default void append(final byte[] bytes, final int offset, final int length) {
+        try (final AppendingContext context = appending(length)) {
+            context.buffer().putBytes(0, bytes, offset, length);
+            context.commit(length);
+        }
+    }
+
+    /**
+     * @return the number of entries added to this transaction so far
+     */
+    int entryCount();
+
+    /**
+     * Commits this transaction and appends all its entries to the queue.
+     *
+     * @return queue index of the first entry of the transaction, or {@link Index#NULL} if the transaction has no
+     *         entries
+     * @throws IllegalStateException if the transaction, the appender or the underlying queue is closed, or if the
+     *                               appending context of the last entry has not been closed
+     */
+    long commit();
+
+    /**
+     * Aborts this transaction and discards all its entries.
+     */
+    void abort();
+
+    /**
+     * @return true if this transaction has been committed or aborted
+     */
+    boolean isClosed();
+
+    /**
+     * Aborts the transaction if not committed yet.
+     */
+    @Override
+    default void close() {
+        if (!isClosed()) {
+            abort();
+        }
+    }
+}
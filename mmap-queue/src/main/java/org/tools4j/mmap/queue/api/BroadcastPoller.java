@@ -0,0 +1,121 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.api;
+
+import org.tools4j.mmap.region.impl.Closeable;
+
+/**
+ * Poller that broadcasts {@link Queue} entries to many {@link EntryHandler}s in the same thread.  Every entry header
+ * and payload is read once per poll with a single set of mappings, and passed to all subscribers positioned at that
+ * entry.  Mapping count and cache footprint hence stay flat as subscribers are added.
+ * <p>
+ * Every subscriber has its own position:  the value returned by its entry handler moves the subscriber cursor the
+ * same way as for a {@link Poller}, and a subscriber returning {@link Move#NONE} falls behind while others move on.
+ * Subscribers that have fallen behind catch up in subsequent polls, at the cost of an additional header and payload
+ * read for every distinct subscriber position.
+ * <p>
+ * Broadcast pollers are not thread safe and must be polled by a single thread.
+ */
+public interface BroadcastPoller extends Closeable {
+    /**
+     * A subscriber of the broadcast poller with its own cursor position.
+     */
+    interface Subscriber {
+        /**
+         * Returns the index of the next entry passed to the subscriber's handler, or {@link Index#LAST} or
+         * {@link Index#END} if the subscriber has been moved to the last entry or the end of the queue and the
+         * position has not been resolved yet.
+         *
+         * @return the index of the next entry for this subscriber
+         */
+        long nextIndex();
+
+        /**
+         * Sets the index of the next entry passed to the subscriber's handler.  This method must not be invoked from
+         * within the subscriber's own handler, which instead returns the move for the next entry.
+         *
+         * @param index the index of the next entry, 0 for first, and {@link Index#LAST} or {@link Index#END} for the
+         *              last entry or the end of the queue
+         * @throws IllegalArgumentException if the provided index is negative
+         * @throws IllegalStateException if the subscriber is closed
+         */
+        void seekNext(long index);
+
+        /**
+         * @return true if this subscriber is closed
+         */
+        boolean isClosed();
+
+        /**
+         * Closes the subscriber and removes it from the broadcast poller.
+         */
+        void close();
+    }
+
+    /**
+     * Adds a subscriber starting with the first queue entry.
+     *
+     * @param entryHandler the handler invoked for entries polled for the new subscriber
+     * @return the new subscriber
+     * @throws IllegalStateException if the broadcast poller is closed
+     */
+    Subscriber subscribe(EntryHandler entryHandler);
+
+    /**
+     * Adds a subscriber starting at the given index.
+     *
+     * @param startIndex    the index of the first entry for the new subscriber, 0 for first, and {@link Index#LAST}
+     *                      or {@link Index#END} for the last entry or the end of the queue
+     * @param entryHandler  the handler invoked for entries polled for the new subscriber
+     * @return the new subscriber
+     * @throws IllegalArgumentException if the start index is negative
+     * @throws IllegalStateException if the broadcast poller is closed
+     */
+    Subscriber subscribe(long startIndex, EntryHandler entryHandler);
+
+    /**
+     * @return the number of subscribers that are not closed
+     */
+    int subscriberCount();
+
+    /**
+     * Polls the queue and passes at most one entry to every subscriber, namely the entry at the subscriber's next
+     * index if it is available.
+     *
+     * @return the number of entry handler invocations, zero if no entry was available for any subscriber, and
+     *         {@link Poller#CLOSED} if this poller is closed
+     */
+    int poll();
+
+    /**
+     * @return true if this broadcast poller is closed
+     */
+    boolean isClosed();
+
+    /**
+     * Closes the broadcast poller and all its subscribers.
+     */
+    @Override
+    void close();
+}
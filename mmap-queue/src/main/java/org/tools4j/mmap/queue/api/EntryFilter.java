@@ -0,0 +1,75 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.api;
+
+/**
+ * Filter applied by a {@link Poller} to the header of an entry before the entry payload is accessed, see
+ * {@link Poller#poll(EntryFilter, EntryHandler)}.  Rejected entries are skipped without mapping their payload.
+ */
+@FunctionalInterface
+public interface EntryFilter {
+    /**
+     * Returns true if the entry should be passed to the entry handler, and false if it should be skipped.
+     *
+     * @param index         entry index in the queue
+     * @param appenderId    the ID of the appender that appended the entry
+     * @param messageType   the message type passed when committing the entry, or
+     *                      {@link EntryMetadata#DEFAULT_MESSAGE_TYPE} if the queue header format has no metadata
+     * @return true to handle the entry, and false to skip it
+     */
+    boolean accept(long index, int appenderId, int messageType);
+
+    /**
+     * @param other another filter
+     * @return a filter accepting entries accepted by this and by the other filter
+     */
+    default EntryFilter and(final EntryFilter other) {
+        return (index, appenderId, messageType) ->
+                accept(index, appenderId, messageType) && other.accept(index, appenderId, messageType);
+    }
+
+    /**
+     * @param appenderId the appender ID
+     * @return a filter accepting only entries appended by the given appender
+     */
+    static EntryFilter appenderId(final int appenderId) {
+        return (index, id, messageType) -> id == appenderId;
+    }
+
+    /**
+     * @param appenderId the appender ID, for instance the {@link Appender#appenderId() ID} of an own appender
+     * @return a filter accepting all entries except those appended by the given appender
+     */
+    static EntryFilter excludeAppenderId(final int appenderId) {
+        return (index, id, messageType) -> id != appenderId;
+    }
+
+    /**
+     * @param messageType the message type
+     * @return a filter accepting only entries committed with the given message type
+     */
+    static EntryFilter messageType(final int messageType) {
+        return (index, appenderId, type) -> type == messageType;
+    }
+}
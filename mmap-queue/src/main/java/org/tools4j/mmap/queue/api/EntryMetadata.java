@@ -0,0 +1,72 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.api;
+
+import org.tools4j.mmap.queue.config.HeaderFormat;
+
+/**
+ * Metadata of an entry that is recorded with the entry header if the queue uses a {@link HeaderFormat} with
+ * {@link HeaderFormat#hasMetadata() metadata}.  Metadata can be accessed without reading the entry payload.
+ */
+public interface EntryMetadata {
+    /**
+     * Message type recorded for entries committed without specifying a message type.
+     */
+    int DEFAULT_MESSAGE_TYPE = 0;
+
+    /**
+     * @return entry index, non-negative for existing entries
+     */
+    long index();
+
+    /**
+     * @return the ID of the appender that appended the entry
+     */
+    int appenderId();
+
+    /**
+     * @return the time when the entry was committed, in nanoseconds since the epoch
+     */
+    long commitTime();
+
+    /**
+     * @return the message type passed when committing the entry, or {@link #DEFAULT_MESSAGE_TYPE} if none was passed
+     */
+    int messageType();
+
+    /**
+     * @return the length of the entry data in bytes
+     */
+    int payloadLength();
+
+    /**
+     * @return true if a {@link #checksum() checksum} of the entry data was recorded
+     */
+    boolean hasChecksum();
+
+    /**
+     * @return the CRC-32C checksum of the entry data, or zero if no checksum was recorded
+     */
+    int checksum();
+}
@@ -94,6 +94,30 @@ public interface EntryReader extends IndexReader {
      */
     ReadingContext readingLast();
 
+    /**
+     * Returns the reading context for the last indexed entry with the given key in the provided key index;  the key
+     * lookup is a single hash probe sequence followed by one entry read.  If no entry has been indexed for the key, the
+     * context {@link ReadingContext#index() index} is negative and the {@link ReadingContext#buffer() buffer} contains
+     * no data.
+     * <p>
+     * The returned context should be closed after using, and it is recommended to use a try-resource statement like
+     * in the following example:
+     * <pre>
+     * try (ReadingContext context = entryReader.readingByKey(orderIdIndex, orderId)) {
+     *     if (context.hasEntry()) {
+     *         byte byte0 = context.buffer().get(0);
+     *         ...
+     *     }
+     * }
+     * </pre>
+     * Note that only entries indexed by a previous {@link KeyIndex#update() update} of the key index are found.
+     *
+     * @param keyIndex  the key index of this reader's queue used to look up the entry index
+     * @param key       the key of the entry to read
+     * @return reading context to access entry data if available
+     */
+    ReadingContext readingByKey(KeyIndex keyIndex, long key);
+
     /**
      * Closes this reader.
      */
@@ -0,0 +1,105 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.api;
+
+import org.tools4j.mmap.region.impl.Closeable;
+
+/**
+ * Poller of a consumer group for competing consumption of {@link Queue} entries.  All group pollers with the same
+ * {@link #groupName() group name} share a claim cursor stored in a memory mapped file, even if they are running in
+ * different processes.  Entries, or batches of entries, are claimed by atomically advancing the shared cursor, hence
+ * every entry is delivered to exactly one poller of the group.
+ * <p>
+ * Entries are acknowledged in a companion file after the {@link EntryHandler} has returned, which allows other parties
+ * to check completion of claimed entries via {@link #isAcknowledged(long)}.  If the entry handler returns
+ * {@link Move#NONE}, the entry is not acknowledged and is delivered again with the next poll;  all other return values
+ * acknowledge the entry, since the next entry is always determined by the shared claim cursor.
+ * <p>
+ * Entries claimed but not yet acknowledged when a poller is {@link #close() closed} are returned to the group and
+ * delivered to the next poller claiming entries.
+ * <p>
+ * Note that entries are only returned to the group by {@link #close()}:  if a poller terminates without being closed,
+ * for instance because its process died, the entries it had claimed but not acknowledged are not redelivered.  The
+ * group files record no owner for claimed entries, hence no recovery is attempted when pollers are opened, as pollers
+ * of the group that are still alive may be handling those entries.  Such entries can be detected through
+ * {@link #isAcknowledged(long)} for indices below the {@link #claimCursor() claim cursor}.
+ */
+public interface GroupPoller extends Closeable {
+    /**
+     * Polls the next entry claimed by this poller and invokes the entry handler if one is available.  A new batch of
+     * entries is claimed if all previously claimed entries have been polled.
+     *
+     * @param entryHandler entry handler callback invoked if an entry is present
+     * @return  {@link Poller#ENTRY_POLLED} if an entry was polled, {@link Poller#PENDING_NEXT} if no unclaimed entry
+     *          is currently available, {@link Poller#PENDING_OPEN} if the queue does not exist yet, and
+     *          {@link Poller#CLOSED} if this poller is closed
+     */
+    int poll(EntryHandler entryHandler);
+
+    /**
+     * @return the name of the consumer group that this poller belongs to
+     */
+    String groupName();
+
+    /**
+     * @return the maximum number of entries claimed in a single claim operation
+     */
+    int claimBatchSize();
+
+    /**
+     * Returns the index of the current entry, or -1 if no current entry exists.
+     * The current entry is the one last polled by this poller.
+     * @return index of current entry, zero for first queue entry
+     */
+    long currentIndex();
+
+    /**
+     * Returns the shared claim cursor of the group, that is, the index of the next entry to be claimed by any poller
+     * of the group.
+     *
+     * @return the index of the next unclaimed entry
+     */
+    long claimCursor();
+
+    /**
+     * Returns true if the entry at the given index has been polled and acknowledged by a poller of the group.
+     *
+     * @param index zero-based entry index
+     * @return true if the entry has been acknowledged, and false otherwise
+     */
+    boolean isAcknowledged(long index);
+
+    /**
+     * @return true if this poller is closed
+     */
+    boolean isClosed();
+
+    /**
+     * Closes the poller.  Entries claimed by this poller but not yet acknowledged are returned to the group, either by
+     * resetting the claim cursor if no other poller has claimed entries since, or otherwise by recording them for
+     * redelivery.
+     */
+    @Override
+    void close();
+}
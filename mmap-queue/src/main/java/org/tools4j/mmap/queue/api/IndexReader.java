@@ -23,6 +23,7 @@
  */
 package org.tools4j.mmap.queue.api;
 
+import org.agrona.concurrent.IdleStrategy;
 import org.tools4j.mmap.region.impl.Closeable;
 
 /**
@@ -61,6 +62,24 @@ public interface IndexReader extends Closeable {
      */
     boolean hasEntry(long index);
 
+    /**
+     * Waits until a valid entry exists at the specified index, or until the timeout elapses.  Unlike repeated
+     * invocations of {@link #hasEntry(long)}, the header slot of the entry is mapped once and then read directly while
+     * waiting.  The idle strategy is invoked between unsuccessful reads, for instance a
+     * {@link org.agrona.concurrent.BackoffIdleStrategy BackoffIdleStrategy} that progresses from spinning to yielding
+     * and parking.
+     *
+     * @param index         zero-based entry index
+     * @param timeoutNanos  the maximum time to wait in nanoseconds, zero to check only once and
+     *                      {@link Long#MAX_VALUE} to wait without timeout
+     * @param idleStrategy  the idle strategy invoked between unsuccessful reads
+     * @return true if an entry is available at the given index, and false if the entry was aborted or if the timeout
+     *         elapsed before an entry became available
+     * @throws IllegalArgumentException if the index is negative or larger than {@link Index#MAX}
+     * @throws IllegalStateException if queue or this index reader is closed
+     */
+    boolean awaitEntry(long index, long timeoutNanos, IdleStrategy idleStrategy);
+
     /**
      * Returns the number of entries in the queue, or zero if the queue is empty.
      * <p>
@@ -85,6 +104,36 @@ public interface IndexReader extends Closeable {
         return hasEntry(Index.FIRST);
     }
 
+    /**
+     * Returns the metadata of the entry at the specified index, which is available if the queue uses a
+     * {@link org.tools4j.mmap.queue.config.HeaderFormat HeaderFormat} with metadata.  Metadata is read without accessing
+     * payload files.  The returned flyweight is valid until the next invocation of this method.
+     * <p>
+     * Note that metadata is written right after the entry header, hence null may be returned for a short moment after an
+     * entry has become available.
+     *
+     * @param index zero-based entry index
+     * @return the entry metadata, or null if no entry exists at the given index or if its metadata is not available yet
+     * @throws IllegalStateException if queue or this index reader is closed, or if the queue header format has no
+     *                               metadata
+     */
+    EntryMetadata metadata(long index);
+
+    /**
+     * Returns the index of the first entry committed at or after the specified time, found through a binary search over
+     * the commit times in the entry {@link #metadata(long) metadata}.
+     * <p>
+     * Note that commit times of entries appended concurrently by different appenders may be slightly out of index
+     * order, in which case an entry committed around the specified time may be returned.
+     *
+     * @param commitTime the commit time in nanoseconds since the epoch
+     * @return the index of the first entry committed at or after the given time, or {@link Index#NULL} if no such entry
+     *         exists
+     * @throws IllegalStateException if queue or this index reader is closed, or if the queue header format has no
+     *                               metadata
+     */
+    long indexForCommitTime(long commitTime);
+
     /**
      * @return true if this reader is closed
      */
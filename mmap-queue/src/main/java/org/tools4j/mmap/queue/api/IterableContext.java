@@ -26,6 +26,7 @@ package org.tools4j.mmap.queue.api;
 import org.tools4j.mmap.region.impl.Closeable;
 
 import java.util.Iterator;
+import java.util.stream.Stream;
 
 /**
  * Flyweight returned by {@link EntryIterator} to iterate over queue entries.
@@ -47,6 +48,23 @@ public interface IterableContext extends Iterable<Entry>, Closeable {
     @Override
     Iterator<Entry> iterator();
 
+    /**
+     * Returns a sequential stream of the queue entries from {@link #startIndex()} up to the last entry that exists
+     * when this method is invoked, or up to the first entry of a transaction that is still pending at that time;
+     * entries appended or committed later are not included.  Use {@link Stream#parallel()} to scan the
+     * entries on multiple threads:  the index range is then split into chunks, and every chunk is read through its
+     * own mappings with no shared mutable state.
+     * <p>
+     * Entries passed to stream operations are flyweights valid only until the next entry is returned, and entry data
+     * should be mapped to values before it is collected.  The stream should be closed after use to release mappings
+     * of chunks that have not been fully consumed, for instance after a short-circuiting operation.
+     * <p>
+     * If the iteration order has been {@link #reverse() reversed}, the returned stream is sequential and not split.
+     *
+     * @return a stream of queue entries
+     */
+    Stream<Entry> stream();
+
     /**
      * Returns an iterable for queue entries starting at {@link #startIndex()} returning entries in reverse order
      * finishing with the first queue entry.
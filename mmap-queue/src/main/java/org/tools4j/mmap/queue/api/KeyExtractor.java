@@ -0,0 +1,46 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.api;
+
+import org.agrona.DirectBuffer;
+
+/**
+ * Extracts a key from an entry, used by a {@link KeyedDispatcher} to assign entries to workers, and by a
+ * {@link KeyIndex} to look up entries by key.  The key extractor should read the key directly from the provided buffer
+ * without copying entry data.
+ */
+@FunctionalInterface
+public interface KeyExtractor {
+    /**
+     * Returns the key for the given entry.  Entries with the same key are always assigned to the same worker by a
+     * dispatcher, and a key index returns the last entry for a key.
+     *
+     * @param index entry index in the queue
+     * @param buffer buffer with access to entry data, with valid byte range {@code [offset...(offset + length - 1)]}
+     * @param offset offset in the buffer with the first entry byte (unless length is zero)
+     * @param length number of bytes in the buffer for this entry
+     * @return the key of the entry
+     */
+    long key(long index, DirectBuffer buffer, int offset, int length);
+}
@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.api;
+
+import org.tools4j.mmap.region.api.AsyncRuntime;
+import org.tools4j.mmap.region.impl.Closeable;
+
+/**
+ * A secondary index of queue entries by a user defined key, stored in an open-addressing hash table in a memory mapped
+ * file.  Keys are extracted from entry data by a {@link KeyExtractor}, and the index maps every key to the last entry
+ * with that key.
+ * <p>
+ * The index is updated incrementally by {@link #update()}, which indexes entries appended since the last update.  The
+ * index is also a {@link AsyncRuntime.Recurring recurring} executable and can be registered with an
+ * {@link AsyncRuntime} to keep it up to date in the background;  it must be de-registered before it is closed.  The
+ * indexing progress is persistent, and a re-opened index continues with the first entry not indexed yet.
+ * <p>
+ * Lookups can be performed by any thread while the index is updated.  At most one key index instance per index name
+ * can be open at any time, as the index is opened for writing.  Entries can be read by key via
+ * {@link EntryReader#readingByKey(KeyIndex, long)}.
+ */
+public interface KeyIndex extends AsyncRuntime.Recurring, Closeable {
+    /**
+     * @return the name of this key index
+     */
+    String name();
+
+    /**
+     * @return the number of hash slots of this index, a power of two
+     */
+    int capacity();
+
+    /**
+     * @return the number of distinct keys in this index
+     */
+    long size();
+
+    /**
+     * Returns the index of the next queue entry to be indexed.  All entries with a lower index have been indexed.
+     *
+     * @return the index of the first entry not indexed yet
+     */
+    long indexedUpTo();
+
+    /**
+     * Indexes a batch of queue entries that were appended since the last update.
+     *
+     * @return the number of entries indexed, zero if no new entries were available
+     * @throws IllegalStateException if the index is closed, or if it is full
+     */
+    int update();
+
+    /**
+     * Returns the queue index of the last indexed entry with the given key.
+     *
+     * @param key the key to look up
+     * @return the queue index of the entry with the given key, or {@link Index#NULL} if no such entry has been indexed
+     */
+    long lookup(long key);
+
+    /**
+     * Invokes {@link #update()}, or performs no work if this index is closed.  If the update fails, for instance
+     * because the index is full, the error is logged and no further work is performed by this method, so that a runtime
+     * executing the index does not fail on every cycle.
+     *
+     * @return the number of entries indexed
+     */
+    @Override
+    int execute();
+
+    @Override
+    default AsyncRuntime.Priority priority() {
+        return AsyncRuntime.Priority.LOW;
+    }
+
+    /**
+     * @return true if this key index is closed
+     */
+    boolean isClosed();
+
+    /**
+     * Closes this key index, indexed keys and progress are retained in the index file.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,105 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.api;
+
+import org.tools4j.mmap.region.impl.Closeable;
+
+/**
+ * Dispatches queue entries to a fixed number of workers for parallel processing in a single process, preserving the
+ * entry order for entries with the same routing key.
+ * <p>
+ * The dispatcher thread invokes {@link #dispatch()} to read entries sequentially and to assign them to a worker based
+ * on the key returned by the {@link KeyExtractor}.  Only the entry index and header are handed to the worker through a
+ * single-producer single-consumer ring; each worker then reads the entry payload directly from its own mappings when
+ * its thread invokes {@link Worker#poll(EntryHandler)}.
+ */
+public interface KeyedDispatcher extends Closeable {
+    /**
+     * A worker of the dispatcher, to be polled by a single worker thread.
+     */
+    interface Worker {
+        /**
+         * Polls the next entry dispatched to this worker and invokes the entry handler if one is available.  The value
+         * returned by the entry handler is ignored.
+         *
+         * @param entryHandler entry handler callback invoked if an entry is present
+         * @return {@link Poller#ENTRY_POLLED} if an entry was polled, {@link Poller#PENDING_NEXT} if no entry is
+         *         currently available, and {@link Poller#CLOSED} if the dispatcher is closed
+         */
+        int poll(EntryHandler entryHandler);
+
+        /**
+         * @return the zero based index of this worker
+         */
+        int workerIndex();
+
+        /**
+         * @return the number of entries dispatched to this worker but not yet fully processed
+         */
+        int pending();
+    }
+
+    /**
+     * Reads and dispatches available entries to workers until no more entries are available or until the ring of the
+     * target worker is full.  Must be invoked by a single dispatcher thread.
+     *
+     * @return the number of entries dispatched, zero if none were dispatched, and {@link Poller#CLOSED} if the
+     *         dispatcher is closed
+     */
+    int dispatch();
+
+    /**
+     * @return the number of workers
+     */
+    int workerCount();
+
+    /**
+     * Returns the worker with the given index.
+     *
+     * @param workerIndex zero based worker index
+     * @return the worker
+     * @throws IndexOutOfBoundsException if the worker index is invalid
+     */
+    Worker worker(int workerIndex);
+
+    /**
+     * Returns the processed-up-to watermark across all workers, that is, an index such that all entries with a lower
+     * index have been fully processed by the workers.  The method can be invoked from any thread.
+     *
+     * @return the exclusive watermark index, zero if no entry has been processed yet
+     */
+    long watermark();
+
+    /**
+     * @return true if this dispatcher is closed
+     */
+    boolean isClosed();
+
+    /**
+     * Closes the dispatcher and all its workers.  The mappings of a worker whose thread is polling an entry are not
+     * closed until the poll in progress has completed;  they are then closed by the worker thread itself.
+     */
+    @Override
+    void close();
+}
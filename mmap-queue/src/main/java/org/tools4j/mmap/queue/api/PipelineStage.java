@@ -0,0 +1,89 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.api;
+
+import org.tools4j.mmap.region.impl.Closeable;
+
+/**
+ * A stage of a processing pipeline over the entries of a {@link Queue}.  Every stage processes all queue entries in
+ * sequence and publishes its progress in a barrier file shared by all stages of the same pipeline, also across
+ * processes.  A stage with upstream stages processes an entry only after all upstream stages have processed it, and
+ * it waits only on the upstream barriers but not on the queue tail.  Stages without upstream stages process entries
+ * as they are appended to the queue.
+ * <p>
+ * Stage progress is persistent, and a stage that is re-created after a restart resumes with the first entry that it
+ * has not processed yet.  At most one stage instance with a given stage ID must exist at any time per pipeline.
+ */
+public interface PipelineStage extends Closeable {
+    /** The maximum number of stages of a pipeline, stage IDs are in the range {@code [0..(MAX_STAGES-1)]} */
+    int MAX_STAGES = 64;
+
+    /**
+     * Polls the next entry if it is available for this stage and invokes the entry handler.  The value returned by
+     * the entry handler is ignored.
+     *
+     * @param entryHandler entry handler callback invoked if an entry is present
+     * @return {@link Poller#ENTRY_POLLED} if an entry was polled, {@link Poller#CURSOR_MOVED} if an entry of an
+     *         aborted transaction was skipped, {@link Poller#PENDING_NEXT} if the next entry is not available yet,
+     *         {@link Poller#PENDING_OPEN} if the queue does not exist yet, and {@link Poller#CLOSED} if this stage is
+     *         closed
+     */
+    int poll(EntryHandler entryHandler);
+
+    /**
+     * @return the name of the pipeline that this stage belongs to
+     */
+    String pipelineName();
+
+    /**
+     * @return the ID of this stage, unique within the pipeline
+     */
+    int stageId();
+
+    /**
+     * Returns the progress of this stage, that is, the index of the next entry to be processed by this stage.  All
+     * entries with a lower index have been processed.
+     *
+     * @return the stage progress, equal to the number of entries processed by the stage
+     */
+    long progress();
+
+    /**
+     * Returns the minimum progress of all upstream stages, or {@link Index#END} if this stage has no upstream stages.
+     *
+     * @return the upstream barrier index, entries before it are available to this stage
+     */
+    long upstreamProgress();
+
+    /**
+     * @return true if this stage is closed
+     */
+    boolean isClosed();
+
+    /**
+     * Closes this stage, its progress is retained in the barrier file.
+     */
+    @Override
+    void close();
+}
@@ -54,6 +54,54 @@ public interface Poller extends Closeable {
      */
     int poll(EntryHandler entryHandler);
 
+    /**
+     * Polls the queue and invokes the entry handler for the next entry accepted by the filter.  The filter is applied
+     * to the entry header and metadata only, and entries rejected by the filter are skipped without accessing their
+     * payload, continuing in the direction in which the cursor was moving.  A single invocation skips a bounded number
+     * of rejected entries and then returns {@link #CURSOR_MOVED}, hence long runs of rejected entries are skipped over
+     * several invocations.
+     * <p>
+     * If the queue header format has {@link org.tools4j.mmap.queue.config.HeaderFormat#hasMetadata() metadata}, the
+     * entry is not passed to the filter until its metadata record is available, and {@link #PENDING_NEXT} is returned
+     * in the meantime.  If the record is still missing once a later entry has been committed, the appender is presumed
+     * dead and the entry is passed to the filter with the
+     * {@linkplain EntryMetadata#DEFAULT_MESSAGE_TYPE default message type}.
+     *
+     * @param entryFilter  filter invoked with the header values of every entry before handling or skipping it
+     * @param entryHandler entry handler callback invoked if an entry accepted by the filter is present
+     * @return  {@link #ENTRY_POLLED} if an entry was handled, {@link #CURSOR_MOVED} if entries were skipped or the
+     *          cursor was moved, and otherwise the same values as {@link #poll(EntryHandler)}
+     */
+    int poll(EntryFilter entryFilter, EntryHandler entryHandler);
+
+    /**
+     * Returns the number of entries that are available for polling ahead of the cursor, starting with the entry at
+     * {@link #nextIndex()} and counting no more than {@code max} entries.  Only entry headers are accessed, which
+     * makes this method suitable for batching decisions such as whether to flush now or after polling more entries.
+     * Entries of aborted transactions are skipped and not counted.
+     *
+     * @param max the maximum number of entries to count
+     * @return the number of consecutive entries available from the next index, between zero and {@code max}, and
+     *         zero if the next index is not resolved yet, that is, if it is {@link Index#LAST} or {@link Index#END}
+     * @throws IllegalArgumentException if max is negative
+     * @throws IllegalStateException if the poller is closed
+     */
+    int available(int max);
+
+    /**
+     * Invokes the entry handler with the entry {@code ahead} entries after {@link #nextIndex()} if it is available,
+     * without moving the cursor;  the value returned by the entry handler is ignored.  Entries of aborted transactions
+     * are skipped and not counted as in {@link #available(int)}, hence the entry is present if and only if
+     * {@code available(ahead + 1)} returns {@code ahead + 1}.
+     *
+     * @param ahead         the number of entries after the next index, zero for the entry polled next
+     * @param entryHandler  entry handler callback invoked if the entry is present
+     * @return true if the entry was present and passed to the entry handler, and false otherwise
+     * @throws IllegalArgumentException if ahead is negative
+     * @throws IllegalStateException if the poller is closed
+     */
+    boolean peek(int ahead, EntryHandler entryHandler);
+
     /**
      * Returns the index of the current entry, or -1 if no current entry exists.
      * The current entry is the one last polled or last touched when moving the cursor.
@@ -44,6 +44,19 @@ public interface Queue extends Closeable {
     Appender createAppender();
     Appender createAppender(AppenderConfig config);
 
+    /**
+     * Creates an appender that can be shared by many threads appending concurrently.  All entries are appended with
+     * the same appender ID to the same payload file, and no locks are used.  Appending contexts must be committed or
+     * aborted by the thread that obtained them.
+     * <p>
+     * Shared appenders do not support transactions, and {@link Appender#beginTransaction()} throws an
+     * {@link UnsupportedOperationException}.
+     *
+     * @return new instance of a thread-safe appender
+     */
+    Appender createSharedAppender();
+    Appender createSharedAppender(AppenderConfig config);
+
     /**
      * Creates a poller for sequential read access via callback starting with the first queue entry.
      *
@@ -52,6 +65,63 @@ public interface Queue extends Closeable {
     Poller createPoller();
     Poller createPoller(ReaderConfig config);
 
+    /**
+     * Creates a broadcast poller that reads every entry once and passes it to all its subscribers, each with its own
+     * cursor position.
+     *
+     * @return new instance of a broadcast poller
+     * @see BroadcastPoller
+     */
+    BroadcastPoller createBroadcastPoller();
+    BroadcastPoller createBroadcastPoller(ReaderConfig config);
+
+    /**
+     * Creates a poller that is a member of the given consumer group.  Pollers of the same group compete for entries,
+     * that is, every entry is polled by exactly one poller of the group even if pollers run in different processes.
+     *
+     * @param groupName the consumer group name, consisting of letters, digits and dashes
+     * @return new instance of a group poller
+     * @see GroupPoller
+     */
+    GroupPoller createGroupPoller(String groupName);
+    GroupPoller createGroupPoller(String groupName, ReaderConfig config, int claimBatchSize);
+
+    /**
+     * Creates a stage of a processing pipeline, where the stage processes entries only after all its upstream stages
+     * have processed them.
+     *
+     * @param pipelineName      the pipeline name, consisting of letters, digits and dashes
+     * @param stageId           the stage ID, unique within the pipeline
+     * @param upstreamStageIds  the IDs of the stages that have to process an entry before this stage
+     * @return new instance of a pipeline stage
+     * @see PipelineStage
+     */
+    PipelineStage createPipelineStage(String pipelineName, int stageId, int... upstreamStageIds);
+    PipelineStage createPipelineStage(String pipelineName, ReaderConfig config, int stageId, int... upstreamStageIds);
+
+    /**
+     * Creates a dispatcher for parallel processing of queue entries by the given number of workers, where entries with
+     * the same routing key are processed in order by the same worker.
+     *
+     * @param workerCount   the number of workers
+     * @param keyExtractor  extractor for the routing key of an entry
+     * @return new instance of a keyed dispatcher
+     * @see KeyedDispatcher
+     */
+    KeyedDispatcher createKeyedDispatcher(int workerCount, KeyExtractor keyExtractor);
+    KeyedDispatcher createKeyedDispatcher(int workerCount, KeyExtractor keyExtractor, ReaderConfig config, int ringCapacity);
+
+    /**
+     * Opens or creates a secondary index of queue entries by the key extracted from entry data.
+     *
+     * @param indexName     the index name, consisting of letters, digits and dashes
+     * @param keyExtractor  extractor for the key of an entry
+     * @return new instance of a key index
+     * @see KeyIndex
+     */
+    KeyIndex createKeyIndex(String indexName, KeyExtractor keyExtractor);
+    KeyIndex createKeyIndex(String indexName, KeyExtractor keyExtractor, ReaderConfig config, int capacity);
+
     /**
      * Creates an entry reader for accessing queue {@link Entry entries} via index.
      *
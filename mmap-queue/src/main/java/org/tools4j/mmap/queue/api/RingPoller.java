@@ -0,0 +1,79 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.api;
+
+import org.tools4j.mmap.region.impl.Closeable;
+
+/**
+ * Poller for sequential retrieval of {@link RingQueue} entries with callback to an {@link EntryHandler}.
+ * <p>
+ * Entries are copied from the ring slot before they are passed to the handler, and the copy is only passed on if the
+ * slot's sequence tag is still unchanged afterwards.  If the poller falls behind by more than a full ring, it skips
+ * all overwritten entries and continues with the oldest entry still available;  the number of skipped entries is
+ * available through {@link #lostEntries()}.
+ * <p>
+ * The value returned by the entry handler is ignored since ring entries are always polled in sequence.
+ */
+public interface RingPoller extends Closeable {
+    /**
+     * Polls the ring and invokes the entry handler if an entry is available.
+     *
+     * @param entryHandler entry handler callback invoked if an entry is present
+     * @return  {@link Poller#ENTRY_POLLED} if an entry was polled, {@link Poller#CURSOR_MOVED} if the poller skipped
+     *          an aborted entry or entries that were overwritten, {@link Poller#PENDING_NEXT} if no new entry is
+     *          available, and {@link Poller#CLOSED} if this poller is closed
+     */
+    int poll(EntryHandler entryHandler);
+
+    /**
+     * @return the index of the next entry to poll
+     */
+    long nextIndex();
+
+    /**
+     * @return the number of entries that were overwritten before this poller was able to poll them
+     */
+    long lostEntries();
+
+    /**
+     * Moves the poller to the oldest entry still available in the ring.
+     */
+    void seekStart();
+
+    /**
+     * Moves the poller to the end of the ring so that only entries appended from now on are polled.
+     */
+    void seekEnd();
+
+    /**
+     * @return true if this poller is closed
+     */
+    boolean isClosed();
+
+    /**
+     * Closes the poller.
+     */
+    @Override
+    void close();
+}
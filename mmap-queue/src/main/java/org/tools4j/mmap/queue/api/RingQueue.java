@@ -0,0 +1,118 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.api;
+
+import org.tools4j.mmap.queue.impl.RingQueueImpl;
+import org.tools4j.mmap.region.impl.Closeable;
+
+import java.io.File;
+
+import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultRingMaxEntryLength;
+import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultRingSlotCount;
+
+/**
+ * A fixed-size circular queue for inter-process messaging where history does not matter.  All entries are stored in a
+ * single ring file that is created with a fixed number of slots and mapped once when the ring is opened, where the
+ * fixed size mapping pre-touches all pages of the ring;  no files are extended and no new regions are mapped after
+ * that.
+ * <p>
+ * Every slot has a header with a sequence tag and a payload area with room for entries of up to
+ * {@link #maxEntryLength()} bytes.  Appenders overwrite the oldest slot when the ring wraps around, and
+ * {@linkplain RingPoller ring pollers} detect through the sequence tag if entries were overwritten before they were
+ * polled.
+ */
+public interface RingQueue extends Closeable {
+    /**
+     * @return the name of the ring, equal to the name of the ring directory
+     */
+    String name();
+
+    /**
+     * @return the number of slots in the ring, a power of two
+     */
+    int slotCount();
+
+    /**
+     * @return the maximum length of an entry in bytes
+     */
+    int maxEntryLength();
+
+    /**
+     * Returns the index of the next entry to be appended, which is also the number of entries appended to the ring so
+     * far including entries that were overwritten already.
+     *
+     * @return the index of the next entry
+     */
+    long endIndex();
+
+    /**
+     * Creates an appender.  Note that a ring entry is claimed when {@linkplain Appender#appending(int) appending} is
+     * started, and pollers wait for the claimed entry until it is committed or aborted.  An entry that is still not
+     * committed when the ring has wrapped around is presumed to be left behind by a dead appender:  pollers skip it,
+     * and the appender claiming its slot in the next lap takes over the slot after the claim timeout (see
+     * {@link org.tools4j.mmap.queue.config.QueueConfigurations#defaultRingClaimTimeoutMillis()}).
+     *
+     * @return new instance of an appender
+     */
+    Appender createAppender();
+
+    /**
+     * Creates a poller starting with the oldest entry still available in the ring.
+     *
+     * @return new instance of a ring poller
+     */
+    RingPoller createPoller();
+
+    boolean isClosed();
+
+    /**
+     * Closes the ring and all appenders and pollers created via this ring.
+     */
+    @Override
+    void close();
+
+    /**
+     * Opens or creates a ring with default slot count and max entry length.
+     *
+     * @param directory the ring directory, created if it does not exist
+     * @return the ring
+     */
+    static RingQueue create(final File directory) {
+        return create(directory, defaultRingSlotCount(), defaultRingMaxEntryLength());
+    }
+
+    /**
+     * Opens or creates a ring.
+     *
+     * @param directory         the ring directory, created if it does not exist
+     * @param slotCount         the number of slots of a new ring, a power of two;  existing rings use the slot count
+     *                          they were created with
+     * @param maxEntryLength    the maximum entry length of a new ring;  existing rings use the max entry length they
+     *                          were created with
+     * @return the ring
+     */
+    static RingQueue create(final File directory, final int slotCount, final int maxEntryLength) {
+        return new RingQueueImpl(directory, slotCount, maxEntryLength);
+    }
+}
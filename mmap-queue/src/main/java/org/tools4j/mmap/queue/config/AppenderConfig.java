@@ -28,6 +28,16 @@ import org.tools4j.mmap.region.config.MappingStrategyConfig;
 public interface AppenderConfig {
     MappingStrategyConfig headerMappingStrategy();
     MappingStrategyConfig payloadMappingStrategy();
+
+    /**
+     * Returns true if the appender is the exclusive writer of the queue.  An exclusive appender can only be opened if
+     * no other appender is open, and it prevents other appenders from being opened until it is closed.  It publishes
+     * entry headers with an ordered write instead of a compare-and-set operation and never probes for the next free
+     * header slot.
+     *
+     * @return true if the appender is the only appender of the queue
+     */
+    boolean exclusive();
     AppenderConfig toImmutableAppenderConfig();
 
     static AppenderConfigurator configure() {
@@ -39,6 +39,7 @@ public interface AppenderConfigurator extends AppenderConfig {
     AppenderConfigurator payloadMappingStrategy(MappingStrategy strategy);
     AppenderConfigurator payloadMappingStrategy(MappingStrategyConfig config);
     AppenderConfigurator payloadMappingStrategy(Consumer<? super MappingStrategyConfigurator> configurator);
+    AppenderConfigurator exclusive(boolean exclusive);
     AppenderConfigurator reset();
 
     static AppenderConfigurator configure() {
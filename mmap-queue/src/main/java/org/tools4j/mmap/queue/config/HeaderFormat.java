@@ -0,0 +1,65 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.config;
+
+/**
+ * Format of the entry headers of a queue.  All processes accessing a queue must use the same header format.
+ */
+public enum HeaderFormat {
+    /**
+     * Headers carry only the appender ID and the payload position of an entry.
+     */
+    COMPACT(false, false),
+    /**
+     * Compact headers with an additional entry metadata record per header slot in a separate metadata file, with
+     * commit time, message type and payload length of the entry.
+     */
+    WIDE(true, false),
+    /**
+     * Like {@link #WIDE}, and the entry metadata record also carries a CRC-32C checksum of the payload.
+     */
+    WIDE_WITH_CHECKSUM(true, true);
+
+    private final boolean metadata;
+    private final boolean checksum;
+
+    HeaderFormat(final boolean metadata, final boolean checksum) {
+        this.metadata = metadata;
+        this.checksum = checksum;
+    }
+
+    /**
+     * @return true if entry metadata is recorded with every header
+     */
+    public boolean hasMetadata() {
+        return metadata;
+    }
+
+    /**
+     * @return true if the entry metadata includes a checksum of the payload
+     */
+    public boolean hasChecksum() {
+        return checksum;
+    }
+}
@@ -36,6 +36,36 @@ public interface QueueConfig {
     boolean rollPayloadFiles();
     int headerFilesToCreateAhead();
     int payloadFilesToCreateAhead();
+    boolean mapWholeHeaderFile();
+    boolean mapWholePayloadFiles();
+    int payloadRegionOverlap();
+    /**
+     * Memory-only queues are placed in the {@link QueueConfigurations#defaultSharedMemoryDirectory() shared memory
+     * directory} in a sub-directory named after the queue directory and a hash of its absolute path, hence queues
+     * with the same name in different directories do not collide.  Queue files are pre-sized instead of expanded, and
+     * are kept open by all readers.
+     *
+     * @return true if the queue lives in shared memory only and is never persisted to disk
+     */
+    boolean memoryOnly();
+
+    /**
+     * All appenders of a queue with shared payload file allocate payload space from a single payload file through a
+     * fetch-add on an allocator word in a separate file, instead of writing to a payload file per appender ID.  All
+     * processes accessing the queue must use the same setting.
+     *
+     * @return true if all appenders share a single payload file
+     */
+    boolean sharedPayloadFile();
+
+    /**
+     * The header format determines whether an entry metadata record with commit time, message type, payload length
+     * and optionally a checksum is written with every entry header, so that readers can inspect entries without
+     * accessing payload files.  All processes accessing the queue must use the same header format.
+     *
+     * @return the header format of the queue
+     */
+    HeaderFormat headerFormat();
 
     AppenderConfig appenderConfig();
     ReaderConfig pollerConfig();
@@ -56,4 +86,8 @@ public interface QueueConfig {
     static QueueConfig getDefault() {
         return QueueConfigurations.defaultQueueConfig();
     }
+
+    static QueueConfig getDefaultMemoryOnly() {
+        return QueueConfigurations.defaultMemoryOnlyQueueConfig();
+    }
 }
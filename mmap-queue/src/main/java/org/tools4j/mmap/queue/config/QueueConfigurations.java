@@ -29,9 +29,11 @@ import org.tools4j.mmap.region.config.MappingStrategyConfig;
 import org.tools4j.mmap.region.impl.Constraints;
 import org.tools4j.mmap.region.impl.IdPool64;
 
+import java.io.File;
 import java.util.function.IntConsumer;
 import java.util.function.IntSupplier;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 import static org.tools4j.mmap.queue.config.MappingStrategy.AsyncMapAheadStrategy;
 import static org.tools4j.mmap.queue.config.MappingStrategy.SyncMappingStrategyWithAsyncUnmapping;
@@ -67,6 +69,35 @@ public enum QueueConfigurations {
     public static final int HEADER_FILES_TO_CREATE_AHEAD_DEFAULT = 0;
     public static final String PAYLOAD_FILES_TO_CREATE_AHEAD_PROPERTY = "mmap.queue.payloadFilesToCreateAhead";
     public static final int PAYLOAD_FILES_TO_CREATE_AHEAD_DEFAULT = 0;
+    public static final String MAP_WHOLE_HEADER_FILE_PROPERTY = "mmap.queue.mapWholeHeaderFile";
+    public static final boolean MAP_WHOLE_HEADER_FILE_DEFAULT = false;
+    public static final String MAP_WHOLE_PAYLOAD_FILES_PROPERTY = "mmap.queue.mapWholePayloadFiles";
+    public static final boolean MAP_WHOLE_PAYLOAD_FILES_DEFAULT = false;
+    public static final String PAYLOAD_REGION_OVERLAP_PROPERTY = "mmap.queue.payloadRegionOverlap";
+    public static final int PAYLOAD_REGION_OVERLAP_DEFAULT = 0;
+    public static final String MEMORY_ONLY_PROPERTY = "mmap.queue.memoryOnly";
+    public static final boolean MEMORY_ONLY_DEFAULT = false;
+    public static final String SHARED_MEMORY_DIRECTORY_PROPERTY = "mmap.queue.sharedMemoryDirectory";
+    public static final String SHARED_MEMORY_DIRECTORY_DEFAULT = "/dev/shm";
+    public static final String MEMORY_ONLY_REGION_SIZE_PROPERTY = "mmap.queue.memoryOnlyRegionSize";
+    /** Region size of memory-only queues, a multiple of the 2MB huge page size on x86-64 */
+    public static final int MEMORY_ONLY_REGION_SIZE_DEFAULT = 2*1024*1024;
+    public static final String SHARED_PAYLOAD_FILE_PROPERTY = "mmap.queue.sharedPayloadFile";
+    public static final boolean SHARED_PAYLOAD_FILE_DEFAULT = false;
+    public static final String HEADER_FORMAT_PROPERTY = "mmap.queue.headerFormat";
+    public static final HeaderFormat HEADER_FORMAT_DEFAULT = HeaderFormat.COMPACT;
+    public static final String GROUP_POLLER_CLAIM_BATCH_SIZE_PROPERTY = "mmap.queue.groupPollerClaimBatchSize";
+    public static final int GROUP_POLLER_CLAIM_BATCH_SIZE_DEFAULT = 1;
+    public static final String DISPATCHER_RING_CAPACITY_PROPERTY = "mmap.queue.dispatcherRingCapacity";
+    public static final int DISPATCHER_RING_CAPACITY_DEFAULT = 1024;
+    public static final String KEY_INDEX_CAPACITY_PROPERTY = "mmap.queue.keyIndexCapacity";
+    public static final int KEY_INDEX_CAPACITY_DEFAULT = 1 << 20;
+    public static final String RING_SLOT_COUNT_PROPERTY = "mmap.queue.ringSlotCount";
+    public static final int RING_SLOT_COUNT_DEFAULT = 1 << 14;
+    public static final String RING_MAX_ENTRY_LENGTH_PROPERTY = "mmap.queue.ringMaxEntryLength";
+    public static final int RING_MAX_ENTRY_LENGTH_DEFAULT = 1024;
+    public static final String RING_CLAIM_TIMEOUT_MILLIS_PROPERTY = "mmap.queue.ringClaimTimeoutMillis";
+    public static final int RING_CLAIM_TIMEOUT_MILLIS_DEFAULT = 1000;
     public static final String CLOSE_POLLER_HEADER_FILES_PROPERTY = "mmap.queue.closePollerHeaderFiles";
     public static final String CLOSE_POLLER_PAYLOAD_FILES_PROPERTY = "mmap.queue.closePollerPayloadFiles";
     public static final boolean CLOSE_POLLER_HEADER_FILES_DEFAULT = true;
@@ -126,6 +157,8 @@ public enum QueueConfigurations {
     public static final String APPENDER_PAYLOAD_REGIONS_TO_MAP_AHEAD_PROPERTY = "mmap.queue.appenderPayloadRegionsToMapAhead";
     public static final String APPENDER_PAYLOAD_MAPPING_STRATEGY_PROPERTY = "mmap.queue.appenderPayloadMappingStrategy";
     public static final MappingStrategy APPENDER_PAYLOAD_MAPPING_STRATEGY_DEFAULT = AsyncMapAheadStrategy;
+    public static final String APPENDER_EXCLUSIVE_PROPERTY = "mmap.queue.appenderExclusive";
+    public static final boolean APPENDER_EXCLUSIVE_DEFAULT = false;
     private static MappingStrategyConfig POLLER_HEADER_MAPPING_STRATEGY;
     private static MappingStrategyConfig POLLER_PAYLOAD_MAPPING_STRATEGY;
     private static MappingStrategyConfig ENTRY_READER_HEADER_MAPPING_STRATEGY;
@@ -176,6 +209,64 @@ public enum QueueConfigurations {
         return getIntProperty(PAYLOAD_FILES_TO_CREATE_AHEAD_PROPERTY, Constraints::validateFilesToCreateAhead, PAYLOAD_FILES_TO_CREATE_AHEAD_DEFAULT);
     }
 
+    public static boolean defaultMapWholeHeaderFile() {
+        return getBooleanProperty(MAP_WHOLE_HEADER_FILE_PROPERTY, MAP_WHOLE_HEADER_FILE_DEFAULT);
+    }
+
+    public static boolean defaultMapWholePayloadFiles() {
+        return getBooleanProperty(MAP_WHOLE_PAYLOAD_FILES_PROPERTY, MAP_WHOLE_PAYLOAD_FILES_DEFAULT);
+    }
+
+    public static int defaultPayloadRegionOverlap() {
+        return getIntProperty(PAYLOAD_REGION_OVERLAP_PROPERTY, Constraints::validateRegionOverlap, PAYLOAD_REGION_OVERLAP_DEFAULT);
+    }
+
+    public static boolean defaultMemoryOnly() {
+        return getBooleanProperty(MEMORY_ONLY_PROPERTY, MEMORY_ONLY_DEFAULT);
+    }
+
+    public static File defaultSharedMemoryDirectory() {
+        return new File(System.getProperty(SHARED_MEMORY_DIRECTORY_PROPERTY, SHARED_MEMORY_DIRECTORY_DEFAULT));
+    }
+
+    public static boolean defaultSharedPayloadFile() {
+        return getBooleanProperty(SHARED_PAYLOAD_FILE_PROPERTY, SHARED_PAYLOAD_FILE_DEFAULT);
+    }
+
+    public static HeaderFormat defaultHeaderFormat() {
+        return getEnumProperty(HEADER_FORMAT_PROPERTY, HeaderFormat.class, HEADER_FORMAT_DEFAULT);
+    }
+
+    public static int defaultMemoryOnlyRegionSize() {
+        return getIntProperty(MEMORY_ONLY_REGION_SIZE_PROPERTY, Constraints::validateRegionSize, MEMORY_ONLY_REGION_SIZE_DEFAULT);
+    }
+
+    public static int defaultGroupPollerClaimBatchSize() {
+        return getIntProperty(GROUP_POLLER_CLAIM_BATCH_SIZE_PROPERTY, Constraints::validateClaimBatchSize, GROUP_POLLER_CLAIM_BATCH_SIZE_DEFAULT);
+    }
+
+    public static int defaultDispatcherRingCapacity() {
+        return getIntProperty(DISPATCHER_RING_CAPACITY_PROPERTY, Constraints::validateDispatcherRingCapacity, DISPATCHER_RING_CAPACITY_DEFAULT);
+    }
+
+    public static int defaultKeyIndexCapacity() {
+        return getIntProperty(KEY_INDEX_CAPACITY_PROPERTY, Constraints::validateKeyIndexCapacity, KEY_INDEX_CAPACITY_DEFAULT);
+    }
+
+    public static int defaultRingSlotCount() {
+        return getIntProperty(RING_SLOT_COUNT_PROPERTY, Constraints::validateRingSlotCount, RING_SLOT_COUNT_DEFAULT);
+    }
+
+    public static int defaultRingMaxEntryLength() {
+        return getIntProperty(RING_MAX_ENTRY_LENGTH_PROPERTY, Constraints::validateRingMaxEntryLength,
+                RING_MAX_ENTRY_LENGTH_DEFAULT);
+    }
+
+    public static int defaultRingClaimTimeoutMillis() {
+        return getIntProperty(RING_CLAIM_TIMEOUT_MILLIS_PROPERTY, Constraints::validateRingClaimTimeoutMillis,
+                RING_CLAIM_TIMEOUT_MILLIS_DEFAULT);
+    }
+
     public static boolean defaultClosePollerHeaderFiles() {
         return getBooleanProperty(CLOSE_POLLER_HEADER_FILES_PROPERTY, CLOSE_POLLER_HEADER_FILES_DEFAULT);
     }
@@ -456,10 +547,44 @@ public enum QueueConfigurations {
         return APPENDER_PAYLOAD_MAPPING_STRATEGY;
     }
 
+    public static boolean defaultAppenderExclusive() {
+        return getBooleanProperty(APPENDER_EXCLUSIVE_PROPERTY, APPENDER_EXCLUSIVE_DEFAULT);
+    }
+
     public static QueueConfig defaultQueueConfig() {
         return QUEUE_CONFIG_DEFAULTS;
     }
 
+    /**
+     * Returns the default configuration for {@link QueueConfig#memoryOnly() memory-only} queues, with all regions
+     * mapped in {@link #defaultMemoryOnlyRegionSize() huge page} multiples.  Unmapping remains deferred to the
+     * background unmapper as for the other defaults.
+     *
+     * @return a memory-only queue configuration with defaults for all other values
+     */
+    public static QueueConfig defaultMemoryOnlyQueueConfig() {
+        final int regionSize = defaultMemoryOnlyRegionSize();
+        final UnaryOperator<MappingStrategyConfig> withRegionSize =
+                strategy -> MappingStrategyConfig.configure(strategy).regionSize(regionSize);
+        return QueueConfig.configure()
+                .memoryOnly(true)
+                .appenderConfig(cfg -> cfg
+                        .headerMappingStrategy(withRegionSize.apply(cfg.headerMappingStrategy()))
+                        .payloadMappingStrategy(withRegionSize.apply(cfg.payloadMappingStrategy())))
+                .pollerConfig(cfg -> cfg
+                        .headerMappingStrategy(withRegionSize.apply(cfg.headerMappingStrategy()))
+                        .payloadMappingStrategy(withRegionSize.apply(cfg.payloadMappingStrategy())))
+                .entryReaderConfig(cfg -> cfg
+                        .headerMappingStrategy(withRegionSize.apply(cfg.headerMappingStrategy()))
+                        .payloadMappingStrategy(withRegionSize.apply(cfg.payloadMappingStrategy())))
+                .entryIteratorConfig(cfg -> cfg
+                        .headerMappingStrategy(withRegionSize.apply(cfg.headerMappingStrategy()))
+                        .payloadMappingStrategy(withRegionSize.apply(cfg.payloadMappingStrategy())))
+                .indexReaderConfig(cfg -> cfg
+                        .headerMappingStrategy(withRegionSize.apply(cfg.headerMappingStrategy())))
+                .toImmutableQueueConfig();
+    }
+
     public static AppenderConfig defaultAppenderConfig() {
         return APPENDER_CONFIG_DEFAULTS;
     }
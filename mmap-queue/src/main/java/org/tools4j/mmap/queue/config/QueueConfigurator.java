@@ -41,6 +41,12 @@ public interface QueueConfigurator extends QueueConfig {
     QueueConfigurator rollPayloadFiles(boolean rollPayloadFiles);
     QueueConfigurator headerFilesToCreateAhead(int headerFilesToCreateAhead);
     QueueConfigurator payloadFilesToCreateAhead(int payloadFilesToCreateAhead);
+    QueueConfigurator mapWholeHeaderFile(boolean mapWholeHeaderFile);
+    QueueConfigurator mapWholePayloadFiles(boolean mapWholePayloadFiles);
+    QueueConfigurator payloadRegionOverlap(int payloadRegionOverlap);
+    QueueConfigurator memoryOnly(boolean memoryOnly);
+    QueueConfigurator sharedPayloadFile(boolean sharedPayloadFile);
+    QueueConfigurator headerFormat(HeaderFormat headerFormat);
     QueueConfigurator mappingStrategy(MappingStrategy mappingStrategy);
     QueueConfigurator mappingStrategy(MappingStrategyConfig mappingStrategyConfig);
     QueueConfigurator mappingStrategy(Consumer<? super MappingStrategyConfigurator> configurator);
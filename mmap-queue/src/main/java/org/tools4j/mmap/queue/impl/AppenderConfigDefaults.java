@@ -26,6 +26,7 @@ package org.tools4j.mmap.queue.impl;
 import org.tools4j.mmap.queue.config.AppenderConfig;
 import org.tools4j.mmap.region.config.MappingStrategyConfig;
 
+import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultAppenderExclusive;
 import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultAppenderHeaderMappingStrategy;
 import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultAppenderPayloadMappingStrategy;
 
@@ -42,6 +43,11 @@ public enum AppenderConfigDefaults implements AppenderConfig {
         return defaultAppenderPayloadMappingStrategy();
     }
 
+    @Override
+    public boolean exclusive() {
+        return defaultAppenderExclusive();
+    }
+
     @Override
     public AppenderConfig toImmutableAppenderConfig() {
         return new AppenderConfigImpl(this);
@@ -51,6 +57,7 @@ public enum AppenderConfigDefaults implements AppenderConfig {
     public String toString() {
         return "AppenderConfigDefaults" +
                 ":headerMappingStrategy=" + headerMappingStrategy() +
-                "|payloadMappingStrategy=" + payloadMappingStrategy();
+                "|payloadMappingStrategy=" + payloadMappingStrategy() +
+                "|exclusive=" + exclusive();
     }
 }
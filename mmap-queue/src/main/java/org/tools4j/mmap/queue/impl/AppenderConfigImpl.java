@@ -30,19 +30,22 @@ import static java.util.Objects.requireNonNull;
 import static org.tools4j.mmap.queue.impl.AppenderConfigDefaults.APPENDER_CONFIG_DEFAULTS;
 
 public record AppenderConfigImpl(MappingStrategyConfig headerMappingStrategy,
-                                 MappingStrategyConfig payloadMappingStrategy) implements AppenderConfig {
+                                 MappingStrategyConfig payloadMappingStrategy,
+                                 boolean exclusive) implements AppenderConfig {
     public AppenderConfigImpl() {
         this(APPENDER_CONFIG_DEFAULTS);
     }
 
     public AppenderConfigImpl(final AppenderConfig config) {
-        this(config.headerMappingStrategy(), config.payloadMappingStrategy());
+        this(config.headerMappingStrategy(), config.payloadMappingStrategy(), config.exclusive());
     }
 
     public AppenderConfigImpl(final MappingStrategyConfig headerMappingStrategy,
-                              final MappingStrategyConfig payloadMappingStrategy) {
+                              final MappingStrategyConfig payloadMappingStrategy,
+                              final boolean exclusive) {
         this.headerMappingStrategy = requireNonNull(headerMappingStrategy);
         this.payloadMappingStrategy = requireNonNull(payloadMappingStrategy);
+        this.exclusive = exclusive;
     }
 
     @Override
@@ -54,6 +57,7 @@ public record AppenderConfigImpl(MappingStrategyConfig headerMappingStrategy,
     public String toString() {
         return "AppenderConfigImpl" +
                 ":headerMappingStrategy=" + headerMappingStrategy +
-                "|payloadMappingStrategy=" + payloadMappingStrategy;
+                "|payloadMappingStrategy=" + payloadMappingStrategy +
+                "|exclusive=" + exclusive;
     }
 }
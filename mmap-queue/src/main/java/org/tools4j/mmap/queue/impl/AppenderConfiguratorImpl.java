@@ -40,6 +40,7 @@ public class AppenderConfiguratorImpl implements AppenderConfigurator {
     private final AppenderConfig defaults;
     private MappingStrategyConfig headerMappingStrategy;
     private MappingStrategyConfig payloadMappingStrategy;
+    private Boolean exclusive;
 
     public AppenderConfiguratorImpl() {
         this(APPENDER_CONFIG_DEFAULTS);
@@ -53,6 +54,7 @@ public class AppenderConfiguratorImpl implements AppenderConfigurator {
     public AppenderConfigurator reset() {
         headerMappingStrategy = null;
         payloadMappingStrategy = null;
+        exclusive = null;
         return this;
     }
 
@@ -131,6 +133,20 @@ public class AppenderConfiguratorImpl implements AppenderConfigurator {
         return payloadMappingStrategy(config);
     }
 
+    @Override
+    public boolean exclusive() {
+        if (exclusive == null) {
+            exclusive = defaults.exclusive();
+        }
+        return exclusive;
+    }
+
+    @Override
+    public AppenderConfigurator exclusive(final boolean exclusive) {
+        this.exclusive = exclusive;
+        return this;
+    }
+
     @Override
     public AppenderConfig toImmutableAppenderConfig() {
         return new AppenderConfigImpl(this);
@@ -140,6 +156,7 @@ public class AppenderConfiguratorImpl implements AppenderConfigurator {
     public String toString() {
         return "AppenderConfiguratorImpl" +
                 ":headerMappingStrategy=" + headerMappingStrategy +
-                "|payloadMappingStrategy=" + payloadMappingStrategy;
+                "|payloadMappingStrategy=" + payloadMappingStrategy +
+                "|exclusive=" + exclusive;
     }
 }
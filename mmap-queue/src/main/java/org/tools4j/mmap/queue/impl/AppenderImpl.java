@@ -26,18 +26,25 @@ package org.tools4j.mmap.queue.impl;
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.EpochNanoClock;
+import org.agrona.concurrent.SystemEpochNanoClock;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.tools4j.mmap.queue.api.Appender;
 import org.tools4j.mmap.queue.api.AppendingContext;
+import org.tools4j.mmap.queue.api.AppendingTransaction;
+import org.tools4j.mmap.queue.api.EntryMetadata;
 import org.tools4j.mmap.queue.api.Index;
 import org.tools4j.mmap.region.api.ElasticMapping;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import static java.util.Objects.requireNonNull;
 import static org.tools4j.mmap.queue.impl.Exceptions.headerMoveException;
+import static org.tools4j.mmap.queue.impl.Exceptions.invalidIndexException;
+import static org.tools4j.mmap.queue.impl.Exceptions.metadataMoveException;
 import static org.tools4j.mmap.queue.impl.Exceptions.payloadMoveException;
 import static org.tools4j.mmap.queue.impl.Exceptions.payloadPositionExceedsMaxException;
 import static org.tools4j.mmap.queue.impl.Headers.MAX_PAYLOAD_POSITION;
@@ -49,10 +56,17 @@ final class AppenderImpl implements Appender {
     private final String queueName;
     private final AppenderMappings mappings;
     private final int appenderId;
+    private final boolean exclusive;
     private final ElasticMapping header;
     private final ElasticMapping payload;
+    private final PayloadAllocator payloadAllocator;
+    private final ElasticMapping metadata;
+    private final TransactionCommits commits;
+    private final boolean checksum;
+    private final EpochNanoClock clock = new SystemEpochNanoClock();
     private final boolean enableCopyFromPreviousRegion;
     private final AppendingContextImpl context;
+    private final AppendingTransactionImpl transaction;
     private long endIndex;
     private long lastOwnHeader;
     private int lastOwnPayloadLength;
@@ -62,10 +76,16 @@ final class AppenderImpl implements Appender {
         this.queueName = requireNonNull(queueName);
         this.mappings = requireNonNull(mappings);
         this.appenderId = mappings.appenderId();
+        this.exclusive = mappings.exclusive();
         this.header = requireNonNull(mappings.header());
         this.payload = requireNonNull(mappings.payload());
+        this.payloadAllocator = mappings.payloadAllocator();
+        this.metadata = mappings.metadata();
+        this.commits = requireNonNull(mappings.commits());
+        this.checksum = mappings.headerFormat().hasChecksum();
         this.enableCopyFromPreviousRegion = enableCopyFromPreviousRegion;
         this.context = new AppendingContextImpl(this);
+        this.transaction = new AppendingTransactionImpl(this);
         this.endIndex = Index.NULL;
         this.lastOwnHeader = NULL_HEADER;
         this.lastOwnPayloadLength = -1;
@@ -78,24 +98,57 @@ final class AppenderImpl implements Appender {
         }
     }
 
-    /** Linear move to end while also remembering the last of our own headers */
+    /**
+     * Linear move to end while also remembering the own header with the highest payload position, which is the last of
+     * our own headers unless they were appended by a {@link SharedAppenderImpl shared appender}
+     */
     private void initialMoveToEnd() {
         final ElasticMapping hdr = header;
         //noinspection UnnecessaryLocalVariable
         final int ownAppenderId = appenderId;
+        final long lastCommitted = commits.lastCommittedIndex(ownAppenderId);
         long endIndex = Index.FIRST;
+        long firstPending = Index.NULL;
         long lastOwnHeader = NULL_HEADER;
         long header;
         while ((header = Headers.moveAndGetHeader(hdr, endIndex)) != NULL_HEADER) {
-            endIndex++;
-            if (Headers.appenderId(header) == ownAppenderId) {
-                lastOwnHeader = header;
+            if (Headers.appenderId(header) == ownAppenderId && !Headers.isAbortedHeader(header)) {
+                if (Headers.isTransactionHeader(header) && endIndex > lastCommitted) {
+                    //transaction entry orphaned by a previous owner of our appender ID
+                    if (firstPending == Index.NULL) {
+                        firstPending = endIndex;
+                    }
+                } else if (lastOwnHeader == NULL_HEADER ||
+                        Headers.payloadPosition(header) > Headers.payloadPosition(lastOwnHeader)) {
+                    lastOwnHeader = header;
+                }
             }
+            endIndex++;
         }
         checkIndexNotExceedingMax(endIndex);
+        if (firstPending != Index.NULL) {
+            final int aborted = Headers.abortPendingTransactionHeaders(hdr, commits, ownAppenderId, firstPending,
+                    endIndex);
+            LOGGER.warn("Aborted {} entries of incomplete transaction of appender {}", aborted, appenderName());
+            if (!Headers.moveToHeaderIndex(hdr, endIndex)) {
+                throw headerMoveException(this, Headers.headerPositionForIndex(endIndex));
+            }
+        }
         this.endIndex = endIndex;
         this.lastOwnHeader = lastOwnHeader;
-        this.lastOwnPayloadLength = -1;
+        this.lastOwnPayloadLength = lastOwnHeader == NULL_HEADER ? -1 : payloadLength(lastOwnHeader);
+        if (metadata != null && !MetadataRecords.moveToMetadataIndex(metadata, endIndex)) {
+            throw metadataMoveException(this, MetadataRecords.metadataPositionForIndex(endIndex));
+        }
+    }
+
+    /** Reads the payload length (including the length field) of an entry appended with our own appender ID */
+    private int payloadLength(final long ownHeader) {
+        final long payloadPosition = Headers.payloadPosition(ownHeader);
+        if (!payload.moveTo(payloadPosition)) {
+            throw payloadMoveException(this, payloadPosition);
+        }
+        return payload.buffer().getInt(0) + Integer.BYTES;
     }
 
     @Override
@@ -140,28 +193,105 @@ final class AppenderImpl implements Appender {
         }
     }
 
+    @Override
+    public boolean appendAt(final long expectedIndex, final byte[] bytes, final int offset, final int length) {
+        try (final AppendingContext context = appending(length)) {
+            context.buffer().putBytes(0, bytes, offset, length);
+            return context.commitAt(expectedIndex, length);
+        }
+    }
+
+    @Override
+    public boolean appendAt(final long expectedIndex, final DirectBuffer buffer, final int offset, final int length) {
+        try (final AppendingContext context = appending(length)) {
+            context.buffer().putBytes(0, buffer, offset, length);
+            return context.commitAt(expectedIndex, length);
+        }
+    }
+
     @Override
     public AppendingContext appending(final int capacity) {
         checkNotClosed();
+        if (!transaction.isClosed()) {
+            throw new IllegalStateException("Transaction has not been closed");
+        }
         return context.init(capacity);
     }
 
-    private long appendEntry(final long payloadPosition, final int payloadLength) {
+    @Override
+    public AppendingTransaction beginTransaction() {
+        checkNotClosed();
+        if (!context.isClosed()) {
+            throw new IllegalStateException("Appending context has not been closed");
+        }
+        return transaction.init();
+    }
+
+    private long commitEntry(final long payloadPosition,
+                             final int payloadLength,
+                             final int messageType,
+                             final int checksum) {
+        return transaction.isClosed() ? appendEntry(payloadPosition, payloadLength, messageType, checksum) :
+                transaction.addEntry(payloadPosition, payloadLength, messageType, checksum);
+    }
+
+    private long appendEntry(final long payloadPosition,
+                             final int payloadLength,
+                             final int messageType,
+                             final int checksum) {
         checkNotClosed();
+        final long headerValue = Headers.header(appenderId, payloadPosition);
+        final long commitTime = commitTime();
+        final long index = appendHeader(headerValue);
+        writeMetadata(index, commitTime, payloadLength, messageType, checksum);
+        lastOwnHeader = headerValue;
+        lastOwnPayloadLength = payloadLength;
+        return index;
+    }
+
+    private long commitTime() {
+        return metadata == null ? 0 : clock.nanoTime();
+    }
+
+    /**
+     * Writes the metadata record for the entry at index if the queue header format has metadata.
+     *
+     * @param payloadLength the payload length including the length field
+     */
+    private void writeMetadata(final long index,
+                               final long commitTime,
+                               final int payloadLength,
+                               final int messageType,
+                               final int checksum) {
+        if (metadata != null && !MetadataRecords.write(metadata, index, commitTime, payloadLength - Integer.BYTES,
+                messageType, this.checksum, checksum)) {
+            throw metadataMoveException(this, MetadataRecords.metadataPositionForIndex(index));
+        }
+    }
+
+    /**
+     * Appends the header at the end index.  An exclusive appender owns all header slots, hence it publishes the header
+     * with an ordered write;  otherwise the header is set via compare-and-set, probing forward for the next free slot
+     * if other appenders have taken the slot at end index in the meantime.
+     */
+    private long appendHeader(final long headerValue) {
         final ElasticMapping hdr = header;
         final AtomicBuffer buf = hdr.buffer();
-        final long headerValue = Headers.header(appenderId, payloadPosition);
         long index = endIndex;
         checkIndexNotExceedingMax(index);
-        while (!buf.compareAndSetLong(0, NULL_HEADER, headerValue)) {
-            do {
-                index++;
-                endIndex = index;
-                checkIndexNotExceedingMax(index);
-                if (!Headers.moveToHeaderIndex(hdr, index)) {
-                    throw headerMoveException(this, Headers.headerPositionForIndex(index));
-                }
-            } while (buf.getLongVolatile(0) != NULL_HEADER);
+        if (exclusive) {
+            buf.putLongRelease(0, headerValue);
+        } else {
+            while (!buf.compareAndSetLong(0, NULL_HEADER, headerValue)) {
+                do {
+                    index++;
+                    endIndex = index;
+                    checkIndexNotExceedingMax(index);
+                    if (!Headers.moveToHeaderIndex(hdr, index)) {
+                        throw headerMoveException(this, Headers.headerPositionForIndex(index));
+                    }
+                } while (buf.getLongVolatile(0) != NULL_HEADER);
+            }
         }
         final long nextIndex = index + 1;
         endIndex = nextIndex;//NOTE: may exceed MAX, but we check when appending (see above)
@@ -170,10 +300,54 @@ final class AppenderImpl implements Appender {
                 throw headerMoveException(this, Headers.headerPositionForIndex(index));
             }
         }
+        return index;
+    }
 
+    /**
+     * Appends the entry header at the expected index only if the queue currently ends there:  the header slot must be
+     * empty and the preceding slot must be taken.  Nothing is changed if this is not the case.
+     */
+    private boolean appendEntryAt(final long expectedIndex,
+                                  final long payloadPosition,
+                                  final int payloadLength,
+                                  final int messageType,
+                                  final int checksum) {
+        checkNotClosed();
+        if (!transaction.isClosed()) {
+            throw new IllegalStateException("Conditional append is not supported in a transaction");
+        }
+        final long index = endIndex;
+        if (expectedIndex < index) {
+            return false;
+        }
+        final ElasticMapping hdr = header;
+        final long headerValue = Headers.header(appenderId, payloadPosition);
+        final long commitTime = commitTime();
+        final boolean appended;
+        if (expectedIndex == index) {
+            appended = hdr.buffer().compareAndSetLong(0, NULL_HEADER, headerValue);
+        } else {
+            appended = Headers.moveAndGetHeader(hdr, expectedIndex - 1) != NULL_HEADER &&
+                    Headers.moveToHeaderIndex(hdr, expectedIndex) &&
+                    hdr.buffer().compareAndSetLong(0, NULL_HEADER, headerValue);
+            if (!appended && !Headers.moveToHeaderIndex(hdr, index)) {
+                throw headerMoveException(this, Headers.headerPositionForIndex(index));
+            }
+        }
+        if (!appended) {
+            return false;
+        }
+        writeMetadata(expectedIndex, commitTime, payloadLength, messageType, checksum);
+        final long nextIndex = expectedIndex + 1;
+        endIndex = nextIndex;
+        if (nextIndex <= Index.MAX) {
+            if (!Headers.moveToHeaderIndex(hdr, nextIndex)) {
+                throw headerMoveException(this, Headers.headerPositionForIndex(nextIndex));
+            }
+        }
         lastOwnHeader = headerValue;
         lastOwnPayloadLength = payloadLength;
-        return index;
+        return true;
     }
 
     private void checkNotClosed() {
@@ -182,6 +356,11 @@ final class AppenderImpl implements Appender {
         }
     }
 
+    @Override
+    public int appenderId() {
+        return appenderId;
+    }
+
     @Override
     public boolean isClosed() {
         return closed;
@@ -190,6 +369,7 @@ final class AppenderImpl implements Appender {
     @Override
     public void close() {
         if (!isClosed()) {
+            transaction.close();
             closed = true;
             endIndex = Index.NULL;
             lastOwnHeader = NULL_HEADER;
@@ -233,6 +413,9 @@ final class AppenderImpl implements Appender {
             assert capacity >= 0 && capacity <= maxEntrySize;
             final ElasticMapping pld = payload;
             final int minRequired = capacity + Integer.BYTES;
+            if (appender.payloadAllocator != null) {
+                return initSharedPayloadBuffer(pld, capacity);
+            }
             final long payloadPosition = lastOwnHeader == NULL_HEADER ? 0L :
                     Headers.nextPayloadPosition(Headers.payloadPosition(lastOwnHeader), lastOwnPayloadLen);
             if (!pld.moveTo(payloadPosition)) {
@@ -248,6 +431,18 @@ final class AppenderImpl implements Appender {
             return capacity;
         }
 
+        private int initSharedPayloadBuffer(final ElasticMapping pld, final int capacity) {
+            final long payloadPosition = appender.payloadAllocator.allocate(capacity + Integer.BYTES, pld.regionSize());
+            if (payloadPosition > MAX_PAYLOAD_POSITION) {
+                throw payloadPositionExceedsMaxException(appender, payloadPosition);
+            }
+            if (!pld.moveTo(payloadPosition)) {
+                throw payloadMoveException(appender, payloadPosition);
+            }
+            buffer.wrap(pld.buffer(), Integer.BYTES, capacity);
+            return capacity;
+        }
+
         private void moveToNextPayloadRegion(final ElasticMapping payload) {
             if (!payload.moveToNextRegion()) {
                 final long regionStartPosition = payload.regionStartPosition() + payload.regionSize();
@@ -267,16 +462,53 @@ final class AppenderImpl implements Appender {
             validateCapacity(capacity);
             final int minRequired = capacity + Integer.BYTES;
             final ElasticMapping pld = payload;
+            if (appender.payloadAllocator != null) {
+                ensureSharedCapacity(pld, max, capacity);
+                return;
+            }
             if (pld.bytesAvailable() < minRequired) {
                 if (!appender.enableCopyFromPreviousRegion) {
-                    throw new IllegalStateException("Need to enable payload region cache (for async no less than map-ahead + 2) to fully support ensureCapacity(..)");
+                    throw new IllegalStateException("Need to enable payload region cache (for async no less than " +
+                            "map-ahead + 2) or payload region overlap to fully support ensureCapacity(..)");
                 }
                 moveToNextPayloadRegion(pld);
                 //NOTE: copy data from buffer to the mapping buffer
                 //      --> the buffer is still wrapped at old region address
                 //      --> old region address is still mapped because a region cache is in use
-                pld.buffer().getBytes(Integer.BYTES, buffer, 0, max);
+                pld.buffer().putBytes(Integer.BYTES, buffer, 0, max);
+            }
+            buffer.wrap(pld.buffer(), Integer.BYTES, capacity);
+            maxLength = capacity;
+        }
+
+        /**
+         * Space in the shared payload file cannot be extended in place since other appenders may have allocated the
+         * space that follows, hence we allocate new space for the larger capacity and copy what has been written.
+         */
+        private void ensureSharedCapacity(final ElasticMapping pld, final int max, final int capacity) {
+            if (Headers.payloadBytesWithPadding(capacity + Integer.BYTES) ==
+                    Headers.payloadBytesWithPadding(max + Integer.BYTES)) {
+                //still fits into the padding of the allocated space
+                buffer.wrap(pld.buffer(), Integer.BYTES, capacity);
+                maxLength = capacity;
+                return;
+            }
+            final long regionStartPosition = pld.regionStartPosition();
+            final long payloadPosition = appender.payloadAllocator.allocate(capacity + Integer.BYTES, pld.regionSize());
+            if (payloadPosition > MAX_PAYLOAD_POSITION) {
+                throw payloadPositionExceedsMaxException(appender, payloadPosition);
+            }
+            if (payloadPosition - regionStartPosition >= pld.regionSize() && !appender.enableCopyFromPreviousRegion) {
+                throw new IllegalStateException("Need to enable payload region cache (for async no less than " +
+                        "map-ahead + 2) or payload region overlap to fully support ensureCapacity(..)");
+            }
+            if (!pld.moveTo(payloadPosition)) {
+                throw payloadMoveException(appender, payloadPosition);
             }
+            //NOTE: copy data from buffer to the mapping buffer
+            //      --> the buffer is still wrapped at the old address
+            //      --> old address is still mapped if in the same region or if a region cache is in use
+            pld.buffer().putBytes(Integer.BYTES, buffer, 0, max);
             buffer.wrap(pld.buffer(), Integer.BYTES, capacity);
             maxLength = capacity;
         }
@@ -293,13 +525,42 @@ final class AppenderImpl implements Appender {
 
         @Override
         public long commit(final int length) {
+            return commit(length, EntryMetadata.DEFAULT_MESSAGE_TYPE);
+        }
+
+        @Override
+        public long commit(final int length, final int messageType) {
             final int max = maxLength;
             maxLength = -1;
             buffer.wrap(0, 0);
             validateLength(length, max);
             final ElasticMapping pld = payload;
             pld.buffer().putInt(0, length);
-            return appender.appendEntry(pld.position(), length + Integer.BYTES);
+            return appender.commitEntry(pld.position(), length + Integer.BYTES, messageType, checksum(pld, length));
+        }
+
+        private int checksum(final ElasticMapping pld, final int length) {
+            return appender.checksum ? MetadataRecords.checksum(pld.buffer(), Integer.BYTES, length) : 0;
+        }
+
+        @Override
+        public boolean commitAt(final long expectedIndex, final int length) {
+            return commitAt(expectedIndex, length, EntryMetadata.DEFAULT_MESSAGE_TYPE);
+        }
+
+        @Override
+        public boolean commitAt(final long expectedIndex, final int length, final int messageType) {
+            final int max = maxLength;
+            maxLength = -1;
+            buffer.wrap(0, 0);
+            validateLength(length, max);
+            if (!Headers.validIndex(expectedIndex)) {
+                throw invalidIndexException(appender.appenderName(), expectedIndex);
+            }
+            final ElasticMapping pld = payload;
+            pld.buffer().putInt(0, length);
+            return appender.appendEntryAt(expectedIndex, pld.position(), length + Integer.BYTES, messageType,
+                    checksum(pld, length));
         }
 
         static void validateLength(final int length, final int maxLength) {
@@ -327,6 +588,168 @@ final class AppenderImpl implements Appender {
         }
     }
 
+    /**
+     * Transaction that adds entries to the own payload file as usual, but defers appending of their headers until
+     * commit.  Headers of all but the last entry are then appended with the
+     * {@link Headers#transactionHeader(long) transaction flag} which hides them from readers until the last header
+     * without flag is present.
+     */
+    private static final class AppendingTransactionImpl implements AppendingTransaction {
+        static final int INITIAL_CAPACITY = 16;
+        final AppenderImpl appender;
+        long[] headers = new long[INITIAL_CAPACITY];
+        long[] indices = new long[INITIAL_CAPACITY];
+        int[] payloadLengths = new int[INITIAL_CAPACITY];
+        int[] messageTypes = new int[INITIAL_CAPACITY];
+        int[] checksums = new int[INITIAL_CAPACITY];
+        int entryCount = -1;
+        long initialLastOwnHeader;
+        int initialLastOwnPayloadLength;
+
+        AppendingTransactionImpl(final AppenderImpl appender) {
+            this.appender = requireNonNull(appender);
+        }
+
+        AppendingTransaction init() {
+            if (!isClosed()) {
+                throw new IllegalStateException("Transaction has not been closed");
+            }
+            initialLastOwnHeader = appender.lastOwnHeader;
+            initialLastOwnPayloadLength = appender.lastOwnPayloadLength;
+            entryCount = 0;
+            return this;
+        }
+
+        private void checkNotClosed() {
+            if (isClosed()) {
+                throw new IllegalStateException("Transaction is closed");
+            }
+        }
+
+        @Override
+        public AppendingContext appending(final int capacity) {
+            checkNotClosed();
+            appender.checkNotClosed();
+            return appender.context.init(capacity);
+        }
+
+        long addEntry(final long payloadPosition, final int payloadLength, final int messageType, final int checksum) {
+            final long header = Headers.header(appender.appenderId, payloadPosition);
+            final int count = entryCount;
+            if (count == headers.length) {
+                headers = Arrays.copyOf(headers, 2 * count);
+                indices = new long[2 * count];
+                if (appender.metadata != null) {
+                    payloadLengths = Arrays.copyOf(payloadLengths, 2 * count);
+                    messageTypes = Arrays.copyOf(messageTypes, 2 * count);
+                    checksums = Arrays.copyOf(checksums, 2 * count);
+                }
+            }
+            headers[count] = header;
+            if (appender.metadata != null) {
+                payloadLengths[count] = payloadLength;
+                messageTypes[count] = messageType;
+                checksums[count] = checksum;
+            }
+            entryCount = count + 1;
+            appender.lastOwnHeader = header;
+            appender.lastOwnPayloadLength = payloadLength;
+            return Index.NULL;
+        }
+
+        @Override
+        public int entryCount() {
+            return Math.max(0, entryCount);
+        }
+
+        @Override
+        public long commit() {
+            checkNotClosed();
+            if (!appender.context.isClosed()) {
+                abort();
+                throw new IllegalStateException("Appending context has not been closed");
+            }
+            appender.checkNotClosed();
+            final int last = entryCount - 1;
+            final long[] hdrs = headers;
+            entryCount = -1;
+            if (last < 0) {
+                return Index.NULL;
+            }
+            final long commitTime = appender.commitTime();
+            if (last == 0) {
+                final long index = appender.appendHeader(hdrs[0]);
+                writeMetadata(0, index, commitTime);
+                return index;
+            }
+            //all entries are appended with flagged headers and become visible with the commit word
+            final long[] idx = indices;
+            int appended = 0;
+            try {
+                for (int i = 0; i <= last; i++) {
+                    idx[i] = appender.appendHeader(Headers.transactionHeader(hdrs[i]));
+                    appended = i + 1;
+                    writeMetadata(i, idx[i], commitTime);
+                }
+            } catch (final RuntimeException e) {
+                rollback(appended);
+                throw e;
+            }
+            appender.commits.commit(appender.appenderId, idx[last]);
+            return idx[0];
+        }
+
+        /**
+         * Best effort to abort the entries of a failed commit that were already appended;  entries not aborted here
+         * are aborted when the appender ID is acquired the next time.
+         */
+        private void rollback(final int appended) {
+            final ElasticMapping hdr = appender.header;
+            try {
+                for (int i = 0; i < appended; i++) {
+                    Headers.abortTransactionHeader(hdr, indices[i], Headers.transactionHeader(headers[i]));
+                }
+            } catch (final RuntimeException e) {
+                LOGGER.warn("Aborting entries of failed transaction commit failed for appender {}",
+                        appender.appenderName(), e);
+            }
+            final long end = appender.endIndex;
+            if (end <= Index.MAX) {
+                Headers.moveToHeaderIndex(hdr, end);
+            }
+        }
+
+        private void writeMetadata(final int entry, final long index, final long commitTime) {
+            if (appender.metadata != null) {
+                appender.writeMetadata(index, commitTime, payloadLengths[entry], messageTypes[entry], checksums[entry]);
+            }
+        }
+
+        @Override
+        public void abort() {
+            if (!isClosed()) {
+                appender.context.close();
+                appender.lastOwnHeader = initialLastOwnHeader;
+                appender.lastOwnPayloadLength = initialLastOwnPayloadLength;
+                entryCount = -1;
+            }
+        }
+
+        @Override
+        public boolean isClosed() {
+            return entryCount < 0;
+        }
+
+        @Override
+        public String toString() {
+            return "AppendingTransactionImpl" +
+                    ":queue=" + appender.queueName +
+                    "|appenderId=" + appender.appenderId +
+                    "|entryCount=" + entryCount() +
+                    "|closed=" + isClosed();
+        }
+    }
+
     String appenderName() {
         return queueName + ".appender-" + appenderId;
     }
@@ -24,6 +24,7 @@
 package org.tools4j.mmap.queue.impl;
 
 import org.tools4j.mmap.queue.config.AppenderConfig;
+import org.tools4j.mmap.queue.config.HeaderFormat;
 import org.tools4j.mmap.queue.config.QueueConfig;
 import org.tools4j.mmap.region.api.AccessMode;
 import org.tools4j.mmap.region.api.ElasticMapping;
@@ -44,6 +45,12 @@ interface AppenderMappings extends AutoCloseable {
      * @return the appender ID
      */
     int appenderId();
+
+    /**
+     * @return true if the appender ID was acquired exclusively, meaning that no other appender can be open
+     */
+    boolean exclusive();
+
     /**
      * @return header region
      */
@@ -54,6 +61,26 @@ interface AppenderMappings extends AutoCloseable {
      */
     ElasticMapping payload();
 
+    /**
+     * @return the header format of the queue
+     */
+    HeaderFormat headerFormat();
+
+    /**
+     * @return metadata region, or null if the queue header format has no metadata
+     */
+    ElasticMapping metadata();
+
+    /**
+     * @return the commit words of appending transactions
+     */
+    TransactionCommits commits();
+
+    /**
+     * @return the allocator for the shared payload file, or null if the appender has its own payload file
+     */
+    PayloadAllocator payloadAllocator();
+
     boolean isClosed();
 
     @Override
@@ -75,23 +102,65 @@ interface AppenderMappings extends AutoCloseable {
         requireNonNull(queueFiles);
         requireNonNull(queueConfig);
         requireNonNull(idPool);
+        final boolean exclusive = appenderConfig.exclusive();
+        final int appenderId = exclusive ? idPool.acquireExclusive() : idPool.acquire();
+        return create(queueFiles, idPool, appenderId, exclusive, queueFiles.sharedPayloadFile(), queueConfig,
+                appenderConfig);
+    }
+
+    /**
+     * Factory method for additional appender mappings sharing the appender ID of the given mappings.  The appender ID
+     * remains owned by the given mappings and is not released when the returned mappings are closed.
+     *
+     * @param queueFiles        the queue files
+     * @param owner             the mappings owning the appender ID
+     * @param queueConfig       the queue configuration settings
+     * @param appenderConfig    configuration for appender mappings
+     * @return a new appender mappings instance
+     */
+    static AppenderMappings createShared(final QueueFiles queueFiles,
+                                         final AppenderMappings owner,
+                                         final QueueConfig queueConfig,
+                                         final AppenderConfig appenderConfig) {
+        requireNonNull(queueFiles);
+        requireNonNull(queueConfig);
+        return create(queueFiles, null, owner.appenderId(), owner.exclusive(), false, queueConfig, appenderConfig);
+    }
+
+    private static AppenderMappings create(final QueueFiles queueFiles,
+                                           final IdPool idPool,
+                                           final int appenderId,
+                                           final boolean exclusive,
+                                           final boolean withPayloadAllocator,
+                                           final QueueConfig queueConfig,
+                                           final AppenderConfig appenderConfig) {
         final QueueConfig queueCfg = queueConfig.toImmutableQueueConfig();
         final AppenderConfig appenderCfg = appenderConfig.toImmutableAppenderConfig();
 
         return new AppenderMappings() {
-            final int appenderId = idPool.acquire();
             final MappingConfig headerCfg = headerMappingConfig(queueCfg, appenderCfg);
             final MappingConfig payloadCfg = payloadMappingConfig(queueCfg, appenderCfg);
             final ElasticMapping header = Mappings.elasticMapping(queueFiles.headerFile(), AccessMode.READ_WRITE,
                     FileInitialiser.zeroBytes(AccessMode.READ_WRITE, Headers.HEADER_LENGTH), headerCfg);
             final ElasticMapping payload = Mappings.elasticMapping(queueFiles.payloadFile(appenderId),
                     AccessMode.READ_WRITE, payloadCfg);
+            final TransactionCommits commits = TransactionCommits.forAppender(queueFiles);
+            final ElasticMapping metadata = queueCfg.headerFormat().hasMetadata() ?
+                    Mappings.elasticMapping(queueFiles.metadataFile(), AccessMode.READ_WRITE,
+                            FileInitialiser.zeroBytes(AccessMode.READ_WRITE, MetadataRecords.RECORD_LENGTH), headerCfg) :
+                    null;
+            final PayloadAllocator payloadAllocator = withPayloadAllocator ? PayloadAllocator.shared(queueFiles) : null;
 
             @Override
             public int appenderId() {
                 return appenderId;
             }
 
+            @Override
+            public boolean exclusive() {
+                return exclusive;
+            }
+
             @Override
             public ElasticMapping header() {
                 return header;
@@ -102,6 +171,26 @@ interface AppenderMappings extends AutoCloseable {
                 return payload;
             }
 
+            @Override
+            public HeaderFormat headerFormat() {
+                return queueCfg.headerFormat();
+            }
+
+            @Override
+            public ElasticMapping metadata() {
+                return metadata;
+            }
+
+            @Override
+            public TransactionCommits commits() {
+                return commits;
+            }
+
+            @Override
+            public PayloadAllocator payloadAllocator() {
+                return payloadAllocator;
+            }
+
             @Override
             public boolean isClosed() {
                 return header.isClosed();
@@ -112,7 +201,21 @@ interface AppenderMappings extends AutoCloseable {
                 if (!isClosed()) {
                     header.close();
                     payload.close();
-                    idPool.release(appenderId);
+                    if (metadata != null) {
+                        metadata.close();
+                    }
+                    commits.close();
+                    if (payloadAllocator != null) {
+                        payloadAllocator.close();
+                    }
+                    if (idPool == null) {
+                        return;
+                    }
+                    if (exclusive) {
+                        idPool.releaseExclusive(appenderId);
+                    } else {
+                        idPool.release(appenderId);
+                    }
                 }
             }
 
@@ -121,6 +224,7 @@ interface AppenderMappings extends AutoCloseable {
                 return "AppenderMappings" +
                         ":queue=" + queueFiles.queueName() +
                         "|appenderId=" + appenderId +
+                        "|exclusive=" + exclusive +
                         "|closed=" + isClosed();
             }
         };
@@ -0,0 +1,300 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.agrona.DirectBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tools4j.mmap.queue.api.BroadcastPoller;
+import org.tools4j.mmap.queue.api.EntryHandler;
+import org.tools4j.mmap.queue.api.Index;
+import org.tools4j.mmap.queue.api.Move;
+import org.tools4j.mmap.region.api.ElasticMapping;
+
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+import static org.tools4j.mmap.queue.api.Poller.CLOSED;
+import static org.tools4j.mmap.queue.impl.Headers.NULL_HEADER;
+
+final class BroadcastPollerImpl implements BroadcastPoller {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BroadcastPollerImpl.class);
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final String queueName;
+    private final ReaderMappings mappings;
+    private final ElasticMapping header;
+    private final TransactionCommits commits;
+    private SubscriberImpl[] subscribers = new SubscriberImpl[INITIAL_CAPACITY];
+    private int subscriberSlots;
+    private int subscriberCount;
+    private long endIndex;
+    private long round;
+    private boolean closed;
+
+    BroadcastPollerImpl(final String queueName, final ReaderMappings mappings) {
+        this.queueName = requireNonNull(queueName);
+        this.mappings = requireNonNull(mappings);
+        this.header = requireNonNull(mappings.header());
+        this.commits = requireNonNull(mappings.commits());
+    }
+
+    @Override
+    public Subscriber subscribe(final EntryHandler entryHandler) {
+        return subscribe(Index.FIRST, entryHandler);
+    }
+
+    @Override
+    public Subscriber subscribe(final long startIndex, final EntryHandler entryHandler) {
+        checkNotClosed();
+        final SubscriberImpl subscriber = new SubscriberImpl(validateIndex(startIndex), entryHandler);
+        if (subscriberSlots == subscribers.length) {
+            subscribers = Arrays.copyOf(subscribers, 2 * subscriberSlots);
+        }
+        subscribers[subscriberSlots++] = subscriber;
+        subscriberCount++;
+        return subscriber;
+    }
+
+    @Override
+    public int subscriberCount() {
+        return subscriberCount;
+    }
+
+    @Override
+    public int poll() {
+        if (closed) {
+            return CLOSED;
+        }
+        if (subscriberCount < subscriberSlots) {
+            removeClosedSubscribers();
+        }
+        final long rnd = ++round;
+        final int slots = subscriberSlots;
+        final SubscriberImpl[] subs = subscribers;
+        int polled = 0;
+        for (int i = 0; i < slots; i++) {
+            final long next = subs[i].nextIndex;
+            if (next > Index.MAX && !resolve(subs[i], next)) {
+                subs[i].round = rnd;
+            }
+        }
+        long index;
+        while ((index = nextPosition(subs, slots, rnd)) <= Index.MAX) {
+            final long hdr = Headers.moveAndGetCommittedHeader(header, commits, index);
+            if (hdr == NULL_HEADER) {
+                //entries after index are not available either
+                break;
+            }
+            if (index >= endIndex) {
+                endIndex = index + 1;
+            }
+            if (Headers.isAbortedHeader(hdr)) {
+                //entry of an aborted transaction, move subscribers past it without invoking their handlers
+                for (int i = 0; i < slots; i++) {
+                    final SubscriberImpl subscriber = subs[i];
+                    if (subscriber.round != rnd && subscriber.nextIndex == index && !subscriber.closed) {
+                        subscriber.nextIndex = index + 1;
+                    }
+                }
+                continue;
+            }
+            final DirectBuffer buffer = payloadBuffer(hdr);
+            final int length = buffer.getInt(0);
+            for (int i = 0; i < slots; i++) {
+                final SubscriberImpl subscriber = subs[i];
+                if (subscriber.round != rnd && subscriber.nextIndex == index && !subscriber.closed) {
+                    subscriber.round = rnd;
+                    subscriber.nextIndex = nextIndex(index, subscriber.handle(index, buffer, length));
+                    polled++;
+                }
+            }
+        }
+        return polled;
+    }
+
+    /** @return smallest position of subscribers not yet polled in this round, or a value greater than max if none */
+    private static long nextPosition(final SubscriberImpl[] subs, final int slots, final long round) {
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < slots; i++) {
+            final SubscriberImpl subscriber = subs[i];
+            if (subscriber.round != round && !subscriber.closed) {
+                min = Math.min(min, subscriber.nextIndex);
+            }
+        }
+        return min;
+    }
+
+    private DirectBuffer payloadBuffer(final long header) {
+        final int appenderId = Headers.appenderId(header);
+        final long payloadPosition = Headers.payloadPosition(header);
+        final ElasticMapping mapping = mappings.payload(appenderId);
+        final boolean success = mapping.moveTo(payloadPosition);
+        assert success : "moving to payload position failed";
+        return mapping.buffer();
+    }
+
+    /**
+     * Resolves {@link Index#LAST} or {@link Index#END} position of the subscriber by scanning headers for the end of
+     * the queue, starting with the end index found so far.
+     *
+     * @return true if the position was resolved, and false if the header mapping is not available yet
+     */
+    private boolean resolve(final SubscriberImpl subscriber, final long position) {
+        final ElasticMapping hdr = header;
+        long end = endIndex;
+        while (end <= Index.MAX) {
+            if (!Headers.moveToHeaderIndex(hdr, end)) {
+                endIndex = end;
+                return false;
+            }
+            if (Headers.committedHeader(hdr, commits, end, hdr.buffer().getLongVolatile(0)) == NULL_HEADER) {
+                break;
+            }
+            end++;
+        }
+        endIndex = end;
+        subscriber.nextIndex = position == Index.LAST ? Math.max(Index.FIRST, end - 1) : end;
+        return true;
+    }
+
+    private void removeClosedSubscribers() {
+        final SubscriberImpl[] subs = subscribers;
+        int count = 0;
+        for (int i = 0; i < subscriberSlots; i++) {
+            if (!subs[i].closed) {
+                subs[count++] = subs[i];
+            }
+        }
+        Arrays.fill(subs, count, subscriberSlots, null);
+        subscriberSlots = count;
+    }
+
+    private static long validateIndex(final long index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Invalid index: " + index);
+        }
+        return index;
+    }
+
+    private static long nextIndex(final long currentIndex, final long move) {
+        if (move > Index.MAX) {
+            return Math.max(move, Index.LAST);
+        }
+        if (move < -Index.MAX) {
+            return Index.FIRST;
+        }
+        final long nextIndex = currentIndex + move;
+        return nextIndex >= 0 ? nextIndex : (move > 0 ? Index.END : Index.FIRST);
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("Broadcast poller " + pollerName() + " is closed");
+        }
+    }
+
+    private String pollerName() {
+        return queueName + ".broadcast-poller-" + System.identityHashCode(this);
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            for (int i = 0; i < subscriberSlots; i++) {
+                subscribers[i].closed = true;
+            }
+            Arrays.fill(subscribers, null);
+            subscriberSlots = 0;
+            subscriberCount = 0;
+            mappings.close();
+            LOGGER.info("Broadcast poller closed: {}", pollerName());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BroadcastPollerImpl:queue=" + queueName + "|subscribers=" + subscriberCount + "|closed=" + closed;
+    }
+
+    private final class SubscriberImpl implements Subscriber {
+        final EntryHandler entryHandler;
+        long nextIndex;
+        long round;
+        boolean closed;
+
+        SubscriberImpl(final long nextIndex, final EntryHandler entryHandler) {
+            this.nextIndex = nextIndex;
+            this.entryHandler = requireNonNull(entryHandler);
+        }
+
+        long handle(final long index, final DirectBuffer buffer, final int length) {
+            try {
+                return entryHandler.onEntry(index, buffer, Integer.BYTES, length);
+            } catch (final Exception e) {
+                LOGGER.error("Unexpected exception thrown by entry handler of subscriber {} for message entry {} " +
+                        "of queue {}", this, index, queueName, e);
+                return Move.NONE;
+            }
+        }
+
+        @Override
+        public long nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public void seekNext(final long index) {
+            if (closed) {
+                throw new IllegalStateException("Subscriber " + this + " is closed");
+            }
+            nextIndex = validateIndex(index);
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                subscriberCount--;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "BroadcastPollerImpl.Subscriber:queue=" + queueName + "|nextIndex=" + nextIndex +
+                    "|closed=" + closed;
+        }
+    }
+}
@@ -36,6 +36,9 @@ import org.tools4j.mmap.region.api.ElasticMapping;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.util.Objects.requireNonNull;
 import static org.tools4j.mmap.queue.impl.Exceptions.invalidIndexException;
@@ -46,14 +49,18 @@ final class EntryIteratorImpl implements EntryIterator {
     private static final Logger LOGGER = LoggerFactory.getLogger(EntryIteratorImpl.class);
 
     private final String queueName;
+    private final Supplier<? extends ReaderMappings> mappingsFactory;
     private final ReaderMappings mappings;
     private final ElasticMapping header;
+    private final TransactionCommits commits;
     private final IterableContextImpl context;
 
-    EntryIteratorImpl(final String queueName, final ReaderMappings mappings) {
+    EntryIteratorImpl(final String queueName, final Supplier<? extends ReaderMappings> mappingsFactory) {
         this.queueName = requireNonNull(queueName);
-        this.mappings = requireNonNull(mappings);
+        this.mappingsFactory = requireNonNull(mappingsFactory);
+        this.mappings = requireNonNull(mappingsFactory.get());
         this.header = requireNonNull(mappings.header());
+        this.commits = requireNonNull(mappings.commits());
         this.context = new IterableContextImpl(this);
     }
 
@@ -143,7 +150,8 @@ final class EntryIteratorImpl implements EntryIterator {
             if (index < Index.LAST) {
                 throw invalidIndexException(iterator.iteratorName(), index);
             }
-            final long lastIndex = Headers.binarySearchLastIndex(header, Math.max(maxIndex, Index.FIRST));
+            final long lastIndex = Headers.binarySearchLastIndex(header, iterator.commits,
+                    Math.max(maxIndex, Index.FIRST));
             return lastIndex != Index.NULL ? (index == Index.LAST ? lastIndex : lastIndex + 1) : Index.FIRST;
         }
 
@@ -164,6 +172,37 @@ final class EntryIteratorImpl implements EntryIterator {
             }
         }
 
+        @Override
+        public Stream<Entry> stream() {
+            if (isClosed()) {
+                throw new IllegalStateException("Iterable context is closed");
+            }
+            if (increment < 0) {
+                return StreamSupport.stream(spliterator(), false);
+            }
+            final long endIndex = committedEndIndex(startIndex);
+            updateMaxIndex(endIndex - 1);
+            final EntrySpliterator spliterator = new EntrySpliterator(
+                    iterator.queueName, iterator.mappingsFactory, startIndex, endIndex);
+            return StreamSupport.stream(spliterator, false).onClose(spliterator::closeAll);
+        }
+
+        /**
+         * Scans the headers from the start index up to the first entry that is not present or whose transaction is
+         * still pending;  split chunks would otherwise return entries after a pending transaction which a sequential
+         * scan would not reach.
+         *
+         * @return the index of the first missing or pending entry at or after start index
+         */
+        private long committedEndIndex(final long startIndex) {
+            long index = startIndex;
+            while (index <= Index.MAX &&
+                    Headers.moveAndGetCommittedHeader(header, iterator.commits, index) != NULL_HEADER) {
+                index++;
+            }
+            return index;
+        }
+
         @Override
         public IterableContext reverse() {
             increment = -increment;
@@ -180,9 +219,18 @@ final class EntryIteratorImpl implements EntryIterator {
             if (hdr != NULL_HEADER) {
                 return true;
             }
-            hdr = Headers.moveAndGetHeader(header, next);
+            long index = next;
+            hdr = Headers.moveAndGetCommittedHeader(header, iterator.commits, index);
+            while (Headers.isAbortedHeader(hdr)) {
+                //entry of an aborted transaction, skip it in the iteration direction
+                final int inc = increment;
+                index += inc;
+                hdr = inc != 0 && index >= Index.FIRST && index <= Index.MAX ?
+                        Headers.moveAndGetCommittedHeader(header, iterator.commits, index) : NULL_HEADER;
+            }
             if (hdr != NULL_HEADER) {
-                updateMaxIndex(next);
+                updateMaxIndex(index);
+                nextIndex = index;
                 nextHeader = hdr;
                 return true;
             }
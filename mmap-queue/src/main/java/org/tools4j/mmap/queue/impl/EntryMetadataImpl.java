@@ -0,0 +1,99 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.agrona.DirectBuffer;
+import org.tools4j.mmap.queue.api.EntryMetadata;
+import org.tools4j.mmap.queue.api.Index;
+
+/**
+ * Entry metadata flyweight with values copied from a metadata record.
+ */
+final class EntryMetadataImpl implements EntryMetadata {
+    private long index = Index.NULL;
+    private int appenderId;
+    private long commitTime;
+    private int messageType;
+    private int payloadLength;
+    private boolean hasChecksum;
+    private int checksum;
+
+    EntryMetadata init(final long index, final long header, final DirectBuffer record) {
+        this.index = index;
+        this.appenderId = Headers.appenderId(header);
+        this.commitTime = MetadataRecords.commitTime(record);
+        this.messageType = MetadataRecords.messageType(record);
+        this.payloadLength = MetadataRecords.payloadLength(record);
+        this.hasChecksum = MetadataRecords.hasChecksum(record);
+        this.checksum = MetadataRecords.checksum(record);
+        return this;
+    }
+
+    @Override
+    public long index() {
+        return index;
+    }
+
+    @Override
+    public int appenderId() {
+        return appenderId;
+    }
+
+    @Override
+    public long commitTime() {
+        return commitTime;
+    }
+
+    @Override
+    public int messageType() {
+        return messageType;
+    }
+
+    @Override
+    public int payloadLength() {
+        return payloadLength;
+    }
+
+    @Override
+    public boolean hasChecksum() {
+        return hasChecksum;
+    }
+
+    @Override
+    public int checksum() {
+        return checksum;
+    }
+
+    @Override
+    public String toString() {
+        return "EntryMetadataImpl" +
+                ":index=" + index +
+                "|appenderId=" + appenderId +
+                "|commitTime=" + commitTime +
+                "|messageType=" + messageType +
+                "|payloadLength=" + payloadLength +
+                "|hasChecksum=" + hasChecksum +
+                "|checksum=" + checksum;
+    }
+}
@@ -25,18 +25,20 @@ package org.tools4j.mmap.queue.impl;
 
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.IdleStrategy;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.tools4j.mmap.queue.api.EntryMetadata;
 import org.tools4j.mmap.queue.api.EntryReader;
 import org.tools4j.mmap.queue.api.Index;
+import org.tools4j.mmap.queue.api.KeyIndex;
 import org.tools4j.mmap.queue.api.ReadingContext;
 import org.tools4j.mmap.region.api.ElasticMapping;
 
 import static java.util.Objects.requireNonNull;
 import static org.tools4j.mmap.queue.impl.Exceptions.invalidIndexException;
 import static org.tools4j.mmap.queue.impl.Exceptions.payloadMoveException;
-import static org.tools4j.mmap.queue.impl.Headers.NULL_HEADER;
 
 final class EntryReaderImpl implements EntryReader {
     private static final Logger LOGGER = LoggerFactory.getLogger(EntryReaderImpl.class);
@@ -44,25 +46,47 @@ final class EntryReaderImpl implements EntryReader {
     private final String queueName;
     private final ReaderMappings mappings;
     private final ElasticMapping header;
+    private final TransactionCommits commits;
     private final ReadingContextImpl context;
+    private final MetadataReader metadataReader;
 
     EntryReaderImpl(final String queueName, final ReaderMappings mappings) {
         this.queueName = requireNonNull(queueName);
         this.mappings = requireNonNull(mappings);
         this.header = requireNonNull(mappings.header());
+        this.commits = requireNonNull(mappings.commits());
         this.context = new ReadingContextImpl(this);
+        this.metadataReader = new MetadataReader(queueName, header, mappings.metadata(), commits);
     }
 
     @Override
     public long lastIndex() {
         checkNotClosed();
-        return Headers.binarySearchLastIndex(header, Index.FIRST);
+        return Headers.binarySearchLastIndex(header, commits, Index.FIRST);
     }
 
     @Override
     public boolean hasEntry(final long index) {
         checkNotClosed();
-        return Headers.hasNonEmptyHeaderAt(header, index);
+        return Headers.hasNonEmptyHeaderAt(header, commits, index);
+    }
+
+    @Override
+    public boolean awaitEntry(final long index, final long timeoutNanos, final IdleStrategy idleStrategy) {
+        checkNotClosed();
+        return Headers.awaitCommittedHeader(header, commits, index, timeoutNanos, requireNonNull(idleStrategy));
+    }
+
+    @Override
+    public EntryMetadata metadata(final long index) {
+        checkNotClosed();
+        return metadataReader.metadata(index);
+    }
+
+    @Override
+    public long indexForCommitTime(final long commitTime) {
+        checkNotClosed();
+        return metadataReader.indexForCommitTime(commitTime);
     }
 
     @Override
@@ -81,6 +105,13 @@ final class EntryReaderImpl implements EntryReader {
         return reading(Index.LAST);
     }
 
+    @Override
+    public ReadingContext readingByKey(final KeyIndex keyIndex, final long key) {
+        checkNotClosed();
+        final long index = keyIndex.lookup(key);
+        return index != Index.NULL ? context.init(index) : context.initNoEntry();
+    }
+
     @Override
     public boolean isClosed() {
         return header.isClosed();
@@ -137,11 +168,22 @@ final class EntryReaderImpl implements EntryReader {
             return this;
         }
 
+        ReadingContext initNoEntry() {
+            if (!isClosed()) {
+                close();
+                throw new IllegalStateException("Reading context has not been closed");
+            }
+            this.buffer.wrap(0, 0);
+            this.index = Index.NULL;
+            this.closed = false;
+            return this;
+        }
+
         private long initPayloadBuffer(final long index) {
             final long hdr = index != Index.LAST ?
-                    Headers.moveAndGetHeader(header, index):
-                    Headers.binarySearchAndGetLastHeader(header, Math.max(maxIndex, Index.FIRST));
-            if (hdr == NULL_HEADER) {
+                    Headers.moveAndGetCommittedHeader(header, reader.commits, index):
+                    Headers.binarySearchAndGetLastHeader(header, reader.commits, Math.max(maxIndex, Index.FIRST));
+            if (!Headers.isEntryHeader(hdr)) {
                 return Index.NULL;
             }
             final int appenderId = Headers.appenderId(hdr);
@@ -0,0 +1,214 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.tools4j.mmap.queue.api.Entry;
+import org.tools4j.mmap.queue.api.Index;
+import org.tools4j.mmap.region.api.ElasticMapping;
+
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+import static org.tools4j.mmap.queue.impl.Exceptions.payloadMoveException;
+import static org.tools4j.mmap.queue.impl.Headers.NULL_HEADER;
+
+/**
+ * Spliterator over a fixed range of committed queue entries that splits the index range into chunks.  Every chunk
+ * lazily opens its own {@link ReaderMappings} when it is first advanced, and closes them again when the chunk is
+ * exhausted.  The returned entry is a flyweight per chunk that is only valid until the next entry is returned by the
+ * same chunk.
+ */
+final class EntrySpliterator implements Spliterator<Entry>, Entry {
+    /** Chunks with fewer entries than this value are not split further */
+    static final int MIN_SPLIT_SIZE = 1024;
+
+    private final String queueName;
+    private final Supplier<? extends ReaderMappings> mappingsFactory;
+    private final Queue<ReaderMappings> openMappings;
+    private final MutableDirectBuffer buffer = new UnsafeBuffer(0, 0);
+    private final long endIndex;
+    private long nextIndex;
+    private long index = Index.NULL;
+    private ReaderMappings mappings;
+
+    EntrySpliterator(final String queueName,
+                     final Supplier<? extends ReaderMappings> mappingsFactory,
+                     final long startIndex,
+                     final long endIndex) {
+        this(queueName, mappingsFactory, new ConcurrentLinkedQueue<>(), startIndex, endIndex);
+    }
+
+    private EntrySpliterator(final String queueName,
+                             final Supplier<? extends ReaderMappings> mappingsFactory,
+                             final Queue<ReaderMappings> openMappings,
+                             final long startIndex,
+                             final long endIndex) {
+        this.queueName = requireNonNull(queueName);
+        this.mappingsFactory = requireNonNull(mappingsFactory);
+        this.openMappings = requireNonNull(openMappings);
+        this.nextIndex = startIndex;
+        this.endIndex = endIndex;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super Entry> action) {
+        requireNonNull(action);
+        final long index = moveTo(nextIndex);
+        if (index == Index.NULL) {
+            closeMappings();
+            return false;
+        }
+        nextIndex = index + 1;
+        action.accept(this);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super Entry> action) {
+        requireNonNull(action);
+        final long end = endIndex;
+        long next = nextIndex;
+        try {
+            while ((next = moveTo(next)) != Index.NULL) {
+                nextIndex = ++next;
+                action.accept(this);
+            }
+        } finally {
+            nextIndex = end;
+            closeMappings();
+        }
+    }
+
+    /**
+     * Moves to the first entry at or after the given index and before the end index, skipping entries of aborted
+     * transactions.
+     *
+     * @return the index of the entry, or {@link Index#NULL} if no entry is available
+     */
+    private long moveTo(final long startIndex) {
+        ReaderMappings mappings = this.mappings;
+        if (mappings == null) {
+            if (startIndex >= endIndex) {
+                return Index.NULL;
+            }
+            mappings = mappingsFactory.get();
+            openMappings.add(mappings);
+            this.mappings = mappings;
+        }
+        long index = startIndex;
+        long hdr;
+        do {
+            if (index >= endIndex) {
+                return Index.NULL;
+            }
+            hdr = Headers.moveAndGetCommittedHeader(mappings.header(), mappings.commits(), index++);
+            if (hdr == NULL_HEADER) {
+                return Index.NULL;
+            }
+        } while (Headers.isAbortedHeader(hdr));
+        index--;
+        final int appenderId = Headers.appenderId(hdr);
+        final long position = Headers.payloadPosition(hdr);
+        final ElasticMapping payload = mappings.payload(appenderId);
+        if (!payload.moveTo(position)) {
+            throw payloadMoveException(this, appenderId, position);
+        }
+        final int size = payload.buffer().getInt(0);
+        buffer.wrap(payload.buffer(), Integer.BYTES, size);
+        this.index = index;
+        return index;
+    }
+
+    @Override
+    public Spliterator<Entry> trySplit() {
+        final long start = nextIndex;
+        final long size = endIndex - start;
+        if (mappings != null || size < 2L * MIN_SPLIT_SIZE) {
+            return null;
+        }
+        final long mid = start + (size >>> 1);
+        nextIndex = mid;
+        return new EntrySpliterator(queueName, mappingsFactory, openMappings, start, mid);
+    }
+
+    @Override
+    public long estimateSize() {
+        return Math.max(0, endIndex - nextIndex);
+    }
+
+    @Override
+    public int characteristics() {
+        //NOTE: not SIZED since entries of aborted transactions are skipped, the estimate is an upper bound;  not
+        //      IMMUTABLE since the queue files are shared with appenders which can modify them during the traversal
+        return ORDERED | NONNULL;
+    }
+
+    @Override
+    public long index() {
+        return index;
+    }
+
+    @Override
+    public DirectBuffer buffer() {
+        return buffer;
+    }
+
+    private void closeMappings() {
+        final ReaderMappings mappings = this.mappings;
+        if (mappings != null) {
+            this.mappings = null;
+            buffer.wrap(0, 0);
+            openMappings.remove(mappings);
+            mappings.close();
+        }
+    }
+
+    /**
+     * Closes the mappings of all chunks split off from the same root spliterator that have not been exhausted, for
+     * instance if a stream operation terminated early.
+     */
+    void closeAll() {
+        ReaderMappings mappings;
+        while ((mappings = openMappings.poll()) != null) {
+            mappings.close();
+        }
+    }
+
+    String spliteratorName() {
+        return queueName + ".entrySpliterator-" + System.identityHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return "EntrySpliterator:queue=" + queueName + "|nextIndex=" + nextIndex + "|endIndex=" + endIndex +
+                "|index=" + index;
+    }
+}
@@ -52,12 +52,42 @@ enum Exceptions {
         return mappingMoveException(appender.appenderName() + ".payload", position);
     }
 
+    static IllegalStateException metadataMoveException(final AppenderImpl appender, final long position) {
+        return mappingMoveException(appender.appenderName() + ".metadata", position);
+    }
+
+    static IllegalStateException payloadPositionExceedsMaxException(final SharedAppenderImpl appender,
+                                                                    final long position) {
+        final String msg = "Reserving payload of " + appender.appenderName() + " at position " + position +
+                " exceeds max allowed position " + MAX_PAYLOAD_POSITION;
+        LOGGER.error(msg);
+        throw new IllegalStateException(msg);
+    }
+
+    static IllegalStateException headerMoveException(final SharedAppenderImpl appender, final long position) {
+        return mappingMoveException(appender.appenderName() + ".header", position);
+    }
+
+    static IllegalStateException payloadMoveException(final SharedAppenderImpl appender, final long position) {
+        return mappingMoveException(appender.appenderName() + ".payload", position);
+    }
+
+    static IllegalStateException metadataMoveException(final SharedAppenderImpl appender, final long position) {
+        return mappingMoveException(appender.appenderName() + ".metadata", position);
+    }
+
     static IllegalStateException payloadMoveException(final EntryReaderImpl reader,
                                                       final int appenderId,
                                                       final long position) {
         return mappingMoveException(reader.readerName() + "-" + appenderId + ".payload", position);
     }
 
+    static IllegalStateException payloadMoveException(final EntrySpliterator spliterator,
+                                                      final int appenderId,
+                                                      final long position) {
+        return mappingMoveException(spliterator.spliteratorName() + "-" + appenderId + ".payload", position);
+    }
+
     static IllegalStateException payloadMoveException(final EntryIteratorImpl iterator,
                                                       final int appenderId,
                                                       final long position) {
@@ -0,0 +1,147 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.tools4j.mmap.queue.config.QueueConfig;
+import org.tools4j.mmap.queue.config.ReaderConfig;
+import org.tools4j.mmap.region.api.AccessMode;
+import org.tools4j.mmap.region.api.ElasticMapping;
+import org.tools4j.mmap.region.api.FixedMapping;
+import org.tools4j.mmap.region.api.Mappings;
+import org.tools4j.mmap.region.config.MappingConfig;
+
+import static java.util.Objects.requireNonNull;
+import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
+import static org.tools4j.mmap.queue.impl.QueueMappingConfigs.headerMappingConfig;
+
+/**
+ * Claim cursor, acknowledgement and redelivery mappings shared by the group pollers of a consumer group.
+ * <p>
+ * Entries claimed but not handled by a poller are recorded for redelivery when the poller is closed:  the entry index
+ * is written to the slot of the {@linkplain #redelivery() redelivery mapping} obtained by incrementing the
+ * {@linkplain #RELEASED_COUNT_OFFSET released count}, and pollers claim released entries by advancing the
+ * {@linkplain #REDELIVERED_COUNT_OFFSET redelivered count} before claiming new entries.  Entries claimed by a poller
+ * that terminates without being closed are not recorded for redelivery, since claims have no recorded owner.
+ */
+interface GroupMappings extends AutoCloseable {
+    /** Offset of the claim cursor in the {@linkplain #cursor() cursor mapping} */
+    int CLAIM_CURSOR_OFFSET = 0;
+    /** Offset of the number of entries recorded for redelivery in the {@linkplain #cursor() cursor mapping} */
+    int RELEASED_COUNT_OFFSET = 8;
+    /** Offset of the number of recorded entries claimed for redelivery in the {@linkplain #cursor() cursor mapping} */
+    int REDELIVERED_COUNT_OFFSET = 16;
+    /** Length of a slot in the {@linkplain #redelivery() redelivery mapping} with the entry index plus one */
+    int REDELIVERY_SLOT_LENGTH = Long.BYTES;
+    /** Length of the cursor file, a full cache line to avoid false sharing with unrelated data */
+    int CURSOR_FILE_LENGTH = CACHE_LINE_LENGTH;
+    /** Acknowledgement byte value stored in the {@linkplain #ack() ack mapping} at the position of an entry's index */
+    byte ACKNOWLEDGED = 1;
+
+    /**
+     * @return the fixed mapping with the shared claim cursor
+     */
+    FixedMapping cursor();
+
+    /**
+     * @return the ack mapping with one byte per entry index
+     */
+    ElasticMapping ack();
+
+    /**
+     * @return the redelivery mapping with one slot per entry recorded for redelivery
+     */
+    ElasticMapping redelivery();
+
+    boolean isClosed();
+
+    @Override
+    void close();
+
+    /**
+     * Factory method for group mappings.
+     *
+     * @param queueFiles    the queue files
+     * @param groupName     the consumer group name
+     * @param queueConfig   the queue configuration settings
+     * @param readerConfig  configuration for reader mappings, header mapping settings are also used for acks and
+     *                      redeliveries
+     * @return a new group mappings instance
+     */
+    static GroupMappings create(final QueueFiles queueFiles,
+                                final String groupName,
+                                final QueueConfig queueConfig,
+                                final ReaderConfig readerConfig) {
+        requireNonNull(queueFiles);
+        requireNonNull(groupName);
+        final QueueConfig queueCfg = queueConfig.toImmutableQueueConfig();
+        final ReaderConfig readerCfg = readerConfig.toImmutableReaderConfig();
+
+        return new GroupMappings() {
+            final MappingConfig ackCfg = headerMappingConfig(queueCfg, readerCfg);
+            final FixedMapping cursor = Mappings.fixedSizeMapping(queueFiles.groupCursorFile(groupName),
+                    AccessMode.READ_WRITE, 0, CURSOR_FILE_LENGTH);
+            final ElasticMapping ack = Mappings.elasticMapping(queueFiles.groupAckFile(groupName),
+                    AccessMode.READ_WRITE, ackCfg);
+            final ElasticMapping redelivery = Mappings.elasticMapping(queueFiles.groupRedeliveryFile(groupName),
+                    AccessMode.READ_WRITE, ackCfg);
+
+            @Override
+            public FixedMapping cursor() {
+                return cursor;
+            }
+
+            @Override
+            public ElasticMapping ack() {
+                return ack;
+            }
+
+            @Override
+            public ElasticMapping redelivery() {
+                return redelivery;
+            }
+
+            @Override
+            public boolean isClosed() {
+                return cursor.isClosed();
+            }
+
+            @Override
+            public void close() {
+                if (!isClosed()) {
+                    cursor.close();
+                    ack.close();
+                    redelivery.close();
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "GroupMappings" +
+                        ":queue=" + queueFiles.queueName() +
+                        "|group=" + groupName +
+                        "|closed=" + isClosed();
+            }
+        };
+    }
+}
@@ -0,0 +1,341 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tools4j.mmap.queue.api.EntryHandler;
+import org.tools4j.mmap.queue.api.GroupPoller;
+import org.tools4j.mmap.queue.api.Index;
+import org.tools4j.mmap.queue.api.Move;
+import org.tools4j.mmap.region.api.ElasticMapping;
+
+import static java.util.Objects.requireNonNull;
+import static org.tools4j.mmap.queue.api.Poller.CLOSED;
+import static org.tools4j.mmap.queue.api.Poller.ENTRY_POLLED;
+import static org.tools4j.mmap.queue.api.Poller.PENDING_NEXT;
+import static org.tools4j.mmap.queue.api.Poller.PENDING_OPEN;
+import static org.tools4j.mmap.queue.impl.GroupMappings.ACKNOWLEDGED;
+import static org.tools4j.mmap.queue.impl.GroupMappings.CLAIM_CURSOR_OFFSET;
+import static org.tools4j.mmap.queue.impl.GroupMappings.REDELIVERED_COUNT_OFFSET;
+import static org.tools4j.mmap.queue.impl.GroupMappings.REDELIVERY_SLOT_LENGTH;
+import static org.tools4j.mmap.queue.impl.GroupMappings.RELEASED_COUNT_OFFSET;
+import static org.tools4j.mmap.queue.impl.Headers.NULL_HEADER;
+import static org.tools4j.mmap.region.impl.Constraints.validateClaimBatchSize;
+
+final class GroupPollerImpl implements GroupPoller {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GroupPollerImpl.class);
+    private static final int MAX_REDELIVERY_SLOT_READ_ATTEMPTS = 1 << 16;
+
+    private final String queueName;
+    private final String groupName;
+    private final ReaderMappings mappings;
+    private final GroupMappings groupMappings;
+    private final ElasticMapping header;
+    private final ElasticMapping ack;
+    private final ElasticMapping redelivery;
+    private final AtomicBuffer cursor;
+    private final int claimBatchSize;
+    private long claimStart;
+    private long claimEnd;
+    private long currentIndex;
+    private long pendingRedeliverySlot;
+    private int errorState = PENDING_OPEN;
+
+    GroupPollerImpl(final String queueName,
+                    final String groupName,
+                    final ReaderMappings mappings,
+                    final GroupMappings groupMappings,
+                    final int claimBatchSize) {
+        validateClaimBatchSize(claimBatchSize);
+        this.queueName = requireNonNull(queueName);
+        this.groupName = requireNonNull(groupName);
+        this.mappings = requireNonNull(mappings);
+        this.groupMappings = requireNonNull(groupMappings);
+        this.header = requireNonNull(mappings.header());
+        this.ack = requireNonNull(groupMappings.ack());
+        this.redelivery = requireNonNull(groupMappings.redelivery());
+        this.cursor = requireNonNull(groupMappings.cursor().buffer());
+        this.claimBatchSize = claimBatchSize;
+        this.claimStart = Index.NULL;
+        this.claimEnd = Index.NULL;
+        this.currentIndex = Index.NULL;
+        this.pendingRedeliverySlot = Index.NULL;
+    }
+
+    @Override
+    public String groupName() {
+        return groupName;
+    }
+
+    @Override
+    public int claimBatchSize() {
+        return claimBatchSize;
+    }
+
+    @Override
+    public long currentIndex() {
+        return currentIndex;
+    }
+
+    @Override
+    public long claimCursor() {
+        checkNotClosed();
+        return cursor.getLongVolatile(CLAIM_CURSOR_OFFSET);
+    }
+
+    @Override
+    public boolean isAcknowledged(final long index) {
+        checkNotClosed();
+        return index >= Index.FIRST && index <= Index.MAX && ack.moveTo(index) &&
+                ack.buffer().getByteVolatile(0) == ACKNOWLEDGED;
+    }
+
+    @Override
+    public int poll(final EntryHandler entryHandler) {
+        long index;
+        long hdr;
+        do {
+            if (claimStart >= claimEnd) {
+                final int result = claim();
+                if (result != ENTRY_POLLED) {
+                    return result;
+                }
+            }
+            index = claimStart++;
+            hdr = Headers.moveAndGetHeader(header, index);
+            assert hdr != NULL_HEADER : "claimed entry header not found";
+            if (Headers.isAbortedHeader(hdr)) {
+                //entry of an aborted transaction, acknowledge without passing it to the handler
+                acknowledge(index);
+            }
+        } while (Headers.isAbortedHeader(hdr));
+        currentIndex = index;
+        if (handleEntry(entryHandler, index, hdr) == Move.NONE) {
+            //stay on the entry and deliver it again with the next poll
+            claimStart = index;
+            return ENTRY_POLLED;
+        }
+        acknowledge(index);
+        return ENTRY_POLLED;
+    }
+
+    /**
+     * Claims an entry recorded for redelivery if any, or otherwise up to {@link #claimBatchSize} available entries by
+     * advancing the shared claim cursor.
+     *
+     * @return {@link org.tools4j.mmap.queue.api.Poller#ENTRY_POLLED ENTRY_POLLED} if at least one entry was claimed, or a non-positive value otherwise
+     */
+    private int claim() {
+        final int error = errorState;
+        if (error == CLOSED) {
+            return CLOSED;
+        }
+        if (claimRedelivery()) {
+            return ENTRY_POLLED;
+        }
+        final AtomicBuffer cur = cursor;
+        final ElasticMapping hdr = header;
+        final int batchSize = claimBatchSize;
+        long start;
+        long end;
+        do {
+            start = cur.getLongVolatile(CLAIM_CURSOR_OFFSET);
+            if (start > Index.MAX) {
+                return PENDING_NEXT;
+            }
+            if (!Headers.moveToHeaderIndex(hdr, start)) {
+                return error;
+            }
+            if (error == PENDING_OPEN) {
+                errorState = PENDING_NEXT;
+            }
+            end = start;
+            //NOTE: entries once appended never disappear, hence we can check availability before claiming
+            while (end - start < batchSize && end <= Index.MAX &&
+                    Headers.moveAndGetCommittedHeader(hdr, mappings.commits(), end) != NULL_HEADER) {
+                end++;
+            }
+            if (end == start) {
+                return PENDING_NEXT;
+            }
+        } while (!cur.compareAndSetLong(CLAIM_CURSOR_OFFSET, start, end));
+        claimStart = start;
+        claimEnd = end;
+        return ENTRY_POLLED;
+    }
+
+    /**
+     * Claims the next entry recorded for redelivery by advancing the shared redelivered count.
+     *
+     * @return true if an entry was claimed, and false if no entry is recorded for redelivery or if the index of the
+     *         claimed slot has not been written yet by the releasing poller
+     */
+    private boolean claimRedelivery() {
+        long slot = pendingRedeliverySlot;
+        if (slot == Index.NULL) {
+            final AtomicBuffer cur = cursor;
+            do {
+                slot = cur.getLongVolatile(REDELIVERED_COUNT_OFFSET);
+                if (slot >= cur.getLongVolatile(RELEASED_COUNT_OFFSET)) {
+                    return false;
+                }
+            } while (!cur.compareAndSetLong(REDELIVERED_COUNT_OFFSET, slot, slot + 1));
+        }
+        final long index = readRedeliverySlot(slot);
+        if (index == Index.NULL) {
+            pendingRedeliverySlot = slot;
+            return false;
+        }
+        pendingRedeliverySlot = Index.NULL;
+        claimStart = index;
+        claimEnd = index + 1;
+        return true;
+    }
+
+    private long readRedeliverySlot(final long slot) {
+        final ElasticMapping mapping = redelivery;
+        if (!mapping.moveTo(slot * REDELIVERY_SLOT_LENGTH)) {
+            return Index.NULL;
+        }
+        //NOTE: slot stores index plus one so that zero means not written yet
+        return mapping.buffer().getLongVolatile(0) - 1;
+    }
+
+    /**
+     * Records the entry for redelivery to the next poller of the group claiming entries.
+     *
+     * @param index the index of the claimed entry that was not handled
+     * @return true if the entry was recorded, and false if the redelivery slot could not be accessed
+     */
+    private boolean release(final long index) {
+        final long slot = cursor.getAndAddLong(RELEASED_COUNT_OFFSET, 1);
+        final ElasticMapping mapping = redelivery;
+        if (!mapping.moveTo(slot * REDELIVERY_SLOT_LENGTH)) {
+            LOGGER.error("Recording entry {} of queue {} for redelivery failed for group {}", index, queueName,
+                    groupName);
+            return false;
+        }
+        mapping.buffer().putLongVolatile(0, index + 1);
+        return true;
+    }
+
+    private long handleEntry(final EntryHandler entryHandler, final long index, final long hdr) {
+        final ElasticMapping mapping = mappings.payload(Headers.appenderId(hdr));
+        final boolean success = mapping.moveTo(Headers.payloadPosition(hdr));
+        assert success : "moving to payload position failed";
+        final DirectBuffer buffer = mapping.buffer();
+        final int length = buffer.getInt(0);
+        try {
+            return entryHandler.onEntry(index, buffer, Integer.BYTES, length);
+        } catch (final Exception e) {
+            LOGGER.error("Unexpected exception thrown by entry handler for message entry {} of queue {} in group {}",
+                    index, queueName, groupName, e);
+            return Move.NEXT;
+        }
+    }
+
+    private void acknowledge(final long index) {
+        final ElasticMapping ackMapping = ack;
+        if (!ackMapping.moveTo(index)) {
+            LOGGER.error("Acknowledging entry {} of queue {} failed for group {}", index, queueName, groupName);
+            return;
+        }
+        ackMapping.buffer().putByteVolatile(0, ACKNOWLEDGED);
+    }
+
+    @Override
+    public boolean isClosed() {
+        return errorState == CLOSED;
+    }
+
+    private void checkNotClosed() {
+        if (isClosed()) {
+            throw new IllegalStateException("Group poller " + pollerName() + " is closed");
+        }
+    }
+
+    private String pollerName() {
+        return queueName + "." + groupName + ".poller-" + System.identityHashCode(this);
+    }
+
+    @Override
+    public void close() {
+        if (!isClosed()) {
+            errorState = CLOSED;
+            releaseUnpolled();
+            claimStart = Index.NULL;
+            claimEnd = Index.NULL;
+            currentIndex = Index.NULL;
+            mappings.close();
+            groupMappings.close();
+            LOGGER.info("Group poller closed: {}", pollerName());
+        }
+    }
+
+    /**
+     * Returns entries claimed but not yet polled to the group:  the claim cursor is reset to the first unpolled entry
+     * if no other poller has claimed entries in the meantime, and otherwise the unpolled entries are recorded for
+     * redelivery.  A redelivery slot claimed by this poller but not yet readable is resolved and released again.
+     */
+    private void releaseUnpolled() {
+        final long slot = pendingRedeliverySlot;
+        if (slot != Index.NULL) {
+            long index = Index.NULL;
+            for (int i = 0; i < MAX_REDELIVERY_SLOT_READ_ATTEMPTS && index == Index.NULL; i++) {
+                Thread.onSpinWait();
+                index = readRedeliverySlot(slot);
+            }
+            if (index == Index.NULL) {
+                LOGGER.error("Group poller {} closed with unresolved redelivery slot {}", pollerName(), slot);
+            } else {
+                release(index);
+            }
+            pendingRedeliverySlot = Index.NULL;
+        }
+        final long start = claimStart;
+        final long end = claimEnd;
+        if (start >= end) {
+            return;
+        }
+        if (cursor.compareAndSetLong(CLAIM_CURSOR_OFFSET, end, start)) {
+            LOGGER.info("Group poller {} returned unpolled claimed entries [{}, {}) to group", pollerName(), start,
+                    end);
+            return;
+        }
+        for (long index = start; index < end; index++) {
+            release(index);
+        }
+        LOGGER.info("Group poller {} recorded unpolled claimed entries [{}, {}) for redelivery", pollerName(), start,
+                end);
+    }
+
+    @Override
+    public String toString() {
+        return "GroupPollerImpl:queue=" + queueName + "|group=" + groupName + "|currentIndex=" + currentIndex +
+                "|claimStart=" + claimStart + "|claimEnd=" + claimEnd + "|closed=" + isClosed();
+    }
+}
@@ -23,6 +23,7 @@
  */
 package org.tools4j.mmap.queue.impl;
 
+import org.agrona.concurrent.IdleStrategy;
 import org.tools4j.mmap.queue.api.Index;
 import org.tools4j.mmap.region.api.ElasticMapping;
 import org.tools4j.mmap.region.impl.IdPool256;
@@ -68,16 +69,23 @@ enum Headers {
      */
     public static final int MIN_APPENDER_ID = 0;
 
+    /**
+     * The sign bit flags entries of an appending transaction with multiple entries.  Such entries are not visible to
+     * readers before the transaction is committed through the {@link TransactionCommits commit word} of the appender.
+     * A flagged header without payload position marks an aborted entry which readers skip.
+     */
+    private static final long TRANSACTION_FLAG = Long.MIN_VALUE;
+
     private static final long APPENDER_ID_MASK = (MAX_APPENDERS - 1);
     private static final long APPENDER_ID_HEADER_MASK = APPENDER_ID_MASK;
     private static final int ADJUSTED_POSITION_SHIFT = APPENDER_ID_BITS - PAYLOAD_GRANULARITY_BITS;
-    private static final long ADJUSTED_POSITION_HEADER_MASK = ~APPENDER_ID_HEADER_MASK;
+    private static final long ADJUSTED_POSITION_HEADER_MASK = ~(APPENDER_ID_HEADER_MASK | TRANSACTION_FLAG);
     private static final long ADJUSTED_POSITION_MASK = ADJUSTED_POSITION_HEADER_MASK >>> ADJUSTED_POSITION_SHIFT;
     private static final long ADJUSTED_POSITION_MASK16 = ADJUSTED_POSITION_HEADER_MASK >>> (8+ADJUSTED_POSITION_SHIFT);
 
     private static final long PAYLOAD_POSITION_ADJUSTMENT = PAYLOAD_GRANULARITY;
     /**
-     * Max payload position is 576,460,752,303,423,472, which is > 500,000 terabytes.
+     * Max payload position is 288,230,376,151,711,728, which is > 250,000 terabytes.
      */
     public static final long MAX_PAYLOAD_POSITION = ADJUSTED_POSITION_MASK - PAYLOAD_POSITION_ADJUSTMENT;
 
@@ -115,7 +123,7 @@ enum Headers {
         return ((header & ADJUSTED_POSITION_HEADER_MASK) >>> ADJUSTED_POSITION_SHIFT) - PAYLOAD_POSITION_ADJUSTMENT;
     }
 
-    private static long payloadBytesWithPadding(final int payloadBytes) {
+    public static long payloadBytesWithPadding(final int payloadBytes) {
         return ((payloadBytes + PAYLOAD_GRANULARITY - 1) >>> PAYLOAD_GRANULARITY_BITS) << PAYLOAD_GRANULARITY_BITS;
     }
 
@@ -173,10 +181,176 @@ enum Headers {
         return (appenderId & APPENDER_ID_HEADER_MASK) | ((adjustedPosition << ADJUSTED_POSITION_SHIFT) & ADJUSTED_POSITION_HEADER_MASK);
     }
 
+    public static long transactionHeader(final long header) {
+        assert header != NULL_HEADER : "header cannot be null";
+        return header | TRANSACTION_FLAG;
+    }
+
+    public static boolean isTransactionHeader(final long header) {
+        return (header & TRANSACTION_FLAG) != 0;
+    }
+
+    /**
+     * Returns the header that replaces headers of aborted transaction entries of the given appender.  The aborted
+     * header is a flagged header without payload position.
+     *
+     * @param appenderId the appender ID
+     * @return the aborted header value
+     */
+    public static long abortedHeader(final int appenderId) {
+        assert validAppenderId(appenderId) : "appenderId is invalid";
+        return TRANSACTION_FLAG | (appenderId & APPENDER_ID_HEADER_MASK);
+    }
+
+    public static boolean isAbortedHeader(final long header) {
+        return (header & ~APPENDER_ID_HEADER_MASK) == TRANSACTION_FLAG;
+    }
+
+    /**
+     * Returns true if the given committed header value is the header of an entry visible to readers, that is, if the
+     * value is neither {@link #NULL_HEADER} nor an {@link #abortedHeader(int) aborted} header.
+     *
+     * @param header a header value as returned by
+     *               {@link #committedHeader(ElasticMapping, TransactionCommits, long, long)}
+     * @return true if the header value is present and not aborted
+     */
+    public static boolean isEntryHeader(final long header) {
+        return header != NULL_HEADER && !isAbortedHeader(header);
+    }
+
+    /**
+     * Aborts the entry at the given index by replacing its header with the {@link #abortedHeader(int) aborted} header
+     * if it is still the given flagged transaction header.  Only the owner of the appender ID may abort entries, and
+     * only entries above its {@link TransactionCommits#lastCommittedIndex(int) commit index}.
+     *
+     * @param header    the header mapping
+     * @param index     the entry index
+     * @param value     the flagged transaction header value expected at index
+     * @return true if the header was aborted, and false if the header slot could not be mapped or held another value
+     */
+    public static boolean abortTransactionHeader(final ElasticMapping header, final long index, final long value) {
+        assert isTransactionHeader(value) && !isAbortedHeader(value) : "value must be a transaction header";
+        return moveToHeaderIndex(header, index) &&
+                header.buffer().compareAndSetLong(0, value, abortedHeader(appenderId(value)));
+    }
+
+    /**
+     * Aborts pending transaction entries of the given appender in the given index range, which are entries with
+     * flagged headers above the commit index of the appender.  This is invoked when an appender ID is acquired to abort
+     * transactions orphaned by a previous owner of the ID that terminated in the middle of a commit.
+     *
+     * @param header        the header mapping
+     * @param commits       the transaction commit words
+     * @param appenderId    the appender ID owned by the caller
+     * @param fromIndex     the first index to check, inclusive
+     * @param toIndex       the last index to check, exclusive
+     * @return the number of aborted entries
+     */
+    public static int abortPendingTransactionHeaders(final ElasticMapping header,
+                                                     final TransactionCommits commits,
+                                                     final int appenderId,
+                                                     final long fromIndex,
+                                                     final long toIndex) {
+        final long lastCommitted = commits.lastCommittedIndex(appenderId);
+        int aborted = 0;
+        for (long index = Math.max(fromIndex, lastCommitted + 1); index < toIndex; index++) {
+            final long value = moveAndGetHeader(header, index);
+            if (appenderId(value) == appenderId && isTransactionHeader(value) && !isAbortedHeader(value) &&
+                    abortTransactionHeader(header, index, value)) {
+                aborted++;
+            }
+        }
+        return aborted;
+    }
+
     public static long moveAndGetHeader(final ElasticMapping header, final long index) {
         return moveToHeaderIndex(header, index) ? header.buffer().getLongVolatile(0) : NULL_HEADER;
     }
 
+    /**
+     * Moves to the header at the given index and returns it if it is committed, or {@link #NULL_HEADER} otherwise.
+     * The mapping is positioned at the given index when this method returns.
+     *
+     * @param header    the header mapping
+     * @param commits   the transaction commit words
+     * @param index     the entry index
+     * @return the header value if present and not part of an incomplete transaction, the
+     *         {@link #abortedHeader(int) aborted} header if the entry was aborted, and {@link #NULL_HEADER} otherwise
+     */
+    public static long moveAndGetCommittedHeader(final ElasticMapping header,
+                                                 final TransactionCommits commits,
+                                                 final long index) {
+        return committedHeader(header, commits, index, moveAndGetHeader(header, index));
+    }
+
+    /**
+     * Returns the given header value if it is committed, or {@link #NULL_HEADER} if it is the header of an entry whose
+     * transaction is still pending.  A flagged transaction header is committed if its index is not above the commit
+     * index of its appender;  the header slot is read again in this case as the entry may have been aborted in the
+     * meantime, and the aborted header is returned for aborted entries.
+     *
+     * @param header    the header mapping, positioned at the given index
+     * @param commits   the transaction commit words
+     * @param index     the entry index
+     * @param value     the header value read at index
+     * @return the header value if committed, the {@link #abortedHeader(int) aborted} header if the entry was aborted,
+     *         and {@link #NULL_HEADER} otherwise
+     */
+    public static long committedHeader(final ElasticMapping header,
+                                       final TransactionCommits commits,
+                                       final long index,
+                                       final long value) {
+        if (!isTransactionHeader(value) || isAbortedHeader(value)) {
+            return value;
+        }
+        if (index > commits.lastCommittedIndex(appenderId(value))) {
+            return NULL_HEADER;
+        }
+        return header.buffer().getLongVolatile(0);
+    }
+
+    /**
+     * Waits until the entry at the given index is committed, or until the timeout elapses.  The mapping is moved to the
+     * header slot once, and the slot is then read directly through the mapped buffer without further mapping
+     * operations until a header value appears.  The idle strategy is invoked between unsuccessful reads, for instance
+     * a backoff strategy that progresses from spinning to yielding and parking.
+     *
+     * @param header        the header mapping
+     * @param commits       the transaction commit words
+     * @param index         the entry index
+     * @param timeoutNanos  the maximum time to wait in nanoseconds, zero to check only once
+     * @param idleStrategy  the idle strategy invoked between unsuccessful reads
+     * @return true if the entry at index is committed, and false if it was aborted or if the timeout elapsed before
+     *         the entry was committed
+     */
+    public static boolean awaitCommittedHeader(final ElasticMapping header,
+                                               final TransactionCommits commits,
+                                               final long index,
+                                               final long timeoutNanos,
+                                               final IdleStrategy idleStrategy) {
+        if (index < Index.FIRST || index > Index.MAX) {
+            throw new IllegalArgumentException("Invalid index: " + index);
+        }
+        final long start = System.nanoTime();
+        idleStrategy.reset();
+        boolean pinned = false;
+        while (true) {
+            if (pinned || (pinned = moveToHeaderIndex(header, index))) {
+                final long value = header.buffer().getLongVolatile(0);
+                if (value != NULL_HEADER) {
+                    final long committed = committedHeader(header, commits, index, value);
+                    if (committed != NULL_HEADER) {
+                        return !isAbortedHeader(committed);
+                    }
+                }
+            }
+            if (System.nanoTime() - start >= timeoutNanos) {
+                return false;
+            }
+            idleStrategy.idle();
+        }
+    }
+
     public static boolean moveToHeaderIndex(final ElasticMapping header, final long index) {
         final long position = headerPositionForIndex(index);
         return header.moveTo(position);
@@ -199,20 +373,27 @@ enum Headers {
         return (index & BIJECTION_BLOCK_MASK_HI) | (product & BIJECTION_BLOCK_MASK_LO);
     }
 
-    public static boolean hasNonEmptyHeaderAt(final ElasticMapping header, final long index) {
-        return index >= Index.FIRST && index <= Index.MAX && moveAndGetHeader(header, index) != NULL_HEADER;
+    public static boolean hasNonEmptyHeaderAt(final ElasticMapping header,
+                                              final TransactionCommits commits,
+                                              final long index) {
+        return index >= Index.FIRST && index <= Index.MAX &&
+                isEntryHeader(moveAndGetCommittedHeader(header, commits, index));
     }
 
     private static long mid(final long a, final long b) {
         return (a >>> 1) + (b >>> 1) + (a & b & 0x1L);
     }
 
-    public static long binarySearchAndGetLastHeader(final ElasticMapping header, final long startIndex) {
-        final long lastIndex = binarySearchLastIndex(header, startIndex);
-        return lastIndex != Index.NULL ? moveAndGetHeader(header, lastIndex) : NULL_HEADER;
+    public static long binarySearchAndGetLastHeader(final ElasticMapping header,
+                                                    final TransactionCommits commits,
+                                                    final long startIndex) {
+        final long lastIndex = binarySearchLastIndex(header, commits, startIndex);
+        return lastIndex != Index.NULL ? moveAndGetCommittedHeader(header, commits, lastIndex) : NULL_HEADER;
     }
 
-    public static long binarySearchLastIndex(final ElasticMapping header, final long startIndex) {
+    public static long binarySearchLastIndex(final ElasticMapping header,
+                                             final TransactionCommits commits,
+                                             final long startIndex) {
         if (startIndex < Index.FIRST || startIndex > Index.MAX) {
             throw new IllegalArgumentException("Invalid start index: " + startIndex);
         }
@@ -250,6 +431,11 @@ enum Headers {
                 }
             }
         }
-        return lowIndex;
+
+        //4) skip entries of incomplete or aborted transactions
+        while (lowIndex >= startIndex && !isEntryHeader(moveAndGetCommittedHeader(header, commits, lowIndex))) {
+            lowIndex--;
+        }
+        return lowIndex >= startIndex ? lowIndex : Index.NULL;
     }
 }
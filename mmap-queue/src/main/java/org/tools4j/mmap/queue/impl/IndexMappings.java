@@ -35,7 +35,7 @@ import static java.util.Objects.requireNonNull;
 import static org.tools4j.mmap.queue.impl.QueueMappingConfigs.headerMappingConfig;
 
 /**
- * Header mapping for index reader of queues.
+ * Header and metadata mappings for index reader of queues.
  */
 interface IndexMappings {
     /**
@@ -57,4 +57,26 @@ interface IndexMappings {
                 FileInitialiser.zeroBytes(AccessMode.READ_ONLY, Headers.HEADER_LENGTH), headerCfg);
     }
 
+    /**
+     * Factory method for the metadata mapping of index readers.
+     *
+     * @param queueFiles        the queue files
+     * @param queueConfig       the queue configuration settings
+     * @param indexReaderConfig configuration for index reader mappings
+     * @return a new metadata mapping, or null if the queue header format has no metadata
+     */
+    static ElasticMapping createMetadata(final QueueFiles queueFiles,
+                                         final QueueConfig queueConfig,
+                                         final IndexReaderConfig indexReaderConfig) {
+        requireNonNull(queueFiles);
+        final QueueConfig queueCfg = queueConfig.toImmutableQueueConfig();
+        if (!queueCfg.headerFormat().hasMetadata()) {
+            return null;
+        }
+        final MappingConfig headerCfg = headerMappingConfig(
+                queueCfg, indexReaderConfig.toImmutableIndexReaderConfig()
+        );
+        return Mappings.elasticMapping(queueFiles.metadataFile(), AccessMode.READ_ONLY, headerCfg);
+    }
+
 }
@@ -23,8 +23,10 @@
  */
 package org.tools4j.mmap.queue.impl;
 
+import org.agrona.concurrent.IdleStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.tools4j.mmap.queue.api.EntryMetadata;
 import org.tools4j.mmap.queue.api.Index;
 import org.tools4j.mmap.queue.api.IndexReader;
 import org.tools4j.mmap.region.api.ElasticMapping;
@@ -36,22 +38,49 @@ final class IndexReaderImpl implements IndexReader {
 
     private final String queueName;
     private final ElasticMapping header;
+    private final ElasticMapping metadata;
+    private final TransactionCommits commits;
+    private final MetadataReader metadataReader;
 
-    IndexReaderImpl(final String queueName, final ElasticMapping header) {
+    IndexReaderImpl(final String queueName,
+                    final ElasticMapping header,
+                    final ElasticMapping metadata,
+                    final TransactionCommits commits) {
         this.queueName = requireNonNull(queueName);
         this.header = requireNonNull(header);
+        this.metadata = metadata;
+        this.commits = requireNonNull(commits);
+        this.metadataReader = new MetadataReader(queueName, header, metadata, commits);
     }
 
     @Override
     public long lastIndex() {
         checkNotClosed();
-        return Headers.binarySearchLastIndex(header, Index.FIRST);
+        return Headers.binarySearchLastIndex(header, commits, Index.FIRST);
     }
 
     @Override
     public boolean hasEntry(final long index) {
         checkNotClosed();
-        return Headers.hasNonEmptyHeaderAt(header, index);
+        return Headers.hasNonEmptyHeaderAt(header, commits, index);
+    }
+
+    @Override
+    public boolean awaitEntry(final long index, final long timeoutNanos, final IdleStrategy idleStrategy) {
+        checkNotClosed();
+        return Headers.awaitCommittedHeader(header, commits, index, timeoutNanos, requireNonNull(idleStrategy));
+    }
+
+    @Override
+    public EntryMetadata metadata(final long index) {
+        checkNotClosed();
+        return metadataReader.metadata(index);
+    }
+
+    @Override
+    public long indexForCommitTime(final long commitTime) {
+        checkNotClosed();
+        return metadataReader.indexForCommitTime(commitTime);
     }
 
     @Override
@@ -69,6 +98,10 @@ final class IndexReaderImpl implements IndexReader {
     public void close() {
         if (!isClosed()) {
             header.close();
+            if (metadata != null) {
+                metadata.close();
+            }
+            commits.close();
             LOGGER.info("Index reader closed, queue={}", queueName);
         }
     }
@@ -0,0 +1,266 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tools4j.mmap.queue.api.Index;
+import org.tools4j.mmap.queue.api.KeyExtractor;
+import org.tools4j.mmap.queue.api.KeyIndex;
+import org.tools4j.mmap.region.api.ElasticMapping;
+import org.tools4j.mmap.region.api.FixedMapping;
+import org.tools4j.mmap.region.impl.WriterLock;
+
+import static java.util.Objects.requireNonNull;
+import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
+import static org.tools4j.mmap.queue.impl.Headers.NULL_HEADER;
+import static org.tools4j.mmap.region.impl.Constraints.validateKeyIndexCapacity;
+
+/**
+ * Key index with a linear probing hash table.  The index file starts with a cache line holding the indexing progress,
+ * the number of keys and the capacity, followed by the hash slots.  A slot contains the queue index plus one, or zero
+ * if the slot is empty, followed by the key.  New slots are published by writing the key before the queue index with
+ * release semantics, and lookups read the queue index with acquire semantics before reading the key.
+ * <p>
+ * The index is updated by a single writer holding a {@link WriterLock} for the index that is released by the OS if the
+ * writer process dies.
+ */
+final class KeyIndexImpl implements KeyIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeyIndexImpl.class);
+    static final int INDEXED_UP_TO_OFFSET = 0;
+    static final int SIZE_OFFSET = INDEXED_UP_TO_OFFSET + Long.BYTES;
+    static final int CAPACITY_OFFSET = SIZE_OFFSET + Long.BYTES;
+    static final int SLOTS_OFFSET = CACHE_LINE_LENGTH;
+    static final int SLOT_LENGTH = 2 * Long.BYTES;
+    static final int SLOT_VALUE_OFFSET = 0;
+    static final int SLOT_KEY_OFFSET = Long.BYTES;
+    static final int EMPTY_SLOT_VALUE = 0;
+    /** Maximum number of entries indexed per update */
+    static final int MAX_UPDATE_BATCH = 1024;
+
+    private final String queueName;
+    private final String name;
+    private final ReaderMappings mappings;
+    private final ElasticMapping header;
+    private final KeyExtractor keyExtractor;
+    private final FixedMapping index;
+    private final WriterLock writerLock;
+    private final AtomicBuffer buffer;
+    private final int capacity;
+    private final int mask;
+    private final long maxSize;
+    private boolean updateFailed;
+
+    KeyIndexImpl(final String queueName,
+                 final String name,
+                 final ReaderMappings mappings,
+                 final KeyExtractor keyExtractor,
+                 final FixedMapping index,
+                 final WriterLock writerLock,
+                 final int capacity) {
+        validateKeyIndexCapacity(capacity);
+        this.queueName = requireNonNull(queueName);
+        this.name = requireNonNull(name);
+        this.mappings = requireNonNull(mappings);
+        this.header = requireNonNull(mappings.header());
+        this.keyExtractor = requireNonNull(keyExtractor);
+        this.index = requireNonNull(index);
+        this.writerLock = requireNonNull(writerLock);
+        this.buffer = index.buffer();
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.maxSize = capacity - (capacity >>> 2);
+        initCapacity();
+    }
+
+    static int fileLength(final int capacity) {
+        return SLOTS_OFFSET + capacity * SLOT_LENGTH;
+    }
+
+    private void initCapacity() {
+        final long fileCapacity = buffer.getLongVolatile(CAPACITY_OFFSET);
+        if (fileCapacity == 0) {
+            buffer.compareAndSetLong(CAPACITY_OFFSET, 0, capacity);
+        } else if (fileCapacity != capacity) {
+            close();
+            throw new IllegalArgumentException("Key index " + indexName() + " has capacity " + fileCapacity +
+                    " but was opened with capacity " + capacity);
+        }
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public long size() {
+        checkNotClosed();
+        return buffer.getLongVolatile(SIZE_OFFSET);
+    }
+
+    @Override
+    public long indexedUpTo() {
+        checkNotClosed();
+        return buffer.getLongVolatile(INDEXED_UP_TO_OFFSET);
+    }
+
+    @Override
+    public int update() {
+        checkNotClosed();
+        final AtomicBuffer buf = buffer;
+        final long start = buf.getLongVolatile(INDEXED_UP_TO_OFFSET);
+        long size = buf.getLong(SIZE_OFFSET);
+        long next = start;
+        while (next - start < MAX_UPDATE_BATCH) {
+            final long hdr = Headers.moveAndGetCommittedHeader(header, mappings.commits(), next);
+            if (hdr == NULL_HEADER) {
+                break;
+            }
+            if (!Headers.isAbortedHeader(hdr) && put(extractKey(next, hdr), next)) {
+                size++;
+                buf.putLongRelease(SIZE_OFFSET, size);
+            }
+            next++;
+        }
+        if (next != start) {
+            buf.putLongRelease(INDEXED_UP_TO_OFFSET, next);
+        }
+        return (int)(next - start);
+    }
+
+    /**
+     * Invokes {@link #update()} unless the index is closed or a previous invocation has failed;  an update failure,
+     * such as a full index, is logged once and no further updates are performed by this method.
+     *
+     * @return the number of entries indexed
+     */
+    @Override
+    public int execute() {
+        if (updateFailed || isClosed()) {
+            return 0;
+        }
+        try {
+            return update();
+        } catch (final RuntimeException e) {
+            updateFailed = true;
+            LOGGER.error("Updating key index {} failed, no further updates are performed by execute(): {}",
+                    indexName(), e.getMessage(), e);
+            return 0;
+        }
+    }
+
+    private long extractKey(final long index, final long hdr) {
+        final ElasticMapping payload = mappings.payload(Headers.appenderId(hdr));
+        final boolean success = payload.moveTo(Headers.payloadPosition(hdr));
+        assert success : "moving to payload position failed";
+        final DirectBuffer payloadBuffer = payload.buffer();
+        return keyExtractor.key(index, payloadBuffer, Integer.BYTES, payloadBuffer.getInt(0));
+    }
+
+    private boolean put(final long key, final long index) {
+        final AtomicBuffer buf = buffer;
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            final int offset = slotOffset(slot);
+            final long value = buf.getLong(offset + SLOT_VALUE_OFFSET);
+            if (value == EMPTY_SLOT_VALUE) {
+                if (buf.getLong(SIZE_OFFSET) >= maxSize) {
+                    throw new IllegalStateException("Key index " + indexName() + " is full with " + maxSize +
+                            " keys for capacity " + capacity);
+                }
+                buf.putLong(offset + SLOT_KEY_OFFSET, key);
+                buf.putLongRelease(offset + SLOT_VALUE_OFFSET, index + 1);
+                return true;
+            }
+            if (buf.getLong(offset + SLOT_KEY_OFFSET) == key) {
+                buf.putLongRelease(offset + SLOT_VALUE_OFFSET, index + 1);
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public long lookup(final long key) {
+        checkNotClosed();
+        final AtomicBuffer buf = buffer;
+        for (int slot = slot(key), probes = 0; probes < capacity; slot = (slot + 1) & mask, probes++) {
+            final int offset = slotOffset(slot);
+            final long value = buf.getLongVolatile(offset + SLOT_VALUE_OFFSET);
+            if (value == EMPTY_SLOT_VALUE) {
+                return Index.NULL;
+            }
+            if (buf.getLong(offset + SLOT_KEY_OFFSET) == key) {
+                return value - 1;
+            }
+        }
+        return Index.NULL;
+    }
+
+    private int slot(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int)(hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int slotOffset(final int slot) {
+        return SLOTS_OFFSET + slot * SLOT_LENGTH;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return index.isClosed();
+    }
+
+    private void checkNotClosed() {
+        if (isClosed()) {
+            throw new IllegalStateException("Key index " + indexName() + " is closed");
+        }
+    }
+
+    private String indexName() {
+        return queueName + ".keyIndex-" + name;
+    }
+
+    @Override
+    public void close() {
+        if (!isClosed()) {
+            mappings.close();
+            index.close();
+            writerLock.close();
+            LOGGER.info("Key index closed: {}", indexName());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "KeyIndexImpl:queue=" + queueName + "|name=" + name + "|capacity=" + capacity +
+                "|closed=" + isClosed();
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.agrona.DirectBuffer;
+import org.agrona.collections.Hashing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tools4j.mmap.queue.api.EntryHandler;
+import org.tools4j.mmap.queue.api.Index;
+import org.tools4j.mmap.queue.api.KeyExtractor;
+import org.tools4j.mmap.queue.api.KeyedDispatcher;
+import org.tools4j.mmap.queue.api.Move;
+import org.tools4j.mmap.region.api.ElasticMapping;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+import static org.tools4j.mmap.queue.api.Poller.CLOSED;
+import static org.tools4j.mmap.queue.api.Poller.CURSOR_MOVED;
+import static org.tools4j.mmap.queue.api.Poller.ENTRY_POLLED;
+import static org.tools4j.mmap.queue.api.Poller.PENDING_NEXT;
+import static org.tools4j.mmap.region.impl.Constraints.validateDispatcherRingCapacity;
+import static org.tools4j.mmap.region.impl.Constraints.validateGreaterThanZero;
+
+final class KeyedDispatcherImpl implements KeyedDispatcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeyedDispatcherImpl.class);
+
+    private final String queueName;
+    private final PollerImpl poller;
+    private final KeyExtractor keyExtractor;
+    private final WorkerImpl[] workers;
+    private final EntryHandler routingHandler = this::route;
+    private final AtomicLong dispatchedUpTo = new AtomicLong();
+    private volatile boolean closed;
+    private boolean ringFull;
+
+    KeyedDispatcherImpl(final String queueName,
+                        final PollerImpl poller,
+                        final KeyExtractor keyExtractor,
+                        final int workerCount,
+                        final Supplier<? extends ReaderMappings> workerMappingsFactory,
+                        final int ringCapacity) {
+        validateGreaterThanZero("Worker count", workerCount);
+        validateDispatcherRingCapacity(ringCapacity);
+        requireNonNull(workerMappingsFactory);
+        this.queueName = requireNonNull(queueName);
+        this.poller = requireNonNull(poller);
+        this.keyExtractor = requireNonNull(keyExtractor);
+        this.workers = new WorkerImpl[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new WorkerImpl(i, workerMappingsFactory.get(), ringCapacity);
+        }
+    }
+
+    @Override
+    public int dispatch() {
+        if (closed) {
+            return CLOSED;
+        }
+        final PollerImpl pol = poller;
+        final EntryHandler handler = routingHandler;
+        int count = 0;
+        ringFull = false;
+        while (true) {
+            final int result = pol.poll(handler);
+            if (result == ENTRY_POLLED) {
+                if (ringFull) {
+                    return count;
+                }
+                count++;
+            } else if (result == CURSOR_MOVED) {
+                //entries of aborted transactions were skipped, they need no processing by workers
+                final long next = pol.nextIndex();
+                if (next <= Index.MAX && next > dispatchedUpTo.get()) {
+                    dispatchedUpTo.lazySet(next);
+                }
+            } else {
+                return count == 0 && result == CLOSED ? CLOSED : count;
+            }
+        }
+    }
+
+    private long route(final long index, final DirectBuffer buffer, final int offset, final int length) {
+        final long key = keyExtractor.key(index, buffer, offset, length);
+        final WorkerImpl worker = workers[Math.floorMod(Hashing.hash(key), workers.length)];
+        if (worker.ring.offer(index, poller.currentHeader())) {
+            dispatchedUpTo.lazySet(index + 1);
+            return Move.NEXT;
+        }
+        ringFull = true;
+        return Move.NONE;
+    }
+
+    @Override
+    public int workerCount() {
+        return workers.length;
+    }
+
+    @Override
+    public Worker worker(final int workerIndex) {
+        return workers[workerIndex];
+    }
+
+    @Override
+    public long watermark() {
+        //NOTE: read dispatched index first, all lower entries are then either processed or visible in the rings
+        long watermark = dispatchedUpTo.get();
+        for (final WorkerImpl worker : workers) {
+            watermark = Math.min(watermark, worker.ring.firstUnprocessedIndex());
+        }
+        return watermark;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            poller.close();
+            for (final WorkerImpl worker : workers) {
+                worker.close();
+            }
+            LOGGER.info("Keyed dispatcher closed: queue={}, workers={}", queueName, workers.length);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "KeyedDispatcherImpl:queue=" + queueName + "|workers=" + workers.length +
+                "|dispatchedUpTo=" + dispatchedUpTo.get() + "|closed=" + closed;
+    }
+
+    private final class WorkerImpl implements Worker {
+        static final int IDLE = 0;
+        static final int POLLING = 1;
+        static final int CLOSE_REQUESTED = 2;
+        static final int RELEASED = 3;
+        final int workerIndex;
+        final ReaderMappings mappings;
+        final SpscRing ring;
+        /** Poll state guarding the mappings, which are closed by whichever of close and poll finishes last */
+        final AtomicInteger state = new AtomicInteger(IDLE);
+
+        WorkerImpl(final int workerIndex, final ReaderMappings mappings, final int ringCapacity) {
+            this.workerIndex = workerIndex;
+            this.mappings = requireNonNull(mappings);
+            this.ring = new SpscRing(ringCapacity);
+        }
+
+        @Override
+        public int workerIndex() {
+            return workerIndex;
+        }
+
+        @Override
+        public int pending() {
+            return ring.size();
+        }
+
+        @Override
+        public int poll(final EntryHandler entryHandler) {
+            if (!state.compareAndSet(IDLE, POLLING)) {
+                return CLOSED;
+            }
+            try {
+                return closed ? CLOSED : pollEntry(entryHandler);
+            } finally {
+                if (!state.compareAndSet(POLLING, IDLE)) {
+                    //close was requested while we were polling, the mappings are no longer in use now
+                    state.set(RELEASED);
+                    mappings.close();
+                }
+            }
+        }
+
+        private int pollEntry(final EntryHandler entryHandler) {
+            final SpscRing rng = ring;
+            final long slot = rng.peek();
+            if (slot < 0) {
+                return PENDING_NEXT;
+            }
+            final long index = rng.index(slot);
+            final long header = rng.header(slot);
+            final ElasticMapping payload = mappings.payload(Headers.appenderId(header));
+            final boolean success = payload.moveTo(Headers.payloadPosition(header));
+            assert success : "moving to payload position failed";
+            final DirectBuffer buffer = payload.buffer();
+            try {
+                entryHandler.onEntry(index, buffer, Integer.BYTES, buffer.getInt(0));
+            } catch (final Exception e) {
+                LOGGER.error("Unexpected exception thrown by entry handler for message entry {} of queue {} in worker {}",
+                        index, queueName, workerIndex, e);
+            }
+            rng.consumed(slot);
+            return ENTRY_POLLED;
+        }
+
+        /**
+         * Closes the mappings of this worker unless a poll is in progress, in which case they are closed by the worker
+         * thread when the poll completes.
+         */
+        void close() {
+            while (true) {
+                final int current = state.get();
+                if (current == IDLE && state.compareAndSet(IDLE, RELEASED)) {
+                    mappings.close();
+                    return;
+                }
+                if (current == POLLING && state.compareAndSet(POLLING, CLOSE_REQUESTED)) {
+                    return;
+                }
+                if (current == CLOSE_REQUESTED || current == RELEASED) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Worker:queue=" + queueName + "|workerIndex=" + workerIndex + "|pending=" + pending();
+        }
+    }
+
+    /**
+     * Single-producer single-consumer ring with entry index and header per slot.  Slots are released only after the
+     * entry has been processed, hence the index at the tail of the ring is the first unprocessed index of the worker.
+     */
+    private static final class SpscRing {
+        final long[] indices;
+        final long[] headers;
+        final int mask;
+        final AtomicLong head = new AtomicLong();
+        final AtomicLong tail = new AtomicLong();
+
+        SpscRing(final int capacity) {
+            this.indices = new long[capacity];
+            this.headers = new long[capacity];
+            this.mask = capacity - 1;
+        }
+
+        boolean offer(final long index, final long header) {
+            final long h = head.get();
+            if (h - tail.get() >= indices.length) {
+                return false;
+            }
+            final int pos = (int)(h & mask);
+            indices[pos] = index;
+            headers[pos] = header;
+            head.lazySet(h + 1);
+            return true;
+        }
+
+        /** @return the slot sequence at the tail, or -1 if the ring is empty */
+        long peek() {
+            final long t = tail.get();
+            return t < head.get() ? t : -1;
+        }
+
+        long index(final long slot) {
+            return indices[(int)(slot & mask)];
+        }
+
+        long header(final long slot) {
+            return headers[(int)(slot & mask)];
+        }
+
+        void consumed(final long slot) {
+            tail.lazySet(slot + 1);
+        }
+
+        int size() {
+            return (int)(head.get() - tail.get());
+        }
+
+        long firstUnprocessedIndex() {
+            while (true) {
+                final long t = tail.get();
+                if (t >= head.get()) {
+                    return Long.MAX_VALUE;
+                }
+                final long index = index(t);
+                //NOTE: slot t cannot be overwritten by the producer while tail is still at t
+                if (tail.get() == t) {
+                    return index;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.tools4j.mmap.queue.api.EntryMetadata;
+import org.tools4j.mmap.queue.api.Index;
+import org.tools4j.mmap.region.api.ElasticMapping;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads entry metadata records for index and entry readers.
+ */
+final class MetadataReader {
+    private final String queueName;
+    private final ElasticMapping header;
+    private final ElasticMapping metadata;
+    private final TransactionCommits commits;
+    private final EntryMetadataImpl entryMetadata = new EntryMetadataImpl();
+
+    /**
+     * Constructor with header and metadata mapping and transaction commit words.
+     *
+     * @param queueName the queue name
+     * @param header    the header mapping
+     * @param metadata  the metadata mapping, or null if the queue header format has no metadata
+     * @param commits   the transaction commit words
+     */
+    MetadataReader(final String queueName,
+                   final ElasticMapping header,
+                   final ElasticMapping metadata,
+                   final TransactionCommits commits) {
+        this.queueName = requireNonNull(queueName);
+        this.header = requireNonNull(header);
+        this.metadata = metadata;
+        this.commits = requireNonNull(commits);
+    }
+
+    EntryMetadata metadata(final long index) {
+        final ElasticMapping meta = metadataMapping();
+        if (index < Index.FIRST || index > Index.MAX) {
+            return null;
+        }
+        final long hdr = Headers.moveAndGetCommittedHeader(header, commits, index);
+        if (!Headers.isEntryHeader(hdr) || !MetadataRecords.moveAndCheckRecord(meta, index)) {
+            return null;
+        }
+        return entryMetadata.init(index, hdr, meta.buffer());
+    }
+
+    long indexForCommitTime(final long commitTime) {
+        final ElasticMapping meta = metadataMapping();
+        final long lastIndex = Headers.binarySearchLastIndex(header, commits, Index.FIRST);
+        if (lastIndex == Index.NULL) {
+            return Index.NULL;
+        }
+        long low = Index.FIRST;
+        long high = lastIndex + 1;
+        while (low < high) {
+            final long mid = (low + high) >>> 1;
+            final long time = commitTimeAtOrAfter(meta, mid, lastIndex);
+            if (time < commitTime) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low <= lastIndex ? low : Index.NULL;
+    }
+
+    /**
+     * Returns the commit time of the entry at index, or of the next entry with a complete record if the record at index
+     * is missing.  Records are missing for aborted entries, for entries whose appender died after committing the
+     * header, and briefly for the latest entries;  treating them like the next complete record keeps commit times
+     * ordered for the binary search.
+     *
+     * @return the commit time, or {@link Long#MAX_VALUE} if no complete record is found up to the last index
+     */
+    private static long commitTimeAtOrAfter(final ElasticMapping meta, final long index, final long lastIndex) {
+        for (long i = index; i <= lastIndex; i++) {
+            if (MetadataRecords.moveAndCheckRecord(meta, i)) {
+                return MetadataRecords.commitTime(meta.buffer());
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private ElasticMapping metadataMapping() {
+        if (metadata == null) {
+            throw new IllegalStateException("Queue " + queueName + " has no entry metadata");
+        }
+        return metadata;
+    }
+
+    @Override
+    public String toString() {
+        return "MetadataReader:queue=" + queueName;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.agrona.DirectBuffer;
+import org.agrona.checksum.Crc32c;
+import org.agrona.concurrent.AtomicBuffer;
+import org.tools4j.mmap.region.api.ElasticMapping;
+
+/**
+ * Methods to write and read entry metadata records.  Metadata records are stored in a separate file with one record per
+ * header slot;  the position of a record is the header position scaled by the record length, hence records of
+ * consecutive entries are spread like their headers.
+ * <p>
+ * Record layout: <pre>
+ *     0: commit time in epoch nanos (long)
+ *     8: payload length (int)
+ *    12: message type (int)
+ *    16: checksum (int)
+ *    20: reserved (8 bytes)
+ *    28: format: version in the low byte, plus checksum flag (int)
+ * </pre>
+ * The format word is written last with release semantics and is zero until the record is complete.  Records are written
+ * after the entry header, hence readers may briefly see an entry whose record is not yet complete;  if the appender dies
+ * in between, the record remains missing, and readers stop waiting for it once a later entry has been committed.
+ */
+enum MetadataRecords {
+    ;
+    public static final int RECORD_LENGTH = 32;
+    public static final int VERSION = 1;
+    private static final int RECORD_SHIFT = 2;//RECORD_LENGTH / Headers.HEADER_LENGTH = 4
+    private static final int COMMIT_TIME_OFFSET = 0;
+    private static final int PAYLOAD_LENGTH_OFFSET = 8;
+    private static final int MESSAGE_TYPE_OFFSET = 12;
+    private static final int CHECKSUM_OFFSET = 16;
+    private static final int FORMAT_OFFSET = 28;
+    private static final int CHECKSUM_FLAG = 0x100;
+
+    public static long metadataPositionForIndex(final long index) {
+        return Headers.headerPositionForIndex(index) << RECORD_SHIFT;
+    }
+
+    public static boolean moveToMetadataIndex(final ElasticMapping metadata, final long index) {
+        return metadata.moveTo(metadataPositionForIndex(index));
+    }
+
+    /**
+     * Writes the metadata record for the entry at the given index.
+     *
+     * @param metadata      the metadata mapping
+     * @param index         the entry index
+     * @param commitTime    the commit time in epoch nanos
+     * @param payloadLength the length of the entry data
+     * @param messageType   the message type
+     * @param hasChecksum   true if checksum is valid
+     * @param checksum      the checksum of the entry data
+     * @return true if the record was written, and false if the mapping could not be moved to the record position
+     */
+    public static boolean write(final ElasticMapping metadata,
+                                final long index,
+                                final long commitTime,
+                                final int payloadLength,
+                                final int messageType,
+                                final boolean hasChecksum,
+                                final int checksum) {
+        if (!moveToMetadataIndex(metadata, index)) {
+            return false;
+        }
+        final AtomicBuffer buf = metadata.buffer();
+        buf.putLong(COMMIT_TIME_OFFSET, commitTime);
+        buf.putInt(PAYLOAD_LENGTH_OFFSET, payloadLength);
+        buf.putInt(MESSAGE_TYPE_OFFSET, messageType);
+        buf.putInt(CHECKSUM_OFFSET, checksum);
+        buf.putIntRelease(FORMAT_OFFSET, hasChecksum ? VERSION | CHECKSUM_FLAG : VERSION);
+        return true;
+    }
+
+    /**
+     * Moves to the metadata record at the given index and returns true if the record is complete.
+     *
+     * @param metadata  the metadata mapping
+     * @param index     the entry index
+     * @return true if the record at index has been written completely
+     */
+    public static boolean moveAndCheckRecord(final ElasticMapping metadata, final long index) {
+        return moveToMetadataIndex(metadata, index) && metadata.buffer().getIntVolatile(FORMAT_OFFSET) != 0;
+    }
+
+    public static long commitTime(final DirectBuffer record) {
+        return record.getLong(COMMIT_TIME_OFFSET);
+    }
+
+    public static int payloadLength(final DirectBuffer record) {
+        return record.getInt(PAYLOAD_LENGTH_OFFSET);
+    }
+
+    public static int messageType(final DirectBuffer record) {
+        return record.getInt(MESSAGE_TYPE_OFFSET);
+    }
+
+    public static int checksum(final DirectBuffer record) {
+        return record.getInt(CHECKSUM_OFFSET);
+    }
+
+    public static boolean hasChecksum(final DirectBuffer record) {
+        return (record.getInt(FORMAT_OFFSET) & CHECKSUM_FLAG) != 0;
+    }
+
+    /**
+     * Computes the CRC-32C checksum of the given bytes of a buffer backed by off-heap memory.
+     *
+     * @param buffer    the off-heap buffer, such as the buffer of a mapping
+     * @param offset    the offset of the first byte in buffer
+     * @param length    the number of bytes
+     * @return the checksum value
+     */
+    public static int checksum(final DirectBuffer buffer, final int offset, final int length) {
+        return Crc32c.INSTANCE.compute(buffer.addressOffset(), offset, length);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.tools4j.mmap.region.api.AccessMode;
+import org.tools4j.mmap.region.api.FixedMapping;
+import org.tools4j.mmap.region.api.Mappings;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.requireNonNull;
+import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
+
+/**
+ * Allocates payload space for entries through a fetch-add on a payload position, used when payload space is shared by
+ * multiple threads or appenders.
+ */
+interface PayloadAllocator extends AutoCloseable {
+    /** Length of the file with the allocator word for a {@link #shared(QueueFiles) shared} payload file */
+    int ALLOCATOR_FILE_LENGTH = CACHE_LINE_LENGTH;
+
+    /**
+     * Atomically adds the given number of bytes to the payload position.
+     *
+     * @param bytes the number of bytes to add
+     * @return the payload position before the addition
+     */
+    long getAndAdd(long bytes);
+
+    /**
+     * Allocates space for an entry payload that fits into a single region.  The allocation is repeated if it crosses a
+     * region boundary, leaving the allocated bytes unused.
+     *
+     * @param payloadBytes  the number of payload bytes including the length field, not exceeding the region size
+     * @param regionSize    the region size, a power of two
+     * @return the payload position of the allocated space
+     */
+    default long allocate(final int payloadBytes, final int regionSize) {
+        final long bytes = Headers.payloadBytesWithPadding(payloadBytes);
+        final long regionMask = regionSize - 1;
+        while (true) {
+            final long position = getAndAdd(bytes);
+            if ((position & regionMask) + bytes <= regionSize) {
+                return position;
+            }
+        }
+    }
+
+    boolean isClosed();
+
+    @Override
+    void close();
+
+    /**
+     * Returns an allocator for payload space used by a single process, starting at the given position.
+     *
+     * @param initialPosition the initial payload position
+     * @return a new allocator backed by an atomic long
+     */
+    static PayloadAllocator local(final long initialPosition) {
+        return new PayloadAllocator() {
+            final AtomicLong position = new AtomicLong(initialPosition);
+            volatile boolean closed;
+
+            @Override
+            public long getAndAdd(final long bytes) {
+                return position.getAndAdd(bytes);
+            }
+
+            @Override
+            public boolean isClosed() {
+                return closed;
+            }
+
+            @Override
+            public void close() {
+                closed = true;
+            }
+
+            @Override
+            public String toString() {
+                return "PayloadAllocator:position=" + position.get() + "|closed=" + closed;
+            }
+        };
+    }
+
+    /**
+     * Returns an allocator for the shared payload file of the queue, with the allocator word mapped from the
+     * {@link QueueFiles#payloadAllocatorFile() allocator file} so that appenders of all processes allocate from the
+     * same payload position.
+     *
+     * @param queueFiles the queue files
+     * @return a new allocator backed by a memory-mapped word
+     */
+    static PayloadAllocator shared(final QueueFiles queueFiles) {
+        requireNonNull(queueFiles);
+        return new PayloadAllocator() {
+            final FixedMapping mapping = Mappings.fixedSizeMapping(queueFiles.payloadAllocatorFile(),
+                    AccessMode.READ_WRITE, 0, ALLOCATOR_FILE_LENGTH);
+
+            @Override
+            public long getAndAdd(final long bytes) {
+                return mapping.buffer().getAndAddLong(0, bytes);
+            }
+
+            @Override
+            public boolean isClosed() {
+                return mapping.isClosed();
+            }
+
+            @Override
+            public void close() {
+                mapping.close();
+            }
+
+            @Override
+            public String toString() {
+                return "PayloadAllocator" +
+                        ":queue=" + queueFiles.queueName() +
+                        "|closed=" + isClosed();
+            }
+        };
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tools4j.mmap.queue.api.EntryHandler;
+import org.tools4j.mmap.queue.api.Index;
+import org.tools4j.mmap.queue.api.PipelineStage;
+import org.tools4j.mmap.region.api.ElasticMapping;
+import org.tools4j.mmap.region.api.FixedMapping;
+
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
+import static org.tools4j.mmap.queue.api.Poller.CLOSED;
+import static org.tools4j.mmap.queue.api.Poller.CURSOR_MOVED;
+import static org.tools4j.mmap.queue.api.Poller.ENTRY_POLLED;
+import static org.tools4j.mmap.queue.api.Poller.PENDING_NEXT;
+import static org.tools4j.mmap.queue.api.Poller.PENDING_OPEN;
+import static org.tools4j.mmap.queue.impl.Headers.NULL_HEADER;
+
+final class PipelineStageImpl implements PipelineStage {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PipelineStageImpl.class);
+    /** Length of the barrier file with one cache line per stage to avoid false sharing of stage progress */
+    static final int BARRIER_FILE_LENGTH = MAX_STAGES * CACHE_LINE_LENGTH;
+
+    private final String queueName;
+    private final String pipelineName;
+    private final int stageId;
+    private final int[] upstreamStageIds;
+    private final ReaderMappings mappings;
+    private final FixedMapping barrier;
+    private final ElasticMapping header;
+    private final AtomicBuffer barrierBuffer;
+    private final int progressOffset;
+    private long progress;
+    private long upstreamLimit;
+    private int errorState = PENDING_OPEN;
+
+    PipelineStageImpl(final String queueName,
+                      final String pipelineName,
+                      final int stageId,
+                      final int[] upstreamStageIds,
+                      final ReaderMappings mappings,
+                      final FixedMapping barrier) {
+        validateStageIds(stageId, upstreamStageIds);
+        this.queueName = requireNonNull(queueName);
+        this.pipelineName = requireNonNull(pipelineName);
+        this.stageId = stageId;
+        this.upstreamStageIds = upstreamStageIds.clone();
+        this.mappings = requireNonNull(mappings);
+        this.barrier = requireNonNull(barrier);
+        this.header = requireNonNull(mappings.header());
+        this.barrierBuffer = barrier.buffer();
+        this.progressOffset = progressOffset(stageId);
+        this.progress = barrierBuffer.getLongVolatile(progressOffset);
+        this.upstreamLimit = Index.FIRST;
+    }
+
+    static void validateStageIds(final int stageId, final int[] upstreamStageIds) {
+        validateStageId(stageId);
+        for (final int upstreamStageId : upstreamStageIds) {
+            validateStageId(upstreamStageId);
+            if (upstreamStageId == stageId) {
+                throw new IllegalArgumentException("Stage " + stageId + " cannot be its own upstream stage");
+            }
+        }
+    }
+
+    private static void validateStageId(final int stageId) {
+        if (stageId < 0 || stageId >= MAX_STAGES) {
+            throw new IllegalArgumentException("Stage ID must be in [0, " + (MAX_STAGES - 1) + "] but was " + stageId);
+        }
+    }
+
+    private static int progressOffset(final int stageId) {
+        return stageId * CACHE_LINE_LENGTH;
+    }
+
+    @Override
+    public String pipelineName() {
+        return pipelineName;
+    }
+
+    @Override
+    public int stageId() {
+        return stageId;
+    }
+
+    @Override
+    public long progress() {
+        return progress;
+    }
+
+    @Override
+    public long upstreamProgress() {
+        checkNotClosed();
+        final int[] upstream = upstreamStageIds;
+        if (upstream.length == 0) {
+            return Index.END;
+        }
+        final AtomicBuffer buf = barrierBuffer;
+        long min = Long.MAX_VALUE;
+        for (final int upstreamStageId : upstream) {
+            min = Math.min(min, buf.getLongVolatile(progressOffset(upstreamStageId)));
+        }
+        return min;
+    }
+
+    @Override
+    public int poll(final EntryHandler entryHandler) {
+        final int error = errorState;
+        if (error == CLOSED) {
+            return CLOSED;
+        }
+        final long index = progress;
+        if (index > Index.MAX) {
+            return PENDING_NEXT;
+        }
+        if (index >= upstreamLimit && (upstreamLimit = upstreamProgress()) <= index) {
+            return PENDING_NEXT;
+        }
+        if (!Headers.moveToHeaderIndex(header, index)) {
+            return error;
+        }
+        if (error == PENDING_OPEN) {
+            errorState = PENDING_NEXT;
+        }
+        final long hdr = Headers.committedHeader(header, mappings.commits(), index,
+                header.buffer().getLongVolatile(0));
+        if (hdr == NULL_HEADER) {
+            assert upstreamStageIds.length == 0 : "upstream stage progress exceeds queue end";
+            return PENDING_NEXT;
+        }
+        if (Headers.isAbortedHeader(hdr)) {
+            //entry of an aborted transaction, mark as processed without passing it to the handler
+            progress = index + 1;
+            barrierBuffer.putLongRelease(progressOffset, index + 1);
+            return CURSOR_MOVED;
+        }
+        handleEntry(entryHandler, index, hdr);
+        progress = index + 1;
+        barrierBuffer.putLongRelease(progressOffset, index + 1);
+        return ENTRY_POLLED;
+    }
+
+    private void handleEntry(final EntryHandler entryHandler, final long index, final long hdr) {
+        final ElasticMapping payload = mappings.payload(Headers.appenderId(hdr));
+        final boolean success = payload.moveTo(Headers.payloadPosition(hdr));
+        assert success : "moving to payload position failed";
+        final DirectBuffer buffer = payload.buffer();
+        try {
+            entryHandler.onEntry(index, buffer, Integer.BYTES, buffer.getInt(0));
+        } catch (final Exception e) {
+            LOGGER.error("Unexpected exception thrown by entry handler for message entry {} of queue {} in stage {}",
+                    index, queueName, stageName(), e);
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return errorState == CLOSED;
+    }
+
+    private void checkNotClosed() {
+        if (isClosed()) {
+            throw new IllegalStateException("Pipeline stage " + stageName() + " is closed");
+        }
+    }
+
+    private String stageName() {
+        return queueName + "." + pipelineName + ".stage-" + stageId;
+    }
+
+    @Override
+    public void close() {
+        if (!isClosed()) {
+            errorState = CLOSED;
+            mappings.close();
+            barrier.close();
+            LOGGER.info("Pipeline stage closed: {}", stageName());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PipelineStageImpl:queue=" + queueName + "|pipeline=" + pipelineName + "|stageId=" + stageId +
+                "|upstreamStageIds=" + Arrays.toString(upstreamStageIds) + "|progress=" + progress +
+                "|closed=" + isClosed();
+    }
+}
@@ -26,7 +26,9 @@ package org.tools4j.mmap.queue.impl;
 import org.agrona.DirectBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.tools4j.mmap.queue.api.EntryFilter;
 import org.tools4j.mmap.queue.api.EntryHandler;
+import org.tools4j.mmap.queue.api.EntryMetadata;
 import org.tools4j.mmap.queue.api.Index;
 import org.tools4j.mmap.queue.api.Move;
 import org.tools4j.mmap.queue.api.Poller;
@@ -34,22 +36,30 @@ import org.tools4j.mmap.region.api.ElasticMapping;
 
 import static java.util.Objects.requireNonNull;
 import static org.tools4j.mmap.queue.impl.Headers.NULL_HEADER;
+import static org.tools4j.mmap.region.impl.Constraints.validateNonNegative;
 
 final class PollerImpl implements Poller {
     private static final Logger LOGGER = LoggerFactory.getLogger(PollerImpl.class);
+    /** Max number of entries rejected by the filter that are skipped in a single filtered poll invocation */
+    static final int MAX_SKIPPED_ENTRIES_PER_POLL = 1024;
 
     private final String queueName;
     private final ReaderMappings mappings;
     private final ElasticMapping header;
+    private final ElasticMapping metadata;
+    private final TransactionCommits commits;
     private long nextIndex;
     private long currentIndex;
     private long currentHeader;
+    private boolean movingBackwards;
     private int errorState = PENDING_OPEN;
 
     PollerImpl(final String queueName, final ReaderMappings mappings) {
         this.queueName = requireNonNull(queueName);
         this.mappings = requireNonNull(mappings);
         this.header = requireNonNull(mappings.header());
+        this.metadata = mappings.metadata();
+        this.commits = requireNonNull(mappings.commits());
         this.nextIndex = Index.FIRST;
         this.currentIndex = Index.NULL;
         this.currentHeader = NULL_HEADER;
@@ -65,28 +75,37 @@ final class PollerImpl implements Poller {
         return nextIndex;
     }
 
+    /** @return the header of the current entry, used by dispatchers that route entries without reading the payload twice */
+    long currentHeader() {
+        return currentHeader;
+    }
+
     @Override
     public void seekStart() {
         checkNotClosed();
         nextIndex = Index.FIRST;
+        movingBackwards = false;
     }
 
     @Override
     public void seekLast() {
         checkNotClosed();
         nextIndex = Index.LAST;
+        movingBackwards = false;
     }
 
     @Override
     public void seekEnd() {
         checkNotClosed();
         nextIndex = Index.END;
+        movingBackwards = false;
     }
 
     @Override
     public void seekNext(final long index) {
         checkNotClosed();
         nextIndex = nextIndex(Index.FIRST, index);
+        movingBackwards = false;
     }
 
     @Override
@@ -96,13 +115,133 @@ final class PollerImpl implements Poller {
             final long curIndex = currentIndex;
             final long moveNext = handleCurrentEntry(entryHandler, curIndex);
             nextIndex = nextIndex(curIndex, moveNext);
+            movingBackwards = isBackwards(moveNext);
             return ENTRY_POLLED;
         }
         return result;
     }
 
+    @Override
+    public int poll(final EntryFilter entryFilter, final EntryHandler entryHandler) {
+        requireNonNull(entryFilter);
+        int skipped = 0;
+        while (true) {
+            final int result = moveHeaderToNext();
+            if (result != ENTRY_POLLED) {
+                return skipped > 0 && result == PENDING_NEXT ? CURSOR_MOVED : result;
+            }
+            final long curIndex = currentIndex;
+            final long header = currentHeader;
+            final int messageType;
+            if (metadata == null) {
+                messageType = EntryMetadata.DEFAULT_MESSAGE_TYPE;
+            } else if (MetadataRecords.moveAndCheckRecord(metadata, curIndex)) {
+                messageType = MetadataRecords.messageType(metadata.buffer());
+            } else if (Headers.moveAndGetCommittedHeader(this.header, commits, curIndex + 1) != NULL_HEADER) {
+                //metadata is still missing although a later entry has been committed:  the appender has presumably
+                //died after committing the header, hence we treat the entry as having the default message type
+                messageType = EntryMetadata.DEFAULT_MESSAGE_TYPE;
+            } else {
+                //entry is committed but metadata not yet written, retry with next poll
+                return skipped > 0 ? CURSOR_MOVED : PENDING_NEXT;
+            }
+            if (accept(entryFilter, curIndex, Headers.appenderId(header), messageType)) {
+                final long moveNext = handleCurrentEntry(entryHandler, curIndex);
+                nextIndex = nextIndex(curIndex, moveNext);
+                movingBackwards = isBackwards(moveNext);
+                return ENTRY_POLLED;
+            }
+            nextIndex = nextIndex(curIndex, movingBackwards ? Move.PREVIOUS : Move.NEXT);
+            if (++skipped >= MAX_SKIPPED_ENTRIES_PER_POLL) {
+                //bound the work of a single poll so that callers can run other duty cycle tasks in between
+                return CURSOR_MOVED;
+            }
+        }
+    }
+
+    private boolean accept(final EntryFilter entryFilter,
+                           final long index,
+                           final int appenderId,
+                           final int messageType) {
+        try {
+            return entryFilter.accept(index, appenderId, messageType);
+        } catch (final Exception e) {
+            LOGGER.error("Unexpected exception thrown by entry filter for message entry {} of queue {}", index,
+                    queueName, e);
+            return false;
+        }
+    }
+
+    @Override
+    public int available(final int max) {
+        checkNotClosed();
+        validateNonNegative("Max", max);
+        final long start = nextIndex;
+        if (start < Index.FIRST || start > Index.MAX) {
+            return 0;
+        }
+        final ElasticMapping headerMapping = header;
+        long index = start;
+        int count = 0;
+        while (count < max && index <= Index.MAX) {
+            final long hdr = Headers.moveAndGetCommittedHeader(headerMapping, commits, index);
+            if (hdr == NULL_HEADER) {
+                break;
+            }
+            if (!Headers.isAbortedHeader(hdr)) {
+                count++;
+            }
+            index++;
+        }
+        return count;
+    }
+
+    @Override
+    public boolean peek(final int ahead, final EntryHandler entryHandler) {
+        checkNotClosed();
+        validateNonNegative("Ahead", ahead);
+        requireNonNull(entryHandler);
+        final long next = nextIndex;
+        if (next < Index.FIRST || next > Index.MAX) {
+            return false;
+        }
+        //NOTE: moving the mappings is safe since poll moves them again before reading
+        final ElasticMapping headerMapping = header;
+        long index = next;
+        long hdr;
+        int skip = ahead;
+        while (true) {
+            if (index > Index.MAX) {
+                return false;
+            }
+            hdr = Headers.moveAndGetCommittedHeader(headerMapping, commits, index);
+            if (hdr == NULL_HEADER) {
+                return false;
+            }
+            if (!Headers.isAbortedHeader(hdr)) {
+                if (skip == 0) {
+                    break;
+                }
+                skip--;
+            }
+            index++;
+        }
+        if (!Headers.isEntryHeader(hdr)) {
+            return false;
+        }
+        final DirectBuffer buffer = payloadBuffer(hdr);
+        final int length = buffer.getInt(0);
+        try {
+            entryHandler.onEntry(index, buffer, Integer.BYTES, length);
+        } catch (final Exception e) {
+            LOGGER.error("Unexpected exception thrown by entry handler when peeking at entry {} of queue {}", index,
+                    queueName, e);
+        }
+        return true;
+    }
+
     private long handleCurrentEntry(final EntryHandler entryHandler, final long index) {
-        final DirectBuffer buffer = payloadBuffer();
+        final DirectBuffer buffer = payloadBuffer(currentHeader);
         final int length = buffer.getInt(0);
         try {
             return entryHandler.onEntry(index, buffer, Integer.BYTES, length);
@@ -113,8 +252,7 @@ final class PollerImpl implements Poller {
         }
     }
 
-    private DirectBuffer payloadBuffer() {
-        final long header = currentHeader;
+    private DirectBuffer payloadBuffer(final long header) {
         final int appenderId = Headers.appenderId(header);
         final long payloadPosition = Headers.payloadPosition(header);
         final ElasticMapping mapping = mappings.payload(appenderId);
@@ -127,7 +265,7 @@ final class PollerImpl implements Poller {
         final long nex = nextIndex;
         final long cur = currentIndex;
         if (cur == nex) {
-            return cur >= 0 ? ENTRY_POLLED : BEFORE_FIRST;
+            return cur >= 0 ? currentEntry() : BEFORE_FIRST;
         }
         final int upd;
         if (cur < nex) {
@@ -135,7 +273,16 @@ final class PollerImpl implements Poller {
         } else {
             upd = cur > Index.FIRST ? moveTo(cur, -1) : BEFORE_FIRST;
         }
-        return (upd == CURSOR_MOVED && currentIndex == nex) ? ENTRY_POLLED : upd;
+        return (upd == CURSOR_MOVED && currentIndex == nex) ? currentEntry() : upd;
+    }
+
+    private int currentEntry() {
+        if (Headers.isAbortedHeader(currentHeader)) {
+            //entry of an aborted transaction, skip it in the direction of travel
+            nextIndex = nextIndex(currentIndex, movingBackwards ? Move.PREVIOUS : Move.NEXT);
+            return CURSOR_MOVED;
+        }
+        return ENTRY_POLLED;
     }
 
     private int moveTo(final long curIndex, final int inc) {
@@ -152,7 +299,8 @@ final class PollerImpl implements Poller {
         if (error == PENDING_OPEN) {
             errorState = PENDING_NEXT;
         }
-        final long header = headerMapping.buffer().getLongVolatile(0);
+        final long header = Headers.committedHeader(headerMapping, commits, index,
+                headerMapping.buffer().getLongVolatile(0));
         if (header == NULL_HEADER) {
             final long next = nextIndex;
             if (next > Index.MAX && inc > 0) {
@@ -192,11 +340,17 @@ final class PollerImpl implements Poller {
             nextIndex = Index.FIRST;
             currentIndex = Index.NULL;
             currentHeader = NULL_HEADER;
+            movingBackwards = false;
             mappings.close();
             LOGGER.info("Poller closed: {}", pollerName());
         }
     }
 
+    /** @return true if move is a relative move backwards, used to skip entries in the same direction */
+    private static boolean isBackwards(final long move) {
+        return move < 0 && move >= -Index.MAX;
+    }
+
     private static long nextIndex(final long currentIndex, final long move) {
         if (move > Index.MAX) {
             return Math.max(move, Index.LAST);
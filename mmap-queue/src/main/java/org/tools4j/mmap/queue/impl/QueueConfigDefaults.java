@@ -24,6 +24,7 @@
 package org.tools4j.mmap.queue.impl;
 
 import org.tools4j.mmap.queue.config.AppenderConfig;
+import org.tools4j.mmap.queue.config.HeaderFormat;
 import org.tools4j.mmap.queue.config.IndexReaderConfig;
 import org.tools4j.mmap.queue.config.QueueConfig;
 import org.tools4j.mmap.queue.config.ReaderConfig;
@@ -33,10 +34,16 @@ import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultAccessMod
 import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultExpandHeaderFile;
 import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultExpandPayloadFiles;
 import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultHeaderFilesToCreateAhead;
+import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultMapWholeHeaderFile;
+import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultMapWholePayloadFiles;
 import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultMaxAppenders;
 import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultMaxHeaderFileSize;
 import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultMaxPayloadFileSize;
+import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultMemoryOnly;
+import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultSharedPayloadFile;
+import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultHeaderFormat;
 import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultPayloadFilesToCreateAhead;
+import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultPayloadRegionOverlap;
 import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultRollHeaderFile;
 import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultRollPayloadFiles;
 import static org.tools4j.mmap.queue.impl.AppenderConfigDefaults.APPENDER_CONFIG_DEFAULTS;
@@ -98,6 +105,36 @@ public enum QueueConfigDefaults implements QueueConfig {
         return defaultPayloadFilesToCreateAhead();
     }
 
+    @Override
+    public boolean mapWholeHeaderFile() {
+        return defaultMapWholeHeaderFile();
+    }
+
+    @Override
+    public boolean mapWholePayloadFiles() {
+        return defaultMapWholePayloadFiles();
+    }
+
+    @Override
+    public int payloadRegionOverlap() {
+        return defaultPayloadRegionOverlap();
+    }
+
+    @Override
+    public boolean memoryOnly() {
+        return defaultMemoryOnly();
+    }
+
+    @Override
+    public boolean sharedPayloadFile() {
+        return defaultSharedPayloadFile();
+    }
+
+    @Override
+    public HeaderFormat headerFormat() {
+        return defaultHeaderFormat();
+    }
+
     @Override
     public AppenderConfig appenderConfig() {
         return APPENDER_CONFIG_DEFAULTS;
@@ -141,6 +178,12 @@ public enum QueueConfigDefaults implements QueueConfig {
                 "|rollPayloadFiles=" + rollPayloadFiles() +
                 "|headerFilesToCreateAhead=" + headerFilesToCreateAhead() +
                 "|payloadFilesToCreateAhead=" + payloadFilesToCreateAhead() +
+                "|mapWholeHeaderFile=" + mapWholeHeaderFile() +
+                "|mapWholePayloadFiles=" + mapWholePayloadFiles() +
+                "|payloadRegionOverlap=" + payloadRegionOverlap() +
+                "|memoryOnly=" + memoryOnly() +
+                "|sharedPayloadFile=" + sharedPayloadFile() +
+                "|headerFormat=" + headerFormat() +
                 "|appenderConfig={" + appenderConfig() + "}" +
                 "|pollerConfig={" + pollerConfig() + "}" +
                 "|entryReaderConfig={" + entryReaderConfig() + "}" +
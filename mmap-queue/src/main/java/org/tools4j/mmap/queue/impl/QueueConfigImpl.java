@@ -24,6 +24,7 @@
 package org.tools4j.mmap.queue.impl;
 
 import org.tools4j.mmap.queue.config.AppenderConfig;
+import org.tools4j.mmap.queue.config.HeaderFormat;
 import org.tools4j.mmap.queue.config.IndexReaderConfig;
 import org.tools4j.mmap.queue.config.QueueConfig;
 import org.tools4j.mmap.queue.config.ReaderConfig;
@@ -43,6 +44,12 @@ public class QueueConfigImpl implements QueueConfig {
     private final boolean rollPayloadFiles;
     private final int headerFilesToCreateAhead;
     private final int payloadFilesToCreateAhead;
+    private final boolean mapWholeHeaderFile;
+    private final boolean mapWholePayloadFiles;
+    private final int payloadRegionOverlap;
+    private final boolean memoryOnly;
+    private final boolean sharedPayloadFile;
+    private final HeaderFormat headerFormat;
     private final AppenderConfig appenderConfig;
     private final ReaderConfig pollerConfig;
     private final ReaderConfig entryReaderConfig;
@@ -64,6 +71,12 @@ public class QueueConfigImpl implements QueueConfig {
                 queueConfig.rollPayloadFiles(),
                 queueConfig.headerFilesToCreateAhead(),
                 queueConfig.payloadFilesToCreateAhead(),
+                queueConfig.mapWholeHeaderFile(),
+                queueConfig.mapWholePayloadFiles(),
+                queueConfig.payloadRegionOverlap(),
+                queueConfig.memoryOnly(),
+                queueConfig.sharedPayloadFile(),
+                queueConfig.headerFormat(),
                 queueConfig.appenderConfig(),
                 queueConfig.pollerConfig(),
                 queueConfig.entryReaderConfig(),
@@ -81,6 +94,12 @@ public class QueueConfigImpl implements QueueConfig {
                            final boolean rollPayloadFiles,
                            final int headerFilesToCreateAhead,
                            final int payloadFilesToCreateAhead,
+                           final boolean mapWholeHeaderFile,
+                           final boolean mapWholePayloadFiles,
+                           final int payloadRegionOverlap,
+                           final boolean memoryOnly,
+                           final boolean sharedPayloadFile,
+                           final HeaderFormat headerFormat,
                            final AppenderConfig appenderConfig,
                            final ReaderConfig pollerConfig,
                            final ReaderConfig entryReaderConfig,
@@ -96,6 +115,12 @@ public class QueueConfigImpl implements QueueConfig {
         this.rollPayloadFiles = rollPayloadFiles;
         this.headerFilesToCreateAhead = headerFilesToCreateAhead;
         this.payloadFilesToCreateAhead = payloadFilesToCreateAhead;
+        this.mapWholeHeaderFile = mapWholeHeaderFile;
+        this.mapWholePayloadFiles = mapWholePayloadFiles;
+        this.payloadRegionOverlap = payloadRegionOverlap;
+        this.memoryOnly = memoryOnly;
+        this.sharedPayloadFile = sharedPayloadFile;
+        this.headerFormat = requireNonNull(headerFormat);
         this.appenderConfig = appenderConfig.toImmutableAppenderConfig();
         this.pollerConfig = pollerConfig.toImmutableReaderConfig();
         this.entryReaderConfig = entryReaderConfig.toImmutableReaderConfig();
@@ -153,6 +178,36 @@ public class QueueConfigImpl implements QueueConfig {
         return payloadFilesToCreateAhead;
     }
 
+    @Override
+    public boolean mapWholeHeaderFile() {
+        return mapWholeHeaderFile;
+    }
+
+    @Override
+    public boolean mapWholePayloadFiles() {
+        return mapWholePayloadFiles;
+    }
+
+    @Override
+    public int payloadRegionOverlap() {
+        return payloadRegionOverlap;
+    }
+
+    @Override
+    public boolean memoryOnly() {
+        return memoryOnly;
+    }
+
+    @Override
+    public boolean sharedPayloadFile() {
+        return sharedPayloadFile;
+    }
+
+    @Override
+    public HeaderFormat headerFormat() {
+        return headerFormat;
+    }
+
     @Override
     public AppenderConfig appenderConfig() {
         return appenderConfig;
@@ -196,6 +251,12 @@ public class QueueConfigImpl implements QueueConfig {
                 "|rollPayloadFiles=" + rollPayloadFiles +
                 "|headerFilesToCreateAhead=" + headerFilesToCreateAhead +
                 "|payloadFilesToCreateAhead=" + payloadFilesToCreateAhead +
+                "|mapWholeHeaderFile=" + mapWholeHeaderFile +
+                "|mapWholePayloadFiles=" + mapWholePayloadFiles +
+                "|payloadRegionOverlap=" + payloadRegionOverlap +
+                "|memoryOnly=" + memoryOnly +
+                "|sharedPayloadFile=" + sharedPayloadFile +
+                "|headerFormat=" + headerFormat +
                 "|appenderConfig={" + appenderConfig + "}" +
                 "|pollerConfig={" + pollerConfig + "}" +
                 "|entryReaderConfig={" + entryReaderConfig + "}" +
@@ -25,6 +25,7 @@ package org.tools4j.mmap.queue.impl;
 
 import org.tools4j.mmap.queue.config.AppenderConfig;
 import org.tools4j.mmap.queue.config.AppenderConfigurator;
+import org.tools4j.mmap.queue.config.HeaderFormat;
 import org.tools4j.mmap.queue.config.IndexReaderConfig;
 import org.tools4j.mmap.queue.config.IndexReaderConfigurator;
 import org.tools4j.mmap.queue.config.MappingStrategy;
@@ -45,10 +46,12 @@ import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultMaxAppend
 import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultMaxHeaderFileSize;
 import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultMaxPayloadFileSize;
 import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultPayloadFilesToCreateAhead;
+import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultPayloadRegionOverlap;
 import static org.tools4j.mmap.queue.impl.QueueConfigDefaults.QUEUE_CONFIG_DEFAULTS;
 import static org.tools4j.mmap.region.impl.Constraints.validateFilesToCreateAhead;
 import static org.tools4j.mmap.region.impl.Constraints.validateMaxAppenders;
 import static org.tools4j.mmap.region.impl.Constraints.validateMaxFileSize;
+import static org.tools4j.mmap.region.impl.Constraints.validateRegionOverlap;
 
 public class QueueConfiguratorImpl implements QueueConfigurator {
     private final QueueConfig defaults;
@@ -62,6 +65,12 @@ public class QueueConfiguratorImpl implements QueueConfigurator {
     private Boolean rollPayloadFiles;
     private int headerFilesToCreateAhead;
     private int payloadFilesToCreateAhead;
+    private Boolean mapWholeHeaderFile;
+    private Boolean mapWholePayloadFiles;
+    private int payloadRegionOverlap = -1;
+    private Boolean memoryOnly;
+    private Boolean sharedPayloadFile;
+    private HeaderFormat headerFormat;
     private AppenderConfig appenderConfig;
     private ReaderConfig pollerConfig;
     private ReaderConfig entryReaderConfig;
@@ -88,6 +97,12 @@ public class QueueConfiguratorImpl implements QueueConfigurator {
         rollPayloadFiles = null;
         headerFilesToCreateAhead = -1;
         payloadFilesToCreateAhead = -1;
+        mapWholeHeaderFile = null;
+        mapWholePayloadFiles = null;
+        payloadRegionOverlap = -1;
+        memoryOnly = null;
+        sharedPayloadFile = null;
+        headerFormat = null;
         appenderConfig = null;
         pollerConfig = null;
         entryReaderConfig = null;
@@ -259,6 +274,94 @@ public class QueueConfiguratorImpl implements QueueConfigurator {
         return this;
     }
 
+    @Override
+    public boolean mapWholeHeaderFile() {
+        if (mapWholeHeaderFile == null) {
+            mapWholeHeaderFile = defaults.mapWholeHeaderFile();
+        }
+        return mapWholeHeaderFile;
+    }
+
+    @Override
+    public QueueConfigurator mapWholeHeaderFile(final boolean mapWholeHeaderFile) {
+        this.mapWholeHeaderFile = mapWholeHeaderFile;
+        return this;
+    }
+
+    @Override
+    public boolean mapWholePayloadFiles() {
+        if (mapWholePayloadFiles == null) {
+            mapWholePayloadFiles = defaults.mapWholePayloadFiles();
+        }
+        return mapWholePayloadFiles;
+    }
+
+    @Override
+    public QueueConfigurator mapWholePayloadFiles(final boolean mapWholePayloadFiles) {
+        this.mapWholePayloadFiles = mapWholePayloadFiles;
+        return this;
+    }
+
+    @Override
+    public int payloadRegionOverlap() {
+        if (payloadRegionOverlap < 0) {
+            payloadRegionOverlap = defaults.payloadRegionOverlap();
+        }
+        if (payloadRegionOverlap < 0) {
+            payloadRegionOverlap = defaultPayloadRegionOverlap();
+        }
+        return payloadRegionOverlap;
+    }
+
+    @Override
+    public QueueConfigurator payloadRegionOverlap(final int payloadRegionOverlap) {
+        validateRegionOverlap(payloadRegionOverlap);
+        this.payloadRegionOverlap = payloadRegionOverlap;
+        return this;
+    }
+
+    @Override
+    public boolean memoryOnly() {
+        if (memoryOnly == null) {
+            memoryOnly = defaults.memoryOnly();
+        }
+        return memoryOnly;
+    }
+
+    @Override
+    public QueueConfigurator memoryOnly(final boolean memoryOnly) {
+        this.memoryOnly = memoryOnly;
+        return this;
+    }
+
+    @Override
+    public boolean sharedPayloadFile() {
+        if (sharedPayloadFile == null) {
+            sharedPayloadFile = defaults.sharedPayloadFile();
+        }
+        return sharedPayloadFile;
+    }
+
+    @Override
+    public QueueConfigurator sharedPayloadFile(final boolean sharedPayloadFile) {
+        this.sharedPayloadFile = sharedPayloadFile;
+        return this;
+    }
+
+    @Override
+    public HeaderFormat headerFormat() {
+        if (headerFormat == null) {
+            headerFormat = defaults.headerFormat();
+        }
+        return headerFormat;
+    }
+
+    @Override
+    public QueueConfigurator headerFormat(final HeaderFormat headerFormat) {
+        this.headerFormat = requireNonNull(headerFormat);
+        return this;
+    }
+
     @Override
     public QueueConfigurator mappingStrategy(final MappingStrategy mappingStrategy) {
         return mappingStrategy(mappingStrategy.mappingStrategyConfig());
@@ -460,6 +563,12 @@ public class QueueConfiguratorImpl implements QueueConfigurator {
                 "|rollPayloadFiles=" + rollPayloadFiles +
                 "|headerFilesToCreateAhead=" + headerFilesToCreateAhead +
                 "|payloadFilesToCreateAhead=" + payloadFilesToCreateAhead +
+                "|mapWholeHeaderFile=" + mapWholeHeaderFile +
+                "|mapWholePayloadFiles=" + mapWholePayloadFiles +
+                "|payloadRegionOverlap=" + payloadRegionOverlap +
+                "|memoryOnly=" + memoryOnly +
+                "|sharedPayloadFile=" + sharedPayloadFile +
+                "|headerFormat=" + headerFormat +
                 "|appenderConfig={" + appenderConfig + "}" +
                 "|pollerConfig={" + pollerConfig + "}" +
                 "|entryReaderConfig={" + entryReaderConfig + "}" +
@@ -36,14 +36,30 @@ final class QueueFiles {
 
     private final File queueFile;
     private final File headerFile;
+    private final File metadataFile;
     private final File idPoolFile;
+    private final File idLeaseFile;
+    private final File transactionFile;
+    private final File layoutFile;
+    private final File sharedPayloadFile;
+    private final File payloadAllocatorFile;
     private final File[] payloadFiles;
     private final IntFunction<File> payloadFileFactory;
 
     public QueueFiles(final File queueFile, final int maxAppenders) {
+        this(queueFile, maxAppenders, false);
+    }
+
+    public QueueFiles(final File queueFile, final int maxAppenders, final boolean sharedPayloadFile) {
         this.queueFile = requireNonNull(queueFile);
         this.headerFile = new File(queueFile, queueFile.getName() + "_hdr.mmq");
+        this.metadataFile = new File(queueFile, queueFile.getName() + "_meta.mmq");
         this.idPoolFile = new File(queueFile, queueFile.getName() + "_ids.mmq");
+        this.idLeaseFile = new File(queueFile, queueFile.getName() + "_lease.mmq");
+        this.transactionFile = new File(queueFile, queueFile.getName() + "_txn.mmq");
+        this.layoutFile = new File(queueFile, queueFile.getName() + "_layout.mmq");
+        this.sharedPayloadFile = sharedPayloadFile ? new File(queueFile, queueFile.getName() + "_payload.mmq") : null;
+        this.payloadAllocatorFile = new File(queueFile, queueFile.getName() + "_alloc.mmq");
         this.payloadFiles = new File[maxAppenders];
         this.payloadFileFactory = appenderId -> new File(queueFile, queueFile.getName() + "_dat_" + appenderId + ".mmq");
     }
@@ -56,11 +72,60 @@ final class QueueFiles {
         return headerFile;
     }
 
+    /**
+     * @return the file with entry metadata records of queues whose header format has metadata
+     */
+    public File metadataFile() {
+        return metadataFile;
+    }
+
     public File idPoolFile() {
         return idPoolFile;
     }
 
+    public File idLeaseFile() {
+        return idLeaseFile;
+    }
+
+    /**
+     * @return the file with the commit index of the last appending transaction per appender ID
+     */
+    public File transactionFile() {
+        return transactionFile;
+    }
+
+    /**
+     * @return the file with the layout settings the queue was created with
+     */
+    public File layoutFile() {
+        return layoutFile;
+    }
+
+    /**
+     * @return true if all appenders share a single payload file
+     */
+    public boolean sharedPayloadFile() {
+        return sharedPayloadFile != null;
+    }
+
+    /**
+     * @return the file with the allocator word for the shared payload file
+     */
+    public File payloadAllocatorFile() {
+        return payloadAllocatorFile;
+    }
+
+    /**
+     * Returns the payload file for the given appender, which is the same file for all appenders if the payload file is
+     * {@link #sharedPayloadFile() shared}.
+     *
+     * @param appenderId the appender ID
+     * @return the payload file
+     */
     public File payloadFile(final int appenderId) {
+        if (sharedPayloadFile != null) {
+            return sharedPayloadFile;
+        }
         File payloadFile = payloadFiles[appenderId];
         if (payloadFile == null) {
             payloadFile = payloadFileFactory.apply(appenderId);
@@ -69,8 +134,75 @@ final class QueueFiles {
         return payloadFile;
     }
 
+    public File groupCursorFile(final String groupName) {
+        return new File(queueFile, queueFile.getName() + "_grp_" + validateName("group", groupName) + ".mmq");
+    }
+
+    public File groupAckFile(final String groupName) {
+        return new File(queueFile, queueFile.getName() + "_grp_" + validateName("group", groupName) + "_ack.mmq");
+    }
+
+    public File groupRedeliveryFile(final String groupName) {
+        return new File(queueFile, queueFile.getName() + "_grp_" + validateName("group", groupName) + "_redeliver.mmq");
+    }
+
+    public File pipelineBarrierFile(final String pipelineName) {
+        return new File(queueFile, queueFile.getName() + "_pipe_" + validateName("pipeline", pipelineName) + ".mmq");
+    }
+
+    public File keyIndexFile(final String indexName) {
+        return new File(queueFile, queueFile.getName() + "_key_" + validateName("key index", indexName) + ".mmq");
+    }
+
+    public File keyIndexLockFile(final String indexName) {
+        return new File(queueFile, queueFile.getName() + "_key_" + validateName("key index", indexName) + "_lock.mmq");
+    }
+
+    private static String validateName(final String type, final String name) {
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("The " + type + " name cannot be empty");
+        }
+        for (int i = 0; i < name.length(); i++) {
+            final char ch = name.charAt(i);
+            if (!Character.isLetterOrDigit(ch) && ch != '-') {
+                throw new IllegalArgumentException("Invalid character '" + ch + "' in " + type + " name: " + name);
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Returns true if payload files exist for the given layout, either the shared payload file or payload files per
+     * appender ID.
+     *
+     * @param shared true to check for the shared payload file, and false for payload files per appender
+     * @return true if any payload files of the given layout exist
+     */
+    public boolean payloadFilesExist(final boolean shared) {
+        return filesExist(queueFile.getName() + (shared ? "_payload" : "_dat_"));
+    }
+
+    /**
+     * @return true if any header files exist, noting that mapped files may be segmented with a suffix per segment
+     */
+    public boolean headerFilesExist() {
+        return filesExist(queueFile.getName() + "_hdr");
+    }
+
+    /**
+     * @return true if any metadata files exist, noting that mapped files may be segmented with a suffix per segment
+     */
+    public boolean metadataFilesExist() {
+        return filesExist(queueFile.getName() + "_meta");
+    }
+
+    private boolean filesExist(final String prefix) {
+        final String[] names = queueFile.list((dir, name) -> name.startsWith(prefix));
+        return names != null && names.length > 0;
+    }
+
     public File[] listFiles() {
-        return queueFile.listFiles((dir, name) -> name != null && name.equals(FILE_ENDING));
+        return queueFile.listFiles((dir, name) -> name != null && name.endsWith(FILE_ENDING));
     }
 
     @Override
@@ -27,9 +27,15 @@ import org.agrona.CloseHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.tools4j.mmap.queue.api.Appender;
+import org.tools4j.mmap.queue.api.BroadcastPoller;
 import org.tools4j.mmap.queue.api.EntryIterator;
 import org.tools4j.mmap.queue.api.EntryReader;
+import org.tools4j.mmap.queue.api.GroupPoller;
 import org.tools4j.mmap.queue.api.IndexReader;
+import org.tools4j.mmap.queue.api.KeyExtractor;
+import org.tools4j.mmap.queue.api.KeyIndex;
+import org.tools4j.mmap.queue.api.KeyedDispatcher;
+import org.tools4j.mmap.queue.api.PipelineStage;
 import org.tools4j.mmap.queue.api.Poller;
 import org.tools4j.mmap.queue.api.Queue;
 import org.tools4j.mmap.queue.config.AppenderConfig;
@@ -37,16 +43,28 @@ import org.tools4j.mmap.queue.config.IndexReaderConfig;
 import org.tools4j.mmap.queue.config.QueueConfig;
 import org.tools4j.mmap.queue.config.ReaderConfig;
 import org.tools4j.mmap.region.api.AccessMode;
+import org.tools4j.mmap.region.api.Mappings;
 import org.tools4j.mmap.region.config.MappingStrategyConfig;
 import org.tools4j.mmap.region.impl.IdPool;
 import org.tools4j.mmap.region.impl.IdPool256;
 import org.tools4j.mmap.region.impl.IdPool64;
+import org.tools4j.mmap.region.impl.LeasedIdPool;
+import org.tools4j.mmap.region.impl.WriterLock;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
+import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultDispatcherRingCapacity;
+import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultGroupPollerClaimBatchSize;
+import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultKeyIndexCapacity;
+import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultSharedMemoryDirectory;
+import static org.tools4j.mmap.region.impl.Constraints.validateKeyIndexCapacity;
+
 /**
  * Implementation of {@link Queue} that allows a multiple writing threads and
  * multiple reading threads, when each thread creates their own instances of
@@ -58,10 +76,12 @@ public final class QueueImpl implements Queue {
     private final QueueFiles files;
     private final QueueConfig config;
     private final Function<ReaderConfig, Poller> pollerFactory;
+    private final GroupPollerFactory groupPollerFactory;
     private final Function<ReaderConfig, EntryReader> entryReaderFactory;
     private final Function<ReaderConfig, EntryIterator> entryIteratorFactory;
     private final Function<IndexReaderConfig, IndexReader> indexReaderFactory;
     private final Function<AppenderConfig, Appender> appenderFactory;
+    private final Function<AppenderConfig, Appender> sharedAppenderFactory;
     private final AtomicBoolean closed = new AtomicBoolean();
     private final java.util.Queue<AutoCloseable> closeables = new ConcurrentLinkedQueue<>();
 
@@ -72,13 +92,27 @@ public final class QueueImpl implements Queue {
     public QueueImpl(final File file, final QueueConfig queueConfig) {
         final AccessMode accessMode = queueConfig.accessMode();
         final int maxAppenders = queueConfig.maxAppenders();
-        this.files = new QueueFiles(file, maxAppenders);
+        final File queueDir = queueConfig.memoryOnly() ? sharedMemoryQueueDir(file, accessMode) : file;
+        this.files = new QueueFiles(queueDir, maxAppenders, queueConfig.sharedPayloadFile());
         this.config = queueConfig.toImmutableQueueConfig();
         if (accessMode == AccessMode.READ_WRITE_CLEAR) {
             deleteQueueFiles();
         }
-        if (!file.exists() && accessMode != AccessMode.READ_ONLY) {
-            createQueueDir(file);
+        if (files.payloadFilesExist(!files.sharedPayloadFile())) {
+            throw new IllegalStateException("Queue " + queueDir + " was created with sharedPayloadFile=" +
+                    !files.sharedPayloadFile() + " but is opened with sharedPayloadFile=" + files.sharedPayloadFile());
+        }
+        final boolean metadata = queueConfig.headerFormat().hasMetadata();
+        if (files.headerFilesExist() && files.metadataFilesExist() != metadata) {
+            throw new IllegalStateException("Queue " + queueDir + " was created with " +
+                    (metadata ? "compact" : "wide") + " header format but is opened with header format " +
+                    queueConfig.headerFormat());
+        }
+        if (!queueDir.exists() && accessMode != AccessMode.READ_ONLY) {
+            createQueueDir(queueDir);
+        }
+        if (queueDir.exists()) {
+            QueueLayout.validatePayloadRegionOverlap(files, accessMode, queueConfig.payloadRegionOverlap());
         }
 
         final IdPool idPool = open(idPool(files, maxAppenders));
@@ -86,16 +120,30 @@ public final class QueueImpl implements Queue {
                 queueNameIfNotClosed(),
                 ReaderMappings.create(files, config, pollerConfig)
         ));
+        this.groupPollerFactory = accessMode == AccessMode.READ_ONLY ?
+                (groupName, pollerConfig, claimBatchSize) -> {throw new IllegalStateException(
+                        "Cannot open group poller in read-only mode for queue " + queueNameIfNotClosed());
+                } :
+                (groupName, pollerConfig, claimBatchSize) -> open(new GroupPollerImpl(
+                        queueNameIfNotClosed(),
+                        groupName,
+                        ReaderMappings.create(files, config, pollerConfig),
+                        GroupMappings.create(files, groupName, config, pollerConfig),
+                        claimBatchSize
+                ));
         this.entryReaderFactory = readerConfig -> open(new EntryReaderImpl(
                 queueNameIfNotClosed(),
                 ReaderMappings.create(files, config, readerConfig)
         ));
         this.entryIteratorFactory = readerConfig -> open(new EntryIteratorImpl(
                 queueNameIfNotClosed(),
-                ReaderMappings.create(files, config, readerConfig)
+                () -> ReaderMappings.create(files, config, readerConfig)
         ));
         this.indexReaderFactory = indReaderConfig -> open(new IndexReaderImpl(
-                queueNameIfNotClosed(), IndexMappings.create(files, config, indReaderConfig)
+                queueNameIfNotClosed(),
+                IndexMappings.create(files, config, indReaderConfig),
+                IndexMappings.createMetadata(files, config, indReaderConfig),
+                TransactionCommits.forReader(files)
         ));
         this.appenderFactory = accessMode == AccessMode.READ_ONLY ?
                 appenderConfig -> {throw new IllegalStateException(
@@ -106,6 +154,20 @@ public final class QueueImpl implements Queue {
                         AppenderMappings.create(files, idPool, config, appenderConfig),
                         enableCopyFromPreviousRegion(appenderConfig)
                 ));
+        this.sharedAppenderFactory = accessMode == AccessMode.READ_ONLY ?
+                appenderConfig -> {throw new IllegalStateException(
+                        "Cannot open appender in read-only mode for queue " + queueNameIfNotClosed());
+                } :
+                appenderConfig -> {
+                    final String queueName = queueNameIfNotClosed();
+                    final AppenderMappings mappings = AppenderMappings.create(files, idPool, config, appenderConfig);
+                    return open(new SharedAppenderImpl(
+                            queueName,
+                            mappings,
+                            () -> AppenderMappings.createShared(files, mappings, config, appenderConfig),
+                            enableCopyFromPreviousRegion(appenderConfig)
+                    ));
+                };
     }
 
     private void deleteQueueFiles() {
@@ -115,6 +177,41 @@ public final class QueueImpl implements Queue {
         }
     }
 
+    /**
+     * Returns the directory of a memory-only queue in the shared memory directory.  The queue directory is placed in a
+     * parent directory whose name is derived from the absolute path of the given queue file, so that queues with the
+     * same name but in different directories do not share their files.
+     */
+    private static File sharedMemoryQueueDir(final File file, final AccessMode accessMode) {
+        final File sharedMemoryDir = defaultSharedMemoryDirectory();
+        if (!sharedMemoryDir.isDirectory()) {
+            throw new IllegalStateException("Shared memory directory for memory-only queue " + file.getName() +
+                    " does not exist: " + sharedMemoryDir);
+        }
+        final File parentDir = new File(sharedMemoryDir, file.getName() + "-" + pathHash(file));
+        if (accessMode != AccessMode.READ_ONLY && !parentDir.isDirectory() && !parentDir.mkdir() &&
+                !parentDir.isDirectory()) {
+            throw new IllegalStateException("Cannot create shared memory directory for memory-only queue " +
+                    file.getName() + ": " + parentDir);
+        }
+        return new File(parentDir, file.getName());
+    }
+
+    private static String pathHash(final File file) {
+        final String path = file.getAbsoluteFile().toPath().normalize().toString();
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(path.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder hash = new StringBuilder(32);
+            for (int i = 0; i < 16; i++) {
+                hash.append(Character.forDigit((digest[i] >> 4) & 0xf, 16));
+                hash.append(Character.forDigit(digest[i] & 0xf, 16));
+            }
+            return hash.toString();
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available to hash path of memory-only queue " + path, e);
+        }
+    }
+
     private void createQueueDir(final File file) {
         if (!file.mkdir()) {
             throw new IllegalArgumentException("Parent directory does not exist: " + file);
@@ -131,10 +228,12 @@ public final class QueueImpl implements Queue {
 
     private static IdPool idPool(final QueueFiles queueFiles, final int maxAppenders) {
         if (maxAppenders <= IdPool64.MAX_IDS) {
-            return new IdPool64(queueFiles.idPoolFile());
+            return new LeasedIdPool(new IdPool64(queueFiles.idPoolFile()), IdPool64.MAX_IDS,
+                    queueFiles.idLeaseFile());
         }
         if (maxAppenders <= IdPool256.MAX_IDS) {
-            return new IdPool256(queueFiles.idPoolFile());
+            return new LeasedIdPool(new IdPool256(queueFiles.idPoolFile()), IdPool256.MAX_IDS,
+                    queueFiles.idLeaseFile());
         }
         throw new IllegalArgumentException("Invalid value for max appenders: " + maxAppenders);
     }
@@ -154,6 +253,16 @@ public final class QueueImpl implements Queue {
         return appenderFactory.apply(config);
     }
 
+    @Override
+    public Appender createSharedAppender() {
+        return createSharedAppender(config.appenderConfig());
+    }
+
+    @Override
+    public Appender createSharedAppender(final AppenderConfig config) {
+        return sharedAppenderFactory.apply(config);
+    }
+
     @Override
     public Poller createPoller() {
         return createPoller(config.pollerConfig());
@@ -164,6 +273,109 @@ public final class QueueImpl implements Queue {
         return pollerFactory.apply(config);
     }
 
+    @Override
+    public BroadcastPoller createBroadcastPoller() {
+        return createBroadcastPoller(config.pollerConfig());
+    }
+
+    @Override
+    public BroadcastPoller createBroadcastPoller(final ReaderConfig config) {
+        return open(new BroadcastPollerImpl(queueNameIfNotClosed(), ReaderMappings.create(files, this.config, config)));
+    }
+
+    @Override
+    public GroupPoller createGroupPoller(final String groupName) {
+        return createGroupPoller(groupName, config.pollerConfig(), defaultGroupPollerClaimBatchSize());
+    }
+
+    @Override
+    public GroupPoller createGroupPoller(final String groupName, final ReaderConfig config, final int claimBatchSize) {
+        return groupPollerFactory.create(groupName, config, claimBatchSize);
+    }
+
+    @Override
+    public PipelineStage createPipelineStage(final String pipelineName,
+                                             final int stageId,
+                                             final int... upstreamStageIds) {
+        return createPipelineStage(pipelineName, config.pollerConfig(), stageId, upstreamStageIds);
+    }
+
+    @Override
+    public PipelineStage createPipelineStage(final String pipelineName,
+                                             final ReaderConfig config,
+                                             final int stageId,
+                                             final int... upstreamStageIds) {
+        final String queueName = queueNameIfNotClosed();
+        if (this.config.accessMode() == AccessMode.READ_ONLY) {
+            throw new IllegalStateException("Cannot open pipeline stage in read-only mode for queue " + queueName);
+        }
+        PipelineStageImpl.validateStageIds(stageId, upstreamStageIds);
+        return open(new PipelineStageImpl(
+                queueName,
+                pipelineName,
+                stageId,
+                upstreamStageIds,
+                ReaderMappings.create(files, this.config, config),
+                Mappings.fixedSizeMapping(files.pipelineBarrierFile(pipelineName), AccessMode.READ_WRITE, 0,
+                        PipelineStageImpl.BARRIER_FILE_LENGTH)
+        ));
+    }
+
+    @Override
+    public KeyedDispatcher createKeyedDispatcher(final int workerCount, final KeyExtractor keyExtractor) {
+        return createKeyedDispatcher(workerCount, keyExtractor, config.pollerConfig(), defaultDispatcherRingCapacity());
+    }
+
+    @Override
+    public KeyedDispatcher createKeyedDispatcher(final int workerCount,
+                                                 final KeyExtractor keyExtractor,
+                                                 final ReaderConfig config,
+                                                 final int ringCapacity) {
+        final String queueName = queueNameIfNotClosed();
+        return open(new KeyedDispatcherImpl(
+                queueName,
+                new PollerImpl(queueName, ReaderMappings.create(files, this.config, config)),
+                keyExtractor,
+                workerCount,
+                () -> ReaderMappings.create(files, this.config, config),
+                ringCapacity
+        ));
+    }
+
+    @Override
+    public KeyIndex createKeyIndex(final String indexName, final KeyExtractor keyExtractor) {
+        return createKeyIndex(indexName, keyExtractor, config.pollerConfig(), defaultKeyIndexCapacity());
+    }
+
+    @Override
+    public KeyIndex createKeyIndex(final String indexName,
+                                   final KeyExtractor keyExtractor,
+                                   final ReaderConfig config,
+                                   final int capacity) {
+        final String queueName = queueNameIfNotClosed();
+        if (this.config.accessMode() == AccessMode.READ_ONLY) {
+            throw new IllegalStateException("Cannot open key index in read-only mode for queue " + queueName);
+        }
+        validateKeyIndexCapacity(capacity);
+        final WriterLock writerLock = WriterLock.acquire(files.keyIndexLockFile(indexName),
+                "Key index " + queueName + ".keyIndex-" + indexName);
+        try {
+            return open(new KeyIndexImpl(
+                    queueName,
+                    indexName,
+                    ReaderMappings.create(files, this.config, config),
+                    keyExtractor,
+                    Mappings.fixedSizeMapping(files.keyIndexFile(indexName), AccessMode.READ_WRITE, 0,
+                            KeyIndexImpl.fileLength(capacity)),
+                    writerLock,
+                    capacity
+            ));
+        } catch (final RuntimeException e) {
+            writerLock.close();
+            throw e;
+        }
+    }
+
     @Override
     public IndexReader createIndexReader() {
         return createIndexReader(config.indexReaderConfig());
@@ -194,6 +406,11 @@ public final class QueueImpl implements Queue {
         return indexReaderFactory.apply(config);
     }
 
+    @FunctionalInterface
+    private interface GroupPollerFactory {
+        GroupPoller create(String groupName, ReaderConfig config, int claimBatchSize);
+    }
+
     private String queueNameIfNotClosed() {
         if (!isClosed()) {
             return files.queueName();
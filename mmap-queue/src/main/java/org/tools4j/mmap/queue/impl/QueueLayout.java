@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.agrona.concurrent.AtomicBuffer;
+import org.tools4j.mmap.region.api.AccessMode;
+import org.tools4j.mmap.region.api.FixedMapping;
+import org.tools4j.mmap.region.api.Mappings;
+
+import java.io.File;
+
+import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
+
+/**
+ * Layout settings that a queue was created with and that cannot be derived from the existing queue files, recorded in
+ * the {@link QueueFiles#layoutFile() layout file}.  A setting word stores the value plus one, so that a zero word means
+ * that the setting has not been recorded yet.
+ * <p>
+ * Layout: <pre>
+ *     0: payload region overlap plus one (long)
+ * </pre>
+ */
+enum QueueLayout {
+    ;
+    /** Length of the layout file */
+    static final int LAYOUT_FILE_LENGTH = CACHE_LINE_LENGTH;
+    private static final int PAYLOAD_REGION_OVERLAP_OFFSET = 0;
+
+    /**
+     * Records the payload region overlap for a new queue, or validates it against the recorded value for an existing
+     * queue.  Queues whose payload files were created before the overlap was recorded are treated as having no
+     * overlap.
+     *
+     * @param files                 the queue files
+     * @param accessMode            the access mode, the layout is not recorded in read-only mode
+     * @param payloadRegionOverlap  the payload region overlap of the queue configuration
+     * @throws IllegalStateException if the queue was created with a different payload region overlap
+     */
+    static void validatePayloadRegionOverlap(final QueueFiles files,
+                                             final AccessMode accessMode,
+                                             final int payloadRegionOverlap) {
+        final boolean payloadFilesExist = files.payloadFilesExist(files.sharedPayloadFile());
+        final long recorded;
+        if (accessMode == AccessMode.READ_ONLY) {
+            recorded = recordedPayloadRegionOverlap(files.layoutFile());
+        } else {
+            try (final FixedMapping mapping = Mappings.fixedSizeMapping(files.layoutFile(), AccessMode.READ_WRITE, 0,
+                    LAYOUT_FILE_LENGTH)) {
+                final AtomicBuffer buffer = mapping.buffer();
+                buffer.compareAndSetLong(PAYLOAD_REGION_OVERLAP_OFFSET, 0,
+                        (payloadFilesExist ? 0 : payloadRegionOverlap) + 1);
+                recorded = buffer.getLongVolatile(PAYLOAD_REGION_OVERLAP_OFFSET) - 1;
+            }
+        }
+        final long overlap = recorded >= 0 ? recorded : payloadFilesExist ? 0 : payloadRegionOverlap;
+        if (overlap != payloadRegionOverlap) {
+            throw new IllegalStateException("Queue " + files.queueName() + " was created with payloadRegionOverlap=" +
+                    overlap + " but is opened with payloadRegionOverlap=" + payloadRegionOverlap);
+        }
+    }
+
+    private static long recordedPayloadRegionOverlap(final File layoutFile) {
+        if (layoutFile.length() < LAYOUT_FILE_LENGTH) {
+            return -1;
+        }
+        try (final FixedMapping mapping = Mappings.fixedSizeMapping(layoutFile, AccessMode.READ_ONLY, 0,
+                LAYOUT_FILE_LENGTH)) {
+            return mapping.buffer().getLongVolatile(PAYLOAD_REGION_OVERLAP_OFFSET) - 1;
+        }
+    }
+}
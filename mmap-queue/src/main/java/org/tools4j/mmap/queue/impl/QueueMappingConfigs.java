@@ -61,7 +61,7 @@ enum QueueMappingConfigs {
 
             @Override
             public boolean expandFile() {
-                return queueConfig.expandHeaderFile();
+                return queueConfig.expandHeaderFile() && !queueConfig.memoryOnly();
             }
 
             @Override
@@ -71,7 +71,7 @@ enum QueueMappingConfigs {
 
             @Override
             public boolean closeFiles() {
-                return closeHeaderFiles;
+                return closeHeaderFiles && !queueConfig.memoryOnly();
             }
 
             @Override
@@ -79,6 +79,16 @@ enum QueueMappingConfigs {
                 return queueConfig.headerFilesToCreateAhead();
             }
 
+            @Override
+            public boolean wholeFileMapping() {
+                return queueConfig.mapWholeHeaderFile();
+            }
+
+            @Override
+            public int regionOverlap() {
+                return 0;
+            }
+
             @Override
             public MappingStrategyConfig mappingStrategy() {
                 return mappingStrategy;
@@ -118,7 +128,7 @@ enum QueueMappingConfigs {
 
             @Override
             public boolean expandFile() {
-                return queueConfig.expandPayloadFiles();
+                return queueConfig.expandPayloadFiles() && !queueConfig.memoryOnly();
             }
 
             @Override
@@ -128,7 +138,7 @@ enum QueueMappingConfigs {
 
             @Override
             public boolean closeFiles() {
-                return closePayloadFiles;
+                return closePayloadFiles && !queueConfig.memoryOnly();
             }
 
             @Override
@@ -136,6 +146,16 @@ enum QueueMappingConfigs {
                 return queueConfig.payloadFilesToCreateAhead();
             }
 
+            @Override
+            public boolean wholeFileMapping() {
+                return queueConfig.mapWholePayloadFiles();
+            }
+
+            @Override
+            public int regionOverlap() {
+                return queueConfig.payloadRegionOverlap();
+            }
+
             @Override
             public MappingStrategyConfig mappingStrategy() {
                 return mappingStrategy;
@@ -145,7 +165,7 @@ enum QueueMappingConfigs {
             public MappingConfig toImmutableConfig() {
                 final QueueConfig immutableConfig = queueConfig.toImmutableQueueConfig();
                 return queueConfig == immutableConfig ? this
-                        : headerMappingConfig(immutableConfig, mappingStrategy, closePayloadFiles);
+                        : payloadMappingConfig(immutableConfig, mappingStrategy, closePayloadFiles);
             }
 
             @Override
@@ -39,7 +39,7 @@ import static org.tools4j.mmap.queue.impl.QueueMappingConfigs.headerMappingConfi
 import static org.tools4j.mmap.queue.impl.QueueMappingConfigs.payloadMappingConfig;
 
 /**
- * Header and payload mappings for pollers and readers of queues.
+ * Header, metadata and payload mappings for pollers and readers of queues.
  */
 interface ReaderMappings extends AutoCloseable {
     /**
@@ -53,6 +53,16 @@ interface ReaderMappings extends AutoCloseable {
      */
     ElasticMapping payload(int appenderId);
 
+    /**
+     * @return metadata region, or null if the queue header format has no metadata
+     */
+    ElasticMapping metadata();
+
+    /**
+     * @return the commit words of appending transactions
+     */
+    TransactionCommits commits();
+
     boolean isClosed();
 
     @Override
@@ -81,6 +91,10 @@ interface ReaderMappings extends AutoCloseable {
             final Int2ObjectHashMap<ElasticMapping> payloadMappings = new Int2ObjectHashMap<>();
             final IntFunction<ElasticMapping> payloadMappingFactory = appenderId -> Mappings.elasticMapping(
                 queueFiles.payloadFile(appenderId), AccessMode.READ_ONLY, payloadCfg);
+            final boolean sharedPayloadFile = queueFiles.sharedPayloadFile();
+            final TransactionCommits commits = TransactionCommits.forReader(queueFiles);
+            final ElasticMapping metadata = queueCfg.headerFormat().hasMetadata() ?
+                    Mappings.elasticMapping(queueFiles.metadataFile(), AccessMode.READ_ONLY, headerCfg) : null;
 
             @Override
             public ElasticMapping header() {
@@ -89,7 +103,17 @@ interface ReaderMappings extends AutoCloseable {
 
             @Override
             public ElasticMapping payload(final int appenderId) {
-                return payloadMappings.computeIfAbsent(appenderId, payloadMappingFactory);
+                return payloadMappings.computeIfAbsent(sharedPayloadFile ? 0 : appenderId, payloadMappingFactory);
+            }
+
+            @Override
+            public ElasticMapping metadata() {
+                return metadata;
+            }
+
+            @Override
+            public TransactionCommits commits() {
+                return commits;
             }
 
             @Override
@@ -101,6 +125,10 @@ interface ReaderMappings extends AutoCloseable {
             public void close() {
                 if (!isClosed()) {
                     header.close();
+                    if (metadata != null) {
+                        metadata.close();
+                    }
+                    commits.close();
                     payloadMappings.forEachInt((appenderId, mapping) -> mapping.close());
                     payloadMappings.clear();
                 }
@@ -0,0 +1,423 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tools4j.mmap.queue.api.Appender;
+import org.tools4j.mmap.queue.api.AppendingContext;
+import org.tools4j.mmap.queue.api.AppendingTransaction;
+import org.tools4j.mmap.queue.api.Index;
+
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+
+import static java.util.Objects.requireNonNull;
+import static org.tools4j.mmap.queue.impl.Exceptions.invalidIndexException;
+import static org.tools4j.mmap.queue.impl.RingLayout.ABORTED;
+import static org.tools4j.mmap.queue.impl.RingLayout.END_INDEX_OFFSET;
+import static org.tools4j.mmap.queue.impl.RingLayout.LENGTH_OFFSET;
+import static org.tools4j.mmap.queue.impl.RingLayout.SEQUENCE_OFFSET;
+import static org.tools4j.mmap.queue.impl.RingLayout.committedSequence;
+import static org.tools4j.mmap.queue.impl.RingLayout.writingSequence;
+
+/**
+ * Appender of a {@link RingQueueImpl};  the ring entry is claimed by atomically incrementing the end index when
+ * appending starts, and the entry data is coded directly into the payload area of the claimed slot.
+ */
+final class RingAppenderImpl implements Appender {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RingAppenderImpl.class);
+
+    private final String ringName;
+    private final AtomicBuffer ring;
+    private final RingLayout layout;
+    private final long claimTimeoutNanos;
+    private final AppendingContextImpl context;
+    private boolean closed;
+
+    RingAppenderImpl(final String ringName, final AtomicBuffer ring, final RingLayout layout,
+                     final long claimTimeoutNanos) {
+        this.ringName = requireNonNull(ringName);
+        this.ring = new UnsafeBuffer(ring);
+        this.layout = requireNonNull(layout);
+        this.claimTimeoutNanos = claimTimeoutNanos;
+        this.context = new AppendingContextImpl(this);
+    }
+
+    @Override
+    public long append(final byte[] bytes) {
+        return append(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public long append(final byte[] bytes, final int offset, final int length) {
+        try (final AppendingContext context = appending(length)) {
+            context.buffer().putBytes(0, bytes, offset, length);
+            return context.commit(length);
+        }
+    }
+
+    @Override
+    public long append(final ByteBuffer buffer) {
+        return append(buffer, buffer.remaining());
+    }
+
+    @Override
+    public long append(final ByteBuffer buffer, final int length) {
+        try (final AppendingContext context = appending(length)) {
+            context.buffer().putBytes(0, buffer, length);
+            return context.commit(length);
+        }
+    }
+
+    @Override
+    public long append(final ByteBuffer buffer, final int offset, final int length) {
+        try (final AppendingContext context = appending(length)) {
+            context.buffer().putBytes(0, buffer, offset, length);
+            return context.commit(length);
+        }
+    }
+
+    @Override
+    public long append(final DirectBuffer buffer, final int offset, final int length) {
+        try (final AppendingContext context = appending(length)) {
+            context.buffer().putBytes(0, buffer, offset, length);
+            return context.commit(length);
+        }
+    }
+
+    @Override
+    public AppendingContext appending(final int capacity) {
+        checkNotClosed();
+        return context.init(capacity);
+    }
+
+    /**
+     * Claims the ring entry at the expected index through a compare-and-set of the end index, hence the entry is
+     * appended only if no other appender has claimed the expected index first.
+     */
+    @Override
+    public boolean appendAt(final long expectedIndex, final byte[] bytes, final int offset, final int length) {
+        checkNotClosed();
+        if (!context.initAt(expectedIndex, length)) {
+            return false;
+        }
+        try (final AppendingContext context = this.context) {
+            context.buffer().putBytes(0, bytes, offset, length);
+            context.commit(length);
+            return true;
+        }
+    }
+
+    /**
+     * Claims the ring entry at the expected index through a compare-and-set of the end index, hence the entry is
+     * appended only if no other appender has claimed the expected index first.
+     */
+    @Override
+    public boolean appendAt(final long expectedIndex, final DirectBuffer buffer, final int offset, final int length) {
+        checkNotClosed();
+        if (!context.initAt(expectedIndex, length)) {
+            return false;
+        }
+        try (final AppendingContext context = this.context) {
+            context.buffer().putBytes(0, buffer, offset, length);
+            context.commit(length);
+            return true;
+        }
+    }
+
+    private UnsupportedOperationException conditionalAppendNotSupported() {
+        return new UnsupportedOperationException("Conditional appends are not supported by ring queue " + ringName);
+    }
+
+    @Override
+    public AppendingTransaction beginTransaction() {
+        throw new UnsupportedOperationException("Transactions are not supported by ring queue " + ringName);
+    }
+
+    /**
+     * Claims the next entry and marks its slot as being written, after waiting for the entry that previously occupied
+     * the slot to be committed in case the ring has wrapped around while that entry was still being written.
+     * <p>
+     * The wait is bounded by the claim timeout:  if the previous entry is still not committed when the timeout
+     * expires, its appender is presumed dead and the slot is taken over;  the previous entry is lost and pollers
+     * account for it as overwritten.
+     */
+    private long claim() {
+        final long index = ring.getAndAddLong(END_INDEX_OFFSET, 1);
+        claimSlot(index);
+        return index;
+    }
+
+    /**
+     * Claims the entry at the expected index if the ring currently ends at that index, and marks its slot as being
+     * written as in {@link #claim()}.
+     *
+     * @return true if the entry at the expected index was claimed, and false if the index is already taken or lies
+     *         beyond the end of the ring
+     */
+    private boolean claimAt(final long expectedIndex) {
+        if (!ring.compareAndSetLong(END_INDEX_OFFSET, expectedIndex, expectedIndex + 1)) {
+            return false;
+        }
+        claimSlot(expectedIndex);
+        return true;
+    }
+
+    private void claimSlot(final long index) {
+        final AtomicBuffer buf = ring;
+        final int slotHeader = layout.slotHeaderOffset(index);
+        final long previous = committedSequence(index - layout.slotCount());
+        long deadline = 0;
+        long sequence;
+        while ((sequence = buf.getLongVolatile(slotHeader + SEQUENCE_OFFSET)) < previous) {
+            final long time = System.nanoTime();
+            if (deadline == 0) {
+                deadline = time + claimTimeoutNanos;
+            } else if (time - deadline >= 0) {
+                LOGGER.warn("Taking over slot of ring {} for entry {} after timeout waiting for commit of entry {}",
+                        ringName, index, sequence >> 1);
+                break;
+            }
+            Thread.onSpinWait();
+        }
+        buf.putLongVolatile(slotHeader + SEQUENCE_OFFSET, writingSequence(index));
+        VarHandle.storeStoreFence();
+    }
+
+    /**
+     * Publishes the entry unless its slot was taken over by an appender of the next lap after the claim timeout.
+     *
+     * @return true if the entry was published, false if the slot was taken over and the entry is lost
+     */
+    private boolean publish(final long index, final int length) {
+        final int slotHeader = layout.slotHeaderOffset(index);
+        final long writing = writingSequence(index);
+        if (ring.getLongVolatile(slotHeader + SEQUENCE_OFFSET) == writing) {
+            ring.putInt(slotHeader + LENGTH_OFFSET, length);
+            if (ring.compareAndSetLong(slotHeader + SEQUENCE_OFFSET, writing, committedSequence(index))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private IllegalStateException entryLost(final long index) {
+        return new IllegalStateException("Entry " + index + " of ring " + ringName +
+                " was lost since its slot was taken over after claim timeout");
+    }
+
+    private void checkNotClosed() {
+        if (isClosed()) {
+            throw new IllegalStateException("Appender " + appenderName() + " is closed");
+        }
+    }
+
+    /**
+     * @return -1 as ring queues record no appender IDs
+     */
+    @Override
+    public int appenderId() {
+        return -1;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        if (!isClosed()) {
+            context.close();
+            closed = true;
+            LOGGER.info("Appender closed: {}", appenderName());
+        }
+    }
+
+    private static final class AppendingContextImpl implements AppendingContext {
+        final RingAppenderImpl appender;
+        final int maxEntryLength;
+        final MutableDirectBuffer buffer = new UnsafeBuffer(0, 0);
+        long index = -1;
+        int maxLength = -1;
+
+        AppendingContextImpl(final RingAppenderImpl appender) {
+            this.appender = requireNonNull(appender);
+            this.maxEntryLength = appender.layout.maxEntryLength();
+        }
+
+        private void validateCapacity(final int capacity) {
+            if (capacity > maxEntryLength) {
+                throw new IllegalArgumentException("Capacity " + capacity + " exceeds maximum allowed entry size " +
+                        maxEntryLength);
+            }
+        }
+
+        AppendingContext init(final int capacity) {
+            checkClosed();
+            validateCapacity(capacity);
+            wrap(appender.claim(), capacity);
+            return this;
+        }
+
+        /**
+         * Initialises the context for the entry at the expected index if it can be claimed.
+         *
+         * @return true if the entry at the expected index was claimed and the context is initialised, and false if
+         *         the index is already taken or lies beyond the end of the ring
+         */
+        boolean initAt(final long expectedIndex, final int capacity) {
+            checkClosed();
+            validateCapacity(capacity);
+            if (expectedIndex < 0 || expectedIndex > Index.MAX) {
+                throw invalidIndexException(appender.appenderName(), expectedIndex);
+            }
+            if (!appender.claimAt(expectedIndex)) {
+                return false;
+            }
+            wrap(expectedIndex, capacity);
+            return true;
+        }
+
+        private void checkClosed() {
+            if (!isClosed()) {
+                abort();
+                throw new IllegalStateException("Appending context has not been closed");
+            }
+        }
+
+        private void wrap(final long index, final int capacity) {
+            this.index = index;
+            this.maxLength = Math.max(0, capacity);
+            buffer.wrap(appender.ring, appender.layout.payloadOffset(index), maxLength);
+        }
+
+        @Override
+        public void ensureCapacity(final int capacity) {
+            final int max = maxLength;
+            if (max < 0) {
+                throw new IllegalStateException("Appending context is closed");
+            }
+            if (capacity <= max) {
+                return;
+            }
+            validateCapacity(capacity);
+            buffer.wrap(appender.ring, appender.layout.payloadOffset(index), capacity);
+            maxLength = capacity;
+        }
+
+        @Override
+        public MutableDirectBuffer buffer() {
+            return buffer;
+        }
+
+        @Override
+        public void abort() {
+            if (maxLength >= 0) {
+                maxLength = -1;
+                buffer.wrap(0, 0);
+                appender.publish(index, ABORTED);
+            }
+        }
+
+        /**
+         * Publishes the entry in its claimed slot.
+         *
+         * @throws IllegalStateException also if the slot was taken over by an appender of the next lap after the claim
+         *                               timeout, in which case the entry is lost
+         */
+        @Override
+        public long commit(final int length) {
+            final int max = maxLength;
+            if (max < 0) {
+                throw new IllegalStateException("Appending context is closed");
+            }
+            if (length < 0 || length > max) {
+                abort();
+                throw new IllegalArgumentException("Length " + length + " is negative or exceeds max length " + max);
+            }
+            maxLength = -1;
+            buffer.wrap(0, 0);
+            if (!appender.publish(index, length)) {
+                throw appender.entryLost(index);
+            }
+            return index;
+        }
+
+        /**
+         * Ring queues record no entry metadata, hence the message type is ignored.
+         */
+        @Override
+        public long commit(final int length, final int messageType) {
+            return commit(length);
+        }
+
+        /**
+         * Not supported since the ring slot is claimed when the context is initialised;  aborts the context.  Use
+         * {@link RingAppenderImpl#appendAt(long, DirectBuffer, int, int) appendAt(..)} instead, which claims the slot
+         * at the expected index up front.
+         */
+        @Override
+        public boolean commitAt(final long expectedIndex, final int length) {
+            abort();
+            throw appender.conditionalAppendNotSupported();
+        }
+
+        /**
+         * Not supported, see {@link #commitAt(long, int)};  aborts the context.
+         */
+        @Override
+        public boolean commitAt(final long expectedIndex, final int length, final int messageType) {
+            abort();
+            throw appender.conditionalAppendNotSupported();
+        }
+
+        @Override
+        public boolean isClosed() {
+            return maxLength < 0;
+        }
+
+        @Override
+        public String toString() {
+            return "AppendingContextImpl" +
+                    ":ring=" + appender.ringName +
+                    "|index=" + index +
+                    "|closed=" + isClosed();
+        }
+    }
+
+    String appenderName() {
+        return ringName + ".appender-" + System.identityHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return "RingAppenderImpl:ring=" + ringName + "|closed=" + closed;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.agrona.BitUtil;
+
+import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
+
+/**
+ * Layout of the ring file of a {@link RingQueueImpl}:
+ * <pre>
+ *     [slot count][max entry length]...    first cache line
+ *     [end index]...                       second cache line, the index of the next entry to claim
+ *     [sequence][length]                   slot headers, 16 bytes per slot
+ *     ...
+ *     [payload]                            slot payload areas, max entry length (aligned to 8 bytes) per slot
+ *     ...
+ * </pre>
+ * The sequence tag of a slot is {@code 2*index + 1} while the entry for index is being written, and
+ * {@code 2*index + 2} when it has been committed.
+ */
+final class RingLayout {
+    static final int SLOT_COUNT_OFFSET = 0;
+    static final int MAX_ENTRY_LENGTH_OFFSET = Long.BYTES;
+    static final int END_INDEX_OFFSET = CACHE_LINE_LENGTH;
+    static final int SLOT_HEADERS_OFFSET = 2 * CACHE_LINE_LENGTH;
+    static final int SLOT_HEADER_LENGTH = 2 * Long.BYTES;
+    static final int SEQUENCE_OFFSET = 0;
+    static final int LENGTH_OFFSET = Long.BYTES;
+    /** Length value stored for an entry that was claimed but aborted by the appender */
+    static final int ABORTED = -1;
+
+    private final int slotCount;
+    private final int slotMask;
+    private final int maxEntryLength;
+    private final int payloadSlotLength;
+    private final int payloadsOffset;
+
+    RingLayout(final int slotCount, final int maxEntryLength) {
+        this.slotCount = slotCount;
+        this.slotMask = slotCount - 1;
+        this.maxEntryLength = maxEntryLength;
+        this.payloadSlotLength = BitUtil.align(maxEntryLength, Long.BYTES);
+        this.payloadsOffset = SLOT_HEADERS_OFFSET + slotCount * SLOT_HEADER_LENGTH;
+    }
+
+    static long ringLength(final int slotCount, final int maxEntryLength) {
+        return SLOT_HEADERS_OFFSET + slotCount * (SLOT_HEADER_LENGTH + (long)BitUtil.align(maxEntryLength, Long.BYTES));
+    }
+
+    static long writingSequence(final long index) {
+        return 2 * index + 1;
+    }
+
+    static long committedSequence(final long index) {
+        return 2 * index + 2;
+    }
+
+    int slotCount() {
+        return slotCount;
+    }
+
+    int maxEntryLength() {
+        return maxEntryLength;
+    }
+
+    long ringLength() {
+        return ringLength(slotCount, maxEntryLength);
+    }
+
+    int slotHeaderOffset(final long index) {
+        return SLOT_HEADERS_OFFSET + (int)(index & slotMask) * SLOT_HEADER_LENGTH;
+    }
+
+    int payloadOffset(final long index) {
+        return payloadsOffset + (int)(index & slotMask) * payloadSlotLength;
+    }
+
+    /**
+     * @return the index of the oldest entry that has not been overwritten, given the index of the next entry to claim
+     */
+    long startIndex(final long endIndex) {
+        return Math.max(0, endIndex - slotCount);
+    }
+
+    @Override
+    public String toString() {
+        return "RingLayout:slotCount=" + slotCount + "|maxEntryLength=" + maxEntryLength;
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tools4j.mmap.queue.api.EntryHandler;
+import org.tools4j.mmap.queue.api.RingPoller;
+
+import java.lang.invoke.VarHandle;
+
+import static java.util.Objects.requireNonNull;
+import static org.tools4j.mmap.queue.api.Poller.CLOSED;
+import static org.tools4j.mmap.queue.api.Poller.CURSOR_MOVED;
+import static org.tools4j.mmap.queue.api.Poller.ENTRY_POLLED;
+import static org.tools4j.mmap.queue.api.Poller.PENDING_NEXT;
+import static org.tools4j.mmap.queue.impl.RingLayout.ABORTED;
+import static org.tools4j.mmap.queue.impl.RingLayout.END_INDEX_OFFSET;
+import static org.tools4j.mmap.queue.impl.RingLayout.LENGTH_OFFSET;
+import static org.tools4j.mmap.queue.impl.RingLayout.SEQUENCE_OFFSET;
+import static org.tools4j.mmap.queue.impl.RingLayout.committedSequence;
+
+/**
+ * Poller of a {@link RingQueueImpl} that copies entries into a private buffer and validates the slot sequence tag
+ * before passing the copy to the entry handler.
+ */
+final class RingPollerImpl implements RingPoller {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RingPollerImpl.class);
+
+    private final String ringName;
+    private final AtomicBuffer ring;
+    private final RingLayout layout;
+    private final UnsafeBuffer copy;
+    private long nextIndex;
+    private long lostEntries;
+    private boolean closed;
+
+    RingPollerImpl(final String ringName, final AtomicBuffer ring, final RingLayout layout) {
+        this.ringName = requireNonNull(ringName);
+        this.ring = new UnsafeBuffer(ring);
+        this.layout = requireNonNull(layout);
+        this.copy = new UnsafeBuffer(new byte[layout.maxEntryLength()]);
+        seekStart();
+    }
+
+    @Override
+    public int poll(final EntryHandler entryHandler) {
+        if (closed) {
+            return CLOSED;
+        }
+        final AtomicBuffer buf = ring;
+        final long index = nextIndex;
+        final int slotHeader = layout.slotHeaderOffset(index);
+        final long expected = committedSequence(index);
+        final long sequence = buf.getLongVolatile(slotHeader + SEQUENCE_OFFSET);
+        if (sequence < expected) {
+            if ((sequence & 1) == 0 || index >= layout.startIndex(buf.getLongVolatile(END_INDEX_OFFSET))) {
+                return PENDING_NEXT;
+            }
+            //the slot is still being written but a full lap has been claimed since:  the appender is presumed dead
+            //and the entry will be overwritten, hence it is skipped below
+        } else if (sequence == expected) {
+            final int length = buf.getInt(slotHeader + LENGTH_OFFSET);
+            if (length >= 0 && length <= copy.capacity()) {
+                buf.getBytes(layout.payloadOffset(index), copy, 0, length);
+            }
+            VarHandle.loadLoadFence();
+            if (buf.getLongVolatile(slotHeader + SEQUENCE_OFFSET) == expected) {
+                nextIndex = index + 1;
+                if (length == ABORTED) {
+                    return CURSOR_MOVED;
+                }
+                handleEntry(entryHandler, index, length);
+                return ENTRY_POLLED;
+            }
+        }
+        //overrun: the slot has been overwritten by a later entry
+        final long startIndex = layout.startIndex(buf.getLongVolatile(END_INDEX_OFFSET));
+        final long next = Math.max(index + 1, startIndex);
+        lostEntries += next - index;
+        nextIndex = next;
+        return CURSOR_MOVED;
+    }
+
+    private void handleEntry(final EntryHandler entryHandler, final long index, final int length) {
+        try {
+            entryHandler.onEntry(index, copy, 0, length);
+        } catch (final Exception e) {
+            LOGGER.error("Unexpected exception thrown by entry handler for message entry {} of ring {}", index,
+                    ringName, e);
+        }
+    }
+
+    @Override
+    public long nextIndex() {
+        return nextIndex;
+    }
+
+    @Override
+    public long lostEntries() {
+        return lostEntries;
+    }
+
+    @Override
+    public void seekStart() {
+        checkNotClosed();
+        nextIndex = layout.startIndex(ring.getLongVolatile(END_INDEX_OFFSET));
+    }
+
+    @Override
+    public void seekEnd() {
+        checkNotClosed();
+        nextIndex = ring.getLongVolatile(END_INDEX_OFFSET);
+    }
+
+    private void checkNotClosed() {
+        if (isClosed()) {
+            throw new IllegalStateException("Poller " + pollerName() + " is closed");
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        if (!isClosed()) {
+            closed = true;
+            LOGGER.info("Poller closed: {}", pollerName());
+        }
+    }
+
+    private String pollerName() {
+        return ringName + ".poller-" + System.identityHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return "RingPollerImpl:ring=" + ringName + "|nextIndex=" + nextIndex + "|lostEntries=" + lostEntries +
+                "|closed=" + isClosed();
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.AtomicBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tools4j.mmap.queue.api.Appender;
+import org.tools4j.mmap.queue.api.RingPoller;
+import org.tools4j.mmap.queue.api.RingQueue;
+import org.tools4j.mmap.region.api.AccessMode;
+import org.tools4j.mmap.region.api.FixedMapping;
+import org.tools4j.mmap.region.api.Mappings;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.tools4j.mmap.queue.config.QueueConfigurations.defaultRingClaimTimeoutMillis;
+import static org.tools4j.mmap.queue.impl.QueueFiles.FILE_ENDING;
+import static org.tools4j.mmap.queue.impl.RingLayout.ABORTED;
+import static org.tools4j.mmap.queue.impl.RingLayout.END_INDEX_OFFSET;
+import static org.tools4j.mmap.queue.impl.RingLayout.LENGTH_OFFSET;
+import static org.tools4j.mmap.queue.impl.RingLayout.MAX_ENTRY_LENGTH_OFFSET;
+import static org.tools4j.mmap.queue.impl.RingLayout.SEQUENCE_OFFSET;
+import static org.tools4j.mmap.queue.impl.RingLayout.SLOT_COUNT_OFFSET;
+import static org.tools4j.mmap.queue.impl.RingLayout.committedSequence;
+import static org.tools4j.mmap.region.impl.Constraints.validateRingClaimTimeoutMillis;
+import static org.tools4j.mmap.region.impl.Constraints.validateRingMaxEntryLength;
+import static org.tools4j.mmap.region.impl.Constraints.validateRingSlotCount;
+
+/**
+ * Implementation of {@link RingQueue} with a single fixed-size mapping of the ring file shared by all appenders and
+ * pollers created through this ring instance.
+ */
+public final class RingQueueImpl implements RingQueue {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RingQueueImpl.class);
+
+    private final String name;
+    private final FixedMapping mapping;
+    private final RingLayout layout;
+    private final long claimTimeoutNanos;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final java.util.Queue<AutoCloseable> closeables = new ConcurrentLinkedQueue<>();
+
+    public RingQueueImpl(final File directory, final int slotCount, final int maxEntryLength) {
+        this(directory, slotCount, maxEntryLength, defaultRingClaimTimeoutMillis());
+    }
+
+    /**
+     * Opens or creates a ring.
+     *
+     * @param directory             the ring directory, created if it does not exist
+     * @param slotCount             the number of slots of a new ring
+     * @param maxEntryLength        the maximum entry length of a new ring
+     * @param claimTimeoutMillis    the maximum time an appender waits for the entry previously occupying a slot to be
+     *                              committed before it takes over the slot, presuming the previous appender is dead
+     */
+    public RingQueueImpl(final File directory, final int slotCount, final int maxEntryLength,
+                         final int claimTimeoutMillis) {
+        validateRingSlotCount(slotCount);
+        validateRingMaxEntryLength(maxEntryLength);
+        validateRingClaimTimeoutMillis(claimTimeoutMillis);
+        this.claimTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(claimTimeoutMillis);
+        this.name = directory.getName();
+        if (!directory.exists() && !directory.mkdir()) {
+            throw new IllegalArgumentException("Parent directory does not exist: " + directory);
+        }
+        final File file = new File(directory, name + "_ring" + FILE_ENDING);
+        final long length = file.length() > 0 ? file.length() : RingLayout.ringLength(slotCount, maxEntryLength);
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Ring length " + length + " for slot count " + slotCount +
+                    " and max entry length " + maxEntryLength + " exceeds max mapping size " + Integer.MAX_VALUE);
+        }
+        //NOTE: the fixed size mapping pre-touches all pages of the ring
+        this.mapping = Mappings.fixedSizeMapping(file, AccessMode.READ_WRITE, 0, (int)length);
+        this.layout = initLayout(mapping.buffer(), slotCount, maxEntryLength);
+        if (layout.ringLength() > length) {
+            mapping.close();
+            throw new IllegalStateException("Ring file " + file + " with length " + length + " is too small for " +
+                    layout);
+        }
+        final int repaired = abortStaleSlots(mapping.buffer(), layout);
+        if (repaired > 0) {
+            LOGGER.warn("Aborted {} entries of ring {} left behind by dead appenders", repaired, name);
+        }
+        LOGGER.info("Opened ring {}: {}", name, layout);
+    }
+
+    private static RingLayout initLayout(final AtomicBuffer buffer, final int slotCount, final int maxEntryLength) {
+        //NOTE: first opener wins, the max entry length is set first so it is valid whenever slot count is non-zero
+        buffer.compareAndSetLong(MAX_ENTRY_LENGTH_OFFSET, 0, maxEntryLength);
+        buffer.compareAndSetLong(SLOT_COUNT_OFFSET, 0, slotCount);
+        return new RingLayout(
+                (int)buffer.getLongVolatile(SLOT_COUNT_OFFSET),
+                (int)buffer.getLongVolatile(MAX_ENTRY_LENGTH_OFFSET)
+        );
+    }
+
+    /**
+     * Aborts entries whose slots are still marked as being written although a full lap of later entries has been
+     * claimed since;  such entries were left behind by dead appenders, and appenders of the next lap would otherwise
+     * wait for them until the claim timeout expires.
+     *
+     * @return the number of aborted entries
+     */
+    private static int abortStaleSlots(final AtomicBuffer buffer, final RingLayout layout) {
+        final long startIndex = layout.startIndex(buffer.getLongVolatile(END_INDEX_OFFSET));
+        int aborted = 0;
+        for (int slot = 0; slot < layout.slotCount(); slot++) {
+            final int slotHeader = layout.slotHeaderOffset(slot);
+            final long sequence = buffer.getLongVolatile(slotHeader + SEQUENCE_OFFSET);
+            final long index = sequence >> 1;
+            if ((sequence & 1) != 0 && index < startIndex) {
+                buffer.putInt(slotHeader + LENGTH_OFFSET, ABORTED);
+                if (buffer.compareAndSetLong(slotHeader + SEQUENCE_OFFSET, sequence, committedSequence(index))) {
+                    aborted++;
+                }
+            }
+        }
+        return aborted;
+    }
+
+    private <T extends AutoCloseable> T open(final T closeable) {
+        closeables.add(closeable);
+        return closeable;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public int slotCount() {
+        return layout.slotCount();
+    }
+
+    @Override
+    public int maxEntryLength() {
+        return layout.maxEntryLength();
+    }
+
+    @Override
+    public long endIndex() {
+        checkNotClosed();
+        return mapping.buffer().getLongVolatile(END_INDEX_OFFSET);
+    }
+
+    @Override
+    public Appender createAppender() {
+        checkNotClosed();
+        return open(new RingAppenderImpl(name, mapping.buffer(), layout, claimTimeoutNanos));
+    }
+
+    @Override
+    public RingPoller createPoller() {
+        checkNotClosed();
+        return open(new RingPollerImpl(name, mapping.buffer(), layout));
+    }
+
+    private void checkNotClosed() {
+        if (isClosed()) {
+            throw new IllegalStateException("Ring is closed: " + name);
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            CloseHelper.quietCloseAll(closeables);
+            closeables.clear();
+            mapping.close();
+            LOGGER.info("Closed ring: {}", name);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RingQueueImpl" +
+                ":ring=" + name +
+                "|slotCount=" + layout.slotCount() +
+                "|maxEntryLength=" + layout.maxEntryLength() +
+                "|closed=" + isClosed();
+    }
+}
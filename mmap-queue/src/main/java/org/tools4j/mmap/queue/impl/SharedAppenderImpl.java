@@ -0,0 +1,605 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.EpochNanoClock;
+import org.agrona.concurrent.SystemEpochNanoClock;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tools4j.mmap.queue.api.Appender;
+import org.tools4j.mmap.queue.api.AppendingContext;
+import org.tools4j.mmap.queue.api.AppendingTransaction;
+import org.tools4j.mmap.queue.api.EntryMetadata;
+import org.tools4j.mmap.queue.api.Index;
+import org.tools4j.mmap.region.api.ElasticMapping;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+import static org.tools4j.mmap.queue.impl.Exceptions.headerMoveException;
+import static org.tools4j.mmap.queue.impl.Exceptions.invalidIndexException;
+import static org.tools4j.mmap.queue.impl.Exceptions.metadataMoveException;
+import static org.tools4j.mmap.queue.impl.Exceptions.payloadMoveException;
+import static org.tools4j.mmap.queue.impl.Exceptions.payloadPositionExceedsMaxException;
+import static org.tools4j.mmap.queue.impl.Headers.MAX_PAYLOAD_POSITION;
+import static org.tools4j.mmap.queue.impl.Headers.NULL_HEADER;
+
+/**
+ * Appender that can be used concurrently by many threads, all appending entries with the same appender ID to the
+ * same payload file.  Payload space is reserved through a fetch-add on the shared payload position, and entry headers
+ * are published with a compare-and-set of the next free header slot as in {@link AppenderImpl}.
+ * <p>
+ * Every append borrows a lane with its own header and payload mappings from a pool and returns it when the entry is
+ * committed or aborted.  Lanes are created on demand, hence their number is bounded by the number of threads
+ * appending at the same time and not by the number of threads using the appender.
+ */
+final class SharedAppenderImpl implements Appender {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedAppenderImpl.class);
+
+    static final int MAX_LANES = 256;
+
+    private final String queueName;
+    private final int appenderId;
+    private final Supplier<? extends AppenderMappings> laneMappingsFactory;
+    private final boolean enableCopyFromPreviousRegion;
+    private final int regionSize;
+    private final PayloadAllocator payloadAllocator;
+    private final AtomicLong endIndex = new AtomicLong();
+    private final AtomicInteger laneCount = new AtomicInteger();
+    private final AtomicReferenceArray<Lane> lanes = new AtomicReferenceArray<>(MAX_LANES);
+    private final AtomicReferenceArray<Lane> idleLanes = new AtomicReferenceArray<>(MAX_LANES);
+    private volatile boolean closed;
+
+    /**
+     * Constructor for shared appender.
+     *
+     * @param queueName                     the queue name
+     * @param mappings                      the mappings owning the appender ID, used for the first lane
+     * @param laneMappingsFactory           factory for mappings of additional lanes sharing the appender ID
+     * @param enableCopyFromPreviousRegion  true if the region cache is large enough to copy data from the previous
+     *                                      region when extending the capacity of an entry
+     */
+    public SharedAppenderImpl(final String queueName,
+                              final AppenderMappings mappings,
+                              final Supplier<? extends AppenderMappings> laneMappingsFactory,
+                              final boolean enableCopyFromPreviousRegion) {
+        this.queueName = requireNonNull(queueName);
+        this.appenderId = mappings.appenderId();
+        this.laneMappingsFactory = requireNonNull(laneMappingsFactory);
+        this.enableCopyFromPreviousRegion = enableCopyFromPreviousRegion;
+        this.regionSize = mappings.payload().regionSize();
+        final long payloadPosition = initialMoveToEnd(mappings);
+        this.payloadAllocator = mappings.payloadAllocator() != null ? mappings.payloadAllocator() :
+                PayloadAllocator.local(payloadPosition);
+        laneCount.set(1);
+        idleLanes.set(0, newLane(0, mappings));
+    }
+
+    /**
+     * Linear move to end while also finding the own header with the highest payload position.
+     *
+     * @return the payload position following the last entry of this appender
+     */
+    private long initialMoveToEnd(final AppenderMappings mappings) {
+        final ElasticMapping hdr = mappings.header();
+        final TransactionCommits commits = mappings.commits();
+        final long lastCommitted = commits.lastCommittedIndex(appenderId);
+        long endIndex = Index.FIRST;
+        long firstPending = Index.NULL;
+        long lastOwnHeader = NULL_HEADER;
+        long header;
+        while ((header = Headers.moveAndGetHeader(hdr, endIndex)) != NULL_HEADER) {
+            if (Headers.appenderId(header) == appenderId && !Headers.isAbortedHeader(header)) {
+                if (Headers.isTransactionHeader(header) && endIndex > lastCommitted) {
+                    //transaction entry orphaned by a previous owner of our appender ID
+                    if (firstPending == Index.NULL) {
+                        firstPending = endIndex;
+                    }
+                } else if (lastOwnHeader == NULL_HEADER ||
+                        Headers.payloadPosition(header) > Headers.payloadPosition(lastOwnHeader)) {
+                    lastOwnHeader = header;
+                }
+            }
+            endIndex++;
+        }
+        checkIndexNotExceedingMax(endIndex);
+        if (firstPending != Index.NULL) {
+            final int aborted = Headers.abortPendingTransactionHeaders(hdr, commits, appenderId, firstPending,
+                    endIndex);
+            LOGGER.warn("Aborted {} entries of incomplete transaction of appender {}", aborted, appenderName());
+            if (!Headers.moveToHeaderIndex(hdr, endIndex)) {
+                throw headerMoveException(this, Headers.headerPositionForIndex(endIndex));
+            }
+        }
+        this.endIndex.set(endIndex);
+        if (lastOwnHeader == NULL_HEADER) {
+            return 0L;
+        }
+        final ElasticMapping pld = mappings.payload();
+        final long position = Headers.payloadPosition(lastOwnHeader);
+        if (!pld.moveTo(position)) {
+            throw payloadMoveException(this, position);
+        }
+        return Headers.nextPayloadPosition(position, pld.buffer().getInt(0) + Integer.BYTES);
+    }
+
+    private Lane newLane(final int laneId, final AppenderMappings mappings) {
+        final Lane lane = new Lane(this, laneId, mappings);
+        lanes.set(laneId, lane);
+        return lane;
+    }
+
+    private void checkIndexNotExceedingMax(final long index) {
+        if (index > Index.MAX) {
+            throw new IllegalStateException("Max index " + Index.MAX + " exceeded for queue " + queueName);
+        }
+    }
+
+    private void checkNotClosed() {
+        if (isClosed()) {
+            throw new IllegalStateException("Appender " + appenderName() + " is closed");
+        }
+    }
+
+    /**
+     * Takes an idle lane, starting the search at a position derived from the current thread to spread threads across
+     * lanes, or creates a new lane if all lanes are busy.  Spins only if all {@link #MAX_LANES} lanes are busy.
+     */
+    private Lane acquireLane() {
+        final AtomicReferenceArray<Lane> idle = idleLanes;
+        final int start = Thread.currentThread().hashCode() & Integer.MAX_VALUE;
+        while (true) {
+            final int count = laneCount.get();
+            for (int i = 0; i < count; i++) {
+                final int laneId = (start + i) % count;
+                final Lane lane = idle.get(laneId);
+                if (lane != null && idle.compareAndSet(laneId, lane, null)) {
+                    return lane;
+                }
+            }
+            if (count < MAX_LANES && laneCount.compareAndSet(count, count + 1)) {
+                return newLane(count, laneMappingsFactory.get());
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private void releaseLane(final Lane lane) {
+        idleLanes.lazySet(lane.laneId, lane);
+    }
+
+    /**
+     * Reserves payload space for an entry from the payload allocator, which is shared with other appenders if the queue
+     * uses a shared payload file.
+     */
+    private long reservePayload(final int payloadBytes) {
+        final long position = payloadAllocator.allocate(payloadBytes, regionSize);
+        if (position > MAX_PAYLOAD_POSITION) {
+            throw payloadPositionExceedsMaxException(this, position);
+        }
+        return position;
+    }
+
+    private long appendHeader(final Lane lane, final long headerValue) {
+        final ElasticMapping hdr = lane.header;
+        final AtomicBuffer buf = hdr.buffer();
+        long index = lane.endIndex;
+        final long sharedEndIndex = endIndex.get();
+        if (sharedEndIndex > index) {
+            index = sharedEndIndex;
+            checkIndexNotExceedingMax(index);
+            if (!Headers.moveToHeaderIndex(hdr, index)) {
+                throw headerMoveException(this, Headers.headerPositionForIndex(index));
+            }
+        }
+        checkIndexNotExceedingMax(index);
+        while (!buf.compareAndSetLong(0, NULL_HEADER, headerValue)) {
+            do {
+                index++;
+                checkIndexNotExceedingMax(index);
+                if (!Headers.moveToHeaderIndex(hdr, index)) {
+                    throw headerMoveException(this, Headers.headerPositionForIndex(index));
+                }
+            } while (buf.getLongVolatile(0) != NULL_HEADER);
+        }
+        moveToNextIndex(lane, index);
+        return index;
+    }
+
+    /**
+     * Appends the header at exactly the expected index through the same header slot CAS as
+     * {@link #appendHeader(Lane, long)}, but without moving on to the next index if the slot is taken.
+     *
+     * @return true if the header was appended at the expected index, and false if the index is already taken or lies
+     *         beyond the end of the queue
+     */
+    private boolean appendHeaderAt(final Lane lane, final long expectedIndex, final long headerValue) {
+        final ElasticMapping hdr = lane.header;
+        final long index = lane.endIndex;
+        if (expectedIndex < Math.max(index, endIndex.get())) {
+            return false;
+        }
+        final boolean appended;
+        if (expectedIndex == index) {
+            appended = hdr.buffer().compareAndSetLong(0, NULL_HEADER, headerValue);
+        } else {
+            appended = Headers.moveAndGetHeader(hdr, expectedIndex - 1) != NULL_HEADER &&
+                    Headers.moveToHeaderIndex(hdr, expectedIndex) &&
+                    hdr.buffer().compareAndSetLong(0, NULL_HEADER, headerValue);
+            if (!appended && !Headers.moveToHeaderIndex(hdr, index)) {
+                throw headerMoveException(this, Headers.headerPositionForIndex(index));
+            }
+        }
+        if (appended) {
+            moveToNextIndex(lane, expectedIndex);
+        }
+        return appended;
+    }
+
+    private void moveToNextIndex(final Lane lane, final long index) {
+        final long nextIndex = index + 1;
+        lane.endIndex = nextIndex;//NOTE: may exceed MAX, but we check when appending (see above)
+        if (nextIndex <= Index.MAX) {
+            if (!Headers.moveToHeaderIndex(lane.header, nextIndex)) {
+                throw headerMoveException(this, Headers.headerPositionForIndex(nextIndex));
+            }
+        }
+        long current;
+        while ((current = endIndex.get()) < nextIndex && !endIndex.compareAndSet(current, nextIndex)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public long append(final byte[] bytes) {
+        return append(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public long append(final byte[] bytes, final int offset, final int length) {
+        try (final AppendingContext context = appending(length)) {
+            context.buffer().putBytes(0, bytes, offset, length);
+            return context.commit(length);
+        }
+    }
+
+    @Override
+    public long append(final ByteBuffer buffer) {
+        return append(buffer, buffer.remaining());
+    }
+
+    @Override
+    public long append(final ByteBuffer buffer, final int length) {
+        try (final AppendingContext context = appending(length)) {
+            context.buffer().putBytes(0, buffer, length);
+            return context.commit(length);
+        }
+    }
+
+    @Override
+    public long append(final ByteBuffer buffer, final int offset, final int length) {
+        try (final AppendingContext context = appending(length)) {
+            context.buffer().putBytes(0, buffer, offset, length);
+            return context.commit(length);
+        }
+    }
+
+    @Override
+    public long append(final DirectBuffer buffer, final int offset, final int length) {
+        try (final AppendingContext context = appending(length)) {
+            context.buffer().putBytes(0, buffer, offset, length);
+            return context.commit(length);
+        }
+    }
+
+    /**
+     * Appends the entry if the header slot at the expected index is still free;  the payload space reserved for the
+     * entry is not reused if the entry is not appended.
+     */
+    @Override
+    public boolean appendAt(final long expectedIndex, final byte[] bytes, final int offset, final int length) {
+        try (final AppendingContext context = appending(length)) {
+            context.buffer().putBytes(0, bytes, offset, length);
+            return context.commitAt(expectedIndex, length);
+        }
+    }
+
+    /**
+     * Appends the entry if the header slot at the expected index is still free;  the payload space reserved for the
+     * entry is not reused if the entry is not appended.
+     */
+    @Override
+    public boolean appendAt(final long expectedIndex, final DirectBuffer buffer, final int offset, final int length) {
+        try (final AppendingContext context = appending(length)) {
+            context.buffer().putBytes(0, buffer, offset, length);
+            return context.commitAt(expectedIndex, length);
+        }
+    }
+
+    /**
+     * Returns an appending context owned by the calling thread;  the context must be committed or aborted by the same
+     * thread.
+     */
+    @Override
+    public AppendingContext appending(final int capacity) {
+        checkNotClosed();
+        final Lane lane = acquireLane();
+        try {
+            return lane.init(capacity);
+        } catch (final RuntimeException e) {
+            lane.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public AppendingTransaction beginTransaction() {
+        throw new UnsupportedOperationException("Transactions are not supported by shared appender " +
+                appenderName());
+    }
+
+    @Override
+    public int appenderId() {
+        return appenderId;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes the appender;  must not be invoked while other threads are still appending.
+     */
+    @Override
+    public void close() {
+        if (!isClosed()) {
+            closed = true;
+            for (int laneId = laneCount.get() - 1; laneId >= 0; laneId--) {
+                final Lane lane = lanes.get(laneId);
+                if (lane != null) {
+                    lane.mappings.close();
+                }
+            }
+            LOGGER.info("Shared appender closed: {}", appenderName());
+        }
+    }
+
+    private static final class Lane implements AppendingContext {
+        final SharedAppenderImpl appender;
+        final int laneId;
+        final AppenderMappings mappings;
+        final ElasticMapping header;
+        final ElasticMapping payload;
+        final ElasticMapping metadata;
+        final boolean checksum;
+        final EpochNanoClock clock = new SystemEpochNanoClock();
+        final int maxEntrySize;
+        final MutableDirectBuffer buffer = new UnsafeBuffer(0, 0);
+        volatile Thread owner;
+        long endIndex;
+        int maxLength = -1;
+
+        Lane(final SharedAppenderImpl appender, final int laneId, final AppenderMappings mappings) {
+            this.appender = requireNonNull(appender);
+            this.laneId = laneId;
+            this.mappings = requireNonNull(mappings);
+            this.header = requireNonNull(mappings.header());
+            this.payload = requireNonNull(mappings.payload());
+            this.metadata = mappings.metadata();
+            this.checksum = mappings.headerFormat().hasChecksum();
+            this.maxEntrySize = payload.regionSize() - Integer.BYTES;
+            this.endIndex = appender.endIndex.get();
+            if (endIndex <= Index.MAX && !Headers.moveToHeaderIndex(header, endIndex)) {
+                throw headerMoveException(appender, Headers.headerPositionForIndex(endIndex));
+            }
+            if (metadata != null && endIndex <= Index.MAX && !MetadataRecords.moveToMetadataIndex(metadata, endIndex)) {
+                throw metadataMoveException(appender, MetadataRecords.metadataPositionForIndex(endIndex));
+            }
+        }
+
+        private void validateCapacity(final int capacity) {
+            if (capacity > maxEntrySize) {
+                throw new IllegalArgumentException("Capacity " + capacity + " exceeds maximum allowed entry size " +
+                        maxEntrySize);
+            }
+        }
+
+        AppendingContext init(final int capacity) {
+            owner = Thread.currentThread();
+            validateCapacity(capacity);
+            maxLength = reservePayload(Math.max(0, capacity));
+            return this;
+        }
+
+        private int reservePayload(final int capacity) {
+            final long position = appender.reservePayload(capacity + Integer.BYTES);
+            if (!payload.moveTo(position)) {
+                throw payloadMoveException(appender, position);
+            }
+            buffer.wrap(payload.buffer(), Integer.BYTES, capacity);
+            return capacity;
+        }
+
+        void release() {
+            maxLength = -1;
+            buffer.wrap(0, 0);
+            owner = null;
+            appender.releaseLane(this);
+        }
+
+        private void checkOwner() {
+            if (isClosed()) {
+                throw new IllegalStateException("Appending context is closed");
+            }
+        }
+
+        @Override
+        public void ensureCapacity(final int capacity) {
+            checkOwner();
+            final int max = maxLength;
+            if (capacity <= max) {
+                return;
+            }
+            validateCapacity(capacity);
+            final ElasticMapping pld = payload;
+            if (Headers.payloadBytesWithPadding(capacity + Integer.BYTES) ==
+                    Headers.payloadBytesWithPadding(max + Integer.BYTES)) {
+                //still fits into the padding of the reserved space
+                buffer.wrap(pld.buffer(), Integer.BYTES, capacity);
+                maxLength = capacity;
+                return;
+            }
+            final long regionStartPosition = pld.regionStartPosition();
+            final long position = appender.reservePayload(capacity + Integer.BYTES);
+            if (position - regionStartPosition >= pld.regionSize() && !appender.enableCopyFromPreviousRegion) {
+                throw new IllegalStateException("Need to enable payload region cache (for async no less than " +
+                        "map-ahead + 2) to fully support ensureCapacity(..) for shared appender");
+            }
+            if (!pld.moveTo(position)) {
+                throw payloadMoveException(appender, position);
+            }
+            //NOTE: copy data from buffer to the mapping buffer
+            //      --> the buffer is still wrapped at the old address
+            //      --> old address is still mapped if in the same region or if a region cache is in use
+            pld.buffer().putBytes(Integer.BYTES, buffer, 0, max);
+            buffer.wrap(pld.buffer(), Integer.BYTES, capacity);
+            maxLength = capacity;
+        }
+
+        @Override
+        public MutableDirectBuffer buffer() {
+            return buffer;
+        }
+
+        @Override
+        public void abort() {
+            if (!isClosed()) {
+                release();
+            }
+        }
+
+        @Override
+        public long commit(final int length) {
+            return commit(length, EntryMetadata.DEFAULT_MESSAGE_TYPE);
+        }
+
+        @Override
+        public long commit(final int length, final int messageType) {
+            checkOwner();
+            final int max = maxLength;
+            if (length < 0 || length > max) {
+                abort();
+                throw new IllegalArgumentException("Length " + length + " is negative or exceeds max length " + max);
+            }
+            try {
+                appender.checkNotClosed();
+                payload.buffer().putInt(0, length);
+                final long headerValue = Headers.header(appender.appenderId, payload.position());
+                if (metadata == null) {
+                    return appender.appendHeader(this, headerValue);
+                }
+                final int crc = checksum ? MetadataRecords.checksum(payload.buffer(), Integer.BYTES, length) : 0;
+                final long commitTime = clock.nanoTime();
+                final long index = appender.appendHeader(this, headerValue);
+                if (!MetadataRecords.write(metadata, index, commitTime, length, messageType, checksum, crc)) {
+                    throw metadataMoveException(appender, MetadataRecords.metadataPositionForIndex(index));
+                }
+                return index;
+            } finally {
+                release();
+            }
+        }
+
+        @Override
+        public boolean commitAt(final long expectedIndex, final int length) {
+            return commitAt(expectedIndex, length, EntryMetadata.DEFAULT_MESSAGE_TYPE);
+        }
+
+        @Override
+        public boolean commitAt(final long expectedIndex, final int length, final int messageType) {
+            checkOwner();
+            final int max = maxLength;
+            if (length < 0 || length > max) {
+                abort();
+                throw new IllegalArgumentException("Length " + length + " is negative or exceeds max length " + max);
+            }
+            try {
+                if (!Headers.validIndex(expectedIndex)) {
+                    throw invalidIndexException(appender.appenderName(), expectedIndex);
+                }
+                appender.checkNotClosed();
+                payload.buffer().putInt(0, length);
+                final long headerValue = Headers.header(appender.appenderId, payload.position());
+                final int crc = checksum && metadata != null ?
+                        MetadataRecords.checksum(payload.buffer(), Integer.BYTES, length) : 0;
+                final long commitTime = metadata == null ? 0 : clock.nanoTime();
+                if (!appender.appendHeaderAt(this, expectedIndex, headerValue)) {
+                    return false;
+                }
+                if (metadata != null && !MetadataRecords.write(metadata, expectedIndex, commitTime, length,
+                        messageType, checksum, crc)) {
+                    throw metadataMoveException(appender, MetadataRecords.metadataPositionForIndex(expectedIndex));
+                }
+                return true;
+            } finally {
+                release();
+            }
+        }
+
+        /**
+         * @return true unless this context is in use by the calling thread
+         */
+        @Override
+        public boolean isClosed() {
+            return owner != Thread.currentThread();
+        }
+
+        @Override
+        public String toString() {
+            return "SharedAppenderImpl.Lane" +
+                    ":queue=" + appender.queueName +
+                    "|appenderId=" + appender.appenderId +
+                    "|laneId=" + laneId +
+                    "|closed=" + isClosed();
+        }
+    }
+
+    String appenderName() {
+        return queueName + ".shared-appender-" + appenderId;
+    }
+
+    @Override
+    public String toString() {
+        return "SharedAppenderImpl:queue=" + queueName + "|appenderId=" + appenderId + "|closed=" + closed;
+    }
+}
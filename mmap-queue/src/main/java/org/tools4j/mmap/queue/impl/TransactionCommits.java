@@ -0,0 +1,139 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.tools4j.mmap.queue.api.Index;
+import org.tools4j.mmap.region.api.AccessMode;
+import org.tools4j.mmap.region.api.FixedMapping;
+import org.tools4j.mmap.region.api.Mappings;
+
+import java.io.File;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Commit words of appending transactions with one word per appender ID, mapped from the
+ * {@link QueueFiles#transactionFile() transaction file}.  Entries of a transaction with multiple entries are appended
+ * with {@link Headers#transactionHeader(long) flagged} headers, and the transaction commits atomically when the
+ * appender publishes the index of its last entry in the commit word.  Flagged headers above the commit index of their
+ * appender are pending;  they become visible with the commit, or are {@link Headers#abortedHeader(int) aborted}.
+ */
+final class TransactionCommits implements AutoCloseable {
+    /** Length of the transaction file with one commit word per appender ID */
+    static final int TRANSACTION_FILE_LENGTH = Headers.MAX_APPENDERS * Long.BYTES;
+
+    private final File file;
+    private final AccessMode accessMode;
+    private volatile FixedMapping mapping;
+    private volatile boolean closed;
+
+    private TransactionCommits(final File file, final AccessMode accessMode) {
+        this.file = requireNonNull(file);
+        this.accessMode = requireNonNull(accessMode);
+    }
+
+    /**
+     * Returns the commit words for an appender, creating the transaction file if it does not exist yet.
+     *
+     * @param queueFiles the queue files
+     * @return commit words mapped for reading and writing
+     */
+    static TransactionCommits forAppender(final QueueFiles queueFiles) {
+        final TransactionCommits commits = new TransactionCommits(queueFiles.transactionFile(), AccessMode.READ_WRITE);
+        commits.mapping = Mappings.fixedSizeMapping(commits.file, AccessMode.READ_WRITE, 0, TRANSACTION_FILE_LENGTH);
+        return commits;
+    }
+
+    /**
+     * Returns the commit words for a reader.  The transaction file is mapped lazily, as it is created by the first
+     * appender, which happens before any transaction headers are appended.
+     *
+     * @param queueFiles the queue files
+     * @return commit words mapped lazily for reading
+     */
+    static TransactionCommits forReader(final QueueFiles queueFiles) {
+        return new TransactionCommits(queueFiles.transactionFile(), AccessMode.READ_ONLY);
+    }
+
+    /**
+     * Returns the index of the last entry of the last committed transaction of the given appender.
+     *
+     * @param appenderId the appender ID
+     * @return the last committed index, or {@link Index#NULL} if no transaction of the appender has been committed
+     */
+    long lastCommittedIndex(final int appenderId) {
+        final FixedMapping m = mapping();
+        //commit word stores index + 1 so that a zero word means that no transaction was committed
+        return m == null ? Index.NULL : m.buffer().getLongVolatile(offset(appenderId)) - 1;
+    }
+
+    /**
+     * Commits the transaction of the given appender whose last entry has the given index, making all flagged entries
+     * of the appender up to this index visible.
+     *
+     * @param appenderId the appender ID
+     * @param lastIndex  the index of the last entry of the transaction
+     */
+    void commit(final int appenderId, final long lastIndex) {
+        assert accessMode == AccessMode.READ_WRITE : "commit words are read-only";
+        mapping.buffer().putLongRelease(offset(appenderId), lastIndex + 1);
+    }
+
+    private static int offset(final int appenderId) {
+        return appenderId * Long.BYTES;
+    }
+
+    private FixedMapping mapping() {
+        final FixedMapping m = mapping;
+        if (m != null || closed) {
+            return m;
+        }
+        synchronized (this) {
+            if (mapping == null && !closed && file.length() >= TRANSACTION_FILE_LENGTH) {
+                mapping = Mappings.fixedSizeMapping(file, accessMode, 0, TRANSACTION_FILE_LENGTH);
+            }
+            return mapping;
+        }
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            if (mapping != null) {
+                mapping.close();
+                mapping = null;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionCommits:file=" + file + "|accessMode=" + accessMode + "|closed=" + closed;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.tools4j.mmap.queue.api.Appender;
+import org.tools4j.mmap.queue.api.BroadcastPoller;
+import org.tools4j.mmap.queue.api.Index;
+import org.tools4j.mmap.queue.api.Move;
+import org.tools4j.mmap.queue.api.Queue;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BroadcastPollerTest {
+
+    private static final int ENTRIES = 64;
+    private static final int MAX_POLL_ATTEMPTS = 1024;
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void broadcastToSubscribersWithOwnPosition() {
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "broadcastQ"));
+             final Appender appender = queue.createAppender();
+             final BroadcastPoller poller = queue.createBroadcastPoller()) {
+            //given
+            final UnsafeBuffer entry = new UnsafeBuffer(new byte[Integer.BYTES]);
+            for (int i = 0; i < ENTRIES; i++) {
+                entry.putInt(0, i);
+                appender.append(entry, 0, entry.capacity());
+            }
+            final List<Integer> fast = new ArrayList<>();
+            final List<Integer> slow = new ArrayList<>();
+            final List<Integer> late = new ArrayList<>();
+            final BroadcastPoller.Subscriber fastSubscriber = poller.subscribe((index, buffer, offset, length) -> {
+                fast.add(buffer.getInt(offset));
+                return Move.NEXT;
+            });
+            final int[] slowInvocations = {0};
+            final BroadcastPoller.Subscriber slowSubscriber = poller.subscribe((index, buffer, offset, length) -> {
+                //falls behind by only moving on every other invocation
+                if (slowInvocations[0]++ % 2 == 0) {
+                    return Move.NONE;
+                }
+                slow.add(buffer.getInt(offset));
+                return Move.NEXT;
+            });
+            final BroadcastPoller.Subscriber lateSubscriber = poller.subscribe(Index.END,
+                    (index, buffer, offset, length) -> {
+                        late.add(buffer.getInt(offset));
+                        return Move.NEXT;
+                    });
+
+            //when
+            for (int i = 0; i < MAX_POLL_ATTEMPTS && slowSubscriber.nextIndex() < ENTRIES; i++) {
+                poller.poll();
+            }
+
+            //then
+            assertThat(poller.subscriberCount()).isEqualTo(3);
+            assertThat(fastSubscriber.nextIndex()).isEqualTo(ENTRIES);
+            assertThat(slowSubscriber.nextIndex()).isEqualTo(ENTRIES);
+            assertThat(lateSubscriber.nextIndex()).isEqualTo(ENTRIES);
+            assertThat(late).isEmpty();
+            for (int i = 0; i < ENTRIES; i++) {
+                assertThat(fast.get(i)).isEqualTo(i);
+            }
+            assertThat(slow).isEqualTo(fast);
+            assertThat(slowInvocations[0]).isEqualTo(2 * ENTRIES);
+
+            //when
+            fastSubscriber.close();
+            entry.putInt(0, ENTRIES);
+            appender.append(entry, 0, entry.capacity());
+            int polled = 0;
+            for (int i = 0; i < MAX_POLL_ATTEMPTS && polled == 0; i++) {
+                polled = poller.poll();
+            }
+
+            //then
+            assertThat(polled).isEqualTo(2);
+            assertThat(poller.subscriberCount()).isEqualTo(2);
+            assertThat(fast).hasSize(ENTRIES);
+            assertThat(late).containsExactly(ENTRIES);
+        }
+    }
+}
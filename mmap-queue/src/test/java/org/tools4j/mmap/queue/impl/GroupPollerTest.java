@@ -0,0 +1,242 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.tools4j.mmap.queue.api.Appender;
+import org.tools4j.mmap.queue.api.GroupPoller;
+import org.tools4j.mmap.queue.api.Move;
+import org.tools4j.mmap.queue.api.Poller;
+import org.tools4j.mmap.queue.api.Queue;
+import org.tools4j.mmap.queue.config.QueueConfig;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GroupPollerTest {
+
+    private static final int ENTRIES = 100;
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void groupPollersConsumeDisjointEntries() {
+        final QueueConfig config = QueueConfig.getDefault();
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "groupQ"), config)) {
+            try (final Appender appender = queue.createAppender();
+                 final GroupPoller poller1 = queue.createGroupPoller("workers");
+                 final GroupPoller poller2 = queue.createGroupPoller("workers", config.pollerConfig(), 3)) {
+                //given
+                for (int i = 0; i < ENTRIES; i++) {
+                    appender.append(("entry-" + i).getBytes(StandardCharsets.US_ASCII));
+                }
+                final List<Long> polled1 = new ArrayList<>();
+                final List<Long> polled2 = new ArrayList<>();
+
+                //when
+                int result1;
+                int result2;
+                do {
+                    result1 = poller1.poll((index, buffer, offset, length) -> {
+                        assertThat(buffer.getStringWithoutLengthAscii(offset, length)).isEqualTo("entry-" + index);
+                        polled1.add(index);
+                        return Move.NEXT;
+                    });
+                    result2 = poller2.poll((index, buffer, offset, length) -> {
+                        assertThat(buffer.getStringWithoutLengthAscii(offset, length)).isEqualTo("entry-" + index);
+                        polled2.add(index);
+                        return Move.NEXT;
+                    });
+                } while (result1 == Poller.ENTRY_POLLED || result2 == Poller.ENTRY_POLLED);
+
+                //then
+                assertThat(polled1).isNotEmpty().doesNotContainAnyElementsOf(polled2);
+                assertThat(polled2).isNotEmpty();
+                assertThat(polled1.size() + polled2.size()).isEqualTo(ENTRIES);
+                assertThat(poller1.claimCursor()).isEqualTo(ENTRIES);
+                for (long index = 0; index < ENTRIES; index++) {
+                    assertThat(poller2.isAcknowledged(index)).isTrue();
+                }
+                assertThat(poller1.isAcknowledged(ENTRIES)).isFalse();
+            }
+        }
+    }
+
+    @Test
+    void pollersOfDifferentGroupsConsumeAllEntries() {
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "groupQ"))) {
+            try (final Appender appender = queue.createAppender();
+                 final GroupPoller pollerA = queue.createGroupPoller("groupA");
+                 final GroupPoller pollerB = queue.createGroupPoller("groupB")) {
+                //given
+                appender.append("first".getBytes(StandardCharsets.US_ASCII));
+                appender.append("second".getBytes(StandardCharsets.US_ASCII));
+
+                //when
+                int polledA = 0;
+                int polledB = 0;
+                while (pollerA.poll((index, buffer, offset, length) -> Move.NEXT) == Poller.ENTRY_POLLED) {
+                    polledA++;
+                }
+                while (pollerB.poll((index, buffer, offset, length) -> Move.NEXT) == Poller.ENTRY_POLLED) {
+                    polledB++;
+                }
+
+                //then
+                assertThat(polledA).isEqualTo(2);
+                assertThat(polledB).isEqualTo(2);
+                assertThat(pollerA.currentIndex()).isEqualTo(1);
+                assertThat(pollerB.claimCursor()).isEqualTo(2);
+            }
+        }
+    }
+
+    @Test
+    void closeReturnsUnpolledEntriesToGroup() {
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "groupQ"))) {
+            final QueueConfig config = QueueConfig.getDefault();
+            try (final Appender appender = queue.createAppender();
+                 final GroupPoller poller2 = queue.createGroupPoller("workers")) {
+                //given
+                for (int i = 0; i < 10; i++) {
+                    appender.append(("entry-" + i).getBytes(StandardCharsets.US_ASCII));
+                }
+                final GroupPoller poller1 = queue.createGroupPoller("workers", config.pollerConfig(), 10);
+                final List<Long> polled1 = pollAll(poller1, 3);
+
+                //when
+                poller1.close();
+                final List<Long> polled2 = pollAll(poller2, Integer.MAX_VALUE);
+
+                //then
+                assertThat(polled1).containsExactly(0L, 1L, 2L);
+                assertThat(polled2).containsExactly(3L, 4L, 5L, 6L, 7L, 8L, 9L);
+                assertThat(poller2.claimCursor()).isEqualTo(10);
+            }
+        }
+    }
+
+    @Test
+    void closeRecordsUnpolledEntriesForRedelivery() {
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "groupQ"))) {
+            final QueueConfig config = QueueConfig.getDefault();
+            try (final Appender appender = queue.createAppender();
+                 final GroupPoller poller2 = queue.createGroupPoller("workers", config.pollerConfig(), 5);
+                 final GroupPoller poller3 = queue.createGroupPoller("workers", config.pollerConfig(), 5)) {
+                //given
+                for (int i = 0; i < 20; i++) {
+                    appender.append(("entry-" + i).getBytes(StandardCharsets.US_ASCII));
+                }
+                final GroupPoller poller1 = queue.createGroupPoller("workers", config.pollerConfig(), 5);
+                final List<Long> polled1 = pollAll(poller1, 2);
+                final List<Long> polled2 = pollAll(poller2, 1);
+
+                //when
+                poller1.close();
+                final List<Long> polled3 = pollAll(poller3, 3);
+
+                //then
+                assertThat(polled1).containsExactly(0L, 1L);
+                assertThat(polled2).containsExactly(5L);
+                assertThat(polled3).containsExactly(2L, 3L, 4L);
+                assertThat(poller3.claimCursor()).isEqualTo(10);
+
+                //when
+                polled2.addAll(pollAll(poller2, Integer.MAX_VALUE));
+                polled3.addAll(pollAll(poller3, Integer.MAX_VALUE));
+
+                //then
+                final List<Long> all = new ArrayList<>(polled1);
+                all.addAll(polled2);
+                all.addAll(polled3);
+                assertThat(all).hasSize(20).doesNotHaveDuplicates();
+                for (long index = 0; index < 20; index++) {
+                    assertThat(poller2.isAcknowledged(index)).isTrue();
+                }
+            }
+        }
+    }
+
+    @Test
+    void entryIsRedeliveredIfHandlerStaysOnEntry() {
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "groupQ"))) {
+            try (final Appender appender = queue.createAppender();
+                 final GroupPoller poller1 = queue.createGroupPoller("workers");
+                 final GroupPoller poller2 = queue.createGroupPoller("workers")) {
+                //given
+                appender.append("entry-0".getBytes(StandardCharsets.US_ASCII));
+                appender.append("entry-1".getBytes(StandardCharsets.US_ASCII));
+                final List<Long> polled = new ArrayList<>();
+
+                //when
+                final int result = poller1.poll((index, buffer, offset, length) -> {
+                    polled.add(index);
+                    return Move.NONE;
+                });
+
+                //then
+                assertThat(result).isEqualTo(Poller.ENTRY_POLLED);
+                assertThat(polled).containsExactly(0L);
+                assertThat(poller1.isAcknowledged(0)).isFalse();
+
+                //when
+                poller1.poll((index, buffer, offset, length) -> {
+                    polled.add(index);
+                    return Move.NEXT;
+                });
+
+                //then
+                assertThat(polled).containsExactly(0L, 0L);
+                assertThat(poller1.isAcknowledged(0)).isTrue();
+
+                //when
+                poller1.poll((index, buffer, offset, length) -> Move.NONE);
+                poller1.close();
+                final List<Long> polled2 = pollAll(poller2, Integer.MAX_VALUE);
+
+                //then
+                assertThat(polled2).containsExactly(1L);
+                assertThat(poller2.isAcknowledged(1)).isTrue();
+            }
+        }
+    }
+
+    private static List<Long> pollAll(final GroupPoller poller, final int max) {
+        final List<Long> polled = new ArrayList<>();
+        while (polled.size() < max && poller.poll((index, buffer, offset, length) -> {
+            assertThat(buffer.getStringWithoutLengthAscii(offset, length)).isEqualTo("entry-" + index);
+            polled.add(index);
+            return Move.NEXT;
+        }) == Poller.ENTRY_POLLED) {
+            //poll next
+        }
+        return polled;
+    }
+}
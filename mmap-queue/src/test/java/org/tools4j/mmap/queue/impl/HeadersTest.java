@@ -29,7 +29,10 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.tools4j.mmap.region.impl.StepBijection;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.tools4j.mmap.queue.impl.Headers.BIJECTION_BLOCK_SIZE;
 import static org.tools4j.mmap.queue.impl.Headers.BIJECTION_STEP_BW;
 import static org.tools4j.mmap.queue.impl.Headers.BIJECTION_STEP_FW;
@@ -56,14 +59,6 @@ public class HeadersTest {
             "  1 | 288230376151711728 |  9223372036854775553",
             "127 | 288230376151711728 |  9223372036854775679",
             "255 | 288230376151711728 |  9223372036854775807",
-            "  0 | 288230376151711736 | -9223372036854775808",
-            "  1 | 288230376151711736 | -9223372036854775807",
-            "127 | 288230376151711736 | -9223372036854775681",
-            "255 | 288230376151711736 | -9223372036854775553",
-            "  0 | 576460752303423472 |                 -256",
-            "  1 | 576460752303423472 |                 -255",
-            "127 | 576460752303423472 |                 -129",
-            "255 | 576460752303423472 |                   -1",
     })
     @ParameterizedTest(name = "[{index}]: appenderId={0}, payloadPosition={1}, header={2}")
     public void header_appenderId_payloadPosition(final short appenderId, final long payloadPosition, final long header) {
@@ -80,6 +75,24 @@ public class HeadersTest {
         assertEquals(payloadPosition, Headers.payloadPosition(header));
     }
 
+    @CsvSource(delimiter = '|', value = {
+            "  0 |                  0",
+            "  1 |                  8",
+            "255 |       352368422632",
+            "255 | 288230376151711728",
+    })
+    @ParameterizedTest(name = "[{index}]: appenderId={0}, payloadPosition={1}")
+    public void transactionHeader(final short appenderId, final long payloadPosition) {
+        final long header = Headers.header(appenderId, payloadPosition);
+        final long transactionHeader = Headers.transactionHeader(header);
+
+        assertNotEquals(header, transactionHeader);
+        assertFalse(Headers.isTransactionHeader(header));
+        assertTrue(Headers.isTransactionHeader(transactionHeader));
+        assertEquals(appenderId, Headers.appenderId(transactionHeader));
+        assertEquals(payloadPosition, Headers.payloadPosition(transactionHeader));
+    }
+
     @CsvSource(delimiter = '|', value = {
             " -1 |                   0 | false",
             "256 |                   0 | false",
@@ -88,6 +101,8 @@ public class HeadersTest {
             "  1 |                   2 | true ",
             "  1 |                   4 | true ",
             "  1 |                   7 | true ",
+            "  1 |  288230376151711736 | true ",
+            "  1 |  576460752303423472 | true ",
             "  1 |  576460752303423488 | true ",
             "  1 | 9223372036854775807 | true ",
     })
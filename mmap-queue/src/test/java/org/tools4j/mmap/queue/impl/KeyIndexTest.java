@@ -0,0 +1,178 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.tools4j.mmap.queue.api.Appender;
+import org.tools4j.mmap.queue.api.AppendingContext;
+import org.tools4j.mmap.queue.api.EntryReader;
+import org.tools4j.mmap.queue.api.Index;
+import org.tools4j.mmap.queue.api.KeyExtractor;
+import org.tools4j.mmap.queue.api.KeyIndex;
+import org.tools4j.mmap.queue.api.Queue;
+import org.tools4j.mmap.queue.api.ReadingContext;
+import org.tools4j.mmap.queue.config.QueueConfig;
+
+import java.io.File;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeyIndexTest {
+
+    private static final int ENTRIES = 3000;
+    private static final int KEYS = 1000;
+    private static final KeyExtractor ORDER_ID = (index, buffer, offset, length) -> buffer.getLong(offset);
+    @TempDir
+    Path tempDir;
+
+    private static void append(final Appender appender, final long orderId, final long sequence) {
+        try (final AppendingContext context = appender.appending(2 * Long.BYTES)) {
+            context.buffer().putLong(0, orderId);
+            context.buffer().putLong(Long.BYTES, sequence);
+            context.commit(2 * Long.BYTES);
+        }
+    }
+
+    @Test
+    void readingByKeyReturnsLastEntryForKey() {
+        final QueueConfig config = QueueConfig.getDefault();
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "keyQ"), config)) {
+            try (final Appender appender = queue.createAppender();
+                 final EntryReader reader = queue.createEntryReader();
+                 final KeyIndex keyIndex = queue.createKeyIndex("orders", ORDER_ID, config.pollerConfig(), 4096)) {
+                //given
+                for (int i = 0; i < ENTRIES; i++) {
+                    append(appender, i % KEYS, i);
+                }
+
+                //when
+                int indexed = 0;
+                int count;
+                while ((count = keyIndex.update()) > 0) {
+                    indexed += count;
+                }
+
+                //then
+                assertThat(indexed).isEqualTo(ENTRIES);
+                assertThat(keyIndex.indexedUpTo()).isEqualTo(ENTRIES);
+                assertThat(keyIndex.size()).isEqualTo(KEYS);
+                for (int key = 0; key < KEYS; key++) {
+                    final long expectedIndex = ENTRIES - KEYS + key;
+                    assertThat(keyIndex.lookup(key)).isEqualTo(expectedIndex);
+                    try (final ReadingContext context = reader.readingByKey(keyIndex, key)) {
+                        assertThat(context.hasEntry()).isTrue();
+                        assertThat(context.index()).isEqualTo(expectedIndex);
+                        assertThat(context.buffer().getLong(0)).isEqualTo(key);
+                        assertThat(context.buffer().getLong(Long.BYTES)).isEqualTo(expectedIndex);
+                    }
+                }
+                try (final ReadingContext context = reader.readingByKey(keyIndex, KEYS)) {
+                    assertThat(context.hasEntry()).isFalse();
+                    assertThat(context.index()).isEqualTo(Index.NULL);
+                }
+            }
+        }
+    }
+
+    @Test
+    void keyIndexResumesIncrementally() {
+        final QueueConfig config = QueueConfig.getDefault();
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "keyQ"), config)) {
+            try (final Appender appender = queue.createAppender()) {
+                //given
+                append(appender, 7, 0);
+                try (final KeyIndex keyIndex = queue.createKeyIndex("orders", ORDER_ID, config.pollerConfig(), 64)) {
+                    assertThat(keyIndex.update()).isEqualTo(1);
+                }
+                append(appender, 7, 1);
+                append(appender, 8, 2);
+
+                //when
+                try (final KeyIndex keyIndex = queue.createKeyIndex("orders", ORDER_ID, config.pollerConfig(), 64)) {
+                    final int indexed = keyIndex.update();
+
+                    //then
+                    assertThat(indexed).isEqualTo(2);
+                    assertThat(keyIndex.lookup(7)).isEqualTo(1);
+                    assertThat(keyIndex.lookup(8)).isEqualTo(2);
+                }
+                assertThatThrownBy(() -> queue.createKeyIndex("orders", ORDER_ID, config.pollerConfig(), 128))
+                        .isInstanceOf(IllegalArgumentException.class);
+            }
+        }
+    }
+
+    @Test
+    void keyIndexCannotBeOpenedTwice() {
+        final QueueConfig config = QueueConfig.getDefault();
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "keyQ"), config)) {
+            try (final Appender appender = queue.createAppender()) {
+                //given
+                append(appender, 7, 0);
+                try (final KeyIndex keyIndex = queue.createKeyIndex("orders", ORDER_ID, config.pollerConfig(), 64)) {
+                    //when + then
+                    assertThatThrownBy(() -> queue.createKeyIndex("orders", ORDER_ID, config.pollerConfig(), 64))
+                            .isInstanceOf(IllegalStateException.class)
+                            .hasMessageContaining("already open for writing");
+                    assertThat(keyIndex.update()).isEqualTo(1);
+                }
+
+                //when
+                try (final KeyIndex keyIndex = queue.createKeyIndex("orders", ORDER_ID, config.pollerConfig(), 64)) {
+                    //then
+                    assertThat(keyIndex.lookup(7)).isEqualTo(0);
+                }
+            }
+        }
+    }
+
+    @Test
+    void executeStopsUpdatingAfterIndexIsFull() {
+        final QueueConfig config = QueueConfig.getDefault();
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "keyQ"), config)) {
+            try (final Appender appender = queue.createAppender();
+                 final KeyIndex keyIndex = queue.createKeyIndex("orders", ORDER_ID, config.pollerConfig(), 16)) {
+                //given
+                for (int i = 0; i < 16; i++) {
+                    append(appender, i, i);
+                }
+
+                //when
+                final int executed1 = keyIndex.execute();
+                final int executed2 = keyIndex.execute();
+
+                //then
+                assertThat(executed1).isZero();
+                assertThat(executed2).isZero();
+                assertThat(keyIndex.indexedUpTo()).isZero();
+                assertThatThrownBy(keyIndex::update)
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("is full");
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.tools4j.mmap.queue.api.Appender;
+import org.tools4j.mmap.queue.api.KeyedDispatcher;
+import org.tools4j.mmap.queue.api.Move;
+import org.tools4j.mmap.queue.api.Poller;
+import org.tools4j.mmap.queue.api.Queue;
+import org.tools4j.mmap.queue.config.QueueConfig;
+import org.tools4j.mmap.region.api.AccessMode;
+import org.tools4j.mmap.region.api.ElasticMapping;
+import org.tools4j.mmap.region.api.Mappings;
+import org.tools4j.mmap.region.config.MappingConfig;
+import org.tools4j.mmap.region.impl.FileInitialiser;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyedDispatcherTest {
+
+    private static final int ENTRIES = 64;
+    private static final int KEYS = 5;
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void dispatchPreservesOrderPerKeyAndTracksWatermark() {
+        final QueueConfig config = QueueConfig.getDefault();
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "dispatchQ"), config)) {
+            try (final Appender appender = queue.createAppender();
+                 final KeyedDispatcher dispatcher = queue.createKeyedDispatcher(3,
+                         (index, buffer, offset, length) -> buffer.getInt(offset), config.pollerConfig(), 8)) {
+                //given
+                final UnsafeBuffer entry = new UnsafeBuffer(new byte[2 * Integer.BYTES]);
+                for (int i = 0; i < ENTRIES; i++) {
+                    entry.putInt(0, i % KEYS);
+                    entry.putInt(Integer.BYTES, i);
+                    appender.append(entry, 0, entry.capacity());
+                }
+                final Map<Integer, Integer> lastSequenceByKey = new HashMap<>();
+                final Map<Integer, Integer> workerByKey = new HashMap<>();
+                int processed = 0;
+
+                //when
+                assertThat(dispatcher.dispatch()).isPositive().isLessThanOrEqualTo(8 * 3);
+                assertThat(dispatcher.watermark()).isZero();
+                while (processed < ENTRIES) {
+                    dispatcher.dispatch();
+                    for (int w = 0; w < dispatcher.workerCount(); w++) {
+                        final int workerIndex = w;
+                        while (dispatcher.worker(w).poll((index, buffer, offset, length) -> {
+                            final int key = buffer.getInt(offset);
+                            final int sequence = buffer.getInt(offset + Integer.BYTES);
+                            //then
+                            assertThat((long)sequence).isEqualTo(index);
+                            assertThat(workerByKey.computeIfAbsent(key, k -> workerIndex)).isEqualTo(workerIndex);
+                            assertThat(lastSequenceByKey.getOrDefault(key, -1)).isLessThan(sequence);
+                            lastSequenceByKey.put(key, sequence);
+                            return Move.NEXT;
+                        }) == Poller.ENTRY_POLLED) {
+                            processed++;
+                        }
+                    }
+                }
+
+                //then
+                assertThat(dispatcher.dispatch()).isZero();
+                assertThat(dispatcher.watermark()).isEqualTo(ENTRIES);
+                assertThat(lastSequenceByKey).hasSize(KEYS);
+            }
+        }
+    }
+
+    @Test
+    void watermarkAdvancesPastAbortedEntries() {
+        final File queueFile = new File(tempDir.toFile(), "dispatchQ");
+        final QueueConfig config = QueueConfig.getDefault();
+        try (final Queue queue = Queue.create(queueFile, config)) {
+            try (final Appender appender = queue.createAppender();
+                 final KeyedDispatcher dispatcher = queue.createKeyedDispatcher(2,
+                         (index, buffer, offset, length) -> buffer.getInt(offset), config.pollerConfig(), 8)) {
+                //given
+                appender.append(new byte[] {0, 0, 0, 0});
+                appender.append(new byte[] {0, 0, 0, 1});
+                //entries 2 and 3 are aborted transaction entries
+                final QueueFiles files = new QueueFiles(queueFile, Headers.MAX_APPENDERS);
+                try (final ElasticMapping mapping = Mappings.elasticMapping(files.headerFile(), AccessMode.READ_WRITE,
+                        FileInitialiser.zeroBytes(AccessMode.READ_WRITE, Headers.HEADER_LENGTH),
+                        MappingConfig.getDefault())) {
+                    for (long index = 2; index < 4; index++) {
+                        assertThat(Headers.moveToHeaderIndex(mapping, index)).isTrue();
+                        mapping.buffer().putLongVolatile(0, Headers.abortedHeader(appender.appenderId()));
+                    }
+                }
+
+                //when
+                final int dispatched = dispatcher.dispatch();
+                int processed = 0;
+                for (int w = 0; w < dispatcher.workerCount(); w++) {
+                    while (dispatcher.worker(w).poll((index, buffer, offset, length) -> Move.NEXT) ==
+                            Poller.ENTRY_POLLED) {
+                        processed++;
+                    }
+                }
+
+                //then
+                assertThat(dispatched).isEqualTo(2);
+                assertThat(processed).isEqualTo(2);
+                assertThat(dispatcher.watermark()).isEqualTo(4);
+            }
+        }
+    }
+
+    @Test
+    void closeDefersWorkerMappingCloseUntilPollCompletes() throws InterruptedException {
+        final QueueConfig config = QueueConfig.getDefault();
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "dispatchQ"), config)) {
+            try (final Appender appender = queue.createAppender()) {
+                final KeyedDispatcher dispatcher = queue.createKeyedDispatcher(1,
+                        (index, buffer, offset, length) -> 0, config.pollerConfig(), 8);
+                //given
+                appender.append(new byte[] {0, 0, 0, 42});
+                assertThat(dispatcher.dispatch()).isEqualTo(1);
+                final KeyedDispatcher.Worker worker = dispatcher.worker(0);
+                final CountDownLatch entered = new CountDownLatch(1);
+                final CountDownLatch closed = new CountDownLatch(1);
+                final AtomicInteger value = new AtomicInteger();
+                final AtomicInteger result = new AtomicInteger();
+                final Thread workerThread = new Thread(() -> result.set(worker.poll((index, buffer, offset, len) -> {
+                    entered.countDown();
+                    try {
+                        closed.await();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    value.set(buffer.getByte(offset + 3));
+                    return Move.NEXT;
+                })));
+
+                //when
+                workerThread.start();
+                entered.await();
+                dispatcher.close();
+                closed.countDown();
+                workerThread.join();
+
+                //then
+                assertThat(dispatcher.isClosed()).isTrue();
+                assertThat(result.get()).isEqualTo(Poller.ENTRY_POLLED);
+                assertThat(value.get()).isEqualTo(42);
+                assertThat(worker.poll((index, buffer, offset, length) -> Move.NEXT)).isEqualTo(Poller.CLOSED);
+            }
+        }
+    }
+}
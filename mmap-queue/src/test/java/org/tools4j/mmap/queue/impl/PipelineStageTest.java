@@ -0,0 +1,140 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.tools4j.mmap.queue.api.Appender;
+import org.tools4j.mmap.queue.api.EntryHandler;
+import org.tools4j.mmap.queue.api.Index;
+import org.tools4j.mmap.queue.api.Move;
+import org.tools4j.mmap.queue.api.PipelineStage;
+import org.tools4j.mmap.queue.api.Poller;
+import org.tools4j.mmap.queue.api.Queue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PipelineStageTest {
+
+    private static final int ENTRIES = 50;
+    private static final EntryHandler SKIP = (index, buf, off, len) -> Move.NEXT;
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void downstreamStageWaitsForUpstreamStages() {
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "pipeQ"))) {
+            try (final Appender appender = queue.createAppender();
+                 final PipelineStage decode = queue.createPipelineStage("orders", 0);
+                 final PipelineStage risk = queue.createPipelineStage("orders", 1, 0);
+                 final PipelineStage persist = queue.createPipelineStage("orders", 2, 0, 1)) {
+                //given
+                for (int i = 0; i < ENTRIES; i++) {
+                    appender.append(("entry-" + i).getBytes(StandardCharsets.US_ASCII));
+                }
+                final List<Long> persisted = new ArrayList<>();
+
+                //when + then
+                assertThat(decode.upstreamProgress()).isEqualTo(Index.END);
+                assertThat(persist.poll(addingTo(persisted))).isEqualTo(Poller.PENDING_NEXT);
+                assertThat(risk.poll(SKIP)).isEqualTo(Poller.PENDING_NEXT);
+
+                for (int i = 0; i < 10; i++) {
+                    assertThat(decode.poll(SKIP)).isEqualTo(Poller.ENTRY_POLLED);
+                }
+                for (int i = 0; i < 5; i++) {
+                    assertThat(risk.poll(SKIP)).isEqualTo(Poller.ENTRY_POLLED);
+                }
+                while (persist.poll(addingTo(persisted)) == Poller.ENTRY_POLLED);
+
+                //then
+                assertThat(persist.upstreamProgress()).isEqualTo(5);
+                assertThat(persisted).containsExactly(0L, 1L, 2L, 3L, 4L);
+
+                //when
+                while (decode.poll(SKIP) == Poller.ENTRY_POLLED);
+                while (risk.poll(SKIP) == Poller.ENTRY_POLLED);
+                while (persist.poll(addingTo(persisted)) == Poller.ENTRY_POLLED);
+
+                //then
+                assertThat(decode.progress()).isEqualTo(ENTRIES);
+                assertThat(risk.progress()).isEqualTo(ENTRIES);
+                assertThat(persisted).hasSize(ENTRIES);
+                for (int i = 0; i < ENTRIES; i++) {
+                    assertThat(persisted.get(i)).isEqualTo(i);
+                }
+            }
+        }
+    }
+
+    @Test
+    void stageResumesFromPersistedProgress() {
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "pipeQ"))) {
+            try (final Appender appender = queue.createAppender()) {
+                //given
+                for (int i = 0; i < ENTRIES; i++) {
+                    appender.append(("entry-" + i).getBytes(StandardCharsets.US_ASCII));
+                }
+                try (final PipelineStage stage = queue.createPipelineStage("resume", 3)) {
+                    for (int i = 0; i < 20; i++) {
+                        stage.poll(SKIP);
+                    }
+                }
+
+                //when
+                final List<Long> polled = new ArrayList<>();
+                try (final PipelineStage stage = queue.createPipelineStage("resume", 3)) {
+                    stage.poll(addingTo(polled));
+                }
+
+                //then
+                assertThat(polled).containsExactly(20L);
+            }
+        }
+    }
+
+    @Test
+    void invalidStageIds() {
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "pipeQ"))) {
+            assertThatThrownBy(() -> queue.createPipelineStage("bad", 1, 1))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> queue.createPipelineStage("bad", PipelineStage.MAX_STAGES))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private static EntryHandler addingTo(final List<Long> indices) {
+        return (index, buf, off, len) -> {
+            indices.add(index);
+            return Move.NEXT;
+        };
+    }
+}
@@ -24,30 +24,50 @@
 package org.tools4j.mmap.queue.impl;
 
 import org.agrona.ExpandableDirectByteBuffer;
+import org.agrona.concurrent.BackoffIdleStrategy;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.tools4j.mmap.queue.api.Appender;
 import org.tools4j.mmap.queue.api.AppendingContext;
+import org.tools4j.mmap.queue.api.AppendingTransaction;
 import org.tools4j.mmap.queue.api.Entry;
+import org.tools4j.mmap.queue.api.EntryFilter;
 import org.tools4j.mmap.queue.api.EntryHandler;
 import org.tools4j.mmap.queue.api.EntryIterator;
+import org.tools4j.mmap.queue.api.EntryMetadata;
 import org.tools4j.mmap.queue.api.EntryReader;
 import org.tools4j.mmap.queue.api.Index;
+import org.tools4j.mmap.queue.api.IndexReader;
 import org.tools4j.mmap.queue.api.IterableContext;
 import org.tools4j.mmap.queue.api.Move;
 import org.tools4j.mmap.queue.api.Poller;
 import org.tools4j.mmap.queue.api.Queue;
 import org.tools4j.mmap.queue.api.ReadingContext;
+import org.tools4j.mmap.queue.config.AppenderConfig;
+import org.tools4j.mmap.queue.config.HeaderFormat;
 import org.tools4j.mmap.queue.config.MappingStrategy;
 import org.tools4j.mmap.queue.config.QueueConfig;
+import org.tools4j.mmap.queue.config.QueueConfigurations;
 import org.tools4j.mmap.queue.util.FileUtil;
+import org.tools4j.mmap.region.api.AccessMode;
+import org.tools4j.mmap.region.api.ElasticMapping;
+import org.tools4j.mmap.region.api.Mappings;
+import org.tools4j.mmap.region.config.MappingConfig;
+import org.tools4j.mmap.region.config.MappingConfigurations;
+import org.tools4j.mmap.region.impl.Constants;
+import org.tools4j.mmap.region.impl.FileInitialiser;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -102,6 +122,1102 @@ class QueueTest {
         appendAndIterate(QueueConfig.configure().mappingStrategy(MappingStrategy.AsyncMapAheadStrategy));
     }
 
+    @Test
+    void appendAndPoll_WholeFileMapping() {
+        appendAndPoll(QueueConfig.configure()
+                .mappingStrategy(MappingStrategy.AsyncMapAheadStrategy)
+                .maxHeaderFileSize(1024 * 1024)
+                .maxPayloadFileSize(1024 * 1024)
+                .mapWholeHeaderFile(true)
+                .mapWholePayloadFiles(true));
+    }
+
+    @Test
+    void appendAndRead_WholeFileMapping() {
+        appendAndRead(QueueConfig.configure()
+                .mappingStrategy(MappingStrategy.SyncMappingStrategy)
+                .maxHeaderFileSize(1024 * 1024)
+                .maxPayloadFileSize(1024 * 1024)
+                .mapWholeHeaderFile(true)
+                .mapWholePayloadFiles(true));
+    }
+
+    @Test
+    void appendAndPoll_WholeFileMappingWithRolledFiles() {
+        //given
+        final int fileSize = (int) Constants.REGION_SIZE_GRANULARITY;
+        final int entryLength = 60;
+        final int entries = 2 * fileSize / Long.BYTES + 10;
+        final File queueFile = new File(tempDir.toFile(), "testQ");
+        final QueueConfig config = QueueConfig.configure()
+                .mappingStrategy(MappingStrategy.AsyncMapAheadStrategy)
+                .maxHeaderFileSize(fileSize)
+                .maxPayloadFileSize(fileSize)
+                .rollHeaderFile(true)
+                .rollPayloadFiles(true)
+                .mapWholeHeaderFile(true)
+                .mapWholePayloadFiles(true);
+
+        //when
+        try (final Queue queue = Queue.create(queueFile, config);
+             final Appender appender = queue.createAppender();
+             final Poller poller = queue.createPoller()) {
+            for (int i = 0; i < entries; i++) {
+                assertThat(appender.append(payload(i, entryLength))).isEqualTo(i);
+            }
+
+            //then
+            for (int i = 0; i < entries; i++) {
+                final int index = i;
+                poll(poller, index, (idx, buf, off, len) -> {
+                    final byte[] bytes = new byte[len];
+                    buf.getBytes(off, bytes);
+                    assertThat(bytes).isEqualTo(payload(index, entryLength));
+                    return Move.NEXT;
+                });
+            }
+        }
+        assertThat(queueFile.list((dir, name) -> name.startsWith("testQ_hdr"))).hasSizeGreaterThan(2);
+        assertThat(queueFile.list((dir, name) -> name.startsWith("testQ_dat_0"))).hasSizeGreaterThan(2);
+        try (final Queue queue = Queue.create(queueFile, QueueConfig.configure(config)
+                .accessMode(AccessMode.READ_ONLY));
+             final EntryReader reader = queue.createEntryReader()) {
+            for (final int i : new int[] {0, fileSize / Long.BYTES, entries - 1}) {
+                try (final ReadingContext context = reader.reading(i)) {
+                    assertThat(context.hasEntry()).isTrue();
+                    final byte[] bytes = new byte[context.buffer().capacity()];
+                    context.buffer().getBytes(0, bytes);
+                    assertThat(bytes).isEqualTo(payload(i, entryLength));
+                }
+            }
+        }
+    }
+
+    @Test
+    void appendAndPoll_PayloadRegionOverlap() {
+        appendAndPoll(QueueConfig.configure()
+                .mappingStrategy(MappingStrategy.AsyncMapAheadStrategy)
+                .payloadRegionOverlap(64 * 1024));
+    }
+
+    @Test
+    void appendAndRead_PayloadRegionOverlap() {
+        appendAndRead(QueueConfig.configure()
+                .mappingStrategy(MappingStrategy.SyncMappingStrategy)
+                .payloadRegionOverlap(64 * 1024));
+    }
+
+    @Test
+    void payloadRegionOverlapAcrossRegionAndFileBoundaries() {
+        //given
+        final int regionSize = (int) Constants.REGION_SIZE_GRANULARITY;
+        final int overlap = regionSize / 2;
+        final int entryLength = regionSize / 3;
+        final int entries = 32;
+        final File queueFile = new File(tempDir.toFile(), "testQ");
+        final QueueConfig config = QueueConfig.configure()
+                .mappingStrategy(cfg -> cfg.regionSize(regionSize))
+                .maxPayloadFileSize(2L * regionSize)
+                .rollPayloadFiles(true)
+                .payloadRegionOverlap(overlap);
+
+        //when
+        try (final Queue queue = Queue.create(queueFile, config);
+             final Appender appender = queue.createAppender()) {
+            for (int i = 0; i < entries; i++) {
+                assertThat(appender.append(payload(i, entryLength))).isEqualTo(i);
+            }
+        }
+
+        //then
+        assertThat(new File(queueFile, "testQ_dat_0_2.mmq")).exists();
+        try (final Queue queue = Queue.create(queueFile, QueueConfig.configure(config)
+                .accessMode(AccessMode.READ_ONLY));
+             final EntryReader reader = queue.createEntryReader()) {
+            for (int i = 0; i < entries; i++) {
+                try (final ReadingContext context = reader.reading(i)) {
+                    assertThat(context.hasEntry()).isTrue();
+                    final byte[] bytes = new byte[context.buffer().capacity()];
+                    context.buffer().getBytes(0, bytes);
+                    assertThat(bytes).isEqualTo(payload(i, entryLength));
+                }
+            }
+        }
+    }
+
+    @Test
+    void openWithDifferentPayloadRegionOverlapFails() {
+        //given
+        final File queueFile = new File(tempDir.toFile(), "testQ");
+        try (final Queue queue = Queue.create(queueFile, QueueConfig.configure().payloadRegionOverlap(1024));
+             final Appender appender = queue.createAppender()) {
+            appender.append(new byte[16]);
+        }
+
+        //when + then
+        assertThatThrownBy(() -> Queue.create(queueFile, QueueConfig.configure().payloadRegionOverlap(0)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("payloadRegionOverlap=1024")
+                .hasMessageContaining("payloadRegionOverlap=0");
+        assertThatThrownBy(() -> Queue.create(queueFile, QueueConfig.configure()
+                .accessMode(AccessMode.READ_ONLY)
+                .payloadRegionOverlap(2048)))
+                .isInstanceOf(IllegalStateException.class);
+        try (final Queue queue = Queue.create(queueFile, QueueConfig.configure()
+                .accessMode(AccessMode.READ_ONLY)
+                .payloadRegionOverlap(1024));
+             final EntryReader reader = queue.createEntryReader();
+             final ReadingContext context = reader.reading(0)) {
+            assertThat(context.hasEntry()).isTrue();
+        }
+
+        //when
+        try (final Queue queue = Queue.create(queueFile, QueueConfig.configure()
+                .accessMode(AccessMode.READ_WRITE_CLEAR)
+                .payloadRegionOverlap(0));
+             final EntryReader reader = queue.createEntryReader();
+             final ReadingContext context = reader.reading(0)) {
+            //then
+            assertThat(context.hasEntry()).isFalse();
+        }
+    }
+
+    private static byte[] payload(final int index, final int length) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (index * 31 + i);
+        }
+        return bytes;
+    }
+
+    @Test
+    void readWriteClear_DeletesExistingEntries() {
+        //given
+        final File queueFile = new File(tempDir.toFile(), "testQ");
+        try (final Queue queue = Queue.create(queueFile);
+             final Appender appender = queue.createAppender()) {
+            assertThat(appender.append(new byte[] {1})).isEqualTo(0);
+            assertThat(appender.append(new byte[] {2})).isEqualTo(1);
+        }
+
+        //when
+        try (final Queue queue = Queue.create(queueFile, QueueConfig.configure()
+                .accessMode(AccessMode.READ_WRITE_CLEAR));
+             final Appender appender = queue.createAppender();
+             final EntryReader reader = queue.createEntryReader()) {
+
+            //then
+            try (final ReadingContext context = reader.reading(0)) {
+                assertThat(context.hasEntry()).isFalse();
+            }
+            assertThat(appender.append(new byte[] {3})).isEqualTo(0);
+            try (final ReadingContext context = reader.reading(0)) {
+                assertThat(context.hasEntry()).isTrue();
+                assertThat(context.buffer().getByte(0)).isEqualTo((byte) 3);
+            }
+        }
+    }
+
+    @Test
+    void appendAndPoll_MemoryOnly() {
+        //given
+        final File sharedMemoryDir = new File(tempDir.toFile(), "shm");
+        assertThat(sharedMemoryDir.mkdir()).isTrue();
+        System.setProperty(QueueConfigurations.SHARED_MEMORY_DIRECTORY_PROPERTY, sharedMemoryDir.getPath());
+        try {
+            //when
+            appendAndPoll(QueueConfig.getDefaultMemoryOnly());
+
+            //then
+            final File[] queueDirs = sharedMemoryDir.listFiles((dir, name) -> name.startsWith("testQ-"));
+            assertThat(queueDirs).hasSize(1);
+            assertThat(new File(queueDirs[0], "testQ")).isDirectory();
+            assertThat(new File(tempDir.toFile(), "testQ")).doesNotExist();
+        } finally {
+            System.clearProperty(QueueConfigurations.SHARED_MEMORY_DIRECTORY_PROPERTY);
+        }
+    }
+
+    @Test
+    void memoryOnlyQueuesWithSameNameInDifferentDirectoriesDoNotCollide() {
+        //given
+        final File sharedMemoryDir = new File(tempDir.toFile(), "shm");
+        assertThat(sharedMemoryDir.mkdir()).isTrue();
+        System.setProperty(QueueConfigurations.SHARED_MEMORY_DIRECTORY_PROPERTY, sharedMemoryDir.getPath());
+        final File queueDir1 = new File(new File(tempDir.toFile(), "a"), "testQ");
+        final File queueDir2 = new File(new File(tempDir.toFile(), "b"), "testQ");
+        try (final Queue queue1 = Queue.create(queueDir1, QueueConfig.getDefaultMemoryOnly());
+             final Queue queue2 = Queue.create(queueDir2, QueueConfig.getDefaultMemoryOnly());
+             final Appender appender1 = queue1.createAppender();
+             final Appender appender2 = queue2.createAppender();
+             final Poller poller1 = queue1.createPoller();
+             final Poller poller2 = queue2.createPoller()) {
+            //when
+            append(appender1, "first");
+            append(appender2, "second");
+
+            //then
+            assertThat(sharedMemoryDir.list((dir, name) -> name.startsWith("testQ-"))).hasSize(2);
+            assertThat(poll(poller1, 0)).isEqualTo("first");
+            assertThat(poll(poller2, 0)).isEqualTo("second");
+            assertThat(poller1.poll((index, buf, off, len) -> Move.NEXT)).isEqualTo(Poller.PENDING_NEXT);
+        } finally {
+            System.clearProperty(QueueConfigurations.SHARED_MEMORY_DIRECTORY_PROPERTY);
+        }
+    }
+
+    @Test
+    void appendAndPoll_SharedPayloadFile() {
+        //given
+        final File queueDir = new File(tempDir.toFile(), "testQ");
+        final QueueConfig config = QueueConfig.configure().sharedPayloadFile(true);
+
+        //when
+        appendAndPoll(config);
+        try (final Queue queue = Queue.create(queueDir, config);
+             final Appender appender1 = queue.createAppender();
+             final Appender appender2 = queue.createAppender();
+             final Poller poller = queue.createPoller()) {
+            final long index1 = append(appender1, "first");
+            final long index2 = append(appender2, "second");
+            final long index3 = append(appender1, "third");
+            poller.seekNext(index1);
+
+            //then
+            assertThat(index1).isEqualTo(4);
+            assertThat(poll(poller, index1)).isEqualTo("first");
+            assertThat(poll(poller, index2)).isEqualTo("second");
+            assertThat(poll(poller, index3)).isEqualTo("third");
+        }
+        assertThat(queueDir.list((dir, name) -> name.startsWith("testQ_payload"))).isNotEmpty();
+        assertThat(queueDir.list((dir, name) -> name.startsWith("testQ_dat_"))).isEmpty();
+        assertThatThrownBy(() -> Queue.create(queueDir)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void appendWithMetadata() {
+        //given
+        final File queueDir = new File(tempDir.toFile(), "testQ");
+        final QueueConfig config = QueueConfig.configure().headerFormat(HeaderFormat.WIDE_WITH_CHECKSUM);
+
+        try (final Queue queue = Queue.create(queueDir, config);
+             final Appender appender = queue.createAppender();
+             final EntryReader reader = queue.createEntryReader()) {
+            //when
+            final long index1;
+            try (final AppendingContext context = appender.appending(8)) {
+                context.buffer().putLong(0, 42);
+                index1 = context.commit(8, 7);
+            }
+            final long index2 = appender.append(new byte[] {1, 2, 3});
+
+            //then
+            final EntryMetadata metadata1 = reader.metadata(index1);
+            assertThat(metadata1.index()).isEqualTo(index1);
+            assertThat(metadata1.messageType()).isEqualTo(7);
+            assertThat(metadata1.payloadLength()).isEqualTo(8);
+            assertThat(metadata1.hasChecksum()).isTrue();
+            final long commitTime1 = metadata1.commitTime();
+            final int checksum1 = metadata1.checksum();
+
+            final EntryMetadata metadata2 = reader.metadata(index2);
+            assertThat(metadata2.messageType()).isEqualTo(EntryMetadata.DEFAULT_MESSAGE_TYPE);
+            assertThat(metadata2.payloadLength()).isEqualTo(3);
+            assertThat(metadata2.commitTime()).isGreaterThanOrEqualTo(commitTime1);
+            assertThat(metadata2.checksum()).isNotEqualTo(checksum1);
+            assertThat(reader.metadata(index2 + 1)).isNull();
+            assertThat(reader.indexForCommitTime(0)).isEqualTo(index1);
+            assertThat(reader.indexForCommitTime(Long.MAX_VALUE)).isEqualTo(Index.NULL);
+        }
+        assertThatThrownBy(() -> Queue.create(queueDir)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void pollWithFilter() {
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "testQ"));
+             final Appender own = queue.createAppender();
+             final Appender other = queue.createAppender();
+             final Poller poller = queue.createPoller()) {
+            //given
+            append(own, "echo1");
+            final long index = append(other, "other");
+            append(own, "echo2");
+            final EntryFilter filter = EntryFilter.excludeAppenderId(own.appenderId());
+            final AtomicReference<String> polled = new AtomicReference<>();
+            final EntryHandler handler = (idx, buf, off, len) -> {
+                assertThat(idx).isEqualTo(index);
+                polled.set(buf.getStringUtf8(off));
+                return Move.NEXT;
+            };
+
+            //when
+            int result1 = Poller.PENDING_OPEN;
+            for (int i = 0; i < MAX_READ_ATTEMPTS && result1 != Poller.ENTRY_POLLED; i++) {
+                result1 = poller.poll(filter, handler);
+            }
+            final int result2 = poller.poll(filter, handler);
+
+            //then
+            assertThat(result1).isEqualTo(Poller.ENTRY_POLLED);
+            assertThat(polled.get()).isEqualTo("other");
+            assertThat(result2).isEqualTo(Poller.CURSOR_MOVED);
+            assertThat(poller.nextIndex()).isEqualTo(index + 2);
+            assertThat(poller.poll(filter, handler)).isEqualTo(Poller.PENDING_NEXT);
+        }
+    }
+
+    @Test
+    void pollWithFilterSkipsBoundedNumberOfEntries() {
+        final int rejected = 2 * PollerImpl.MAX_SKIPPED_ENTRIES_PER_POLL + 1;
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "testQ"));
+             final Appender own = queue.createAppender();
+             final Appender other = queue.createAppender();
+             final Poller poller = queue.createPoller()) {
+            //given
+            for (int i = 0; i < rejected; i++) {
+                append(own, "echo");
+            }
+            final long index = append(other, "other");
+            final EntryFilter filter = EntryFilter.excludeAppenderId(own.appenderId());
+            final EntryHandler handler = (idx, buf, off, len) -> {
+                assertThat(idx).isEqualTo(index);
+                return Move.NEXT;
+            };
+
+            //when
+            final int result1 = poller.poll(filter, handler);
+            final long next1 = poller.nextIndex();
+            final int result2 = poller.poll(filter, handler);
+            final long next2 = poller.nextIndex();
+            final int result3 = poller.poll(filter, handler);
+
+            //then
+            assertThat(result1).isEqualTo(Poller.CURSOR_MOVED);
+            assertThat(next1).isEqualTo(PollerImpl.MAX_SKIPPED_ENTRIES_PER_POLL);
+            assertThat(result2).isEqualTo(Poller.CURSOR_MOVED);
+            assertThat(next2).isEqualTo(2L * PollerImpl.MAX_SKIPPED_ENTRIES_PER_POLL);
+            assertThat(result3).isEqualTo(Poller.ENTRY_POLLED);
+            assertThat(poller.nextIndex()).isEqualTo(index + 1);
+        }
+    }
+
+    @Test
+    void missingMetadataRecordOfDeadAppender() throws InterruptedException {
+        //given
+        final File queueDir = new File(tempDir.toFile(), "testQ");
+        final QueueConfig config = QueueConfig.configure().headerFormat(HeaderFormat.WIDE);
+        final int entries = 10;
+        final int hole = 5;
+        try (final Queue queue = Queue.create(queueDir, config);
+             final Appender appender = queue.createAppender();
+             final Poller poller = queue.createPoller();
+             final EntryReader reader = queue.createEntryReader()) {
+            final long[] commitTimes = new long[entries];
+            for (int i = 0; i < entries; i++) {
+                try (final AppendingContext context = appender.appending(8)) {
+                    context.buffer().putLong(0, i);
+                    assertThat(context.commit(8, 100 + i)).isEqualTo(i);
+                }
+                commitTimes[i] = reader.metadata(i).commitTime();
+                if (i == hole) {
+                    //simulate an appender that died after committing the header but before writing the record
+                    final QueueFiles files = new QueueFiles(queueDir, Headers.MAX_APPENDERS);
+                    try (final ElasticMapping metadata = Mappings.elasticMapping(files.metadataFile(),
+                            AccessMode.READ_WRITE, FileInitialiser.zeroBytes(AccessMode.READ_WRITE,
+                                    MetadataRecords.RECORD_LENGTH), MappingConfig.getDefault())) {
+                        assertThat(MetadataRecords.moveToMetadataIndex(metadata, hole)).isTrue();
+                        metadata.buffer().setMemory(0, MetadataRecords.RECORD_LENGTH, (byte)0);
+                    }
+                    assertThat(reader.metadata(hole)).isNull();
+                }
+                TimeUnit.MILLISECONDS.sleep(1);
+            }
+            final List<Long> polled = new ArrayList<>();
+            final List<Integer> types = new ArrayList<>();
+            final EntryFilter filter = (index, appenderId, messageType) -> types.add(messageType);
+            final EntryHandler handler = (idx, buf, off, len) -> {
+                polled.add(buf.getLong(off));
+                return Move.NEXT;
+            };
+
+            //when
+            for (int i = 0; i < MAX_READ_ATTEMPTS && polled.size() < entries; i++) {
+                poller.poll(filter, handler);
+            }
+
+            //then
+            assertThat(polled).hasSize(entries);
+            assertThat(polled.get(hole)).isEqualTo(hole);
+            assertThat(types.get(hole)).isEqualTo(EntryMetadata.DEFAULT_MESSAGE_TYPE);
+            assertThat(types.get(hole + 1)).isEqualTo(101 + hole);
+            assertThat(reader.indexForCommitTime(commitTimes[2])).isEqualTo(2);
+            assertThat(reader.indexForCommitTime(commitTimes[7])).isEqualTo(7);
+            assertThat(reader.indexForCommitTime(commitTimes[entries - 1])).isEqualTo(entries - 1);
+            assertThat(reader.indexForCommitTime(commitTimes[hole + 1])).isEqualTo(hole);
+        }
+    }
+
+    @Test
+    void availableAndPeek() {
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "testQ"));
+             final Appender appender = queue.createAppender();
+             final Poller poller = queue.createPoller()) {
+            //given
+            append(appender, "first");
+            append(appender, "second");
+            final long index3 = append(appender, "third");
+            final AtomicReference<String> peeked = new AtomicReference<>();
+            final EntryHandler handler = (idx, buf, off, len) -> {
+                peeked.set(buf.getStringUtf8(off));
+                return Move.NEXT;
+            };
+
+            //when
+            int available = 0;
+            for (int i = 0; i < MAX_READ_ATTEMPTS && available < 3; i++) {
+                available = poller.available(10);
+            }
+
+            //then
+            assertThat(available).isEqualTo(3);
+            assertThat(poller.available(2)).isEqualTo(2);
+            assertThat(poller.peek(2, handler)).isTrue();
+            assertThat(peeked.get()).isEqualTo("third");
+            assertThat(poller.peek(3, handler)).isFalse();
+            assertThat(poller.nextIndex()).isEqualTo(0);
+            assertThat(poll(poller, 0)).isEqualTo("first");
+            assertThat(poller.available(10)).isEqualTo(2);
+            assertThat(poller.peek(0, handler)).isTrue();
+            assertThat(peeked.get()).isEqualTo("second");
+            assertThat(poll(poller, 1)).isEqualTo("second");
+            assertThat(poll(poller, index3)).isEqualTo("third");
+            assertThat(poller.available(10)).isZero();
+            assertThatThrownBy(() -> poller.available(-1)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void availableAndPeekSkipAbortedEntries() {
+        final File queueFile = new File(tempDir.toFile(), "testQ");
+        try (final Queue queue = Queue.create(queueFile);
+             final Poller poller = queue.createPoller()) {
+            //given
+            final int appenderId;
+            try (final Appender appender = queue.createAppender()) {
+                append(appender, "first");
+                appenderId = appender.appenderId();
+            }
+            //entries 1 and 3 are aborted transaction entries
+            final QueueFiles files = new QueueFiles(queueFile, Headers.MAX_APPENDERS);
+            try (final ElasticMapping mapping = Mappings.elasticMapping(files.headerFile(), AccessMode.READ_WRITE,
+                    FileInitialiser.zeroBytes(AccessMode.READ_WRITE, Headers.HEADER_LENGTH),
+                    MappingConfig.getDefault())) {
+                assertThat(Headers.moveToHeaderIndex(mapping, 1)).isTrue();
+                mapping.buffer().putLongVolatile(0, Headers.abortedHeader(appenderId));
+                try (final Appender appender = queue.createAppender()) {
+                    assertThat(append(appender, "second")).isEqualTo(2);
+                }
+                assertThat(Headers.moveToHeaderIndex(mapping, 3)).isTrue();
+                mapping.buffer().putLongVolatile(0, Headers.abortedHeader(appenderId));
+                try (final Appender appender = queue.createAppender()) {
+                    assertThat(append(appender, "third")).isEqualTo(4);
+                }
+            }
+            final List<Long> peekedIndices = new ArrayList<>();
+            final AtomicReference<String> peeked = new AtomicReference<>();
+            final EntryHandler handler = (idx, buf, off, len) -> {
+                peekedIndices.add(idx);
+                peeked.set(buf.getStringUtf8(off));
+                return Move.NEXT;
+            };
+
+            //when
+            final int available = poller.available(10);
+
+            //then
+            assertThat(available).isEqualTo(3);
+            for (int ahead = 0; ahead < available; ahead++) {
+                assertThat(poller.available(ahead + 1)).isEqualTo(ahead + 1);
+                assertThat(poller.peek(ahead, handler)).isTrue();
+            }
+            assertThat(peekedIndices).containsExactly(0L, 2L, 4L);
+            assertThat(peeked.get()).isEqualTo("third");
+            assertThat(poller.peek(available, handler)).isFalse();
+
+            //when
+            assertThat(poll(poller, 0)).isEqualTo("first");
+
+            //then
+            assertThat(poller.available(10)).isEqualTo(2);
+            assertThat(poller.peek(1, handler)).isTrue();
+            assertThat(peeked.get()).isEqualTo("third");
+            assertThat(poller.peek(2, handler)).isFalse();
+        }
+    }
+
+    @Test
+    void awaitEntry() throws Exception {
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "testQ"));
+             final IndexReader reader = queue.createIndexReader()) {
+            //given
+            final BackoffIdleStrategy idleStrategy = new BackoffIdleStrategy();
+            final Thread appenderThread = new Thread(() -> {
+                try (final Appender appender = queue.createAppender()) {
+                    append(appender, "first");
+                    append(appender, "second");
+                }
+            });
+
+            //when
+            final boolean timedOut = !reader.awaitEntry(0, TimeUnit.MILLISECONDS.toNanos(1), idleStrategy);
+            appenderThread.start();
+            final boolean awaited = reader.awaitEntry(1, TimeUnit.SECONDS.toNanos(10), idleStrategy);
+            appenderThread.join();
+
+            //then
+            assertThat(timedOut).isTrue();
+            assertThat(awaited).isTrue();
+            assertThat(reader.hasEntry(0)).isTrue();
+            assertThat(reader.awaitEntry(2, 0, idleStrategy)).isFalse();
+            assertThatThrownBy(() -> reader.awaitEntry(-1, 0, idleStrategy))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void appendTransaction() {
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "testQ"))) {
+            try (final Appender appender = queue.createAppender();
+                 final EntryReader reader = queue.createEntryReader()) {
+                //given
+                assertThat(appender.append(new byte[] {1})).isEqualTo(0);
+
+                //when
+                final long first;
+                try (final AppendingTransaction transaction = appender.beginTransaction()) {
+                    transaction.append(new byte[] {2}, 0, 1);
+                    transaction.append(new byte[] {3}, 0, 1);
+
+                    //then
+                    assertThat(transaction.entryCount()).isEqualTo(2);
+                    assertThat(reader.hasEntry(1)).isFalse();
+                    assertThatThrownBy(() -> appender.append(new byte[] {4})).isInstanceOf(IllegalStateException.class);
+
+                    //when
+                    first = transaction.commit();
+                }
+
+                //then
+                assertThat(first).isEqualTo(1);
+                assertThat(reader.lastIndex()).isEqualTo(2);
+
+                //when
+                try (final AppendingTransaction transaction = appender.beginTransaction()) {
+                    transaction.append(new byte[] {5}, 0, 1);
+                }
+                final long next = appender.append(new byte[] {6});
+
+                //then
+                assertThat(next).isEqualTo(3);
+                try (final ReadingContext context = reader.reading(next)) {
+                    assertThat(context.hasEntry()).isTrue();
+                    assertThat(context.buffer().getByte(0)).isEqualTo((byte) 6);
+                }
+            }
+        }
+    }
+
+    @Test
+    void abortOrphanedTransaction() {
+        final File queueFile = new File(tempDir.toFile(), "testQ");
+        try (final Queue queue = Queue.create(queueFile);
+             final Poller poller = queue.createPoller();
+             final EntryReader reader = queue.createEntryReader()) {
+            //given
+            try (final Appender appender = queue.createAppender()) {
+                appender.append(new byte[] {1});
+                appender.append(new byte[] {2});
+            }
+            //simulate an appender that died while committing a transaction
+            final QueueFiles files = new QueueFiles(queueFile, Headers.MAX_APPENDERS);
+            final ElasticMapping mapping = Mappings.elasticMapping(files.headerFile(), AccessMode.READ_WRITE,
+                    FileInitialiser.zeroBytes(AccessMode.READ_WRITE, Headers.HEADER_LENGTH),
+                    MappingConfig.getDefault());
+            assertThat(Headers.moveToHeaderIndex(mapping, 1)).isTrue();
+            final int appenderId = Headers.appenderId(mapping.buffer().getLongVolatile(0));
+            for (long index = 2; index < 4; index++) {
+                assertThat(Headers.moveToHeaderIndex(mapping, index)).isTrue();
+                final long header = Headers.header(appenderId, 1024 * index);
+                mapping.buffer().putLongVolatile(0, Headers.transactionHeader(header));
+            }
+            final List<Long> polled = new ArrayList<>();
+            final EntryHandler handler = (index, buffer, offset, length) -> {
+                polled.add(index);
+                return Move.NEXT;
+            };
+
+            //when
+            while (poller.poll(handler) > 0) {
+                //poll until no more entries are available
+            }
+
+            //then
+            assertThat(polled).containsExactly(0L, 1L);
+            assertThat(poller.poll(handler)).isEqualTo(Poller.PENDING_NEXT);
+            assertThat(reader.hasEntry(2)).isFalse();
+            assertThat(reader.lastIndex()).isEqualTo(1);
+
+            //when
+            try (final Appender appender = queue.createAppender()) {
+                assertThat(appender.append(new byte[] {5})).isEqualTo(4);
+            }
+            while (poller.poll(handler) > 0) {
+                //poll until no more entries are available
+            }
+
+            //then
+            for (long index = 2; index < 4; index++) {
+                assertThat(Headers.moveToHeaderIndex(mapping, index)).isTrue();
+                assertThat(Headers.isAbortedHeader(mapping.buffer().getLongVolatile(0))).isTrue();
+            }
+            mapping.close();
+            assertThat(polled).containsExactly(0L, 1L, 4L);
+            assertThat(reader.hasEntry(2)).isFalse();
+            assertThat(reader.hasEntry(3)).isFalse();
+            assertThat(reader.lastIndex()).isEqualTo(4);
+            try (final EntryIterator iterator = queue.createEntryIterator();
+                 final IterableContext context = iterator.readingFromFirst()) {
+                assertThat(context.stream().mapToLong(Entry::index)).containsExactly(0L, 1L, 4L);
+            }
+        }
+    }
+
+    @Test
+    void legacyPayloadPositionAboveMaxIsNotRead() {
+        final File queueFile = new File(tempDir.toFile(), "testQ");
+        try (final Queue queue = Queue.create(queueFile);
+             final Poller poller = queue.createPoller();
+             final EntryReader reader = queue.createEntryReader()) {
+            //given
+            final int appenderId;
+            try (final Appender appender = queue.createAppender()) {
+                appender.append(new byte[] {1});
+                appenderId = appender.appenderId();
+            }
+            //header written before the transaction flag took the sign bit, with a position above the new max
+            final int legacyAppenderId = appenderId + 1;
+            final long legacyPosition = Headers.MAX_PAYLOAD_POSITION + 1024;
+            final long legacyHeader = legacyAppenderId | ((legacyPosition + Headers.PAYLOAD_GRANULARITY) <<
+                    (Headers.APPENDER_ID_BITS - Headers.PAYLOAD_GRANULARITY_BITS));
+            final QueueFiles files = new QueueFiles(queueFile, Headers.MAX_APPENDERS);
+            try (final ElasticMapping mapping = Mappings.elasticMapping(files.headerFile(), AccessMode.READ_WRITE,
+                    FileInitialiser.zeroBytes(AccessMode.READ_WRITE, Headers.HEADER_LENGTH),
+                    MappingConfig.getDefault())) {
+                assertThat(Headers.moveToHeaderIndex(mapping, 1)).isTrue();
+                mapping.buffer().putLongVolatile(0, legacyHeader);
+            }
+            final List<Long> polled = new ArrayList<>();
+            final EntryHandler handler = (index, buffer, offset, length) -> {
+                polled.add(index);
+                return Move.NEXT;
+            };
+
+            //when
+            final long appended;
+            try (final Appender appender = queue.createAppender()) {
+                appended = appender.append(new byte[] {2});
+            }
+            while (poller.poll(handler) > 0) {
+                //poll until no more entries are available
+            }
+
+            //then
+            assertThat(Headers.validPayloadPosition(legacyPosition)).isFalse();
+            assertThat(Headers.isTransactionHeader(legacyHeader)).isTrue();
+            assertThat(Headers.isAbortedHeader(legacyHeader)).isFalse();
+            assertThat(appended).isEqualTo(2);
+            assertThat(polled).containsExactly(0L);
+            assertThat(poller.poll(handler)).isEqualTo(Poller.PENDING_NEXT);
+            assertThat(reader.hasEntry(1)).isFalse();
+            assertThat(reader.hasEntry(2)).isTrue();
+        }
+    }
+
+    @Test
+    void appendAtExpectedIndex() {
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "testQ"))) {
+            try (final Appender follower = queue.createAppender();
+                 final Appender other = queue.createAppender();
+                 final EntryReader reader = queue.createEntryReader()) {
+                //when
+                final boolean first = follower.appendAt(0, new byte[] {1}, 0, 1);
+                final boolean gap = follower.appendAt(2, new byte[] {2}, 0, 1);
+                final boolean taken = follower.appendAt(0, new byte[] {3}, 0, 1);
+
+                //then
+                assertThat(first).isTrue();
+                assertThat(gap).isFalse();
+                assertThat(taken).isFalse();
+                assertThat(reader.lastIndex()).isEqualTo(0);
+
+                //when
+                assertThat(other.append(new byte[] {4})).isEqualTo(1);
+                final boolean stale = follower.appendAt(1, new byte[] {5}, 0, 1);
+                final boolean next = follower.appendAt(2, new byte[] {6}, 0, 1);
+
+                //then
+                assertThat(stale).isFalse();
+                assertThat(next).isTrue();
+                assertThat(follower.append(new byte[] {7})).isEqualTo(3);
+                assertThat(reader.lastIndex()).isEqualTo(3);
+                try (final ReadingContext context = reader.reading(2)) {
+                    assertThat(context.buffer().getByte(0)).isEqualTo((byte) 6);
+                }
+                assertThatThrownBy(() -> follower.appendAt(-1, new byte[] {8}, 0, 1))
+                        .isInstanceOf(IllegalArgumentException.class);
+            }
+        }
+    }
+
+    @Test
+    void appendAtExpectedIndex_SharedAppender() {
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "testQ"))) {
+            try (final Appender follower = queue.createSharedAppender();
+                 final Appender other = queue.createAppender();
+                 final EntryReader reader = queue.createEntryReader()) {
+                //when
+                final boolean first = follower.appendAt(0, new byte[] {1}, 0, 1);
+                final boolean gap = follower.appendAt(2, new byte[] {2}, 0, 1);
+                final boolean taken = follower.appendAt(0, new byte[] {3}, 0, 1);
+                assertThat(other.append(new byte[] {4})).isEqualTo(1);
+                final boolean stale = follower.appendAt(1, new byte[] {5}, 0, 1);
+                final boolean next = follower.appendAt(2, new byte[] {6}, 0, 1);
+
+                //then
+                assertThat(first).isTrue();
+                assertThat(gap).isFalse();
+                assertThat(taken).isFalse();
+                assertThat(stale).isFalse();
+                assertThat(next).isTrue();
+                assertThat(follower.append(new byte[] {7})).isEqualTo(3);
+                assertThat(reader.lastIndex()).isEqualTo(3);
+                try (final ReadingContext context = reader.reading(2)) {
+                    assertThat(context.buffer().getByte(0)).isEqualTo((byte) 6);
+                }
+                assertThatThrownBy(() -> follower.appendAt(-1, new byte[] {8}, 0, 1))
+                        .isInstanceOf(IllegalArgumentException.class);
+            }
+        }
+    }
+
+    @Test
+    void appendAtExpectedIndexWithMessageType() {
+        final QueueConfig config = QueueConfig.configure().headerFormat(HeaderFormat.WIDE);
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "testQ"), config)) {
+            try (final Appender appender = queue.createAppender();
+                 final Appender shared = queue.createSharedAppender();
+                 final EntryReader reader = queue.createEntryReader()) {
+                //when
+                final boolean first;
+                final boolean second;
+                final boolean taken;
+                try (final AppendingContext context = appender.appending(1)) {
+                    context.buffer().putByte(0, (byte) 1);
+                    first = context.commitAt(0, 1, 7);
+                }
+                try (final AppendingContext context = shared.appending(1)) {
+                    context.buffer().putByte(0, (byte) 2);
+                    second = context.commitAt(1, 1, 8);
+                }
+                try (final AppendingContext context = appender.appending(1)) {
+                    context.buffer().putByte(0, (byte) 3);
+                    taken = context.commitAt(1, 1, 9);
+                }
+
+                //then
+                assertThat(first).isTrue();
+                assertThat(second).isTrue();
+                assertThat(taken).isFalse();
+                assertThat(reader.lastIndex()).isEqualTo(1);
+                assertThat(reader.metadata(0).messageType()).isEqualTo(7);
+                assertThat(reader.metadata(1).messageType()).isEqualTo(8);
+            }
+        }
+    }
+
+    @Test
+    void appendExclusive() {
+        final AppenderConfig exclusive = AppenderConfig.configure().exclusive(true);
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "testQ"))) {
+            try (final EntryReader reader = queue.createEntryReader()) {
+                //given
+                try (final Appender appender = queue.createAppender(exclusive)) {
+                    //when
+                    for (int i = 0; i < 100; i++) {
+                        assertThat(appender.append(new byte[] {(byte) i, 1, 2, 3, 4, 5, 6, 7, 8})).isEqualTo(i);
+                    }
+
+                    //then
+                    assertThatThrownBy(queue::createAppender).isInstanceOf(IllegalStateException.class);
+                    assertThatThrownBy(() -> queue.createAppender(exclusive)).isInstanceOf(IllegalStateException.class);
+                }
+
+                //when
+                try (final Appender appender = queue.createAppender()) {
+                    assertThat(appender.append(new byte[] {100})).isEqualTo(100);
+
+                    //then
+                    assertThatThrownBy(() -> queue.createAppender(exclusive)).isInstanceOf(IllegalStateException.class);
+                }
+
+                //then
+                assertThat(reader.lastIndex()).isEqualTo(100);
+                for (int i = 0; i <= 100; i++) {
+                    try (final ReadingContext context = reader.reading(i)) {
+                        assertThat(context.buffer().getByte(0)).isEqualTo((byte) i);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void appendShared_Concurrent() throws InterruptedException {
+        final int threadCount = 8;
+        final int entriesPerThread = 1000;
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "testQ"))) {
+            try (final Appender appender = queue.createSharedAppender();
+                 final EntryReader reader = queue.createEntryReader()) {
+                //given
+                final Thread[] threads = new Thread[threadCount];
+                for (int t = 0; t < threadCount; t++) {
+                    final int threadIndex = t;
+                    threads[t] = new Thread(() -> {
+                        for (int i = 0; i < entriesPerThread; i++) {
+                            try (final AppendingContext context = appender.appending(2 * Integer.BYTES)) {
+                                context.buffer().putInt(0, threadIndex);
+                                context.buffer().putInt(Integer.BYTES, i);
+                                context.commit(2 * Integer.BYTES);
+                            }
+                        }
+                    });
+                }
+
+                //when
+                for (final Thread thread : threads) {
+                    thread.start();
+                }
+                for (final Thread thread : threads) {
+                    thread.join();
+                }
+
+                //then
+                final int[] next = new int[threadCount];
+                assertThat(reader.lastIndex()).isEqualTo(threadCount * entriesPerThread - 1);
+                for (int index = 0; index < threadCount * entriesPerThread; index++) {
+                    try (final ReadingContext context = reader.reading(index)) {
+                        final int threadIndex = context.buffer().getInt(0);
+                        assertThat(context.buffer().getInt(Integer.BYTES)).isEqualTo(next[threadIndex]++);
+                    }
+                }
+                assertThat(next).containsOnly(entriesPerThread);
+                assertThatThrownBy(appender::beginTransaction).isInstanceOf(UnsupportedOperationException.class);
+            }
+        }
+    }
+
+    @Test
+    void append_EnsureCapacityAcrossRegion() {
+        final int regionSize = MappingConfigurations.defaultRegionSize();
+        final int initialCapacity = 16;
+        final int capacity = 1024;
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "testQ"))) {
+            try (final Appender appender = queue.createAppender();
+                 final EntryReader reader = queue.createEntryReader()) {
+                //given: filler entry leaves room for the initial capacity but not for the larger capacity
+                final int fillerLength = regionSize - 64 - Integer.BYTES;
+                assertThat(appender.append(new byte[fillerLength])).isEqualTo(0);
+
+                //when
+                final long index;
+                try (final AppendingContext context = appender.appending(initialCapacity)) {
+                    for (int i = 0; i < initialCapacity; i++) {
+                        context.buffer().putByte(i, (byte) (i + 1));
+                    }
+                    context.ensureCapacity(capacity);
+                    for (int i = initialCapacity; i < capacity; i++) {
+                        context.buffer().putByte(i, (byte) (i + 1));
+                    }
+                    index = context.commit(capacity);
+                }
+
+                //then
+                assertThat(index).isEqualTo(1);
+                try (final ReadingContext context = reader.reading(index)) {
+                    assertThat(context.hasEntry()).isTrue();
+                    assertThat(context.buffer().capacity()).isEqualTo(capacity);
+                    for (int i = 0; i < capacity; i++) {
+                        assertThat(context.buffer().getByte(i)).isEqualTo((byte) (i + 1));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void appendShared_EnsureCapacityAcrossRegion() {
+        final int regionSize = MappingConfigurations.defaultRegionSize();
+        final int initialCapacity = 16;
+        final int capacity = 1024;
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "testQ"))) {
+            try (final Appender appender = queue.createSharedAppender();
+                 final EntryReader reader = queue.createEntryReader()) {
+                //given: filler entry leaves room for the initial capacity but not for the larger capacity
+                final int fillerLength = regionSize - 64 - Integer.BYTES;
+                assertThat(appender.append(new byte[fillerLength])).isEqualTo(0);
+
+                //when
+                final long index;
+                try (final AppendingContext context = appender.appending(initialCapacity)) {
+                    for (int i = 0; i < initialCapacity; i++) {
+                        context.buffer().putByte(i, (byte) (i + 1));
+                    }
+                    context.ensureCapacity(capacity);
+                    for (int i = initialCapacity; i < capacity; i++) {
+                        context.buffer().putByte(i, (byte) (i + 1));
+                    }
+                    index = context.commit(capacity);
+                }
+
+                //then
+                assertThat(index).isEqualTo(1);
+                try (final ReadingContext context = reader.reading(index)) {
+                    assertThat(context.hasEntry()).isTrue();
+                    assertThat(context.buffer().capacity()).isEqualTo(capacity);
+                    for (int i = 0; i < capacity; i++) {
+                        assertThat(context.buffer().getByte(i)).isEqualTo((byte) (i + 1));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void appendSharedPayloadFile_EnsureCapacityAcrossRegion() {
+        final int regionSize = MappingConfigurations.defaultRegionSize();
+        final int initialCapacity = 16;
+        final int capacity = 1024;
+        final QueueConfig config = QueueConfig.configure().sharedPayloadFile(true);
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "testQ"), config)) {
+            try (final Appender appender = queue.createAppender();
+                 final EntryReader reader = queue.createEntryReader()) {
+                //given: filler entry leaves room for the initial capacity but not for the larger capacity
+                final int fillerLength = regionSize - 64 - Integer.BYTES;
+                assertThat(appender.append(new byte[fillerLength])).isEqualTo(0);
+
+                //when
+                final long index;
+                try (final AppendingContext context = appender.appending(initialCapacity)) {
+                    for (int i = 0; i < initialCapacity; i++) {
+                        context.buffer().putByte(i, (byte) (i + 1));
+                    }
+                    context.ensureCapacity(capacity);
+                    for (int i = initialCapacity; i < capacity; i++) {
+                        context.buffer().putByte(i, (byte) (i + 1));
+                    }
+                    index = context.commit(capacity);
+                }
+
+                //then
+                assertThat(index).isEqualTo(1);
+                try (final ReadingContext context = reader.reading(index)) {
+                    assertThat(context.hasEntry()).isTrue();
+                    assertThat(context.buffer().capacity()).isEqualTo(capacity);
+                    for (int i = 0; i < capacity; i++) {
+                        assertThat(context.buffer().getByte(i)).isEqualTo((byte) (i + 1));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void appendAndStream_Parallel() {
+        final int entries = 10_000;
+        try (final Queue queue = Queue.create(new File(tempDir.toFile(), "testQ"))) {
+            try (final Appender appender = queue.createAppender();
+                 final EntryIterator iterator = queue.createEntryIterator()) {
+                //given
+                for (int i = 0; i < entries; i++) {
+                    try (final AppendingContext context = appender.appending(Long.BYTES)) {
+                        context.buffer().putLong(0, i);
+                        context.commit(Long.BYTES);
+                    }
+                }
+
+                //when
+                final long sum;
+                final long count;
+                try (final IterableContext context = iterator.readingFrom(100);
+                     final LongStream values = context.stream().parallel().mapToLong(e -> e.buffer().getLong(0))) {
+                    sum = values.sum();
+                }
+                try (final IterableContext context = iterator.readingFromFirst();
+                     final Stream<Entry> stream = context.stream()) {
+                    count = stream.filter(e -> e.index() == e.buffer().getLong(0)).count();
+                }
+
+                //then
+                assertThat(sum).isEqualTo((long) entries * (entries - 1) / 2 - 100L * 99 / 2);
+                assertThat(count).isEqualTo(entries);
+            }
+        }
+    }
+
+    @Test
+    void appendAndStream_ParallelStopsAtPendingTransaction() {
+        final int entries = 10_000;
+        final long pendingIndex = 100;
+        final File queueFile = new File(tempDir.toFile(), "testQ");
+        try (final Queue queue = Queue.create(queueFile)) {
+            try (final Appender appender = queue.createAppender();
+                 final EntryIterator iterator = queue.createEntryIterator()) {
+                //given
+                for (int i = 0; i < entries; i++) {
+                    try (final AppendingContext context = appender.appending(Long.BYTES)) {
+                        context.buffer().putLong(0, i);
+                        context.commit(Long.BYTES);
+                    }
+                }
+                //simulate a transaction entry whose commit is still pending
+                final QueueFiles files = new QueueFiles(queueFile, Headers.MAX_APPENDERS);
+                try (final ElasticMapping mapping = Mappings.elasticMapping(files.headerFile(), AccessMode.READ_WRITE,
+                        FileInitialiser.zeroBytes(AccessMode.READ_WRITE, Headers.HEADER_LENGTH),
+                        MappingConfig.getDefault())) {
+                    assertThat(Headers.moveToHeaderIndex(mapping, pendingIndex)).isTrue();
+                    final long header = mapping.buffer().getLongVolatile(0);
+                    mapping.buffer().putLongVolatile(0, Headers.transactionHeader(header));
+                }
+
+                //when
+                final long parallelCount;
+                final long maxIndex;
+                try (final IterableContext context = iterator.readingFromFirst();
+                     final Stream<Entry> stream = context.stream().parallel()) {
+                    parallelCount = stream.count();
+                }
+                try (final IterableContext context = iterator.readingFromFirst();
+                     final LongStream indices = context.stream().parallel().mapToLong(Entry::index)) {
+                    maxIndex = indices.max().orElse(Index.NULL);
+                }
+
+                //then
+                assertThat(parallelCount).isEqualTo(pendingIndex);
+                assertThat(maxIndex).isEqualTo(pendingIndex - 1);
+            }
+        }
+    }
+
     private void appendAndPoll(final QueueConfig config) {
         try (final Queue queue = Queue.create(new File(tempDir.toFile(), "testQ"), config)) {
             try (final Appender appender = queue.createAppender();
@@ -0,0 +1,345 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.tools4j.mmap.queue.api.Appender;
+import org.tools4j.mmap.queue.api.AppendingContext;
+import org.tools4j.mmap.queue.api.EntryHandler;
+import org.tools4j.mmap.queue.api.Poller;
+import org.tools4j.mmap.queue.api.RingPoller;
+import org.tools4j.mmap.queue.api.RingQueue;
+import org.tools4j.mmap.region.api.AccessMode;
+import org.tools4j.mmap.region.api.FixedMapping;
+import org.tools4j.mmap.region.api.Mappings;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RingQueueTest {
+
+    private static final int SLOTS = 16;
+    private static final int MAX_ENTRY_LENGTH = 64;
+    @TempDir
+    Path tempDir;
+
+    private static void append(final Appender appender, final long value) {
+        try (final AppendingContext context = appender.appending(Long.BYTES)) {
+            context.buffer().putLong(0, value);
+            context.commit(Long.BYTES);
+        }
+    }
+
+    @Test
+    void appendAndPoll() {
+        try (final RingQueue ring = RingQueue.create(new File(tempDir.toFile(), "ring"), SLOTS, MAX_ENTRY_LENGTH);
+             final Appender appender = ring.createAppender();
+             final RingPoller poller = ring.createPoller()) {
+            //given
+            final List<Long> polled = new ArrayList<>();
+            final EntryHandler handler = (index, buffer, offset, length) -> {
+                assertThat(length).isEqualTo(Long.BYTES);
+                polled.add(buffer.getLong(offset));
+                return 1;
+            };
+            for (int i = 0; i < 10; i++) {
+                append(appender, i * 10L);
+            }
+
+            //when
+            while (poller.poll(handler) == Poller.ENTRY_POLLED) {}
+
+            //then
+            assertThat(polled).containsExactly(0L, 10L, 20L, 30L, 40L, 50L, 60L, 70L, 80L, 90L);
+            assertThat(poller.nextIndex()).isEqualTo(10);
+            assertThat(poller.lostEntries()).isZero();
+            assertThat(poller.poll(handler)).isEqualTo(Poller.PENDING_NEXT);
+            assertThat(ring.endIndex()).isEqualTo(10);
+        }
+    }
+
+    @Test
+    void abortedEntryIsSkipped() {
+        try (final RingQueue ring = RingQueue.create(new File(tempDir.toFile(), "ring"), SLOTS, MAX_ENTRY_LENGTH);
+             final Appender appender = ring.createAppender();
+             final RingPoller poller = ring.createPoller()) {
+            //given
+            final List<Long> polled = new ArrayList<>();
+            try (final AppendingContext context = appender.appending(Long.BYTES)) {
+                context.buffer().putLong(0, 666);
+            }
+            append(appender, 1);
+
+            //when
+            final int first = poller.poll((index, buffer, offset, length) -> polled.add(index) ? 1 : 0);
+            final int second = poller.poll((index, buffer, offset, length) -> polled.add(index) ? 1 : 0);
+
+            //then
+            assertThat(first).isEqualTo(Poller.CURSOR_MOVED);
+            assertThat(second).isEqualTo(Poller.ENTRY_POLLED);
+            assertThat(polled).containsExactly(1L);
+        }
+    }
+
+    @Test
+    void appendAtExpectedIndex() {
+        try (final RingQueue ring = RingQueue.create(new File(tempDir.toFile(), "ring"), SLOTS, MAX_ENTRY_LENGTH);
+             final Appender follower = ring.createAppender();
+             final Appender other = ring.createAppender();
+             final RingPoller poller = ring.createPoller()) {
+            //when
+            final boolean first = follower.appendAt(0, new byte[] {1}, 0, 1);
+            final boolean gap = follower.appendAt(2, new byte[] {2}, 0, 1);
+            final boolean taken = follower.appendAt(0, new byte[] {3}, 0, 1);
+            append(other, 4);
+            final boolean stale = follower.appendAt(1, new byte[] {5}, 0, 1);
+            final boolean next = follower.appendAt(2, new byte[] {6}, 0, 1);
+
+            //then
+            assertThat(first).isTrue();
+            assertThat(gap).isFalse();
+            assertThat(taken).isFalse();
+            assertThat(stale).isFalse();
+            assertThat(next).isTrue();
+            assertThat(ring.endIndex()).isEqualTo(3);
+            final List<Long> polled = new ArrayList<>();
+            final EntryHandler handler = (index, buffer, offset, length) -> {
+                polled.add(length == 1 ? buffer.getByte(offset) : buffer.getLong(offset));
+                return 1;
+            };
+            while (poller.poll(handler) == Poller.ENTRY_POLLED) {}
+            assertThat(polled).containsExactly(1L, 4L, 6L);
+            assertThatThrownBy(() -> follower.appendAt(-1, new byte[] {7}, 0, 1))
+                    .isInstanceOf(IllegalArgumentException.class);
+            try (final AppendingContext context = follower.appending(1)) {
+                assertThatThrownBy(() -> context.commitAt(4, 1))
+                        .isInstanceOf(UnsupportedOperationException.class);
+            }
+            try (final AppendingContext context = follower.appending(1)) {
+                assertThatThrownBy(() -> context.commitAt(4, 1, 7))
+                        .isInstanceOf(UnsupportedOperationException.class);
+                assertThat(context.isClosed()).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void overrunSkipsToOldestAvailableEntry() {
+        try (final RingQueue ring = RingQueue.create(new File(tempDir.toFile(), "ring"), SLOTS, MAX_ENTRY_LENGTH);
+             final Appender appender = ring.createAppender();
+             final RingPoller poller = ring.createPoller()) {
+            //given
+            final int entries = 3 * SLOTS + 5;
+            for (int i = 0; i < entries; i++) {
+                append(appender, i);
+            }
+            final List<Long> polled = new ArrayList<>();
+            final EntryHandler handler = (index, buffer, offset, length) -> {
+                assertThat(buffer.getLong(offset)).isEqualTo(index);
+                polled.add(index);
+                return 1;
+            };
+
+            //when
+            final int result = poller.poll(handler);
+
+            //then
+            assertThat(result).isEqualTo(Poller.CURSOR_MOVED);
+            assertThat(poller.lostEntries()).isEqualTo(entries - SLOTS);
+
+            //when
+            while (poller.poll(handler) == Poller.ENTRY_POLLED) {}
+
+            //then
+            assertThat(polled).hasSize(SLOTS);
+            assertThat(polled.get(0)).isEqualTo(entries - SLOTS);
+            assertThat(polled.get(SLOTS - 1)).isEqualTo(entries - 1);
+        }
+    }
+
+    @Test
+    void reopenUsesExistingRingLayout() {
+        final File dir = new File(tempDir.toFile(), "ring");
+        try (final RingQueue ring = RingQueue.create(dir, SLOTS, MAX_ENTRY_LENGTH);
+             final Appender appender = ring.createAppender()) {
+            append(appender, 42);
+            assertThatThrownBy(() -> appender.appending(MAX_ENTRY_LENGTH + 1))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        //when
+        try (final RingQueue ring = RingQueue.create(dir, 1024, 1024);
+             final RingPoller poller = ring.createPoller()) {
+            //then
+            assertThat(ring.slotCount()).isEqualTo(SLOTS);
+            assertThat(ring.maxEntryLength()).isEqualTo(MAX_ENTRY_LENGTH);
+            assertThat(ring.endIndex()).isEqualTo(1);
+            assertThat(poller.poll((index, buffer, offset, length) -> {
+                assertThat(buffer.getLong(offset)).isEqualTo(42);
+                return 1;
+            })).isEqualTo(Poller.ENTRY_POLLED);
+        }
+        assertThatThrownBy(() -> RingQueue.create(dir, 3, MAX_ENTRY_LENGTH))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void concurrentAppendersPublishAllEntries() throws InterruptedException {
+        final int appenders = 4;
+        final int entriesPerAppender = 1000;
+        try (final RingQueue ring = RingQueue.create(new File(tempDir.toFile(), "ring"), 4096, MAX_ENTRY_LENGTH);
+             final RingPoller poller = ring.createPoller()) {
+            //given
+            final Thread[] threads = new Thread[appenders];
+            for (int t = 0; t < appenders; t++) {
+                final Appender appender = ring.createAppender();
+                final long appenderId = t;
+                threads[t] = new Thread(() -> {
+                    for (int i = 0; i < entriesPerAppender; i++) {
+                        append(appender, (appenderId << 32) | i);
+                    }
+                }, "appender-" + t);
+            }
+
+            //when
+            for (final Thread thread : threads) {
+                thread.start();
+            }
+            for (final Thread thread : threads) {
+                thread.join();
+            }
+            final int[] next = new int[appenders];
+            final EntryHandler handler = (index, buffer, offset, length) -> {
+                final long value = buffer.getLong(offset);
+                final int appenderId = (int)(value >>> 32);
+                assertThat((int)value).isEqualTo(next[appenderId]);
+                next[appenderId]++;
+                return 1;
+            };
+            while (poller.poll(handler) == Poller.ENTRY_POLLED) {}
+
+            //then
+            assertThat(ring.endIndex()).isEqualTo(appenders * entriesPerAppender);
+            assertThat(poller.nextIndex()).isEqualTo(appenders * entriesPerAppender);
+            assertThat(poller.lostEntries()).isZero();
+            for (int t = 0; t < appenders; t++) {
+                assertThat(next[t]).isEqualTo(entriesPerAppender);
+            }
+        }
+    }
+
+    @Test
+    void slotOfDeadAppenderIsTakenOverAfterClaimTimeout() {
+        try (final RingQueue ring = new RingQueueImpl(new File(tempDir.toFile(), "ring"), SLOTS, MAX_ENTRY_LENGTH, 10);
+             final Appender dead = ring.createAppender();
+             final Appender appender = ring.createAppender();
+             final RingPoller poller = ring.createPoller()) {
+            //given
+            final AppendingContext unfinished = dead.appending(Long.BYTES);
+            for (int i = 1; i < SLOTS; i++) {
+                append(appender, i);
+            }
+            final List<Long> polled = new ArrayList<>();
+            final EntryHandler handler = (index, buffer, offset, length) -> {
+                assertThat(buffer.getLong(offset)).isEqualTo(index);
+                polled.add(index);
+                return 1;
+            };
+
+            //when
+            final int pending = poller.poll(handler);
+
+            //then
+            assertThat(pending).isEqualTo(Poller.PENDING_NEXT);
+
+            //when
+            append(appender, SLOTS);
+            final int skipped = poller.poll(handler);
+            while (poller.poll(handler) == Poller.ENTRY_POLLED) {}
+
+            //then
+            assertThat(skipped).isEqualTo(Poller.CURSOR_MOVED);
+            assertThat(poller.lostEntries()).isEqualTo(1);
+            assertThat(polled).hasSize(SLOTS);
+            assertThat(polled.get(0)).isEqualTo(1L);
+            assertThat(polled.get(SLOTS - 1)).isEqualTo((long)SLOTS);
+
+            //when
+            unfinished.buffer().putLong(0, 666);
+
+            //then
+            assertThatThrownBy(() -> unfinished.commit(Long.BYTES))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("lost");
+            assertThat(unfinished.isClosed()).isTrue();
+            assertThat(poller.poll(handler)).isEqualTo(Poller.PENDING_NEXT);
+            assertThat(polled).hasSize(SLOTS);
+        }
+    }
+
+    @Test
+    void staleSlotIsAbortedWhenRingIsOpened() {
+        //given
+        final File dir = new File(tempDir.toFile(), "ring");
+        final File file = new File(dir, "ring_ring" + QueueFiles.FILE_ENDING);
+        final RingLayout layout = new RingLayout(SLOTS, MAX_ENTRY_LENGTH);
+        try (final RingQueue ring = RingQueue.create(dir, SLOTS, MAX_ENTRY_LENGTH)) {
+            assertThat(ring.endIndex()).isZero();
+        }
+        try (final FixedMapping mapping = Mappings.fixedSizeMapping(file, AccessMode.READ_WRITE, 0,
+                (int)layout.ringLength())) {
+            //entry 0 claimed by a dead appender, entry SLOTS claimed by another dead appender waiting for slot 0,
+            //and entry SLOTS + 1 still being written
+            mapping.buffer().putLong(layout.slotHeaderOffset(0) + RingLayout.SEQUENCE_OFFSET,
+                    RingLayout.writingSequence(0));
+            for (int i = 1; i < SLOTS; i++) {
+                mapping.buffer().putLong(layout.slotHeaderOffset(i) + RingLayout.SEQUENCE_OFFSET,
+                        RingLayout.committedSequence(i));
+            }
+            mapping.buffer().putLong(layout.slotHeaderOffset(SLOTS + 1) + RingLayout.SEQUENCE_OFFSET,
+                    RingLayout.writingSequence(SLOTS + 1));
+            mapping.buffer().putLong(RingLayout.END_INDEX_OFFSET, SLOTS + 2);
+        }
+
+        //when
+        try (final RingQueue ring = RingQueue.create(dir, SLOTS, MAX_ENTRY_LENGTH);
+             final FixedMapping mapping = Mappings.fixedSizeMapping(file, AccessMode.READ_ONLY, 0,
+                     (int)layout.ringLength())) {
+            //then
+            assertThat(mapping.buffer().getLong(layout.slotHeaderOffset(0) + RingLayout.SEQUENCE_OFFSET))
+                    .isEqualTo(RingLayout.committedSequence(0));
+            assertThat(mapping.buffer().getInt(layout.slotHeaderOffset(0) + RingLayout.LENGTH_OFFSET))
+                    .isEqualTo(RingLayout.ABORTED);
+            assertThat(mapping.buffer().getLong(layout.slotHeaderOffset(SLOTS + 1) + RingLayout.SEQUENCE_OFFSET))
+                    .isEqualTo(RingLayout.writingSequence(SLOTS + 1));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.queue.perf;
+
+import org.HdrHistogram.Histogram;
+import org.tools4j.mmap.queue.api.Appender;
+import org.tools4j.mmap.queue.api.AppendingContext;
+import org.tools4j.mmap.queue.api.Queue;
+import org.tools4j.mmap.queue.config.AppenderConfig;
+import org.tools4j.mmap.queue.util.FileUtil;
+import org.tools4j.mmap.queue.util.HistogramPrinter;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares append latency of a default appender publishing headers via compare-and-set with an
+ * {@link AppenderConfig#exclusive() exclusive} appender publishing headers with an ordered write.
+ * <p>
+ * Manual benchmark that is run through its {@link #main(String...) main} method;  it contains no JUnit tests and is
+ * hence not executed by the {@code test} or {@code perfTest} tasks.
+ */
+public class AppenderPerf {
+
+    public static void main(final String... args) throws Throwable {
+        final int messages = 11_000_000;
+        final int warmup = 1_000_000;
+        final int messageLength = 100;
+        for (final boolean exclusive : new boolean[] {false, true, false, true}) {
+            final Path tempDir = Files.createTempDirectory(AppenderPerf.class.getSimpleName());
+            try (final Queue queue = Queue.create(new File(tempDir.toFile(), "perfQ"))) {
+                append(queue, AppenderConfig.configure().exclusive(exclusive), messages, warmup, messageLength);
+            }
+            FileUtil.deleteRecursively(tempDir.toFile());
+        }
+    }
+
+    private static void append(final Queue queue,
+                               final AppenderConfig config,
+                               final int messages,
+                               final int warmup,
+                               final int messageLength) {
+        final long maxValue = TimeUnit.SECONDS.toNanos(1);
+        final Histogram histogram = new Histogram(1, maxValue, 3);
+        long startTime = System.nanoTime();
+        try (final Appender appender = queue.createAppender(config)) {
+            for (int i = 0; i < messages; i++) {
+                if (i == warmup) {
+                    histogram.reset();
+                    startTime = System.nanoTime();
+                }
+                final long time = System.nanoTime();
+                try (final AppendingContext context = appender.appending(messageLength)) {
+                    context.buffer().putInt(0, i);
+                    context.buffer().setMemory(Integer.BYTES, messageLength - Integer.BYTES, (byte) i);
+                    context.commit(messageLength);
+                }
+                histogram.recordValue(Math.min(System.nanoTime() - time, maxValue));
+            }
+        }
+        final double seconds = (System.nanoTime() - startTime) / 1e9;
+        HistogramPrinter.printHistogram("append(exclusive=" + config.exclusive() + ")", histogram);
+        System.out.printf("append(exclusive=%s): %.1f msg/s%n", config.exclusive(), (messages - warmup) / seconds);
+    }
+}
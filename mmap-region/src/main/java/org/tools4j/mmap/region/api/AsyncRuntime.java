@@ -26,13 +26,32 @@ package org.tools4j.mmap.region.api;
 import org.agrona.concurrent.IdleStrategy;
 import org.tools4j.mmap.region.impl.AsyncRuntimeImpl;
 import org.tools4j.mmap.region.impl.Closeable;
+import org.tools4j.mmap.region.impl.WorkStealingAsyncRuntime;
+
+import java.util.function.Supplier;
 
 /**
  * Async runtime to perform recurring operations in the background, such as async mapping and unmapping operations.
  */
 public interface AsyncRuntime extends Closeable {
+    /**
+     * Scheduling priority of a {@link Recurring} executable. Runtimes invoke executables with higher priority before
+     * those with lower priority, and a multi-threaded runtime steals higher priority work first.
+     */
+    enum Priority {
+        /** Latency critical work such as ahead mapping of regions about to be accessed */
+        HIGH,
+        /** Default priority for recurring executables */
+        NORMAL,
+        /** Background work that can be delayed, such as unmapping of regions no longer in use */
+        LOW
+    }
+
     /**
      * A recurring executable invoked repeatedly until it is removed from the runtime.
+     * <p>
+     * A recurring executable is never invoked concurrently by multiple threads, even if the runtime uses more than one
+     * thread to perform work.
      */
     interface Recurring {
         /**
@@ -41,6 +60,14 @@ public interface AsyncRuntime extends Closeable {
          * @return work count, zero if it was a no-op and a positive value otherwise
          */
         int execute();
+
+        /**
+         * Returns the scheduling priority of this recurring executable
+         * @return the priority used by the runtime when scheduling this recurring executable
+         */
+        default Priority priority() {
+            return Priority.NORMAL;
+        }
     }
 
     /**
@@ -71,6 +98,54 @@ public interface AsyncRuntime extends Closeable {
         return new AsyncRuntimeImpl(name, idleStrategy, autoStopOnLastDeregister);
     }
 
+    /**
+     * Creates an async runtime backed by the given number of worker threads to execute registered mapping tasks.
+     * Registered tasks are distributed across workers, and idle workers steal tasks from busy workers, for instance if
+     * a worker is blocked in a slow mapping or unmapping operation.
+     * <p>
+     * A single-threaded runtime is returned if {@code workerThreads} is one.
+     *
+     * @param name                      the name for the runtime, also used as prefix for worker thread names
+     * @param workerThreads             the number of worker threads, must be positive
+     * @param idleStrategySupplier      supplier for idle strategies, invoked once per worker thread
+     * @param autoStopOnLastDeregister  if true the runtime is stopped after the last de-registration
+     * @return a new async runtime with the given number of worker threads
+     */
+    static AsyncRuntime create(final String name,
+                               final int workerThreads,
+                               final Supplier<? extends IdleStrategy> idleStrategySupplier,
+                               final boolean autoStopOnLastDeregister) {
+        if (workerThreads == 1) {
+            return create(name, idleStrategySupplier.get(), autoStopOnLastDeregister);
+        }
+        return new WorkStealingAsyncRuntime(name, workerThreads, idleStrategySupplier, autoStopOnLastDeregister);
+    }
+
+    /**
+     * Returns true if the calling thread is the thread executing recurring executables of this runtime, for instance
+     * the application thread driving an {@link InvokableAsyncRuntime}. Executables are then stopped directly instead of
+     * awaiting termination by the runtime.
+     *
+     * @return true if the calling thread executes recurring executables of this runtime
+     */
+    default boolean isInvokerThread() {
+        return false;
+    }
+
+    /**
+     * Awaits completion of an invocation of recurring executables that is currently in progress on another thread, for
+     * runtimes that execute recurring executables only when invoked by the application.  Executables that were
+     * signalled to stop before calling this method can then be stopped directly by the calling thread, since any later
+     * invocation observes the stop signal;  this avoids waiting for an invocation that may never happen, for instance
+     * if the runtime has not been invoked yet.
+     *
+     * @return true if no invocation is in progress any more and executables can be stopped directly, false if the
+     *         runtime executes recurring executables continuously and stopping must be awaited
+     */
+    default boolean awaitInvocationCompleted() {
+        return false;
+    }
+
     /**
      * Closes the runtime, with or without first finishing jobs.
      * @param immediately stop occurs immediately if true, or when no more jobs are found to be executed otherwise
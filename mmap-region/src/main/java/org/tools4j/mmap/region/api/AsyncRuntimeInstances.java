@@ -24,13 +24,16 @@
 package org.tools4j.mmap.region.api;
 
 import org.agrona.concurrent.IdleStrategy;
+import org.tools4j.mmap.region.config.MappingConfigurations;
 import org.tools4j.mmap.region.config.SharingPolicy;
 
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import static org.tools4j.mmap.region.config.MappingConfigurations.defaultMappingRuntimeIdleStrategySupplier;
+import static org.tools4j.mmap.region.config.MappingConfigurations.defaultMappingRuntimeWorkerThreads;
 import static org.tools4j.mmap.region.config.MappingConfigurations.defaultUnmappingRuntimeIdleStrategySupplier;
+import static org.tools4j.mmap.region.config.MappingConfigurations.defaultUnmappingRuntimeWorkerThreads;
 
 /**
  * Defines factory and accessor methods to create new or retrieve shared {@link AsyncRuntime} instances.
@@ -78,6 +81,22 @@ public enum AsyncRuntimeInstances {
         return AsyncRuntime.create("mapper-" + mapperCount.incrementAndGet(), idleStrategy, autoStopOnLastDeregister);
     }
 
+    /**
+     * Creates a new mapper runtime instance with the specified number of worker threads, idle strategies and auto-stop
+     * behavior. Idle workers steal mapping tasks from other workers if more than one worker thread is used.
+     *
+     * @param workerThreads the number of worker threads used by the new runtime instance
+     * @param idleStrategySupplier supplier for the idle strategy used by each worker thread
+     * @param autoStopOnLastDeregister if true the runtime automatically stops after the last task de-registration
+     * @return a new mapping runtime instance
+     */
+    public static AsyncRuntime newMappingRuntimeInstance(final int workerThreads,
+                                                         final Supplier<? extends IdleStrategy> idleStrategySupplier,
+                                                         final boolean autoStopOnLastDeregister) {
+        return AsyncRuntime.create("mapper-" + mapperCount.incrementAndGet(), workerThreads, idleStrategySupplier,
+                autoStopOnLastDeregister);
+    }
+
     /**
      * Creates a new unmapper runtime instance that automatically stops after the last task de-registration and uses the
      * default idle strategy.
@@ -112,8 +131,27 @@ public enum AsyncRuntimeInstances {
         return AsyncRuntime.create("unmapper-" + unmapperCount.incrementAndGet(), idleStrategy, autoStopOnLastDeregister);
     }
 
+    /**
+     * Creates a new unmapper runtime instance with the specified number of worker threads, idle strategies and
+     * auto-stop behavior. Idle workers steal unmapping tasks from other workers if more than one worker thread is used.
+     *
+     * @param workerThreads the number of worker threads used by the new runtime instance
+     * @param idleStrategySupplier supplier for the idle strategy used by each worker thread
+     * @param autoStopOnLastDeregister if true the runtime automatically stops after the last task de-registration
+     * @return a new unmapping runtime instance
+     */
+    public static AsyncRuntime newUnmappingRuntimeInstance(final int workerThreads,
+                                                           final Supplier<? extends IdleStrategy> idleStrategySupplier,
+                                                           final boolean autoStopOnLastDeregister) {
+        return AsyncRuntime.create("unmapper-" + unmapperCount.incrementAndGet(), workerThreads, idleStrategySupplier,
+                autoStopOnLastDeregister);
+    }
+
     /**
      * Returns the shared mapping runtime instance, a singleton instance in the virtual machine.
+     * <p>
+     * The shared instance uses {@linkplain MappingConfigurations#defaultMappingRuntimeWorkerThreads() default worker
+     * threads} which can be increased to scale async mapping with the number of mapped queues.
      * @return the shared mapping runtime instance
      */
     public static AsyncRuntime sharedMappingRuntimeInstance() {
@@ -122,6 +160,9 @@ public enum AsyncRuntimeInstances {
 
     /**
      * Returns the shared unmapping runtime instance, a singleton instance in the virtual machine.
+     * <p>
+     * The shared instance uses {@linkplain MappingConfigurations#defaultUnmappingRuntimeWorkerThreads() default worker
+     * threads}.
      * @return the shared unmapping runtime instance
      */
     public static AsyncRuntime sharedUnmappingRuntimeInstance() {
@@ -179,12 +220,12 @@ public enum AsyncRuntimeInstances {
     //lazy init through nested class which is only loaded when needed
     private static class MappingInstance {
         static final AsyncRuntime SHARED = AsyncRuntime.create("mapper-shared",
-                defaultMappingRuntimeIdleStrategySupplier().get(), false);
+                defaultMappingRuntimeWorkerThreads(), defaultMappingRuntimeIdleStrategySupplier(), false);
     }
 
     //lazy init through nested class which is only loaded when needed
     private static class UnmappingInstance {
         static final AsyncRuntime SHARED = AsyncRuntime.create("unmapper-shared",
-                defaultUnmappingRuntimeIdleStrategySupplier().get(), false);
+                defaultUnmappingRuntimeWorkerThreads(), defaultUnmappingRuntimeIdleStrategySupplier(), false);
     }
 }
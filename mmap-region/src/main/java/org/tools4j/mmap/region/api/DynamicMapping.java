@@ -86,6 +86,22 @@ public interface DynamicMapping extends Mapping, RegionAware {
      */
     boolean moveTo(long position);
 
+    /**
+     * Attempts to move the region to the specified position without blocking in a synchronous mapping operation.
+     * Returns true if the move was successful, that is, if the region was already mapped, available in a cache or
+     * mapped ahead asynchronously. Otherwise, mapping of the region is requested from the async runtime, false is
+     * returned and the mapping remains at its current position; the caller can perform other work and retry later.
+     * <p>
+     * If the mapping strategy does not use {@linkplain org.tools4j.mmap.region.config.MappingStrategyConfig#asyncMapping()
+     * async mapping}, the mapping is performed synchronously and this method behaves exactly like {@link #moveTo(long)}.
+     *
+     * @param position  the position to move to, must be a multiple of {@linkplain #regionSize() region size} unless
+     *                  this is an {@link ElasticMapping} or an {@link AdaptiveMapping}
+     * @return true if the region is ready for data access, and false if it is not ready yet
+     * @throws IllegalArgumentException if position is negative or not an allowed position value for this mapping
+     */
+    boolean tryMoveTo(long position);
+
     /**
      * Moves the mapping forward or backward by the specified delta in bytes. Delegates to {@link #moveTo(long)} if
      * current and resulting position are valid. An exception is thrown if no position is currently mapped or if the
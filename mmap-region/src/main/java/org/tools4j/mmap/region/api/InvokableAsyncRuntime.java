@@ -0,0 +1,103 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.region.api;
+
+import org.agrona.concurrent.Agent;
+import org.tools4j.mmap.region.impl.InvokableAsyncRuntimeImpl;
+
+/**
+ * An async runtime without its own thread; registered {@link Recurring recurring executables} are executed when
+ * {@link #invoke()} is called, usually from the application's own duty cycle. This is useful in deployments where no
+ * extra core can be dedicated to background mapping operations, and similar to Agrona's
+ * {@link org.agrona.concurrent.AgentInvoker AgentInvoker}.
+ * <p>
+ * Recurring executables with {@link Priority#HIGH high} priority are executed on every invocation. All other
+ * executables are executed in a round-robin fashion until the work budget or the time budget of the invocation has
+ * been consumed; the next invocation continues where the last invocation left off.
+ * <p>
+ * The runtime implements Agrona's {@link Agent} interface so that it can also be composed with other agents.
+ * <p>
+ * Note that {@link #invoke()} must be called from a single thread, but registration and de-registration of recurring
+ * executables can occur from any thread.
+ */
+public interface InvokableAsyncRuntime extends AsyncRuntime, Agent {
+    /** Constant for unlimited work or time budget per invocation */
+    long UNLIMITED = Long.MAX_VALUE;
+
+    /**
+     * Executes registered recurring executables within the limits of the work and time budget.
+     *
+     * @return the work count, zero if no work was performed
+     */
+    int invoke();
+
+    /**
+     * Returns the maximum work count performed per invocation by executables other than those with high priority.
+     * @return the work budget per invocation, or {@link #UNLIMITED}
+     */
+    long workBudget();
+
+    /**
+     * Returns the maximum time in nanoseconds spent per invocation by executables other than those with high priority.
+     * @return the time budget per invocation in nanoseconds, or {@link #UNLIMITED}
+     */
+    long timeBudgetNanos();
+
+    /**
+     * Invokes this runtime as an agent.
+     * @return the work count, zero if no work was performed
+     * @see #invoke()
+     */
+    @Override
+    default int doWork() {
+        return invoke();
+    }
+
+    /**
+     * Creates an invokable async runtime executing all recurring executables once per invocation.
+     *
+     * @param name                      the name for the runtime
+     * @param autoStopOnLastDeregister  if true the runtime is stopped after the last de-registration
+     * @return a new invokable async runtime without work or time budget
+     */
+    static InvokableAsyncRuntime create(final String name, final boolean autoStopOnLastDeregister) {
+        return create(name, UNLIMITED, UNLIMITED, autoStopOnLastDeregister);
+    }
+
+    /**
+     * Creates an invokable async runtime executing recurring executables within the given budget per invocation.
+     *
+     * @param name                      the name for the runtime
+     * @param workBudget                the maximum work count per invocation, or {@link #UNLIMITED}
+     * @param timeBudgetNanos           the maximum time per invocation in nanoseconds, or {@link #UNLIMITED}
+     * @param autoStopOnLastDeregister  if true the runtime is stopped after the last de-registration
+     * @return a new invokable async runtime
+     */
+    static InvokableAsyncRuntime create(final String name,
+                                        final long workBudget,
+                                        final long timeBudgetNanos,
+                                        final boolean autoStopOnLastDeregister) {
+        return new InvokableAsyncRuntimeImpl(name, workBudget, timeBudgetNanos, autoStopOnLastDeregister);
+    }
+}
@@ -105,7 +105,7 @@ public enum Mappings {
                                               final FileInitialiser fileInitialiser,
                                               final MappingConfig config) {
         final FileMapper fileMapper = FileMappers.create(file, accessMode, fileInitialiser, config);
-        final RegionMapper regionMapper = RegionMappers.create(fileMapper, config.mappingStrategy());
+        final RegionMapper regionMapper = RegionMappers.create(fileMapper, config.effectiveMappingStrategy());
         return regionMapping(regionMapper, true);
     }
 
@@ -129,8 +129,8 @@ public enum Mappings {
                                                 final FileInitialiser fileInitialiser,
                                                 final MappingConfig config) {
         final FileMapper fileMapper = FileMappers.create(file, accessMode, fileInitialiser, config);
-        final RegionMapper regionMapper = RegionMappers.create(fileMapper, config.mappingStrategy());
-        return elasticMapping(regionMapper, true);
+        final RegionMapper regionMapper = RegionMappers.create(fileMapper, config.effectiveMappingStrategy());
+        return elasticMapping(regionMapper, config.regionOverlap(), true);
     }
 
     @Unsafe
@@ -139,6 +139,13 @@ public enum Mappings {
         return new ElasticMappingImpl(regionMapper, closeRegionMapperOnClose);
     }
 
+    @Unsafe
+    public static ElasticMapping elasticMapping(final RegionMapper regionMapper,
+                                                final int regionOverlap,
+                                                final boolean closeRegionMapperOnClose) {
+        return new ElasticMappingImpl(regionMapper, regionOverlap, closeRegionMapperOnClose);
+    }
+
     public static AdaptiveMapping adaptiveMapping(final File file, final AccessMode accessMode) {
         return adaptiveMapping(file, accessMode, MappingConfig.getDefault());
     }
@@ -154,7 +161,7 @@ public enum Mappings {
                                                   final FileInitialiser fileInitialiser,
                                                   final MappingConfig config) {
         final FileMapper fileMapper = FileMappers.create(file, accessMode, fileInitialiser, config);
-        final RegionMapper regionMapper = RegionMappers.create(fileMapper, config.mappingStrategy());
+        final RegionMapper regionMapper = RegionMappers.create(fileMapper, config.effectiveMappingStrategy());
         return adaptiveMapping(regionMapper, true);
     }
 
@@ -187,7 +194,7 @@ public enum Mappings {
                                           final MappingConfig config,
                                           final int initialPoolSize) {
         final FileMapper fileMapper = FileMappers.create(file, accessMode, fileInitialiser, config);
-        final RegionMapper regionMapper = RegionMappers.create(fileMapper, config.mappingStrategy());
+        final RegionMapper regionMapper = RegionMappers.create(fileMapper, config.effectiveMappingStrategy());
         return mappingPool(regionMapper, initialPoolSize);
     }
 
@@ -45,9 +45,39 @@ public interface MappingConfig {
     /** @return the number of files to create ahead, that is, before they are actually used for mappings */
     int filesToCreateAhead();
 
+    /**
+     * @return true if every file is mapped into memory as a whole in a single mapping of
+     *         {@linkplain #maxFileSize() maximum file size}, in which case the region size of the
+     *         {@linkplain #mappingStrategy() mapping strategy} is ignored
+     */
+    boolean wholeFileMapping();
+
+    /**
+     * @return the number of bytes by which {@linkplain org.tools4j.mmap.region.api.ElasticMapping elastic mappings}
+     *         extend every mapped region into the next region, zero for no overlap
+     */
+    int regionOverlap();
+
     /** @return the mapping strategy to use */
     MappingStrategyConfig mappingStrategy();
 
+    /**
+     * Returns the mapping strategy that is effectively applied when creating mappings. This is the
+     * {@linkplain #mappingStrategy() mapping strategy} itself unless {@linkplain #wholeFileMapping() whole-file mapping}
+     * is enabled, in which case the region size is replaced with the {@linkplain #maxFileSize() maximum file size}.
+     *
+     * @return the mapping strategy used to create region mappers
+     */
+    default MappingStrategyConfig effectiveMappingStrategy() {
+        final MappingStrategyConfig mappingStrategy = mappingStrategy();
+        if (!wholeFileMapping() || mappingStrategy.regionSize() == maxFileSize()) {
+            return mappingStrategy;
+        }
+        return MappingStrategyConfig.configure(mappingStrategy)
+                .regionSize((int)maxFileSize())
+                .toImmutableConfig();
+    }
+
     /** @return an immutable version of this mapping config, for instance useful if this is a {@link MappingConfigurator}*/
     MappingConfig toImmutableConfig();
 
@@ -54,6 +54,10 @@ public enum MappingConfigurations {
     public static final boolean CLOSE_FILES_DEFAULT = true;
     public static final String FILES_TO_CREATE_AHEAD_PROPERTY = "mmap.region.filesToCreateAhead";
     public static final int FILES_TO_CREATE_AHEAD_DEFAULT = 0;
+    public static final String WHOLE_FILE_MAPPING_PROPERTY = "mmap.region.wholeFileMapping";
+    public static final boolean WHOLE_FILE_MAPPING_DEFAULT = false;
+    public static final String REGION_OVERLAP_PROPERTY = "mmap.region.regionOverlap";
+    public static final int REGION_OVERLAP_DEFAULT = 0;
     public static final String REGION_SIZE_PROPERTY = "mmap.region.regionSize";
     public static final int REGION_SIZE_DEFAULT = (int)Math.max(64*1024, REGION_SIZE_GRANULARITY);
     public static final String INITIAL_MAPPING_POOL_SIZE_PROPERTY = "mmap.region.initialMappingPoolSize";
@@ -84,6 +88,8 @@ public enum MappingConfigurations {
     public static final boolean MAPPING_RUNTIME_IDLE_STRATEGY_SHARED_DEFAULT = true;
     public static final String MAPPING_RUNTIME_SHARED_PROPERTY = "mmap.region.async.mappingRuntimeShared";
     public static final boolean MAPPING_RUNTIME_SHARED_DEFAULT = true;
+    public static final String MAPPING_RUNTIME_WORKER_THREADS_PROPERTY = "mmap.region.async.mappingRuntimeWorkerThreads";
+    public static final int MAPPING_RUNTIME_WORKER_THREADS_DEFAULT = 1;
     public static final String MAPPING_RUNTIME_AUTO_CLOSE_ON_LAST_DEREGISTER_PROPERTY = "mmap.region.async.mappingRuntimeAutoCloseOnLastDeregister";
     public static final boolean MAPPING_RUNTIME_AUTO_CLOSE_ON_LAST_DEREGISTER_DEFAULT = false;
     public static final String UNMAPPING_RUNTIME_IDLE_STRATEGY_PROPERTY = "mmap.region.async.unmappingRuntimeIdleStrategy";
@@ -92,6 +98,8 @@ public enum MappingConfigurations {
     public static final boolean UNMAPPING_RUNTIME_IDLE_STRATEGY_SHARED_DEFAULT = false;
     public static final String UNMAPPING_RUNTIME_SHARED_PROPERTY = "mmap.region.async.unmappingRuntimeShared";
     public static final boolean UNMAPPING_RUNTIME_SHARED_DEFAULT = true;
+    public static final String UNMAPPING_RUNTIME_WORKER_THREADS_PROPERTY = "mmap.region.async.unmappingRuntimeWorkerThreads";
+    public static final int UNMAPPING_RUNTIME_WORKER_THREADS_DEFAULT = 1;
     public static final String UNMAPPING_RUNTIME_AUTO_CLOSE_ON_LAST_DEREGISTER_PROPERTY = "mmap.region.async.unmappingRuntimeAutoCloseOnLastDeregister";
     public static final boolean UNMAPPING_RUNTIME_AUTO_CLOSE_ON_LAST_DEREGISTER_DEFAULT = false;
     public static final String MAPPING_ASYNC_RUNTIME_PROPERTY = "mmap.region.async.mappingAsyncRuntime";
@@ -119,6 +127,14 @@ public enum MappingConfigurations {
         return getIntProperty(FILES_TO_CREATE_AHEAD_PROPERTY, Constraints::validateFilesToCreateAhead, FILES_TO_CREATE_AHEAD_DEFAULT);
     }
 
+    public static boolean defaultWholeFileMapping() {
+        return getBooleanProperty(WHOLE_FILE_MAPPING_PROPERTY, WHOLE_FILE_MAPPING_DEFAULT);
+    }
+
+    public static int defaultRegionOverlap() {
+        return getIntProperty(REGION_OVERLAP_PROPERTY, Constraints::validateRegionOverlap, REGION_OVERLAP_DEFAULT);
+    }
+
     public static int defaultRegionSize() {
         return getIntProperty(REGION_SIZE_PROPERTY, Constraints::validateRegionSize, REGION_SIZE_DEFAULT);
     }
@@ -172,6 +188,10 @@ public enum MappingConfigurations {
         return getBooleanProperty(MAPPING_RUNTIME_SHARED_PROPERTY, MAPPING_RUNTIME_SHARED_DEFAULT);
     }
 
+    public static int defaultMappingRuntimeWorkerThreads() {
+        return getIntProperty(MAPPING_RUNTIME_WORKER_THREADS_PROPERTY, Constraints::validateRuntimeWorkerThreads, MAPPING_RUNTIME_WORKER_THREADS_DEFAULT);
+    }
+
     public static boolean defaultMappingRuntimeAutoCloseOnLastDeregister() {
         return getBooleanProperty(MAPPING_RUNTIME_AUTO_CLOSE_ON_LAST_DEREGISTER_PROPERTY, MAPPING_RUNTIME_AUTO_CLOSE_ON_LAST_DEREGISTER_DEFAULT);
     }
@@ -189,6 +209,10 @@ public enum MappingConfigurations {
         return getBooleanProperty(UNMAPPING_RUNTIME_SHARED_PROPERTY, UNMAPPING_RUNTIME_SHARED_DEFAULT);
     }
 
+    public static int defaultUnmappingRuntimeWorkerThreads() {
+        return getIntProperty(UNMAPPING_RUNTIME_WORKER_THREADS_PROPERTY, Constraints::validateRuntimeWorkerThreads, UNMAPPING_RUNTIME_WORKER_THREADS_DEFAULT);
+    }
+
     public static boolean defaultUnmappingRuntimeAutoCloseOnLastDeregister() {
         return getBooleanProperty(UNMAPPING_RUNTIME_AUTO_CLOSE_ON_LAST_DEREGISTER_PROPERTY, UNMAPPING_RUNTIME_AUTO_CLOSE_ON_LAST_DEREGISTER_DEFAULT);
     }
@@ -198,6 +222,7 @@ public enum MappingConfigurations {
             MAPPING_ASYNC_RUNTIME_DEFAULT_VALUE = createDefaultAsyncRuntimeSupplier(
                     "mapper-default", MAPPING_ASYNC_RUNTIME_PROPERTY,
                     MappingConfigurations.defaultMappingRuntimeShared(),
+                    defaultMappingRuntimeWorkerThreads(),
                     defaultMappingRuntimeIdleStrategySupplier(),
                     MappingConfigurations::defaultMappingRuntimeAutoCloseOnLastDeregister);
             assert MAPPING_ASYNC_RUNTIME_DEFAULT_VALUE != null;
@@ -210,6 +235,7 @@ public enum MappingConfigurations {
             UNMAPPING_ASYNC_RUNTIME_DEFAULT_VALUE = createDefaultAsyncRuntimeSupplier(
                     "unmapper-default", UNMAPPING_ASYNC_RUNTIME_PROPERTY,
                     MappingConfigurations.defaultUnmappingRuntimeShared(),
+                    defaultUnmappingRuntimeWorkerThreads(),
                     defaultUnmappingRuntimeIdleStrategySupplier(),
                     MappingConfigurations::defaultUnmappingRuntimeAutoCloseOnLastDeregister);
             assert UNMAPPING_ASYNC_RUNTIME_DEFAULT_VALUE != null;
@@ -220,6 +246,7 @@ public enum MappingConfigurations {
     private static Supplier<? extends AsyncRuntime> createDefaultAsyncRuntimeSupplier(final String name,
                                                                                       final String runtimePropertyName,
                                                                                       final boolean sharedRuntime,
+                                                                                      final int workerThreads,
                                                                                       final Supplier<? extends IdleStrategy> idleStrategySupplier,
                                                                                       final BooleanSupplier autoStopOnLastDeregisterSupplier) {
         requireNonNull(name);
@@ -227,7 +254,7 @@ public enum MappingConfigurations {
         requireNonNull(idleStrategySupplier);
         requireNonNull(autoStopOnLastDeregisterSupplier);
         return getSupplierProperty(runtimePropertyName, AsyncRuntime.class, sharedRuntime, () ->
-                AsyncRuntime.create(name, idleStrategySupplier.get(), autoStopOnLastDeregisterSupplier.getAsBoolean())
+                AsyncRuntime.create(name, workerThreads, idleStrategySupplier, autoStopOnLastDeregisterSupplier.getAsBoolean())
         );
     }
 
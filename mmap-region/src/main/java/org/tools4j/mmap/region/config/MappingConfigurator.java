@@ -73,6 +73,27 @@ public interface MappingConfigurator extends MappingConfig {
      * @return this configurator for method chaining
      */
     MappingConfigurator filesToCreateAhead(int filesToCreateAhead);
+    /**
+     * Sets the whole-file-mapping option. If true, every file is mapped as a whole in a single mapping of
+     * {@linkplain #maxFileSize() maximum file size}; moving within a file then requires no mapping operation at all,
+     * and only rolling to the next file triggers a new mapping. The maximum file size must not exceed
+     * {@link org.tools4j.mmap.region.impl.Constants#MAX_WHOLE_FILE_MAPPING_SIZE} if this option is enabled.
+     *
+     * @param wholeFileMapping true to map whole files, false to map regions of the mapping strategy's region size
+     * @return this configurator for method chaining
+     */
+    MappingConfigurator wholeFileMapping(boolean wholeFileMapping);
+    /**
+     * Sets the region overlap in bytes. If positive, every region is mapped with an additional tail of overlapping
+     * bytes that covers the start of the next region, which allows
+     * {@linkplain org.tools4j.mmap.region.api.ElasticMapping elastic mappings} to provide contiguous access to up to
+     * {@code regionOverlap} bytes from any position within a region. Files are created {@code regionOverlap} bytes
+     * larger than the {@linkplain #maxFileSize() maximum file size} to accommodate the overlap of the last region.
+     *
+     * @param regionOverlap the region overlap in bytes, zero for no overlap
+     * @return this configurator for method chaining
+     */
+    MappingConfigurator regionOverlap(int regionOverlap);
     /**
      * Sets the mapping strategy configuration to use. Consider using {@link #configure(MappingConfig)} instead.
      *
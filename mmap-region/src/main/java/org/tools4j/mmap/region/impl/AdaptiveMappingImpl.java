@@ -115,17 +115,25 @@ public final class AdaptiveMappingImpl implements AdaptiveMapping {
         validatePosition(position);
         final int maxLength = maxLengthAtPosition(position);
         final int newLength = isMapped() ? Math.min(length(), maxLength) : maxLength;
-        return moveToInternal(position, newLength);
+        return moveToInternal(position, newLength, true);
+    }
+
+    @Override
+    public boolean tryMoveTo(final long position) {
+        validatePosition(position);
+        final int maxLength = maxLengthAtPosition(position);
+        final int newLength = isMapped() ? Math.min(length(), maxLength) : maxLength;
+        return moveToInternal(position, newLength, false);
     }
 
     @Override
     public boolean moveTo(final long position, final int length) {
         validatePosition(position);
         validateAdaptiveMappingLength(length, maxLengthAtPosition(position));
-        return moveToInternal(position, length);
+        return moveToInternal(position, length, true);
     }
 
-    private boolean moveToInternal(final long position, final int length) {
+    private boolean moveToInternal(final long position, final int length, final boolean blocking) {
         final RegionMetrics metrics = regionMetrics();
         final int newOffset = metrics.regionOffset(position);
         final long newRegionPosition = metrics.regionPosition(position);
@@ -138,7 +146,7 @@ public final class AdaptiveMappingImpl implements AdaptiveMapping {
             return true;
         }
         final long oldRegionAddress = mappedRegionAddress;
-        final long newRegionAddress = map(newRegionPosition);
+        final long newRegionAddress = map(newRegionPosition, blocking);
         if (newRegionAddress != NULL_ADDRESS) {
             initBufferAndOffset(newRegionAddress, newOffset, length);
             unmap(oldRegionPosition, oldRegionAddress, false);
@@ -154,7 +162,7 @@ public final class AdaptiveMappingImpl implements AdaptiveMapping {
         validatePositionDelta(position, delta);
         final long newPosition = position + delta;
         final int newLength = Math.min(length(), maxLengthAtPosition(newPosition));
-        return moveToInternal(newPosition, newLength);
+        return moveToInternal(newPosition, newLength, true);
     }
 
     @Override
@@ -164,7 +172,7 @@ public final class AdaptiveMappingImpl implements AdaptiveMapping {
         validatePositionDelta(position, delta);
         final long newPosition = position + delta;
         validateAdaptiveMappingLength(length, maxLengthAtPosition(newPosition));
-        return moveToInternal(newPosition, length);
+        return moveToInternal(newPosition, length, true);
     }
 
     private void initBufferAndOffset(final long regionAddress, final int offset, final int length) {
@@ -172,8 +180,8 @@ public final class AdaptiveMappingImpl implements AdaptiveMapping {
         this.offset = offset;
     }
 
-    private long map(final long regionPosition) {
-        final long addr = regionMapper.map(regionPosition);
+    private long map(final long regionPosition, final boolean blocking) {
+        final long addr = blocking ? regionMapper.map(regionPosition) : regionMapper.tryMap(regionPosition);
         if (addr > NULL_ADDRESS) {
             mappedRegionPosition = regionPosition;
             mappedRegionAddress = addr;
@@ -86,12 +86,20 @@ public class AsyncRuntimeImpl implements AsyncRuntime {
         if (stop.get() != null) {
             throw new IllegalArgumentException("Async runtime has already been stopped or is in the process of stopping");
         }
+        final Priority priority = requireNonNull(recurring.priority());
         Recurring[] current, modified;
         do {
             current = executables.get();
             final int length = current.length;
-            modified = Arrays.copyOf(current,  length + 1);
-            modified[length] = recurring;
+            //insert after last executable with same or higher priority to keep executables sorted by priority
+            int index = length;
+            while (index > 0 && current[index - 1].priority().compareTo(priority) > 0) {
+                index--;
+            }
+            modified = new Recurring[length + 1];
+            System.arraycopy(current, 0, modified, 0, index);
+            modified[index] = recurring;
+            System.arraycopy(current, index, modified, index + 1, length - index);
         } while (!executables.compareAndSet(current, modified));
     }
 
@@ -106,9 +114,7 @@ public class AsyncRuntimeImpl implements AsyncRuntime {
             }
             final int length = current.length - 1;
             modified = Arrays.copyOf(current, length);
-            if (index < length) {
-                modified[index] = current[length];
-            }
+            System.arraycopy(current, index + 1, modified, index, length - index);
         } while (!executables.compareAndSet(current, modified));
         //NOTE: concurrent new registration is possible here, but we simply ignore it
         //       as we would also ignore new registrations after stopping
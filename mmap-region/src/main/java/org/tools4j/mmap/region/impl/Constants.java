@@ -37,6 +37,18 @@ public enum Constants {
      */
     public static final long REGION_SIZE_GRANULARITY = regionSizeGranularity();
 
+    /**
+     * Maximum file size supported if whole files are mapped in a single region; this is the largest power of two that
+     * is still a valid int region size.
+     */
+    public static final long MAX_WHOLE_FILE_MAPPING_SIZE = 1L << 30;
+
+    /**
+     * Maximum number of slots of a key index with 16 bytes per slot, so that the index file length is still a valid int
+     * mapping size.
+     */
+    public static final int MAX_KEY_INDEX_CAPACITY = 1 << 26;
+
     /**
      * Digging into protected java code to get the memory page size.
      *
@@ -27,6 +27,8 @@ import org.agrona.BitUtil;
 import org.tools4j.mmap.region.api.RegionMetrics;
 
 import static org.tools4j.mmap.region.api.NullValues.NULL_ADDRESS;
+import static org.tools4j.mmap.region.impl.Constants.MAX_KEY_INDEX_CAPACITY;
+import static org.tools4j.mmap.region.impl.Constants.MAX_WHOLE_FILE_MAPPING_SIZE;
 import static org.tools4j.mmap.region.impl.Constants.REGION_SIZE_GRANULARITY;
 
 public enum Constraints {
@@ -144,6 +146,49 @@ public enum Constraints {
         }
     }
 
+    public static void validateWholeFileMappingSize(final long maxFileSize) {
+        validateMaxFileSize(maxFileSize);
+        if (maxFileSize > MAX_WHOLE_FILE_MAPPING_SIZE) {
+            throw new IllegalArgumentException("Max file size cannot exceed " + MAX_WHOLE_FILE_MAPPING_SIZE +
+                    " for whole-file mapping but was " + maxFileSize);
+        }
+    }
+
+    public static void validateClaimBatchSize(final int claimBatchSize) {
+        validateGreaterThanZero("Claim batch size", claimBatchSize);
+    }
+
+    public static void validateDispatcherRingCapacity(final int ringCapacity) {
+        validatePowerOfTwo("Dispatcher ring capacity", ringCapacity);
+    }
+
+    public static void validateKeyIndexCapacity(final int capacity) {
+        validatePowerOfTwo("Key index capacity", capacity);
+        if (capacity > MAX_KEY_INDEX_CAPACITY) {
+            throw new IllegalArgumentException("Key index capacity cannot exceed " + MAX_KEY_INDEX_CAPACITY +
+                    " but was " + capacity);
+        }
+    }
+
+    public static void validateRingSlotCount(final int slotCount) {
+        validatePowerOfTwo("Ring slot count", slotCount);
+        if (slotCount < 2) {
+            throw new IllegalArgumentException("Ring slot count must be at least 2 but was " + slotCount);
+        }
+    }
+
+    public static void validateRingMaxEntryLength(final int maxEntryLength) {
+        validateGreaterThanZero("Ring max entry length", maxEntryLength);
+    }
+
+    public static void validateRingClaimTimeoutMillis(final int claimTimeoutMillis) {
+        validateGreaterThanZero("Ring claim timeout millis", claimTimeoutMillis);
+    }
+
+    public static void validateRegionOverlap(final int regionOverlap) {
+        validateNonNegative("Region overlap", regionOverlap);
+    }
+
     public static void validateRegionCacheSize(final int cacheSize) {
         validatePowerOfTwo("Region cache size", cacheSize);
     }
@@ -166,6 +211,10 @@ public enum Constraints {
         validateNonNegative("Unmapping cache size", cacheSize);
     }
 
+    public static void validateRuntimeWorkerThreads(final int workerThreads) {
+        validateGreaterThanZero("Runtime worker threads", workerThreads);
+    }
+
     public static void validateFilesToCreateAhead(final int filesToCreateAhead) {
         validateNonNegative("Files to create ahead", filesToCreateAhead);
     }
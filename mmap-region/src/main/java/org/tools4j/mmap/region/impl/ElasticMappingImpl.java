@@ -38,11 +38,13 @@ import static org.tools4j.mmap.region.impl.Constraints.validateNotClosed;
 import static org.tools4j.mmap.region.impl.Constraints.validatePosition;
 import static org.tools4j.mmap.region.impl.Constraints.validatePositionDelta;
 import static org.tools4j.mmap.region.impl.Constraints.validatePositionState;
+import static org.tools4j.mmap.region.impl.Constraints.validateRegionOverlap;
 
 public final class ElasticMappingImpl implements ElasticMapping {
     private final RegionMapper regionMapper;
     private final boolean closeRegionMapperOnClose;
     private final RegionMetrics regionMetrics;
+    private final int regionOverlap;
     private final AtomicBuffer buffer = new UnsafeBuffer(0, 0);
     private long mappedRegionPosition;
     private long mappedRegionAddress;
@@ -51,10 +53,27 @@ public final class ElasticMappingImpl implements ElasticMapping {
 
     @Unsafe
     public ElasticMappingImpl(final RegionMapper regionMapper, final boolean closeRegionMapperOnClose) {
+        this(regionMapper, 0, closeRegionMapperOnClose);
+    }
+
+    /**
+     * Constructor with region overlap, where the region mapper must map regions with the specified number of
+     * additional overlap bytes, for instance via {@link org.tools4j.mmap.region.unsafe.OverlappingFileMapper}.
+     *
+     * @param regionMapper              the region mapper
+     * @param regionOverlap             the number of overlap bytes mapped in addition to the region size
+     * @param closeRegionMapperOnClose  true if the region mapper should be closed when closing this mapping
+     */
+    @Unsafe
+    public ElasticMappingImpl(final RegionMapper regionMapper,
+                              final int regionOverlap,
+                              final boolean closeRegionMapperOnClose) {
         validateNotClosed(regionMapper);
+        validateRegionOverlap(regionOverlap);
         this.regionMapper = requireNonNull(regionMapper);
         this.closeRegionMapperOnClose = closeRegionMapperOnClose;
         this.regionMetrics = new RegionMetricsImpl(regionMapper.regionSize());
+        this.regionOverlap = regionOverlap;
         this.mappedRegionPosition = NULL_POSITION;
         this.mappedRegionAddress = NULL_ADDRESS;
         this.offset = 0;
@@ -119,7 +138,13 @@ public final class ElasticMappingImpl implements ElasticMapping {
     @Override
     public boolean moveTo(final long position) {
         validatePosition(position);
-        return moveToInternal(position);
+        return moveToInternal(position, true);
+    }
+
+    @Override
+    public boolean tryMoveTo(final long position) {
+        validatePosition(position);
+        return moveToInternal(position, false);
     }
 
     @Override
@@ -127,10 +152,10 @@ public final class ElasticMappingImpl implements ElasticMapping {
         final long position = position();
         validatePositionState(position);
         validatePositionDelta(position, delta);
-        return moveToInternal(position + delta);
+        return moveToInternal(position + delta, true);
     }
 
-    private boolean moveToInternal(final long position) {
+    private boolean moveToInternal(final long position, final boolean blocking) {
         final RegionMetrics metrics = regionMetrics;
         final long oldRegionPosition = mappedRegionPosition;
         final long newRegionPosition = metrics.regionPosition(position);
@@ -143,7 +168,7 @@ public final class ElasticMappingImpl implements ElasticMapping {
             return true;
         }
         final long oldRegionAddress = mappedRegionAddress;
-        final long newRegionAddress = map(newRegionPosition);
+        final long newRegionAddress = map(newRegionPosition, blocking);
         if (newRegionAddress > NULL_ADDRESS) {
             final int newOffset = metrics.regionOffset(position);
             initBufferAndOffset(newRegionAddress, newOffset);
@@ -154,12 +179,12 @@ public final class ElasticMappingImpl implements ElasticMapping {
     }
 
     private void initBufferAndOffset(final long regionAddress, final int offset) {
-        this.buffer.wrap(regionAddress + offset, regionSize() - offset);
+        this.buffer.wrap(regionAddress + offset, regionSize() + regionOverlap - offset);
         this.offset = offset;
     }
 
-    private long map(final long regionPosition) {
-        final long addr = regionMapper.map(regionPosition);
+    private long map(final long regionPosition, final boolean blocking) {
+        final long addr = blocking ? regionMapper.map(regionPosition) : regionMapper.tryMap(regionPosition);
         if (addr > NULL_ADDRESS) {
             mappedRegionPosition = regionPosition;
             mappedRegionAddress = addr;
@@ -200,6 +225,7 @@ public final class ElasticMappingImpl implements ElasticMapping {
                 "|regionStartPosition=" + regionStartPosition() +
                 "|offset=" + regionOffset() +
                 "|regionSize=" + regionSize() +
+                "|regionOverlap=" + regionOverlap +
                 "|bytesAvailable=" + bytesAvailable() +
                 "|accessMode=" + accessMode() +
                 "|closed=" + isClosed();
@@ -43,6 +43,26 @@ public interface IdPool extends Closeable {
      */
     boolean release(int id);
 
+    /**
+     * Acquires all IDs of the pool at once if no ID is currently acquired, and returns the first ID of the pool to
+     * represent the exclusive owner.  No further IDs can be acquired until the exclusive ID is
+     * {@link #releaseExclusive(int) released}.
+     *
+     * @return the exclusively acquired ID
+     * @throws IllegalStateException if any ID is currently acquired or if the pool is closed
+     */
+    int acquireExclusive();
+
+    /**
+     * Releases all IDs acquired through {@link #acquireExclusive()}.
+     *
+     * @param id the ID returned by {@link #acquireExclusive()}
+     * @return true if the IDs were released, and false if they were not exclusively acquired
+     * @throws IllegalArgumentException if the ID is not the exclusive ID of this pool
+     * @throws IllegalStateException if the pool is closed
+     */
+    boolean releaseExclusive(int id);
+
     /**
      * Returns the number of IDs currently acquired, or zero if this pool is closed.
      * @return the IDs currently acquired, or zero if the pool is closed
@@ -109,6 +109,47 @@ public class IdPool256 implements IdPool {
         return false;
     }
 
+    /**
+     * Acquires the words of the bit set one after another, starting with the first;  a concurrent
+     * {@link #acquire()} always takes a bit from the first word with a free bit, hence either the concurrent
+     * acquisition or the exclusive acquisition fails, in which case the acquired words are released again.
+     */
+    @Override
+    public int acquireExclusive() {
+        validateNotClosed(this);
+        final AtomicBuffer buf = mapping.buffer();
+        for (int index = 0; index < FILE_SIZE; index += Long.BYTES) {
+            if (!buf.compareAndSetLong(index, 0, -1L)) {
+                for (int acquired = index - Long.BYTES; acquired >= 0; acquired -= Long.BYTES) {
+                    buf.putLongVolatile(acquired, 0);
+                }
+                throw new IllegalStateException("Cannot exclusively acquire IDs of pool " + name + " with " +
+                        acquired() + " IDs acquired");
+            }
+        }
+        LOGGER.info("Acquired ID 0 exclusively from {} pool", name);
+        return 0;
+    }
+
+    @Override
+    public boolean releaseExclusive(final int id) {
+        validateNotClosed(this);
+        if (id != 0) {
+            throw new IllegalArgumentException("Invalid exclusive ID: " + id);
+        }
+        final AtomicBuffer buf = mapping.buffer();
+        for (int index = 0; index < FILE_SIZE; index += Long.BYTES) {
+            if (buf.getLongVolatile(index) != -1L) {
+                return false;
+            }
+        }
+        for (int index = FILE_SIZE - Long.BYTES; index >= 0; index -= Long.BYTES) {
+            buf.putLongVolatile(index, 0);
+        }
+        LOGGER.info("Released exclusive ID 0 to {} pool", name);
+        return true;
+    }
+
     @Override
     public int acquired() {
         if (mapping.isClosed()) {
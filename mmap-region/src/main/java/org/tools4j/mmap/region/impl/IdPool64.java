@@ -104,6 +104,30 @@ public class IdPool64 implements IdPool {
         return false;
     }
 
+    @Override
+    public int acquireExclusive() {
+        validateNotClosed(this);
+        if (!mapping.buffer().compareAndSetLong(0, 0, -1L)) {
+            throw new IllegalStateException("Cannot exclusively acquire IDs of pool " + name + " with " + acquired() +
+                    " IDs acquired");
+        }
+        LOGGER.info("Acquired ID 0 exclusively from {} pool", name);
+        return 0;
+    }
+
+    @Override
+    public boolean releaseExclusive(final int id) {
+        validateNotClosed(this);
+        if (id != 0) {
+            throw new IllegalArgumentException("Invalid exclusive ID: " + id);
+        }
+        if (mapping.buffer().compareAndSetLong(0, -1L, 0)) {
+            LOGGER.info("Released exclusive ID 0 to {} pool", name);
+            return true;
+        }
+        return false;
+    }
+
     @Override
     public int acquired() {
         if (mapping.isClosed()) {
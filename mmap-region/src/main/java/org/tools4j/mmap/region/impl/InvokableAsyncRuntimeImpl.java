@@ -0,0 +1,251 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.region.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tools4j.mmap.region.api.InvokableAsyncRuntime;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.Objects.requireNonNull;
+import static org.tools4j.mmap.region.impl.Constraints.validateGreaterThanZero;
+
+public class InvokableAsyncRuntimeImpl implements InvokableAsyncRuntime {
+    private static final Logger LOGGER = LoggerFactory.getLogger(InvokableAsyncRuntimeImpl.class);
+    private static final Recurring[] EMPTY = {};
+
+    private final String name;
+    private final long workBudget;
+    private final long timeBudgetNanos;
+    private final boolean autoStopOnLastDeregister;
+    private final AtomicReference<Recurring[]> executables = new AtomicReference<>(EMPTY);
+    private volatile Thread invokerThread;
+    /** Incremented when an invocation starts and when it completes, hence odd while an invocation is in progress */
+    private volatile long invocations;
+    private int cursor;
+
+    private enum StopStatus {
+        WHEN_IDLE,
+        STOPPED
+    }
+    private final AtomicReference<StopStatus> stop = new AtomicReference<>(null);
+
+    public InvokableAsyncRuntimeImpl(final String name,
+                                     final long workBudget,
+                                     final long timeBudgetNanos,
+                                     final boolean autoStopOnLastDeregister) {
+        validateGreaterThanZero("Work budget", workBudget);
+        validateGreaterThanZero("Time budget", timeBudgetNanos);
+        this.name = requireNonNull(name);
+        this.workBudget = workBudget;
+        this.timeBudgetNanos = timeBudgetNanos;
+        this.autoStopOnLastDeregister = autoStopOnLastDeregister;
+        LOGGER.info("Created invokable async runtime {} with work budget {} and time budget {}", name,
+                workBudget == UNLIMITED ? "unlimited" : workBudget,
+                timeBudgetNanos == UNLIMITED ? "unlimited" : timeBudgetNanos + "ns");
+    }
+
+    @Override
+    public long workBudget() {
+        return workBudget;
+    }
+
+    @Override
+    public long timeBudgetNanos() {
+        return timeBudgetNanos;
+    }
+
+    @Override
+    public String roleName() {
+        return name;
+    }
+
+    @Override
+    public int invoke() {
+        final StopStatus stopSignal = stop.get();
+        if (stopSignal == StopStatus.STOPPED) {
+            return 0;
+        }
+        final Thread thread = Thread.currentThread();
+        if (invokerThread != thread) {
+            invokerThread = thread;
+        }
+        final long invocation = invocations;
+        invocations = invocation + 1;
+        try {
+            return invoke(stopSignal);
+        } finally {
+            invocations = invocation + 2;
+        }
+    }
+
+    private int invoke(final StopStatus stopSignal) {
+        final Recurring[] current = executables.get();
+        final int length = current.length;
+        long workCount = 0;
+        //executables are sorted by priority, high priority ones are always invoked
+        int index = 0;
+        while (index < length && current[index].priority() == Priority.HIGH) {
+            workCount += execute(current[index]);
+            index++;
+        }
+        final int others = length - index;
+        if (others > 0) {
+            final long deadline = timeBudgetNanos == UNLIMITED ? 0 : System.nanoTime() + timeBudgetNanos;
+            long budgetWork = 0;
+            int pos = cursor < others ? cursor : 0;
+            for (int i = 0; i < others; i++) {
+                budgetWork += execute(current[index + pos]);
+                pos = pos + 1 < others ? pos + 1 : 0;
+                if (budgetWork >= workBudget || (deadline != 0 && System.nanoTime() - deadline >= 0)) {
+                    break;
+                }
+            }
+            cursor = pos;
+            workCount += budgetWork;
+        }
+        if (workCount == 0 && stopSignal == StopStatus.WHEN_IDLE) {
+            stopped();
+        }
+        return (int)Math.min(workCount, Integer.MAX_VALUE);
+    }
+
+    private static int execute(final Recurring recurring) {
+        try {
+            return recurring.execute();
+        } catch (final Exception ex) {
+            LOGGER.error("Uncaught error: {}", ex, ex);
+            return 0;
+        }
+    }
+
+    private void stopped() {
+        if (stop.getAndSet(StopStatus.STOPPED) != StopStatus.STOPPED) {
+            LOGGER.info("Stopped async runtime {}", name);
+        }
+    }
+
+    @Override
+    public boolean isInvokerThread() {
+        return invokerThread == Thread.currentThread();
+    }
+
+    @Override
+    public boolean awaitInvocationCompleted() {
+        if (isInvokerThread()) {
+            return true;
+        }
+        final long invocation = invocations;
+        if ((invocation & 1) != 0) {
+            while (invocations == invocation) {
+                Thread.onSpinWait();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void register(final Recurring recurring) {
+        requireNonNull(recurring);
+        if (stop.get() != null) {
+            throw new IllegalArgumentException("Async runtime has already been stopped or is in the process of stopping");
+        }
+        final Priority priority = requireNonNull(recurring.priority());
+        Recurring[] current, modified;
+        do {
+            current = executables.get();
+            final int length = current.length;
+            //insert after last executable with same or higher priority to keep executables sorted by priority
+            int index = length;
+            while (index > 0 && current[index - 1].priority().compareTo(priority) > 0) {
+                index--;
+            }
+            modified = new Recurring[length + 1];
+            System.arraycopy(current, 0, modified, 0, index);
+            modified[index] = recurring;
+            System.arraycopy(current, index, modified, index + 1, length - index);
+        } while (!executables.compareAndSet(current, modified));
+    }
+
+    @Override
+    public void deregister(final Recurring recurring) {
+        Recurring[] current, modified;
+        do {
+            current = executables.get();
+            final int index = indexOf(current, recurring);
+            if (index < 0) {
+                return;
+            }
+            final int length = current.length - 1;
+            modified = Arrays.copyOf(current, length);
+            System.arraycopy(current, index + 1, modified, index, length - index);
+        } while (!executables.compareAndSet(current, modified));
+        //NOTE: concurrent new registration is possible here, but we simply ignore it
+        //       as we would also ignore new registrations after stopping
+        if (autoStopOnLastDeregister && modified.length == 0) {
+            stop(true);
+        }
+    }
+
+    private static int indexOf(final Recurring[] array, final Recurring find) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == find) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void stop(final boolean immediately) {
+        if (immediately) {
+            //no thread to wait for, hence we can stop directly
+            stopped();
+        } else {
+            stop.compareAndSet(null, StopStatus.WHEN_IDLE);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stop.get() != StopStatus.STOPPED;
+    }
+
+    @Override
+    public void onClose() {
+        stop(true);
+    }
+
+    @Override
+    public String toString() {
+        final StopStatus stopStatus = stop.get();
+        return "InvokableAsyncRuntimeImpl" +
+                ":name=" + name +
+                "|workBudget=" + (workBudget == UNLIMITED ? "unlimited" : workBudget) +
+                "|timeBudgetNanos=" + (timeBudgetNanos == UNLIMITED ? "unlimited" : timeBudgetNanos) +
+                "|status=" + (stopStatus == null ? "running" : stopStatus == StopStatus.STOPPED ? "stopped" : "stopping");
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.region.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * OS byte-range locks on a lock file with one 8-byte range per ID, held by the owner of an ID for as long as it owns
+ * the ID.  The OS releases the locks of a process when it dies, hence an ID whose range can be locked by another
+ * process is not owned by a live process.
+ * <p>
+ * Closing any channel of a file may release all locks held by the JVM on that file, hence a single channel per lock
+ * file is shared by all users in this JVM, and the lock file must not be opened otherwise.  Locks held by this JVM are
+ * tracked in a table, as the OS does not report conflicts between locks of the same process.
+ */
+final class LeaseLocks {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LeaseLocks.class);
+    private static final Map<File, LeaseLocks> OPEN_LOCKS = new HashMap<>();
+
+    private final File file;
+    private final RandomAccessFile lockFile;
+    private final FileChannel channel;
+    private final FileLock[] locks;
+    private int users;
+
+    private LeaseLocks(final File file, final RandomAccessFile lockFile, final int maxIds) {
+        this.file = requireNonNull(file);
+        this.lockFile = requireNonNull(lockFile);
+        this.channel = lockFile.getChannel();
+        this.locks = new FileLock[maxIds];
+    }
+
+    /**
+     * Opens the lease locks for the given lock file, or returns the instance already open in this JVM.
+     *
+     * @param file      the lock file, created if it does not exist
+     * @param maxIds    the number of IDs
+     * @return the lease locks, to be {@linkplain #close() closed} by every caller of this method
+     */
+    static LeaseLocks open(final File file, final int maxIds) {
+        final File lockedFile = file.getAbsoluteFile();
+        synchronized (OPEN_LOCKS) {
+            LeaseLocks leaseLocks = OPEN_LOCKS.get(lockedFile);
+            if (leaseLocks == null) {
+                try {
+                    leaseLocks = new LeaseLocks(lockedFile, new RandomAccessFile(lockedFile, "rw"), maxIds);
+                } catch (final IOException e) {
+                    throw new IllegalStateException("Could not open lease lock file " + lockedFile, e);
+                }
+                OPEN_LOCKS.put(lockedFile, leaseLocks);
+            } else if (leaseLocks.locks.length != maxIds) {
+                throw new IllegalArgumentException("Lease lock file " + lockedFile + " is open for " +
+                        leaseLocks.locks.length + " IDs but " + maxIds + " IDs were requested");
+            }
+            leaseLocks.users++;
+            return leaseLocks;
+        }
+    }
+
+    /**
+     * Locks the range of the given ID, waiting if another process holds it only briefly to check whether the ID is
+     * owned.
+     *
+     * @param id the ID to lock
+     */
+    synchronized void lock(final int id) {
+        if (locks[id] != null) {
+            return;
+        }
+        try {
+            locks[id] = channel.lock(position(id), Long.BYTES, false);
+        } catch (final IOException e) {
+            throw new IllegalStateException("Could not lock ID " + id + " in lease lock file " + file, e);
+        }
+    }
+
+    /**
+     * Releases the lock of the given ID if it is held by this JVM.
+     *
+     * @param id the ID to unlock
+     */
+    synchronized void unlock(final int id) {
+        final FileLock lock = locks[id];
+        if (lock != null) {
+            locks[id] = null;
+            release(lock);
+        }
+    }
+
+    /**
+     * Returns true if the range of the given ID is locked by this JVM or by another live process.
+     *
+     * @param id the ID to check
+     * @return true if the ID is owned by a live process
+     */
+    synchronized boolean isLocked(final int id) {
+        if (locks[id] != null) {
+            return true;
+        }
+        final FileLock probe;
+        try {
+            probe = channel.tryLock(position(id), Long.BYTES, false);
+        } catch (final IOException e) {
+            LOGGER.warn("Checking lock of ID {} in lease lock file {} failed: {}", id, file, e, e);
+            return true;
+        }
+        if (probe == null) {
+            return true;
+        }
+        release(probe);
+        return false;
+    }
+
+    private static long position(final int id) {
+        return (long)id * Long.BYTES;
+    }
+
+    private void release(final FileLock lock) {
+        try {
+            lock.release();
+        } catch (final IOException e) {
+            LOGGER.warn("Releasing lock {} of lease lock file {} failed: {}", lock, file, e, e);
+        }
+    }
+
+    /**
+     * Closes the lease locks if this was the last user in this JVM, releasing all locks that are still held.
+     */
+    void close() {
+        synchronized (OPEN_LOCKS) {
+            if (--users > 0) {
+                return;
+            }
+            OPEN_LOCKS.remove(file);
+            try {
+                lockFile.close();
+            } catch (final IOException e) {
+                LOGGER.warn("Closing lease lock file {} failed: {}", file, e, e);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LeaseLocks:file=" + file + "|users=" + users;
+    }
+}
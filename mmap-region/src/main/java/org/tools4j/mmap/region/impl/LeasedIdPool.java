@@ -0,0 +1,236 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.region.impl;
+
+import org.agrona.concurrent.AtomicBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tools4j.mmap.region.api.AccessMode;
+import org.tools4j.mmap.region.api.Mapping;
+import org.tools4j.mmap.region.api.Mappings;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+import static org.tools4j.mmap.region.impl.Constraints.validateGreaterThanZero;
+import static org.tools4j.mmap.region.impl.Constraints.validateNotClosed;
+
+/**
+ * An ID pool that records a lease for every acquired ID, so that IDs held by processes that died without releasing
+ * them can be reclaimed.
+ * <p>
+ * The owner of an ID holds an OS byte-range lock on the range of the ID in a lock file next to the lease file, which
+ * the OS releases when the owner process dies.  Before acquiring an ID, leases whose lock range is no longer locked
+ * are released;  this works across PID namespaces, and a reused PID cannot be mistaken for the owner.  Leases are
+ * updated atomically, hence only one of several concurrent acquirers releases the lease of a dead owner.
+ * <p>
+ * The lease of an ID is a single word in a memory-mapped lease file with the PID and the start time of the owner
+ * process;  it is recorded for diagnostics only and not used to determine liveness.  File locks are not reliable on
+ * network file systems, hence the pool must not be shared by processes running on different hosts.
+ */
+public class LeasedIdPool implements IdPool {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LeasedIdPool.class);
+
+    private static final long EXCLUSIVE_FLAG = Long.MIN_VALUE;
+    private static final long PID_MASK = Integer.MAX_VALUE;
+    private static final long START_TIME_MASK = 0xffffffffL;
+    private static final ProcessHandle CURRENT_PROCESS = ProcessHandle.current();
+    private static final long CURRENT_LEASE = lease(CURRENT_PROCESS.pid(), startTimeMillis(CURRENT_PROCESS), false);
+
+    private final String name;
+    private final IdPool pool;
+    private final int maxIds;
+    private final Mapping leases;
+    private final LeaseLocks locks;
+
+    public LeasedIdPool(final IdPool pool, final int maxIds, final File leaseFile) {
+        this(leaseFile.getPath(), pool, maxIds,
+                Mappings.fixedSizeMapping(leaseFile, AccessMode.READ_WRITE, 0L, leaseFileSize(maxIds)),
+                lockFile(leaseFile));
+    }
+
+    /**
+     * Constructor for lease pool.
+     *
+     * @param name      the pool name used in log and exception messages
+     * @param pool      the underlying ID pool
+     * @param maxIds    the number of IDs in the pool
+     * @param leases    the mapping of the lease file
+     * @param lockFile  the lock file with the byte-range locks of the ID owners;  it must not be opened other than
+     *                  through lease pools
+     */
+    public LeasedIdPool(final String name, final IdPool pool, final int maxIds, final Mapping leases,
+                        final File lockFile) {
+        validateGreaterThanZero("Max IDs", maxIds);
+        if (leases.bytesAvailable() != leaseFileSize(maxIds)) {
+            throw new IllegalArgumentException("Invalid mapping, expected " + leaseFileSize(maxIds) +
+                    " bytes available but found " + leases.bytesAvailable() + " for ID lease pool: " + name);
+        }
+        this.name = requireNonNull(name);
+        this.pool = requireNonNull(pool);
+        this.maxIds = maxIds;
+        this.leases = requireNonNull(leases);
+        this.locks = LeaseLocks.open(lockFile, maxIds);
+    }
+
+    /**
+     * @param leaseFile the lease file
+     * @return the lock file for the given lease file, with suffix {@code _lock} appended to the base name
+     */
+    public static File lockFile(final File leaseFile) {
+        final String fileName = leaseFile.getName();
+        final int dot = fileName.lastIndexOf('.');
+        final String lockName = dot < 0 ? fileName + "_lock" :
+                fileName.substring(0, dot) + "_lock" + fileName.substring(dot);
+        return new File(leaseFile.getParentFile(), lockName);
+    }
+
+    /**
+     * @param maxIds the number of IDs in the pool
+     * @return the size of the lease file in bytes
+     */
+    public static int leaseFileSize(final int maxIds) {
+        return maxIds * Long.BYTES;
+    }
+
+    @Override
+    public int acquire() {
+        validateNotClosed(this);
+        releaseDeadLeases();
+        final int id = pool.acquire();
+        locks.lock(id);
+        leases.buffer().putLongVolatile(leaseOffset(id), CURRENT_LEASE);
+        return id;
+    }
+
+    @Override
+    public boolean release(final int id) {
+        validateNotClosed(this);
+        validateId(id);
+        leases.buffer().putLongVolatile(leaseOffset(id), 0);
+        locks.unlock(id);
+        return pool.release(id);
+    }
+
+    @Override
+    public int acquireExclusive() {
+        validateNotClosed(this);
+        releaseDeadLeases();
+        final int id = pool.acquireExclusive();
+        locks.lock(id);
+        leases.buffer().putLongVolatile(leaseOffset(id), CURRENT_LEASE | EXCLUSIVE_FLAG);
+        return id;
+    }
+
+    @Override
+    public boolean releaseExclusive(final int id) {
+        validateNotClosed(this);
+        validateId(id);
+        final AtomicBuffer buf = leases.buffer();
+        final int offset = leaseOffset(id);
+        final long lease = buf.getLongVolatile(offset);
+        if ((lease & EXCLUSIVE_FLAG) != 0) {
+            buf.compareAndSetLong(offset, lease, 0);
+        }
+        locks.unlock(id);
+        return pool.releaseExclusive(id);
+    }
+
+    /**
+     * Releases the IDs of all leases whose owner process is no longer alive, that is, whose lock range is not locked.
+     *
+     * @return the number of released leases
+     */
+    public int releaseDeadLeases() {
+        validateNotClosed(this);
+        final AtomicBuffer buf = leases.buffer();
+        int released = 0;
+        for (int id = 0; id < maxIds; id++) {
+            final int offset = leaseOffset(id);
+            final long lease = buf.getLongVolatile(offset);
+            if (lease == 0 || locks.isLocked(id) || !buf.compareAndSetLong(offset, lease, 0)) {
+                continue;
+            }
+            final boolean exclusive = (lease & EXCLUSIVE_FLAG) != 0;
+            if (exclusive ? pool.releaseExclusive(id) : pool.release(id)) {
+                LOGGER.info("Released {}ID {} leased by dead process {} to {} pool", exclusive ? "exclusive " : "",
+                        id, pid(lease), name);
+                released++;
+            }
+        }
+        return released;
+    }
+
+    private void validateId(final int id) {
+        if (id < 0 || id >= maxIds) {
+            throw new IllegalArgumentException("Invalid ID: " + id);
+        }
+    }
+
+    private static int leaseOffset(final int id) {
+        return id * Long.BYTES;
+    }
+
+    static long lease(final long pid, final long startTimeMillis, final boolean exclusive) {
+        return (exclusive ? EXCLUSIVE_FLAG : 0) | ((pid & PID_MASK) << Integer.SIZE) |
+                (startTimeMillis & START_TIME_MASK);
+    }
+
+    private static long pid(final long lease) {
+        return (lease >>> Integer.SIZE) & PID_MASK;
+    }
+
+    private static long startTimeMillis(final ProcessHandle process) {
+        final Optional<Instant> startTime = process.info().startInstant();
+        return startTime.isPresent() ? startTime.get().toEpochMilli() : 0;
+    }
+
+    @Override
+    public int acquired() {
+        return pool.acquired();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return pool.isClosed();
+    }
+
+    @Override
+    public void close() {
+        if (!isClosed()) {
+            pool.close();
+            leases.close();
+            locks.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LeasedIdPool" +
+                ":name='" + name + '\'' +
+                "|pool=" + pool;
+    }
+}
@@ -31,7 +31,9 @@ import static org.tools4j.mmap.region.config.MappingConfigurations.defaultCloseF
 import static org.tools4j.mmap.region.config.MappingConfigurations.defaultExpandFile;
 import static org.tools4j.mmap.region.config.MappingConfigurations.defaultFilesToCreateAhead;
 import static org.tools4j.mmap.region.config.MappingConfigurations.defaultMaxFileSize;
+import static org.tools4j.mmap.region.config.MappingConfigurations.defaultRegionOverlap;
 import static org.tools4j.mmap.region.config.MappingConfigurations.defaultRollFiles;
+import static org.tools4j.mmap.region.config.MappingConfigurations.defaultWholeFileMapping;
 import static org.tools4j.mmap.region.impl.MappingStrategyConfigDefaults.MAPPING_STRATEGY_CONFIG_DEFAULTS;
 
 /**
@@ -70,6 +72,16 @@ public enum MappingConfigDefaults implements MappingConfig {
         return defaultFilesToCreateAhead();
     }
 
+    @Override
+    public boolean wholeFileMapping() {
+        return defaultWholeFileMapping();
+    }
+
+    @Override
+    public int regionOverlap() {
+        return defaultRegionOverlap();
+    }
+
     @Override
     public MappingStrategyConfig mappingStrategy() {
         return MAPPING_STRATEGY_CONFIG_DEFAULTS;
@@ -29,23 +29,31 @@ import org.tools4j.mmap.region.config.MappingStrategyConfig;
 import static java.util.Objects.requireNonNull;
 import static org.tools4j.mmap.region.impl.Constraints.validateFilesToCreateAhead;
 import static org.tools4j.mmap.region.impl.Constraints.validateMaxFileSize;
+import static org.tools4j.mmap.region.impl.Constraints.validateRegionOverlap;
+import static org.tools4j.mmap.region.impl.Constraints.validateWholeFileMappingSize;
 import static org.tools4j.mmap.region.impl.MappingConfigDefaults.MAPPING_CONFIG_DEFAULTS;
 
 
 public record MappingConfigImpl(long maxFileSize, boolean expandFile, boolean rollFiles, boolean closeFiles,
-                                int filesToCreateAhead, MappingStrategyConfig mappingStrategy) implements MappingConfig {
+                                int filesToCreateAhead, boolean wholeFileMapping, int regionOverlap,
+                                MappingStrategyConfig mappingStrategy) implements MappingConfig {
     public MappingConfigImpl() {
         this(MAPPING_CONFIG_DEFAULTS);
     }
 
     public MappingConfigImpl(final MappingConfig toCopy) {
         this(toCopy.maxFileSize(), toCopy.expandFile(), toCopy.rollFiles(), toCopy.closeFiles(),
-                toCopy.filesToCreateAhead(), toCopy.mappingStrategy().toImmutableConfig());
+                toCopy.filesToCreateAhead(), toCopy.wholeFileMapping(), toCopy.regionOverlap(),
+                toCopy.mappingStrategy().toImmutableConfig());
     }
 
     public MappingConfigImpl {
         validateMaxFileSize(maxFileSize);
         validateFilesToCreateAhead(filesToCreateAhead);
+        if (wholeFileMapping) {
+            validateWholeFileMappingSize(maxFileSize);
+        }
+        validateRegionOverlap(regionOverlap);
         requireNonNull(mappingStrategy);
     }
 
@@ -66,6 +74,8 @@ public record MappingConfigImpl(long maxFileSize, boolean expandFile, boolean ro
                 "|rollFiles=" + config.rollFiles() +
                 "|closeFiles=" + config.closeFiles() +
                 "|filesToCreateAhead=" + config.filesToCreateAhead() +
+                "|wholeFileMapping=" + config.wholeFileMapping() +
+                "|regionOverlap=" + config.regionOverlap() +
                 "|mappingStrategy=" + config.mappingStrategy();
     }
 }
@@ -34,6 +34,7 @@ import java.util.function.Consumer;
 import static java.util.Objects.requireNonNull;
 import static org.tools4j.mmap.region.impl.Constraints.validateFilesToCreateAhead;
 import static org.tools4j.mmap.region.impl.Constraints.validateMaxFileSize;
+import static org.tools4j.mmap.region.impl.Constraints.validateRegionOverlap;
 import static org.tools4j.mmap.region.impl.MappingConfigDefaults.MAPPING_CONFIG_DEFAULTS;
 import static org.tools4j.mmap.region.impl.MappingStrategyConfigDefaults.MAPPING_STRATEGY_CONFIG_DEFAULTS;
 
@@ -44,6 +45,8 @@ public class MappingConfiguratorImpl implements MappingConfigurator {
     protected Boolean rollFiles;
     protected Boolean closeFiles;
     protected int filesToCreateAhead;
+    protected Boolean wholeFileMapping;
+    protected int regionOverlap = -1;
     protected MappingStrategyConfig mappingStrategy;
 
     public MappingConfiguratorImpl() {
@@ -61,6 +64,8 @@ public class MappingConfiguratorImpl implements MappingConfigurator {
         this.rollFiles = null;
         this.closeFiles = null;
         this.filesToCreateAhead = -1;
+        this.wholeFileMapping = null;
+        this.regionOverlap = -1;
         this.mappingStrategy = null;
         return this;
     }
@@ -116,6 +121,25 @@ public class MappingConfiguratorImpl implements MappingConfigurator {
         return filesToCreateAhead;
     }
 
+    @Override
+    public boolean wholeFileMapping() {
+        if (wholeFileMapping == null) {
+            wholeFileMapping = defaults.wholeFileMapping();
+        }
+        return wholeFileMapping;
+    }
+
+    @Override
+    public int regionOverlap() {
+        if (regionOverlap < 0) {
+            regionOverlap = defaults.regionOverlap();
+        }
+        if (regionOverlap < 0) {
+            regionOverlap = MappingConfigurations.defaultRegionOverlap();
+        }
+        return regionOverlap;
+    }
+
     @Override
     public MappingStrategyConfig mappingStrategy() {
         if (mappingStrategy == null) {
@@ -159,6 +183,19 @@ public class MappingConfiguratorImpl implements MappingConfigurator {
         return this;
     }
 
+    @Override
+    public MappingConfigurator wholeFileMapping(final boolean wholeFileMapping) {
+        this.wholeFileMapping = wholeFileMapping;
+        return this;
+    }
+
+    @Override
+    public MappingConfigurator regionOverlap(final int regionOverlap) {
+        validateRegionOverlap(regionOverlap);
+        this.regionOverlap = regionOverlap;
+        return this;
+    }
+
     @Override
     public MappingConfigurator mappingStrategy(final MappingStrategyConfig mappingStrategy) {
         this.mappingStrategy = requireNonNull(mappingStrategy);
@@ -181,6 +218,8 @@ public class MappingConfiguratorImpl implements MappingConfigurator {
                 "|rollFiles=" + rollFiles +
                 "|closeFiles=" + closeFiles +
                 "|filesToCreateAhead=" + filesToCreateAhead +
+                "|wholeFileMapping=" + wholeFileMapping +
+                "|regionOverlap=" + regionOverlap +
                 "|mappingStrategy=" + mappingStrategy +
                 "|defaults=" + defaults;
     }
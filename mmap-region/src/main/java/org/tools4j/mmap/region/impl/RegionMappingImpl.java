@@ -109,6 +109,15 @@ public final class RegionMappingImpl implements RegionMapping {
 
     @Override
     public boolean moveTo(final long position) {
+        return moveTo(position, true);
+    }
+
+    @Override
+    public boolean tryMoveTo(final long position) {
+        return moveTo(position, false);
+    }
+
+    private boolean moveTo(final long position, final boolean blocking) {
         final long mappedPos = mappedPosition;
         if (position == mappedPos && position > NULL_POSITION) {
             return true;
@@ -116,15 +125,15 @@ public final class RegionMappingImpl implements RegionMapping {
         final int regionSize = regionSize();
         validateRegionPosition(position, regionSize);
         final long mappedAddr = mappedAddress;
-        if (map(position, regionSize)) {
+        if (map(position, regionSize, blocking)) {
             unmap(mappedPos, mappedAddr, false);
             return true;
         }
         return false;
     }
 
-    private boolean map(final long position, final int regionSize) {
-        final long addr = regionMapper.map(position);
+    private boolean map(final long position, final int regionSize, final boolean blocking) {
+        final long addr = blocking ? regionMapper.map(position) : regionMapper.tryMap(position);
         if (addr > NULL_ADDRESS) {
             mappedPosition = position;
             mappedAddress = addr;
@@ -0,0 +1,264 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.region.impl;
+
+import org.agrona.concurrent.IdleStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tools4j.mmap.region.api.AsyncRuntime;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+import static org.tools4j.mmap.region.impl.Constraints.validateRuntimeWorkerThreads;
+
+/**
+ * Async runtime with a pool of worker threads executing registered {@link Recurring} tasks.
+ * <p>
+ * Each registered task is assigned to a home worker in a round-robin fashion. Workers execute all their home tasks
+ * once per duty cycle in {@link Priority priority} order. Workers without any work in a duty cycle attempt to steal
+ * tasks from other workers, again in priority order; this way a worker blocked in a slow mapping or unmapping
+ * operation does not stall tasks of other mappings for long.
+ * <p>
+ * Tasks are claimed through an atomic flag before execution, hence a task is never executed concurrently by two
+ * workers. Fairness is provided as every task is executed at most once per duty cycle of its executing worker, and
+ * stealing workers rotate the start position when searching for work.
+ */
+public class WorkStealingAsyncRuntime implements AsyncRuntime {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkStealingAsyncRuntime.class);
+    private static final Task[] EMPTY = {};
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final String name;
+    private final int workerThreads;
+    private final boolean autoStopOnLastDeregister;
+    private final AtomicReference<Task[]> tasks = new AtomicReference<>(EMPTY);
+    private final AtomicInteger registrationCount = new AtomicInteger();
+    private final AtomicInteger runningWorkers;
+
+    private enum StopStatus {
+        WHEN_IDLE,
+        IMMEDIATELY,
+        STOPPED
+    }
+    private final AtomicReference<StopStatus> stop = new AtomicReference<>(null);
+
+    public WorkStealingAsyncRuntime(final String name,
+                                    final int workerThreads,
+                                    final Supplier<? extends IdleStrategy> idleStrategySupplier,
+                                    final boolean autoStopOnLastDeregister) {
+        validateRuntimeWorkerThreads(workerThreads);
+        requireNonNull(idleStrategySupplier);
+        this.name = requireNonNull(name);
+        this.workerThreads = workerThreads;
+        this.autoStopOnLastDeregister = autoStopOnLastDeregister;
+        this.runningWorkers = new AtomicInteger(workerThreads);
+        for (int i = 0; i < workerThreads; i++) {
+            final Worker worker = new Worker(i, requireNonNull(idleStrategySupplier.get()));
+            final Thread thread = new Thread(worker);
+            thread.setName(name + "-" + i);
+            thread.setDaemon(true);
+            thread.setUncaughtExceptionHandler((t, e) -> LOGGER.error("Async runtime worker failed with exception", e));
+            thread.start();
+        }
+    }
+
+    private static final class Task {
+        final Recurring recurring;
+        final Priority priority;
+        final int homeWorker;
+        final AtomicBoolean claimed = new AtomicBoolean(false);
+
+        Task(final Recurring recurring, final int homeWorker) {
+            this.recurring = requireNonNull(recurring);
+            this.priority = requireNonNull(recurring.priority());
+            this.homeWorker = homeWorker;
+        }
+
+        int tryExecute() {
+            if (!claimed.compareAndSet(false, true)) {
+                return 0;
+            }
+            try {
+                return recurring.execute();
+            } catch (final Exception ex) {
+                LOGGER.error("Uncaught error: {}", ex, ex);
+                return 0;
+            } finally {
+                claimed.set(false);
+            }
+        }
+    }
+
+    private final class Worker implements Runnable {
+        final int index;
+        final IdleStrategy idleStrategy;
+        int stealCursor;
+
+        Worker(final int index, final IdleStrategy idleStrategy) {
+            this.index = index;
+            this.idleStrategy = requireNonNull(idleStrategy);
+        }
+
+        @Override
+        public void run() {
+            LOGGER.info("Started async runtime worker {}-{} with {} idle strategy", name, index, idleStrategy.alias());
+            idleStrategy.reset();
+            StopStatus stopSignal;
+            int workCount = 0;
+            try {
+                while ((stopSignal = stop.get()) == null || (stopSignal == StopStatus.WHEN_IDLE && workCount != 0)) {
+                    final Task[] current = tasks.get();
+                    workCount = executeHomeTasks(current);
+                    if (workCount == 0) {
+                        workCount = stealTask(current);
+                    }
+                    idleStrategy.idle(workCount);
+                }
+            } finally {
+                if (runningWorkers.decrementAndGet() == 0) {
+                    stop.set(StopStatus.STOPPED);
+                    LOGGER.info("Stopped async runtime {}", name);
+                }
+            }
+        }
+
+        private int executeHomeTasks(final Task[] current) {
+            //NOTE: tasks are sorted by priority
+            int workCount = 0;
+            for (final Task task : current) {
+                if (task.homeWorker == index) {
+                    workCount += task.tryExecute();
+                }
+            }
+            return workCount;
+        }
+
+        private int stealTask(final Task[] current) {
+            final int length = current.length;
+            if (length == 0) {
+                return 0;
+            }
+            final int start = (stealCursor++ & Integer.MAX_VALUE) % length;
+            for (final Priority priority : PRIORITIES) {
+                for (int i = 0; i < length; i++) {
+                    final Task task = current[(start + i) % length];
+                    if (task.priority == priority && task.homeWorker != index) {
+                        final int workCount = task.tryExecute();
+                        if (workCount != 0) {
+                            return workCount;
+                        }
+                    }
+                }
+            }
+            return 0;
+        }
+    }
+
+    public int workerThreads() {
+        return workerThreads;
+    }
+
+    @Override
+    public void register(final Recurring recurring) {
+        requireNonNull(recurring);
+        if (stop.get() != null) {
+            throw new IllegalArgumentException("Async runtime has already been stopped or is in the process of stopping");
+        }
+        final Task task = new Task(recurring, (registrationCount.getAndIncrement() & Integer.MAX_VALUE) % workerThreads);
+        Task[] current, modified;
+        do {
+            current = tasks.get();
+            final int length = current.length;
+            //insert after last task with same or higher priority to keep tasks sorted by priority
+            int index = length;
+            while (index > 0 && current[index - 1].priority.compareTo(task.priority) > 0) {
+                index--;
+            }
+            modified = new Task[length + 1];
+            System.arraycopy(current, 0, modified, 0, index);
+            modified[index] = task;
+            System.arraycopy(current, index, modified, index + 1, length - index);
+        } while (!tasks.compareAndSet(current, modified));
+    }
+
+    @Override
+    public void deregister(final Recurring recurring) {
+        Task[] current, modified;
+        do {
+            current = tasks.get();
+            final int index = indexOf(current, recurring);
+            if (index < 0) {
+                return;
+            }
+            final int length = current.length - 1;
+            modified = Arrays.copyOf(current, length);
+            System.arraycopy(current, index + 1, modified, index, length - index);
+        } while (!tasks.compareAndSet(current, modified));
+        //NOTE: concurrent new registration is possible here, but we simply ignore it
+        //       as we would also ignore new registrations after stopping
+        if (autoStopOnLastDeregister && modified.length == 0) {
+            stop(true);
+        }
+    }
+
+    private static int indexOf(final Task[] array, final Recurring find) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i].recurring == find) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void stop(final boolean immediately) {
+        if (immediately) {
+            StopStatus current;
+            while ((current = stop.get()) != StopStatus.IMMEDIATELY && current != StopStatus.STOPPED) {
+                stop.compareAndSet(current, StopStatus.IMMEDIATELY);
+            }
+        } else {
+            stop.compareAndSet(null, StopStatus.WHEN_IDLE);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stop.get() != StopStatus.STOPPED;
+    }
+
+    @Override
+    public String toString() {
+        final StopStatus stopStatus = stop.get();
+        return "WorkStealingAsyncRuntime" +
+                ":name=" + name +
+                "|workerThreads=" + workerThreads +
+                "|status=" + (stopStatus == null ? "running" : stopStatus == StopStatus.STOPPED ? "stopped" : "stopping");
+    }
+}
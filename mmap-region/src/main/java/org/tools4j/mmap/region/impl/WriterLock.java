@@ -0,0 +1,121 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.region.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Exclusive writer lock for persistent data structures based on an OS file lock that is released if the process
+ * holding it dies.  Locks held by this JVM are tracked separately, as closing any channel of a lock file may release
+ * locks held through other channels of the same file.
+ */
+public final class WriterLock implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriterLock.class);
+    private static final Set<File> LOCKED_FILES = ConcurrentHashMap.newKeySet();
+
+    private final File file;
+    private final RandomAccessFile lockFile;
+    private final FileLock lock;
+    private boolean closed;
+
+    private WriterLock(final File file, final RandomAccessFile lockFile, final FileLock lock) {
+        this.file = requireNonNull(file);
+        this.lockFile = requireNonNull(lockFile);
+        this.lock = requireNonNull(lock);
+    }
+
+    /**
+     * Acquires the writer lock for the given lock file.
+     *
+     * @param file  the lock file, created if it does not exist
+     * @param name  the name of the data structure used in exception messages
+     * @return the acquired lock
+     * @throws IllegalStateException if the lock is already held by this or another process
+     */
+    public static WriterLock acquire(final File file, final String name) {
+        final File lockedFile = file.getAbsoluteFile();
+        if (!LOCKED_FILES.add(lockedFile)) {
+            throw new IllegalStateException(name + " is already open for writing");
+        }
+        RandomAccessFile lockFile = null;
+        try {
+            lockFile = new RandomAccessFile(lockedFile, "rw");
+            final FileLock lock = lockFile.getChannel().tryLock();
+            if (lock != null) {
+                return new WriterLock(lockedFile, lockFile, lock);
+            }
+        } catch (final OverlappingFileLockException e) {
+            //lock held by this JVM through another channel, handled below
+        } catch (final IOException e) {
+            close(lockedFile, lockFile, null);
+            throw new IllegalStateException("Could not acquire writer lock for " + name, e);
+        }
+        close(lockedFile, lockFile, null);
+        throw new IllegalStateException(name + " is already open for writing");
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            close(file, lockFile, lock);
+        }
+    }
+
+    private static void close(final File file, final RandomAccessFile lockFile, final FileLock lock) {
+        try {
+            if (lock != null) {
+                lock.release();
+            }
+            if (lockFile != null) {
+                lockFile.close();
+            }
+        } catch (final IOException e) {
+            LOGGER.warn("Closing lock file {} failed: {}", file, e, e);
+        } finally {
+            LOCKED_FILES.remove(file);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "WriterLock:file=" + file + "|closed=" + closed;
+    }
+}
@@ -29,6 +29,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.tools4j.mmap.region.api.AccessMode;
 import org.tools4j.mmap.region.api.AsyncRuntime;
+import org.tools4j.mmap.region.api.AsyncRuntime.Priority;
 import org.tools4j.mmap.region.api.AsyncRuntime.Recurring;
 import org.tools4j.mmap.region.api.RegionMetrics;
 import org.tools4j.mmap.region.api.Unsafe;
@@ -68,6 +69,7 @@ final class AsyncRunAheadRegionMapper implements RegionMapper {
     private long asyncStats;
     private long syncStats;
     private long busyStats;
+    private long pendingStats;
 
     public AsyncRunAheadRegionMapper(final AsyncRuntime asyncRuntime,
                                      final DirectRegionMapper baseMapper,
@@ -133,6 +135,11 @@ final class AsyncRunAheadRegionMapper implements RegionMapper {
         return cachingMapper.mapInternal(position, regionSize);
     }
 
+    @Override
+    public long tryMapInternal(final long position, final int regionSize) {
+        return cachingMapper.tryMapInternal(position, regionSize);
+    }
+
     @Override
     public boolean isMappedInCache(final long position) {
         return cachingMapper.isMappedInCache(position);
@@ -197,6 +204,7 @@ final class AsyncRunAheadRegionMapper implements RegionMapper {
                 "(async=" + asyncStats +
                 "|sync=" + syncStats +
                 "|busy=" + busyStats +
+                "|pending=" + pendingStats +
                 ")";
     }
 
@@ -223,6 +231,22 @@ final class AsyncRunAheadRegionMapper implements RegionMapper {
             return addr;
         }
 
+        @Override
+        public long tryMapInternal(final long position, final int regionSize) {
+            final long addr = sharedState.consumeAddressIfMapped(position);
+            if (addr > NULL_ADDRESS) {
+                asyncStats++;
+                mapAhead(position, regionSize);
+                return addr;
+            }
+            //not ready, or previous async attempt failed: (re-)request mapping and let the caller retry
+            if (!sharedState.requestMapping(position)) {
+                busyStats++;
+            }
+            pendingStats++;
+            return NULL_ADDRESS;
+        }
+
         @Override
         public void unmapInternal(final long position, final long address, final int regionSize) {
             baseMapper.unmapInternal(position, address, regionSize);
@@ -241,7 +265,7 @@ final class AsyncRunAheadRegionMapper implements RegionMapper {
         @Override
         public void close() {
             if (!isClosed()) {
-                asyncMapper.stopAndWait();
+                asyncMapper.stopAndWait(asyncRuntime);
                 asyncRuntime.deregister(asyncMapper);
                 sharedState.unmapAll(asyncMapper.fileMapper, asyncMapper.regionSize);
                 baseMapper.close();
@@ -280,7 +304,24 @@ final class AsyncRunAheadRegionMapper implements RegionMapper {
             return sharedState.mapNext(fileMapper, regionSize);
         }
 
-        void stopAndWait() {
+        @Override
+        public Priority priority() {
+            return Priority.HIGH;
+        }
+
+        void stopAndWait(final AsyncRuntime runtime) {
+            if (runtime.isInvokerThread()) {
+                //we are the thread executing this recurring, hence we cannot wait for the runtime to stop us
+                closeTimeout.stopGracefully();
+                execute();
+                return;
+            }
+            closeTimeout.stopGracefully();
+            if (runtime.awaitInvocationCompleted()) {
+                //no invocation in progress, and later invocations see the stop signal, hence we can stop directly
+                execute();
+                return;
+            }
             closeTimeout.stopAndWait();
         }
     }
@@ -42,16 +42,21 @@ public class FileMappers {
                 if (config.rollFiles()) {
                     return RollingFileMapper.forReadOnly(file, config, fileInitialiser);
                 }
-                return new ReadOnlyFileMapper(file, fileInitialiser);
+                return OverlappingFileMapper.create(new ReadOnlyFileMapper(file, fileInitialiser),
+                        config.regionOverlap());
             case READ_WRITE:
             case READ_WRITE_CLEAR:
                 if (config.rollFiles()) {
                     return RollingFileMapper.forReadWrite(file, accessMode, config, fileInitialiser);
                 }
+                final int overlap = config.regionOverlap();
+                final long fileSize = config.maxFileSize() + overlap;
                 if (config.expandFile()) {
-                    return new ExpandableSizeFileMapper(file, config.maxFileSize(), fileInitialiser);
+                    return OverlappingFileMapper.create(
+                            new ExpandableSizeFileMapper(file, fileSize, fileInitialiser), overlap);
                 }
-                return new FixedSizeFileMapper(file, config.maxFileSize(), accessMode, fileInitialiser);
+                return OverlappingFileMapper.create(
+                        new FixedSizeFileMapper(file, fileSize, accessMode, fileInitialiser), overlap);
             default:
                 throw new IllegalArgumentException("Unsupported access mode: " + accessMode);
         }
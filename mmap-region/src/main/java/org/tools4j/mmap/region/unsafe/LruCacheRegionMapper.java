@@ -93,6 +93,15 @@ class LruCacheRegionMapper implements RegionMapper {
 
     @Override
     public long mapInternal(final long position, final int regionSize) {
+        return mapInternal(position, regionSize, true);
+    }
+
+    @Override
+    public long tryMapInternal(final long position, final int regionSize) {
+        return mapInternal(position, regionSize, false);
+    }
+
+    private long mapInternal(final long position, final int regionSize, final boolean blocking) {
         long addr;
         int index = (int)positionToIndex.get(position);
         if (index >= 0) {
@@ -103,7 +112,8 @@ class LruCacheRegionMapper implements RegionMapper {
             markMostRecentlyUsed(index);
             return addr;
         }
-        addr = baseMapper.mapInternal(position, regionSize);
+        addr = blocking ? baseMapper.mapInternal(position, regionSize) :
+                baseMapper.tryMapInternal(position, regionSize);
         if (addr != NULL_ADDRESS) {
             index = acquireIndex();
             positions[index] = position;
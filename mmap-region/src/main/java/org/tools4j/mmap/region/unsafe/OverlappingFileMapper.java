@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.region.unsafe;
+
+import org.tools4j.mmap.region.api.AccessMode;
+import org.tools4j.mmap.region.api.Unsafe;
+
+import static java.util.Objects.requireNonNull;
+import static org.tools4j.mmap.region.impl.Constraints.validateRegionOverlap;
+
+/**
+ * A file mapper decorator that maps every region with an additional overlapping tail of {@code overlap} bytes. The
+ * tail covers the same file bytes as the beginning of the next region, which allows data to be accessed contiguously
+ * from any position within a region as long as it is no longer than the overlap. Region positions and file rolling
+ * are unaffected, but the underlying files must be large enough to accommodate the overlap of the last region.
+ */
+@Unsafe
+public final class OverlappingFileMapper implements FileMapper {
+    private final FileMapper delegate;
+    private final int overlap;
+
+    private OverlappingFileMapper(final FileMapper delegate, final int overlap) {
+        validateRegionOverlap(overlap);
+        this.delegate = requireNonNull(delegate);
+        this.overlap = overlap;
+    }
+
+    /**
+     * Returns a file mapper that maps regions with the specified overlap, or the delegate itself if overlap is zero.
+     *
+     * @param delegate  the underlying file mapper
+     * @param overlap   the overlap in bytes added to the length of every mapped region
+     * @return a file mapper mapping regions with overlap
+     */
+    public static FileMapper create(final FileMapper delegate, final int overlap) {
+        return overlap == 0 ? requireNonNull(delegate) : new OverlappingFileMapper(delegate, overlap);
+    }
+
+    public int overlap() {
+        return overlap;
+    }
+
+    @Override
+    public AccessMode accessMode() {
+        return delegate.accessMode();
+    }
+
+    @Override
+    public long map(final long position, final int length) {
+        return delegate.map(position, length + overlap);
+    }
+
+    @Override
+    public void unmap(final long position, final long address, final int length) {
+        delegate.unmap(position, address, length + overlap);
+    }
+
+    @Override
+    public boolean isClosed() {
+        return delegate.isClosed();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    @Override
+    public String toString() {
+        return "OverlappingFileMapper:overlap=" + overlap + "|delegate=" + delegate;
+    }
+}
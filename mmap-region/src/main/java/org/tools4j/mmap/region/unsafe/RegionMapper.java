@@ -73,6 +73,31 @@ public interface RegionMapper extends RegionAware, Closeable {
 
     long mapInternal(long position, int regionSize);
 
+    /**
+     * Attempts to map the buffer at the specified position without blocking the calling thread with a synchronous
+     * mapping operation. The mapped address is returned if the region is available in a cache or has been mapped ahead
+     * asynchronously. Otherwise, mapping of the region is requested from the async runtime and zero is returned;
+     * the caller can perform other work and retry later.
+     * <p>
+     * Region mappers without async mapping perform the mapping synchronously, exactly as {@link #map(long)} does.
+     *
+     * @param position      the requested position, a non-negative value and a multiple of region size
+     * @return  the address at which the region was mapped, or zero if the region is not ready yet, or if mapping
+     *          failed for instance because the file to map does not exist yet
+     * @throws IllegalArgumentException if position is negative or not a multiple of region size
+     * @see #map(long)
+     */
+    default long tryMap(final long position) {
+        final int regionSize = regionSize();
+        validateRegionPosition(position, regionSize);
+        validateNotClosed(this);
+        return tryMapInternal(position, regionSize);
+    }
+
+    default long tryMapInternal(final long position, final int regionSize) {
+        return mapInternal(position, regionSize);
+    }
+
     /**
      * Unmaps previously mapped address of the region starting at absolute position with length.
      *
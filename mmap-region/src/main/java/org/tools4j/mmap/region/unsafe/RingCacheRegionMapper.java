@@ -90,6 +90,15 @@ final class RingCacheRegionMapper implements RegionMapper {
 
     @Override
     public long mapInternal(final long position, final int regionSize) {
+        return mapInternal(position, regionSize, true);
+    }
+
+    @Override
+    public long tryMapInternal(final long position, final int regionSize) {
+        return mapInternal(position, regionSize, false);
+    }
+
+    private long mapInternal(final long position, final int regionSize, final boolean blocking) {
         final int cacheIndex = cacheIndex(position);
         final long curPosition = positions[cacheIndex];
         if (curPosition == position) {
@@ -100,7 +109,8 @@ final class RingCacheRegionMapper implements RegionMapper {
             positions[cacheIndex] = position;
             return addresses[cacheIndex];
         }
-        final long addr = baseMapper.mapInternal(position, regionSize);
+        final long addr = blocking ? baseMapper.mapInternal(position, regionSize) :
+                baseMapper.tryMapInternal(position, regionSize);
         if (addr == NULL_ADDRESS) {
             return NULL_ADDRESS;
         }
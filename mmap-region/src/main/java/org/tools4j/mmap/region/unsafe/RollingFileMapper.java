@@ -43,6 +43,7 @@ import static org.tools4j.mmap.region.api.NullValues.NULL_ADDRESS;
 import static org.tools4j.mmap.region.api.NullValues.NULL_POSITION;
 import static org.tools4j.mmap.region.impl.Constraints.validateFilesToCreateAhead;
 import static org.tools4j.mmap.region.impl.Constraints.validateMaxFileSize;
+import static org.tools4j.mmap.region.impl.Constraints.validateRegionOverlap;
 import static org.tools4j.mmap.region.impl.Constraints.validateRegionSize;
 
 @Unsafe
@@ -101,8 +102,8 @@ public class RollingFileMapper implements FileMapper {
     public static FileMapper forReadOnly(final File baseFile,
                                          final MappingConfig config,
                                          final FileInitialiser fileInitialiser) {
-        return forReadOnly(baseFile, config.maxFileSize(), config.mappingStrategy().regionSize(), config.closeFiles(),
-                fileInitialiser);
+        return forReadOnly(baseFile, config.maxFileSize(), config.effectiveMappingStrategy().regionSize(),
+                config.regionOverlap(), config.closeFiles(), fileInitialiser);
     }
 
     public static FileMapper forReadOnly(final File baseFile,
@@ -110,8 +111,19 @@ public class RollingFileMapper implements FileMapper {
                                          final int regionSize,
                                          final boolean closeFiles,
                                          final FileInitialiser fileInitialiser) {
+        return forReadOnly(baseFile, maxFileSize, regionSize, 0, closeFiles, fileInitialiser);
+    }
+
+    public static FileMapper forReadOnly(final File baseFile,
+                                         final long maxFileSize,
+                                         final int regionSize,
+                                         final int regionOverlap,
+                                         final boolean closeFiles,
+                                         final FileInitialiser fileInitialiser) {
         requireNonNull(fileInitialiser);
-        return new RollingFileMapper(baseFile, file -> new ReadOnlyFileMapper(file, fileInitialiser),
+        validateRegionOverlap(regionOverlap);
+        return new RollingFileMapper(baseFile,
+                file -> OverlappingFileMapper.create(new ReadOnlyFileMapper(file, fileInitialiser), regionOverlap),
                 maxFileSize, regionSize, 0, closeFiles, AccessMode.READ_ONLY);
     }
 
@@ -120,8 +132,20 @@ public class RollingFileMapper implements FileMapper {
                                           final MappingConfig config,
                                           final FileInitialiser fileInitialiser) {
         return forReadWrite(baseFile, accessMode, config.expandFile(), config.maxFileSize(),
-                config.mappingStrategy().regionSize(), config.filesToCreateAhead(), config.closeFiles(),
-                fileInitialiser);
+                config.effectiveMappingStrategy().regionSize(), config.regionOverlap(), config.filesToCreateAhead(),
+                config.closeFiles(), fileInitialiser);
+    }
+
+    public static FileMapper forReadWrite(final File baseFile,
+                                          final AccessMode accessMode,
+                                          final boolean expandFile,
+                                          final long maxFileSize,
+                                          final int regionSize,
+                                          final int filesToCreateAhead,
+                                          final boolean closeFiles,
+                                          final FileInitialiser fileInitialiser) {
+        return forReadWrite(baseFile, accessMode, expandFile, maxFileSize, regionSize, 0, filesToCreateAhead,
+                closeFiles, fileInitialiser);
     }
 
     public static FileMapper forReadWrite(final File baseFile,
@@ -129,14 +153,20 @@ public class RollingFileMapper implements FileMapper {
                                           final boolean expandFile,
                                           final long maxFileSize,
                                           final int regionSize,
+                                          final int regionOverlap,
                                           final int filesToCreateAhead,
                                           final boolean closeFiles,
                                           final FileInitialiser fileInitialiser) {
         requireNonNull(accessMode);
         requireNonNull(fileInitialiser);
+        validateRegionOverlap(regionOverlap);
+        //NOTE: files are larger than maxFileSize by the overlap so that the last region can be mapped with overlap
+        final long fileSize = maxFileSize + regionOverlap;
         final Function<File, FileMapper> fileMapperFactory = expandFile ?
-                file -> new ExpandableSizeFileMapper(file, maxFileSize, fileInitialiser) :
-                file -> new FixedSizeFileMapper(file, maxFileSize, accessMode, fileInitialiser);
+                file -> OverlappingFileMapper.create(
+                        new ExpandableSizeFileMapper(file, fileSize, fileInitialiser), regionOverlap) :
+                file -> OverlappingFileMapper.create(
+                        new FixedSizeFileMapper(file, fileSize, accessMode, fileInitialiser), regionOverlap);
         return new RollingFileMapper(baseFile, fileMapperFactory, maxFileSize, regionSize, filesToCreateAhead,
                 closeFiles, accessMode);
     }
@@ -28,6 +28,7 @@ import org.agrona.concurrent.UnsafeBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.tools4j.mmap.region.api.AsyncRuntime;
+import org.tools4j.mmap.region.api.AsyncRuntime.Priority;
 import org.tools4j.mmap.region.api.AsyncRuntime.Recurring;
 import org.tools4j.mmap.region.api.RegionMetrics;
 import org.tools4j.mmap.region.api.Unsafe;
@@ -114,7 +115,7 @@ public final class SyncRegionMapperAsyncUnmapper implements DirectRegionMapper {
     @Override
     public void close() {
         if (!isClosed()) {
-            asyncUnmapper.stopAndWait();
+            asyncUnmapper.stopAndWait(asyncRuntime);
             asyncRuntime.deregister(asyncUnmapper);
             fileMapper.close();
             LOGGER.info("Closed {}.", this);
@@ -165,6 +166,11 @@ public final class SyncRegionMapperAsyncUnmapper implements DirectRegionMapper {
             return tryUnmapOne();
         }
 
+        @Override
+        public Priority priority() {
+            return Priority.LOW;
+        }
+
         private int stop() {
             int work = 0;
             if (closeTimeout.isStopGracefully()) {
@@ -211,7 +217,19 @@ public final class SyncRegionMapperAsyncUnmapper implements DirectRegionMapper {
             return false;
         }
 
-        void stopAndWait() {
+        void stopAndWait(final AsyncRuntime runtime) {
+            if (runtime.isInvokerThread()) {
+                //we are the thread executing this recurring, hence we cannot wait for the runtime to stop us
+                closeTimeout.stopGracefully();
+                execute();
+                return;
+            }
+            closeTimeout.stopGracefully();
+            if (runtime.awaitInvocationCompleted()) {
+                //no invocation in progress, and later invocations see the stop signal, hence we can stop directly
+                execute();
+                return;
+            }
             closeTimeout.stopAndWait();
         }
     }
@@ -47,6 +47,8 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -182,6 +184,38 @@ public class AsyncRingRegionMapperTest {
         }
     }
 
+    @Test
+    public void tryMoveTo_requests_async_mapping() {
+        //given
+        final long position = 789;
+        final int offsetInRegion = (int) (position % regionSize);
+        final long regionStartPosition = position - offsetInRegion;
+        final ElasticMapping mapping = Mappings.elasticMapping(regionMapper, true);
+
+        //when: try move to position
+        final boolean ready = mapping.tryMoveTo(position);
+
+        //then: not ready and not mapped synchronously
+        assertFalse(ready);
+        assertFalse(mapping.isMapped());
+        inOrder.verify(fileMapper, never()).map(anyLong(), anyInt());
+
+        //when: async mapping performed
+        asyncRecurringList.forEach(Recurring::execute);
+
+        //then
+        inOrder.verify(fileMapper, once()).map(regionStartPosition, regionSize);
+
+        //when: try again
+        final boolean readyAfterAsyncMapping = mapping.tryMoveTo(position);
+
+        //then: ready without further mapping
+        assertTrue(readyAfterAsyncMapping);
+        assertEquals(position, mapping.position());
+        assertEquals(offsetInRegion, mapping.regionOffset());
+        inOrder.verify(fileMapper, never()).map(regionStartPosition, regionSize);
+    }
+
     @Test
     public void map_then_unmap() {
         //given
@@ -24,12 +24,17 @@
 package org.tools4j.mmap.region.impl;
 
 import org.agrona.LangUtil;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.tools4j.mmap.region.api.AccessMode;
+import org.tools4j.mmap.region.api.FixedMapping;
+import org.tools4j.mmap.region.api.Mappings;
 
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.BitSet;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -37,18 +42,23 @@ import java.util.function.Function;
 
 import static java.util.Objects.requireNonNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
- * Unit test for {@link IdPool}, {@link IdPool64} and {@link IdPool256}
+ * Unit test for {@link IdPool}, {@link IdPool64}, {@link IdPool256} and {@link LeasedIdPool}
  */
 class IdPoolTest {
 
     private static final long TIMEOUT_MILLIS = 3_000;
+    private static final long DEAD_PID = Integer.MAX_VALUE;
 
     enum PoolFactory {
         IdPool64(64, IdPool64::new),
-        IdPool256(256, IdPool256::new);
+        IdPool256(256, IdPool256::new),
+        LeasedIdPool64(64, file -> new LeasedIdPool(new IdPool64(file), 64, leaseFile(file))),
+        LeasedIdPool256(256, file -> new LeasedIdPool(new IdPool256(file), 256, leaseFile(file)));
         final int maxIds;
         private final Function<File, IdPool> factoryMethod;
 
@@ -108,6 +118,113 @@ class IdPoolTest {
         assertEquals(0, pool.acquired());
     }
 
+    @ParameterizedTest(name = "poolFactory={0}")
+    @EnumSource(PoolFactory.class)
+    void acquireAndReleaseExclusive(final PoolFactory poolFactory) throws Exception {
+        //given
+        final Path tmpDir = Files.createTempDirectory(getClass().getSimpleName());
+        final IdPool pool = poolFactory.createPool(new File(tmpDir.toFile(), "test.ids"));
+
+        //when
+        final int id = pool.acquireExclusive();
+
+        //then
+        assertEquals(0, id);
+        assertEquals(poolFactory.maxIds, pool.acquired());
+        assertThrows(IllegalStateException.class, pool::acquire);
+        assertThrows(IllegalStateException.class, pool::acquireExclusive);
+        assertThrows(IllegalArgumentException.class, () -> pool.releaseExclusive(1));
+
+        //when
+        final boolean released = pool.releaseExclusive(id);
+
+        //then
+        assertTrue(released);
+        assertFalse(pool.releaseExclusive(id));
+        assertEquals(0, pool.acquired());
+
+        //when
+        final int other = pool.acquire();
+
+        //then
+        assertEquals(0, other);
+        assertThrows(IllegalStateException.class, pool::acquireExclusive);
+        assertEquals(1, pool.acquired());
+        pool.release(other);
+        assertEquals(0, pool.acquireExclusive());
+        pool.close();
+    }
+
+    @Test
+    void reclaimIdsOfDeadProcess() throws Exception {
+        //given
+        final Path tmpDir = Files.createTempDirectory(getClass().getSimpleName());
+        final File idFile = new File(tmpDir.toFile(), "test.ids");
+        final IdPool256 ids = new IdPool256(idFile);
+        final LeasedIdPool pool = new LeasedIdPool(ids, IdPool256.MAX_IDS, leaseFile(idFile));
+        final FixedMapping leases = Mappings.fixedSizeMapping(leaseFile(idFile), AccessMode.READ_WRITE, 0,
+                LeasedIdPool.leaseFileSize(IdPool256.MAX_IDS));
+        final long deadLease = LeasedIdPool.lease(DEAD_PID, 1, false);
+
+        //when
+        assertEquals(0, pool.acquire());
+        assertEquals(1, ids.acquire());
+        leases.buffer().putLongVolatile(Long.BYTES, deadLease);
+
+        //then
+        assertEquals(1, pool.acquire());
+        assertEquals(2, pool.acquired());
+        assertEquals(0, pool.releaseDeadLeases());
+
+        //when
+        pool.release(0);
+        pool.release(1);
+        assertEquals(0, ids.acquireExclusive());
+        leases.buffer().putLongVolatile(0, LeasedIdPool.lease(DEAD_PID, 1, true));
+
+        //then
+        assertEquals(0, pool.acquire());
+        assertEquals(1, pool.acquired());
+        assertThrows(IllegalStateException.class, pool::acquireExclusive);
+        leases.close();
+        pool.close();
+    }
+
+    @Test
+    void reclaimIdsByLockNotByPid() throws Exception {
+        //given
+        final Path tmpDir = Files.createTempDirectory(getClass().getSimpleName());
+        final File idFile = new File(tmpDir.toFile(), "test.ids");
+        final IdPool256 ids = new IdPool256(idFile);
+        final LeasedIdPool pool = new LeasedIdPool(ids, IdPool256.MAX_IDS, leaseFile(idFile));
+        final LeasedIdPool other = new LeasedIdPool(new IdPool256(idFile), IdPool256.MAX_IDS, leaseFile(idFile));
+        final FixedMapping leases = Mappings.fixedSizeMapping(leaseFile(idFile), AccessMode.READ_WRITE, 0,
+                LeasedIdPool.leaseFileSize(IdPool256.MAX_IDS));
+        final ProcessHandle current = ProcessHandle.current();
+        final long startTime = current.info().startInstant().map(Instant::toEpochMilli).orElse(0L);
+
+        //when
+        assertEquals(0, pool.acquire());
+        assertEquals(1, ids.acquire());
+        leases.buffer().putLongVolatile(Long.BYTES, LeasedIdPool.lease(current.pid(), startTime, false));
+
+        //then
+        assertEquals(1, other.releaseDeadLeases());
+        assertEquals(1, other.acquire());
+        assertEquals(2, pool.acquired());
+
+        //when
+        leases.buffer().putLongVolatile(0, LeasedIdPool.lease(DEAD_PID, 1, false));
+        other.close();
+
+        //then
+        assertEquals(0, pool.releaseDeadLeases());
+        assertEquals(2, pool.acquire());
+        assertEquals(3, pool.acquired());
+        leases.close();
+        pool.close();
+    }
+
     @ParameterizedTest(name = "poolFactory={0}")
     @EnumSource(PoolFactory.class)
     void concurrentlyAcquireAndReleaseSome(final PoolFactory poolFactory) throws Exception {
@@ -193,6 +310,10 @@ class IdPoolTest {
         return threads;
     }
 
+    private static File leaseFile(final File idFile) {
+        return new File(idFile.getPath() + ".lease");
+    }
+
     private static void sleepRandom(final long maxMillis) {
         sleep((long)(maxMillis * Math.random()));
     }
@@ -0,0 +1,223 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.region.impl;
+
+import org.junit.jupiter.api.Test;
+import org.tools4j.mmap.region.api.AccessMode;
+import org.tools4j.mmap.region.api.AsyncRuntime.Priority;
+import org.tools4j.mmap.region.api.AsyncRuntime.Recurring;
+import org.tools4j.mmap.region.api.InvokableAsyncRuntime;
+import org.tools4j.mmap.region.config.MappingConfig;
+import org.tools4j.mmap.region.unsafe.FileMappers;
+import org.tools4j.mmap.region.unsafe.RegionMapper;
+import org.tools4j.mmap.region.unsafe.RegionMappers;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test for {@link InvokableAsyncRuntimeImpl}
+ */
+class InvokableAsyncRuntimeTest {
+
+    private static final long TIMEOUT_MILLIS = 3_000;
+    private static final long MAX_CLOSE_MILLIS = 1_000;
+
+    private static Recurring recurring(final String name, final List<String> executed) {
+        return () -> {
+            executed.add(name);
+            return 1;
+        };
+    }
+
+    private static Recurring highPriority(final String name, final List<String> executed) {
+        return new Recurring() {
+            @Override
+            public int execute() {
+                executed.add(name);
+                return 1;
+            }
+
+            @Override
+            public Priority priority() {
+                return Priority.HIGH;
+            }
+        };
+    }
+
+    @Test
+    void workBudgetLimitsExecutablesPerInvocationInRoundRobinOrder() {
+        //given
+        final List<String> executed = new ArrayList<>();
+        final InvokableAsyncRuntime runtime = InvokableAsyncRuntime.create("test-runtime", 2,
+                InvokableAsyncRuntime.UNLIMITED, false);
+        runtime.register(recurring("a", executed));
+        runtime.register(recurring("b", executed));
+        runtime.register(recurring("c", executed));
+        runtime.register(highPriority("h", executed));
+
+        //when
+        final int work1 = runtime.invoke();
+        final int work2 = runtime.invoke();
+        final int work3 = runtime.invoke();
+
+        //then
+        assertEquals(3, work1);
+        assertEquals(3, work2);
+        assertEquals(3, work3);
+        assertEquals(List.of("h", "a", "b", "h", "c", "a", "h", "b", "c"), executed);
+        runtime.close();
+    }
+
+    @Test
+    void timeBudgetLimitsExecutablesPerInvocation() {
+        //given
+        final List<String> executed = new ArrayList<>();
+        final InvokableAsyncRuntime runtime = InvokableAsyncRuntime.create("test-runtime",
+                InvokableAsyncRuntime.UNLIMITED, TimeUnit.MILLISECONDS.toNanos(1), false);
+        for (final String name : List.of("a", "b", "c")) {
+            runtime.register(() -> {
+                executed.add(name);
+                final long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(2);
+                while (System.nanoTime() < end) {
+                    Thread.onSpinWait();
+                }
+                return 1;
+            });
+        }
+
+        //when
+        runtime.invoke();
+        runtime.invoke();
+
+        //then
+        assertEquals(List.of("a", "b"), executed);
+        runtime.close();
+    }
+
+    @Test
+    void stopWhenIdle() {
+        //given
+        final AtomicInteger remaining = new AtomicInteger(3);
+        final InvokableAsyncRuntime runtime = InvokableAsyncRuntime.create("test-runtime", false);
+        runtime.register(() -> remaining.get() > 0 ? remaining.decrementAndGet() + 1 : 0);
+
+        //when
+        runtime.stop(false);
+
+        //then
+        assertTrue(runtime.isRunning());
+        while (runtime.invoke() > 0) {
+            assertTrue(runtime.isRunning());
+        }
+        assertEquals(0, remaining.get());
+        assertFalse(runtime.isRunning());
+        assertEquals(0, runtime.invoke());
+    }
+
+    @Test
+    void autoStopOnLastDeregister() {
+        //given
+        final List<String> executed = new ArrayList<>();
+        final InvokableAsyncRuntime runtime = InvokableAsyncRuntime.create("test-runtime", true);
+        final Recurring recurring = recurring("a", executed);
+        runtime.register(recurring);
+        assertEquals(1, runtime.invoke());
+
+        //when
+        runtime.deregister(recurring);
+
+        //then
+        assertFalse(runtime.isRunning());
+        assertEquals(0, runtime.invoke());
+        assertEquals(List.of("a"), executed);
+    }
+
+    @Test
+    void closeMapperBeforeFirstInvocation() throws Exception {
+        //given
+        final InvokableAsyncRuntime runtime = InvokableAsyncRuntime.create("test-runtime", false);
+        final RegionMapper mapper = asyncRunAheadRegionMapper(runtime);
+
+        //when
+        final long start = System.currentTimeMillis();
+        mapper.close();
+
+        //then
+        assertTrue(mapper.isClosed());
+        assertTrue(System.currentTimeMillis() - start < MAX_CLOSE_MILLIS);
+        runtime.close();
+    }
+
+    @Test
+    void closeMapperFromOtherThreadThanInvoker() throws Exception {
+        //given
+        final InvokableAsyncRuntime runtime = InvokableAsyncRuntime.create("test-runtime", false);
+        final RegionMapper mapper = asyncRunAheadRegionMapper(runtime);
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final CountDownLatch invoked = new CountDownLatch(1);
+        final Thread invoker = new Thread(() -> {
+            while (running.get()) {
+                runtime.invoke();
+                invoked.countDown();
+            }
+        }, "invoker");
+        invoker.start();
+        assertTrue(invoked.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+
+        //when
+        final long start = System.currentTimeMillis();
+        try {
+            mapper.close();
+        } finally {
+            running.set(false);
+            invoker.join(TIMEOUT_MILLIS);
+        }
+
+        //then
+        assertTrue(mapper.isClosed());
+        assertTrue(System.currentTimeMillis() - start < MAX_CLOSE_MILLIS);
+        runtime.close();
+    }
+
+    private static RegionMapper asyncRunAheadRegionMapper(final InvokableAsyncRuntime runtime) throws Exception {
+        final File file = Files.createTempFile(InvokableAsyncRuntimeTest.class.getSimpleName(), ".tmp").toFile();
+        file.deleteOnExit();
+        final int regionSize = (int)Constants.REGION_SIZE_GRANULARITY;
+        return RegionMappers.createAsyncRunAheadRegionMapper(
+                FileMappers.create(file, AccessMode.READ_WRITE, FileInitialiser.zeroBytes(AccessMode.READ_WRITE, 0),
+                        MappingConfig.getDefault()),
+                regionSize, 4, 0, true, runtime, 1, 1, runtime, 4);
+    }
+}
@@ -51,6 +51,14 @@ class LoggingRegionMapper implements RegionMapper {
         return address;
     }
 
+    @Override
+    public long tryMapInternal(final long position, final int regionSize) {
+        final boolean cached = isMappedInCache(position);
+        final long address = mapper.tryMapInternal(position, regionSize);
+        LOGGER.info("tryMapInternal: {} -> @{}{}", position, address, cached ? " (cached)" : "");
+        return address;
+    }
+
     @Override
     public void unmapInternal(final long position, final long address, final int regionSize) {
         mapper.unmapInternal(position, address, regionSize);
@@ -0,0 +1,119 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2026 tools4j.org (Marco Terzer, Anton Anufriev)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.tools4j.mmap.region.impl;
+
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.junit.jupiter.api.Test;
+import org.tools4j.mmap.region.api.AsyncRuntime;
+import org.tools4j.mmap.region.api.AsyncRuntime.Recurring;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test for {@link WorkStealingAsyncRuntime}
+ */
+class WorkStealingAsyncRuntimeTest {
+
+    private static final long TIMEOUT_MILLIS = 3_000;
+
+    @Test
+    void tasksOfBlockedWorkerAreStolen() throws Exception {
+        //given
+        final int workers = 2;
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch executed = new CountDownLatch(workers * 4);
+        final AsyncRuntime runtime = AsyncRuntime.create("test-runtime", workers,
+                () -> BusySpinIdleStrategy.INSTANCE, false);
+        try {
+            //when: first task blocks its home worker
+            runtime.register(() -> {
+                blocked.countDown();
+                try {
+                    release.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return 1;
+            });
+            assertTrue(blocked.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+            //then: other tasks still execute, including those homed at the blocked worker
+            for (int i = 0; i < workers * 4; i++) {
+                final AtomicBoolean done = new AtomicBoolean();
+                runtime.register(() -> {
+                    if (done.compareAndSet(false, true)) {
+                        executed.countDown();
+                        return 1;
+                    }
+                    return 0;
+                });
+            }
+            assertTrue(executed.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        } finally {
+            release.countDown();
+            runtime.close();
+        }
+    }
+
+    @Test
+    void recurringIsNeverExecutedConcurrently() throws Exception {
+        //given
+        final int workers = 4;
+        final int executions = 100_000;
+        final AtomicInteger concurrent = new AtomicInteger();
+        final AtomicInteger maxConcurrent = new AtomicInteger();
+        final AtomicInteger count = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(1);
+        final Recurring recurring = () -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            concurrent.decrementAndGet();
+            if (count.incrementAndGet() == executions) {
+                done.countDown();
+            }
+            return 1;
+        };
+        final AsyncRuntime runtime = AsyncRuntime.create("test-runtime", workers,
+                () -> BusySpinIdleStrategy.INSTANCE, true);
+
+        //when
+        runtime.register(recurring);
+        assertTrue(done.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        runtime.deregister(recurring);
+
+        //then
+        assertEquals(1, maxConcurrent.get());
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (runtime.isRunning() && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertFalse(runtime.isRunning());
+    }
+}